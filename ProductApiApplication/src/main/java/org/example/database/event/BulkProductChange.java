@@ -0,0 +1,27 @@
+package org.example.database.event;
+
+import java.util.List;
+
+/**
+ * Eine mengenbasierte Änderung an Produkten per JPQL-Bulk-Statement, die an den Hibernate-Events vorbeiläuft und
+ * deshalb explizit über {@link CatalogChangeTracker#recordBulkChange(BulkProductChange)} gemeldet wird. Die einzelnen
+ * Zustände vorher und nachher sind nicht bekannt.
+ *
+ * @param type       Art der Änderung, {@link ChangeType#UPDATED} oder {@link ChangeType#DELETED}.
+ * @param categoryId Die Kategorie, deren Produkte betroffen sind, oder {@code null}, wenn nach IDs ausgewählt wurde.
+ * @param productIds Die ausgewählten Produkt-IDs oder {@code null}, wenn nach Kategorie ausgewählt wurde.
+ */
+public record BulkProductChange(
+    ChangeType type,
+    Long categoryId,
+    List<Long> productIds
+) {
+
+  public static BulkProductChange forCategory(ChangeType type, Long categoryId) {
+    return new BulkProductChange(type, categoryId, null);
+  }
+
+  public static BulkProductChange forProducts(ChangeType type, List<Long> productIds) {
+    return new BulkProductChange(type, null, List.copyOf(productIds));
+  }
+}
@@ -0,0 +1,19 @@
+package org.example.database.event;
+
+/**
+ * Wird nach jedem Commit informiert, der Produkte oder Kategorien verändert hat.
+ * <p>
+ * Der Aufruf erfolgt im Thread der committenden Transaktion, nachdem diese abgeschlossen ist. Implementierungen, die
+ * dabei selbst auf die Datenbank zugreifen, müssen eine neue Transaktion öffnen.
+ */
+public interface CatalogChangeListener {
+
+  void onCatalogChanges(CatalogChanges changes);
+
+  /**
+   * Die Transaktion mit dieser {@linkplain CatalogChanges#sequence() Sequenznummer} wurde doch nicht committet, z.B.
+   * weil der Commit selbst fehlgeschlagen ist. Nur für Listener relevant, die auf lückenlose Nummern warten.
+   */
+  default void onCatalogChangesDiscarded(long sequence) {
+  }
+}
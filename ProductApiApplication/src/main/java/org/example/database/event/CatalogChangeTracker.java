@@ -0,0 +1,268 @@
+package org.example.database.event;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Beobachtet alle Schreibzugriffe von Hibernate auf Produkte und Kategorien und meldet sie nach dem Commit an alle
+ * {@link CatalogChangeListener}.
+ * <p>
+ * Die Änderungen werden pro Transaktion gesammelt und bei einem Rollback verworfen. Dadurch sehen abgeleitete
+ * Sichten (z.B. Statistiken) nur committete Daten, unabhängig davon, ob über einen Service oder direkt über ein
+ * Repository geschrieben wurde. JPQL-Bulk-Statements laufen an Hibernate-Events vorbei und müssen über
+ * {@link #recordBulkChange(BulkProductChange)} gemeldet werden.
+ * <p>
+ * Zusätzlich schreibt der {@link CatalogEventOutbox} alle Änderungen einer Transaktion kurz vor ihrem Commit in die
+ * Outbox-Tabelle, in derselben Transaktion. Im Gegensatz zu den Listenern, die nur diese Instanz erreichen, gehen sie
+ * so auch bei einem Absturz direkt nach dem Commit nicht verloren.
+ */
+@Component
+public class CatalogChangeTracker implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+  private static final Logger log = LoggerFactory.getLogger(CatalogChangeTracker.class);
+
+  private final transient EntityManagerFactory entityManagerFactory;
+  private final transient EntityManager entityManager;
+  private final transient ObjectProvider<CatalogChangeListener> listeners;
+  private final transient CatalogEventOutbox outbox;
+  private final AtomicLong version = new AtomicLong();
+  private final AtomicLong sequence = new AtomicLong();
+
+  public CatalogChangeTracker(EntityManagerFactory entityManagerFactory, EntityManager entityManager,
+      ObjectProvider<CatalogChangeListener> listeners, CatalogEventOutbox outbox) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.entityManager = entityManager;
+    this.listeners = listeners;
+    this.outbox = outbox;
+  }
+
+  @PostConstruct
+  void registerWithHibernate() {
+    EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+        .getServiceRegistry()
+        .getService(EventListenerRegistry.class);
+    registry.appendListeners(EventType.POST_INSERT, this);
+    registry.appendListeners(EventType.POST_UPDATE, this);
+    registry.appendListeners(EventType.POST_DELETE, this);
+  }
+
+  /**
+   * Prüft, ob die aktuelle Transaktion Katalogänderungen enthält, die noch nicht committet sind. Lesende Zugriffe auf
+   * abgeleitete Sichten müssen in diesem Fall auf die Datenbank ausweichen, um die eigenen Änderungen zu sehen.
+   */
+  public boolean hasPendingChanges() {
+    if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+      return false;
+    }
+    PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+    if (pending != null && !pending.isEmpty()) {
+      return true;
+    }
+    return !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        && entityManager.unwrap(Session.class).isDirty();
+  }
+
+  /**
+   * Zählt die committeten Katalogänderungen. Der Stand wird erst erhöht, nachdem alle Listener die Änderungen
+   * verarbeitet haben; wer ihn vor dem Lesen einer abgeleiteten Sicht abfragt, bekommt also mindestens diesen Stand.
+   */
+  public long getVersion() {
+    return version.get();
+  }
+
+  /**
+   * Liefert die zuletzt vergebene {@linkplain CatalogChanges#sequence() Sequenznummer}. Nummern werden kurz vor dem
+   * Commit vergeben, nach dem letzten Flush: Jede Änderung, die eine Abfrage bereits sehen kann, hat also eine Nummer
+   * kleiner oder gleich dem Wert, der nach dieser Abfrage gelesen wird. Die Listener erfahren von den Nummern nicht
+   * zwingend in aufsteigender Reihenfolge.
+   */
+  public long getLastSequence() {
+    return sequence.get();
+  }
+
+  /**
+   * Meldet ein JPQL-Bulk-Statement auf Produkte. Wie bei Einzeländerungen erfahren die Listener erst nach dem Commit
+   * davon; bis dahin gilt die Transaktion als {@linkplain #hasPendingChanges() verändert}.
+   */
+  public void recordBulkChange(BulkProductChange change) {
+    record(change);
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    if (event.getEntity() instanceof Product product) {
+      record(new ProductChange(ChangeType.CREATED, product.getId(), null, stateOf(product)));
+    } else if (event.getEntity() instanceof Category category) {
+      record(new CategoryChange(ChangeType.CREATED, category.getId(), category.getName()));
+    }
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (event.getEntity() instanceof Product product) {
+      record(new ProductChange(ChangeType.UPDATED, product.getId(), previousStateOf(event), stateOf(product)));
+    } else if (event.getEntity() instanceof Category category) {
+      record(new CategoryChange(ChangeType.UPDATED, category.getId(), category.getName()));
+    }
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof Product product) {
+      record(new ProductChange(ChangeType.DELETED, product.getId(), stateOf(product), null));
+    } else if (event.getEntity() instanceof Category category) {
+      record(new CategoryChange(ChangeType.DELETED, category.getId(), category.getName()));
+    }
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return false;
+  }
+
+  /**
+   * Ohne Spring-Transaktion (in dieser Anwendung nur bei direktem Zugriff auf den EntityManager) werden die Listener
+   * sofort benachrichtigt; ein Eintrag in der Outbox-Tabelle entsteht dann nicht.
+   */
+  private void record(Object change) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      PendingChanges immediate = new PendingChanges();
+      immediate.add(change);
+      dispatch(immediate.toCatalogChanges(sequence.incrementAndGet()));
+      return;
+    }
+    PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+    if (pending == null) {
+      pending = new PendingChanges();
+      TransactionSynchronizationManager.bindResource(this, pending);
+      TransactionSynchronizationManager.registerSynchronization(pending);
+      // Läuft nach dem letzten Flush vor dem Commit, also auch nach Änderungen, die erst dabei geschrieben werden.
+      entityManager.unwrap(SessionImplementor.class).getActionQueue().registerProcess(pending::writeOutbox);
+    }
+    pending.add(change);
+  }
+
+  private void dispatch(CatalogChanges changes) {
+    listeners.orderedStream().forEach(listener -> {
+      try {
+        listener.onCatalogChanges(changes);
+      } catch (RuntimeException e) {
+        log.error("CatalogChangeListener {} failed to process committed changes", listener.getClass().getName(), e);
+      }
+    });
+    version.incrementAndGet();
+  }
+
+  private void discard(long discarded) {
+    listeners.orderedStream().forEach(listener -> {
+      try {
+        listener.onCatalogChangesDiscarded(discarded);
+      } catch (RuntimeException e) {
+        log.error("CatalogChangeListener {} failed to process discarded changes", listener.getClass().getName(), e);
+      }
+    });
+  }
+
+  private static ProductState stateOf(Product product) {
+    return new ProductState(product.getName(), product.getPrice(), categoryIdOf(product.getCategory()));
+  }
+
+  private static ProductState previousStateOf(PostUpdateEvent event) {
+    Object[] oldState = event.getOldState();
+    if (oldState == null) {
+      return null;
+    }
+    EntityPersister persister = event.getPersister();
+    return new ProductState(
+        (String) oldState[persister.getEntityMetamodel().getPropertyIndex("name")],
+        (Double) oldState[persister.getEntityMetamodel().getPropertyIndex("price")],
+        categoryIdOf(oldState[persister.getEntityMetamodel().getPropertyIndex("category")]));
+  }
+
+  private static Long categoryIdOf(Object category) {
+    if (category instanceof HibernateProxy proxy) {
+      return (Long) proxy.getHibernateLazyInitializer().getIdentifier();
+    }
+    if (category instanceof Category loaded) {
+      return loaded.getId();
+    }
+    return null;
+  }
+
+  private final class PendingChanges implements TransactionSynchronization {
+
+    private final List<ProductChange> productChanges = new ArrayList<>();
+    private final List<CategoryChange> categoryChanges = new ArrayList<>();
+    private final List<BulkProductChange> bulkProductChanges = new ArrayList<>();
+    /** Alle Änderungen in Schreibreihenfolge, für die Outbox-Tabelle. */
+    private final List<Object> inOrder = new ArrayList<>();
+    private long sequence;
+
+    void add(Object change) {
+      inOrder.add(change);
+      if (change instanceof ProductChange productChange) {
+        productChanges.add(productChange);
+      } else if (change instanceof BulkProductChange bulkChange) {
+        bulkProductChanges.add(bulkChange);
+      } else {
+        categoryChanges.add((CategoryChange) change);
+      }
+    }
+
+    boolean isEmpty() {
+      return productChanges.isEmpty() && categoryChanges.isEmpty() && bulkProductChanges.isEmpty();
+    }
+
+    CatalogChanges toCatalogChanges(long sequence) {
+      return new CatalogChanges(List.copyOf(productChanges), List.copyOf(categoryChanges),
+          List.copyOf(bulkProductChanges), sequence);
+    }
+
+    void writeOutbox(SessionImplementor session) {
+      outbox.write(session, inOrder);
+      sequence = CatalogChangeTracker.this.sequence.incrementAndGet();
+    }
+
+    @Override
+    public void afterCommit() {
+      if (sequence == 0) {
+        // Die Session hat ihre Abschlussprozesse nicht ausgeführt; die Daten sind aber bereits sichtbar.
+        sequence = CatalogChangeTracker.this.sequence.incrementAndGet();
+      }
+      dispatch(toCatalogChanges(sequence));
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+      TransactionSynchronizationManager.unbindResourceIfPossible(CatalogChangeTracker.this);
+      if (status != STATUS_COMMITTED && sequence != 0) {
+        discard(sequence);
+      }
+    }
+  }
+}
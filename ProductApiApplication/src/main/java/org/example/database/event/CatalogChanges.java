@@ -0,0 +1,31 @@
+package org.example.database.event;
+
+import java.util.List;
+
+/**
+ * Alle Änderungen einer erfolgreich committeten Transaktion in der Reihenfolge, in der Hibernate sie geschrieben hat.
+ * Mengenbasierte Änderungen ({@link BulkProductChange}) stehen gesondert, da für sie keine Einzelzustände vorliegen.
+ *
+ * @param sequence Fortlaufende Nummer der Transaktion, vergeben kurz vor ihrem Commit (siehe
+ *                 {@link CatalogChangeTracker#getLastSequence()}); 0 für Änderungen, die nicht vom Tracker stammen.
+ */
+public record CatalogChanges(
+    List<ProductChange> productChanges,
+    List<CategoryChange> categoryChanges,
+    List<BulkProductChange> bulkProductChanges,
+    long sequence
+) {
+
+  public CatalogChanges(List<ProductChange> productChanges, List<CategoryChange> categoryChanges,
+      List<BulkProductChange> bulkProductChanges) {
+    this(productChanges, categoryChanges, bulkProductChanges, 0);
+  }
+
+  /**
+   * @param sequence Eine Sequenznummer, bis zu der ein abgeleiteter Stand alle Änderungen enthält.
+   * @return true, wenn diese Änderungen in einem solchen Stand bereits enthalten sind.
+   */
+  public boolean isCoveredBy(long sequence) {
+    return this.sequence != 0 && this.sequence <= sequence;
+  }
+}
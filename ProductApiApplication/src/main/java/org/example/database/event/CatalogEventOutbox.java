@@ -0,0 +1,107 @@
+package org.example.database.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.example.model.CatalogEventType;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Schreibt die Katalogänderungen einer Transaktion in die Outbox-Tabelle {@code catalog_event}
+ * ({@link org.example.database.model.CatalogEvent}).
+ * <p>
+ * Der {@link CatalogChangeTracker} übergibt die Änderungen gesammelt kurz vor dem Commit, nachdem Hibernate alles
+ * geschrieben hat. Die Zeilen gehen als ein JDBC-Batch über die Verbindung der Transaktion: Zu diesem Zeitpunkt wird
+ * nicht mehr geflusht, ein {@code persist} käme also nie in der Datenbank an.
+ * <p>
+ * Mengenbasierte Änderungen über IDs werden auf Ereignisse zu höchstens {@value #IDS_PER_EVENT} IDs verteilt.
+ */
+@Component
+public class CatalogEventOutbox {
+
+  static final int IDS_PER_EVENT = 1_000;
+
+  private static final String INSERT =
+      "insert into catalog_event (type, entity_id, payload, created_at) values (?, ?, ?, ?)";
+
+  private final ObjectMapper objectMapper;
+
+  public CatalogEventOutbox(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  void write(SessionImplementor session, List<Object> changes) {
+    List<Row> rows = new ArrayList<>();
+    for (Object change : changes) {
+      addRows(change, rows);
+    }
+    if (rows.isEmpty()) {
+      return;
+    }
+    Instant createdAt = Instant.now();
+    session.doWork(connection -> {
+      try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+        for (Row row : rows) {
+          statement.setString(1, row.type().name());
+          statement.setObject(2, row.entityId(), Types.BIGINT);
+          statement.setString(3, row.payload());
+          statement.setObject(4, createdAt.atOffset(ZoneOffset.UTC));
+          statement.addBatch();
+        }
+        statement.executeBatch();
+      }
+    });
+  }
+
+  private void addRows(Object change, List<Row> rows) {
+    if (change instanceof ProductChange product) {
+      CatalogEventType type = switch (product.type()) {
+        case CREATED -> CatalogEventType.PRODUCT_CREATED;
+        case UPDATED -> CatalogEventType.PRODUCT_UPDATED;
+        case DELETED -> CatalogEventType.PRODUCT_DELETED;
+      };
+      ProductState state = product.after() != null ? product.after() : product.before();
+      rows.add(new Row(type, product.productId(), toJson(state)));
+    } else if (change instanceof CategoryChange category) {
+      CatalogEventType type = switch (category.type()) {
+        case CREATED -> CatalogEventType.CATEGORY_CREATED;
+        case UPDATED -> CatalogEventType.CATEGORY_UPDATED;
+        case DELETED -> CatalogEventType.CATEGORY_DELETED;
+      };
+      rows.add(new Row(type, category.categoryId(), toJson(Map.of("name", category.name()))));
+    } else if (change instanceof BulkProductChange bulk) {
+      CatalogEventType type = bulk.type() == ChangeType.DELETED
+          ? CatalogEventType.PRODUCTS_DELETED : CatalogEventType.PRODUCTS_UPDATED;
+      if (bulk.productIds() == null) {
+        rows.add(new Row(type, null, toJson(Map.of("categoryId", bulk.categoryId()))));
+        return;
+      }
+      List<Long> ids = bulk.productIds();
+      for (int from = 0; from < ids.size(); from += IDS_PER_EVENT) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("productIds", ids.subList(from, Math.min(ids.size(), from + IDS_PER_EVENT)));
+        rows.add(new Row(type, null, toJson(payload)));
+      }
+    }
+  }
+
+  private String toJson(Object payload) {
+    try {
+      return objectMapper.writeValueAsString(payload);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Katalogänderung konnte nicht serialisiert werden", e);
+    }
+  }
+
+  private record Row(CatalogEventType type, Long entityId, String payload) {
+
+  }
+}
@@ -0,0 +1,16 @@
+package org.example.database.event;
+
+/**
+ * Eine Änderung an einer Kategorie.
+ *
+ * @param type       Art der Änderung.
+ * @param categoryId Die ID der Kategorie.
+ * @param name       Der Name nach der Änderung bzw. beim Löschen der letzte bekannte Name.
+ */
+public record CategoryChange(
+    ChangeType type,
+    Long categoryId,
+    String name
+) {
+
+}
@@ -0,0 +1,7 @@
+package org.example.database.event;
+
+public enum ChangeType {
+  CREATED,
+  UPDATED,
+  DELETED
+}
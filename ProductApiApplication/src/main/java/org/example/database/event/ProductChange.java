@@ -0,0 +1,19 @@
+package org.example.database.event;
+
+/**
+ * Eine Änderung an einem Produkt.
+ *
+ * @param type      Art der Änderung.
+ * @param productId Die ID des Produkts.
+ * @param before    Zustand vor der Änderung; null bei {@link ChangeType#CREATED} und bei Updates, deren
+ *                  Ausgangszustand Hibernate nicht kennt.
+ * @param after     Zustand nach der Änderung; null bei {@link ChangeType#DELETED}.
+ */
+public record ProductChange(
+    ChangeType type,
+    Long productId,
+    ProductState before,
+    ProductState after
+) {
+
+}
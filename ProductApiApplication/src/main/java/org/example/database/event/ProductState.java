@@ -0,0 +1,12 @@
+package org.example.database.event;
+
+/**
+ * Die für abgeleitete Sichten relevanten Felder eines Produkts zu einem bestimmten Zeitpunkt.
+ */
+public record ProductState(
+    String name,
+    Double price,
+    Long categoryId
+) {
+
+}
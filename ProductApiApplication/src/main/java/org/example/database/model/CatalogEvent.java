@@ -0,0 +1,62 @@
+package org.example.database.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.example.model.CatalogEventType;
+
+/**
+ * Eine Katalogänderung in der Outbox-Tabelle: Die Zeile wird in derselben Transaktion geschrieben wie die Änderung
+ * selbst (siehe {@link org.example.database.event.CatalogChangeTracker}) und existiert deshalb genau dann, wenn diese
+ * committet wurde.
+ * <p>
+ * Die ID gibt nur die Reihenfolge innerhalb einer Transaktion wieder. Die Position im Strom vergibt erst der Relay, in
+ * der Reihenfolge, in der die Zeilen sichtbar werden; bis dahin ist {@code sequenceNumber} leer.
+ */
+@Entity
+@Table(name = "catalog_event", indexes = {
+    @Index(name = "idx_catalog_event_sequence_number", columnList = "sequence_number", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class CatalogEvent {
+
+  public static final int MAX_PAYLOAD_LENGTH = 1_000_000;
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "sequence_number")
+  private Long sequenceNumber;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 32)
+  private CatalogEventType type;
+
+  /**
+   * Das Produkt oder die Kategorie; leer bei mengenbasierten Änderungen.
+   */
+  @Column(name = "entity_id")
+  private Long entityId;
+
+  /**
+   * Der Zustand als JSON, bei Löschungen der letzte bekannte.
+   */
+  @Column(nullable = false, length = MAX_PAYLOAD_LENGTH)
+  private String payload;
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+}
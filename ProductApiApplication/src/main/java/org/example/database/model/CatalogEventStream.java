@@ -0,0 +1,35 @@
+package org.example.database.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Die Epoche des Änderungsstroms, als einzige Zeile der Tabelle. Sie entsteht mit der ersten Instanz, die auf einer
+ * Datenbank startet, und gilt für alle Instanzen auf derselben Datenbank. Nach dem Zurücksetzen der Datenbank beginnen
+ * die Positionen im Strom wieder bei 1, die Epoche ist dann aber eine andere.
+ */
+@Entity
+@Table(name = "catalog_event_stream")
+@Getter
+@Setter
+@NoArgsConstructor
+public class CatalogEventStream {
+
+  public static final long ID = 1;
+
+  @Id
+  private Long id;
+
+  @Column(nullable = false, length = 16)
+  private String epoch;
+
+  public CatalogEventStream(String epoch) {
+    this.id = ID;
+    this.epoch = epoch;
+  }
+}
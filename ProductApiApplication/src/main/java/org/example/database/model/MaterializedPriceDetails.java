@@ -0,0 +1,78 @@
+package org.example.database.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.example.model.DiscountType;
+
+/**
+ * Vorberechnete Preisinformationen eines Produkts. Neben den Feldern von
+ * {@link org.example.dto.PriceDetailsDTO} hält jede Zeile die Eingangswerte der Berechnung (Preis, Kategorie,
+ * Prüfsumme der Regeln, Stichtag), damit Leser veraltete Zeilen erkennen.
+ */
+@Entity
+@Table(name = "price_details", indexes = {
+    @Index(name = "idx_price_details_category_id", columnList = "category_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaterializedPriceDetails {
+
+  /**
+   * Die ID des Produkts; bewusst ohne Fremdschlüssel, damit Produkte auch per Bulk-Statement gelöscht werden können.
+   */
+  @Id
+  @Column(name = "product_id")
+  private Long productId;
+
+  @Column(name = "category_id")
+  private Long categoryId;
+
+  @Column(name = "product_price", nullable = false)
+  private double productPrice;
+
+  /**
+   * Siehe {@link org.example.services.pricing.DiscountRuleService#rulesFingerprint(Long, String)}.
+   */
+  @Column(name = "rules_fingerprint", nullable = false)
+  private long rulesFingerprint;
+
+  @Column(name = "pricing_day", nullable = false)
+  private long pricingDay;
+
+  @Column(name = "base_price", nullable = false, precision = 19, scale = 2)
+  private BigDecimal basePrice;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "discount_type", length = 16)
+  private DiscountType discountType;
+
+  @Column(name = "discount_value", nullable = false)
+  private double discountValue;
+
+  @Column(name = "discount_amount", nullable = false, precision = 19, scale = 2)
+  private BigDecimal discountAmount;
+
+  @Column(name = "price_after_discount", nullable = false, precision = 19, scale = 2)
+  private BigDecimal priceAfterDiscount;
+
+  @Column(name = "tax_rate", nullable = false)
+  private double taxRate;
+
+  @Column(name = "tax_amount", nullable = false, precision = 19, scale = 2)
+  private BigDecimal taxAmount;
+
+  @Column(name = "final_price", nullable = false, precision = 19, scale = 2)
+  private BigDecimal finalPrice;
+}
@@ -5,26 +5,39 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
 
 @Entity
-@Table(name = "product")
+@Table(name = "product", indexes = {
+    @Index(name = "idx_product_category_price", columnList = "category_id, price"),
+    @Index(name = "idx_product_price", columnList = "price"),
+    @Index(name = "idx_product_category_id", columnList = "category_id, id"),
+    @Index(name = "idx_product_name", columnList = "name, id")
+})
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
 public class Product {
 
+  public static final int ID_ALLOCATION_SIZE = 50;
+
+  /**
+   * Sequenz mit Pooled-Optimizer statt IDENTITY: Hibernate reserviert 50 IDs pro Sequenzabruf und kann Inserts per
+   * JDBC-Batching bündeln.
+   */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+  @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = Product.ID_ALLOCATION_SIZE)
   private Long id;
 
   @NotBlank(message = "Name ist erforderlich")
@@ -37,4 +50,17 @@ public class Product {
   @JoinColumn(name = "category_id")
   private Category category;
 
+  /**
+   * Wird bei jeder Änderung erhöht, auch durch die Bulk-Statements ({@code update versioned}). Dient der optimistischen
+   * Sperre und als Stand für HTTP-Caching der Preise.
+   */
+  @Version
+  private Long version;
+
+  public Product(Long id, String name, Double price, Category category) {
+    this.id = id;
+    this.name = name;
+    this.price = price;
+    this.category = category;
+  }
 }
\ No newline at end of file
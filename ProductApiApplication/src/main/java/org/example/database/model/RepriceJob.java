@@ -0,0 +1,65 @@
+package org.example.database.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.example.model.RepriceJobStatus;
+
+/**
+ * Ein Lauf der Neuberechnung aller Preisinformationen. Der ID-Bereich wird beim Start festgelegt; der Checkpoint ist
+ * die höchste ID, bis zu der alle Produkte geschrieben sind.
+ */
+@Entity
+@Table(name = "reprice_job")
+@Getter
+@Setter
+@NoArgsConstructor
+public class RepriceJob {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private RepriceJobStatus status;
+
+  @Column(name = "first_id", nullable = false)
+  private long firstId;
+
+  @Column(name = "last_id", nullable = false)
+  private long lastId;
+
+  @Column(name = "checkpoint_id", nullable = false)
+  private long checkpointId;
+
+  @Column(name = "total_count", nullable = false)
+  private long totalCount;
+
+  /**
+   * Die Anzahl der geschriebenen Produkte bis einschließlich Checkpoint.
+   */
+  @Column(name = "processed_count", nullable = false)
+  private long processedCount;
+
+  @Column(name = "started_at", nullable = false)
+  private Instant startedAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private Instant updatedAt;
+
+  @Column(name = "finished_at")
+  private Instant finishedAt;
+
+  @Column(length = 1000)
+  private String message;
+}
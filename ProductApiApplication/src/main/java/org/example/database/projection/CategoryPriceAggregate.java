@@ -0,0 +1,24 @@
+package org.example.database.projection;
+
+/**
+ * Aggregierte Preiskennzahlen einer Kategorie, direkt per GROUP BY in der Datenbank berechnet.
+ *
+ * @param categoryId   Die ID der Kategorie.
+ * @param categoryName Der Name der Kategorie.
+ * @param productCount Anzahl der Produkte in der Kategorie.
+ * @param pricedCount  Anzahl der Produkte mit Preis.
+ * @param priceSum     Summe aller Preise (null, wenn kein Produkt einen Preis hat).
+ * @param minPrice     Niedrigster Preis (null, wenn kein Produkt einen Preis hat).
+ * @param maxPrice     Höchster Preis (null, wenn kein Produkt einen Preis hat).
+ */
+public record CategoryPriceAggregate(
+    Long categoryId,
+    String categoryName,
+    long productCount,
+    long pricedCount,
+    Double priceSum,
+    Double minPrice,
+    Double maxPrice
+) {
+
+}
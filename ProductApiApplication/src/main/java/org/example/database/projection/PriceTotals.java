@@ -0,0 +1,20 @@
+package org.example.database.projection;
+
+/**
+ * Aggregierte Preiskennzahlen über den gesamten Katalog, inklusive Produkten ohne Kategorie.
+ *
+ * @param productCount Anzahl aller Produkte.
+ * @param pricedCount  Anzahl der Produkte mit Preis.
+ * @param priceSum     Summe aller Preise (null, wenn kein Produkt einen Preis hat).
+ * @param minPrice     Niedrigster Preis (null, wenn kein Produkt einen Preis hat).
+ * @param maxPrice     Höchster Preis (null, wenn kein Produkt einen Preis hat).
+ */
+public record PriceTotals(
+    long productCount,
+    long pricedCount,
+    Double priceSum,
+    Double minPrice,
+    Double maxPrice
+) {
+
+}
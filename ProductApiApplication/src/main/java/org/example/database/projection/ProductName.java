@@ -0,0 +1,14 @@
+package org.example.database.projection;
+
+/**
+ * ID und Name eines Produkts, ohne das Produkt selbst zu laden.
+ *
+ * @param productId Die ID des Produkts.
+ * @param name      Der Name des Produkts.
+ */
+public record ProductName(
+    Long productId,
+    String name
+) {
+
+}
@@ -0,0 +1,16 @@
+package org.example.database.projection;
+
+/**
+ * Preis und Kategorie eines Produkts, ohne das Produkt selbst zu laden.
+ *
+ * @param productId  Die ID des Produkts.
+ * @param price      Der Preis oder {@code null}.
+ * @param categoryId Die ID der Kategorie oder {@code null}.
+ */
+public record ProductPriceRow(
+    Long productId,
+    Double price,
+    Long categoryId
+) {
+
+}
@@ -0,0 +1,16 @@
+package org.example.database.projection;
+
+/**
+ * Versionsstand eines Produkts, ohne das Produkt selbst zu laden.
+ *
+ * @param productId  Die ID des Produkts.
+ * @param version    Die Version des Produkts ({@code null} bei Zeilen, die ohne Hibernate angelegt wurden).
+ * @param categoryId Die ID der Kategorie oder {@code null}.
+ */
+public record ProductVersion(
+    Long productId,
+    Long version,
+    Long categoryId
+) {
+
+}
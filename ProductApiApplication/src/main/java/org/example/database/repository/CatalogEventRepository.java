@@ -0,0 +1,36 @@
+package org.example.database.repository;
+
+import java.time.Instant;
+import java.util.List;
+import org.example.database.model.CatalogEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CatalogEventRepository extends JpaRepository<CatalogEvent, Long> {
+
+  /**
+   * Committete Ereignisse, denen der Relay noch keine Position im Strom gegeben hat, in Schreibreihenfolge.
+   */
+  List<CatalogEvent> findBySequenceNumberIsNullOrderByIdAsc(Limit limit);
+
+  List<CatalogEvent> findBySequenceNumberGreaterThanOrderBySequenceNumberAsc(long sequenceNumber, Limit limit);
+
+  @Query("select coalesce(max(e.sequenceNumber), 0) from CatalogEvent e")
+  long findMaxSequenceNumber();
+
+  @Query("select coalesce(min(e.sequenceNumber), 0) from CatalogEvent e")
+  long findMinSequenceNumber();
+
+  /**
+   * Löscht ausgelieferte Ereignisse vor {@code createdBefore}. Das jüngste bleibt stehen, damit die Positionen nach
+   * einem Neustart lückenlos weiterlaufen.
+   */
+  @Modifying
+  @Query("delete from CatalogEvent e where e.createdAt < :createdBefore and e.sequenceNumber < :keepFrom")
+  int deleteSequencedBefore(@Param("createdBefore") Instant createdBefore, @Param("keepFrom") long keepFrom);
+}
@@ -0,0 +1,10 @@
+package org.example.database.repository;
+
+import org.example.database.model.CatalogEventStream;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CatalogEventStreamRepository extends JpaRepository<CatalogEventStream, Long> {
+
+}
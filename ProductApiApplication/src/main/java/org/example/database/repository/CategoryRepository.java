@@ -1,11 +1,21 @@
 package org.example.database.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.example.database.model.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
   Optional<Category> findByName(String name);
 
+  /**
+   * @return Die vorhandenen unter den angegebenen IDs, ohne die Kategorien selbst zu laden.
+   */
+  @Query("select c.id from Category c where c.id in :ids")
+  List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
 }
\ No newline at end of file
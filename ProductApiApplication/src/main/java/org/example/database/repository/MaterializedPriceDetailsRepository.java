@@ -0,0 +1,25 @@
+package org.example.database.repository;
+
+import java.util.Collection;
+import org.example.database.model.MaterializedPriceDetails;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MaterializedPriceDetailsRepository extends JpaRepository<MaterializedPriceDetails, Long> {
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("delete from MaterializedPriceDetails d where d.productId in :productIds")
+  int bulkDeleteByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("delete from MaterializedPriceDetails d where d.productId between :fromId and :toId")
+  int bulkDeleteByProductIdBetween(@Param("fromId") long fromId, @Param("toId") long toId);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("delete from MaterializedPriceDetails d where d.categoryId = :categoryId")
+  int bulkDeleteByCategoryId(@Param("categoryId") Long categoryId);
+}
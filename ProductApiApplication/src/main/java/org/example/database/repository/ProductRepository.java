@@ -1,12 +1,174 @@
 package org.example.database.repository;
 
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import org.example.database.model.Product;
+import org.example.database.projection.CategoryPriceAggregate;
+import org.example.database.projection.PriceTotals;
+import org.example.database.projection.ProductName;
+import org.example.database.projection.ProductPriceRow;
+import org.example.database.projection.ProductVersion;
+import org.example.dto.ProductDTO;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
 
+  @Override
+  @EntityGraph(attributePaths = "category")
+  List<Product> findAll();
+
+  @EntityGraph(attributePaths = "category")
   List<Product> findByCategoryId(Long categoryId);
-}
\ No newline at end of file
+
+  @EntityGraph(attributePaths = "category")
+  Optional<Product> findWithCategoryById(Long id);
+
+  /**
+   * Baut die DTOs direkt aus den Spalten von Produkt und Kategorie, ohne Entitäten zu laden oder im Persistenzkontext
+   * zu verwalten.
+   */
+  @Query("select new org.example.dto.ProductDTO(p.id, p.name, p.price, c.id, c.name) "
+      + "from Product p left join p.category c order by p.id")
+  List<ProductDTO> findAllAsDto();
+
+  @Query("select new org.example.dto.ProductDTO(p.id, p.name, p.price, c.id, c.name) "
+      + "from Product p left join p.category c where p.id in :ids")
+  List<ProductDTO> findAllAsDtoByIdIn(@Param("ids") Collection<Long> ids);
+
+  @Query("select p from Product p left join fetch p.category where p.id in :ids")
+  List<Product> findAllWithCategoryByIdIn(@Param("ids") Collection<Long> ids);
+
+  @Query("select new org.example.database.projection.ProductVersion(p.id, p.version, p.category.id) "
+      + "from Product p where p.id in :ids")
+  List<ProductVersion> findVersionsByIdIn(@Param("ids") Collection<Long> ids);
+
+  @Query("select p from Product p left join fetch p.category where p.id between :fromId and :toId")
+  List<Product> findAllWithCategoryByIdBetween(@Param("fromId") long fromId, @Param("toId") long toId);
+
+  @Query("select min(p.id) from Product p")
+  Long findMinId();
+
+  @Query("select max(p.id) from Product p")
+  Long findMaxId();
+
+  long countByIdBetween(long fromId, long toId);
+
+  /**
+   * Liefert die nächsten Produkt-IDs nach {@code afterId} in aufsteigender Reihenfolge, um den Katalog blockweise
+   * abzuarbeiten, ohne alle IDs auf einmal zu laden.
+   */
+  @Query("select p.id from Product p where p.id > :afterId order by p.id")
+  List<Long> findIdsAfter(@Param("afterId") long afterId, Limit limit);
+
+  @Query("select new org.example.database.projection.ProductName(p.id, p.name) "
+      + "from Product p where p.id > :afterId order by p.id")
+  List<ProductName> findNamesAfter(@Param("afterId") long afterId, Limit limit);
+
+  @Query("select new org.example.database.projection.ProductPriceRow(p.id, p.price, p.category.id) "
+      + "from Product p where p.id > :afterId order by p.id")
+  List<ProductPriceRow> findPriceRowsAfter(@Param("afterId") long afterId, Limit limit);
+
+  @Query("select new org.example.database.projection.ProductPriceRow(p.id, p.price, p.category.id) "
+      + "from Product p where p.category.id = :categoryId and p.id > :afterId order by p.id")
+  List<ProductPriceRow> findPriceRowsByCategoryIdAfter(@Param("categoryId") Long categoryId,
+      @Param("afterId") long afterId, Limit limit);
+
+  @Query("select new org.example.database.projection.ProductPriceRow(p.id, p.price, p.category.id) "
+      + "from Product p where p.id in :ids")
+  List<ProductPriceRow> findPriceRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+  @Query("select p.id from Product p where p.category.id in :categoryIds and p.id > :afterId order by p.id")
+  List<Long> findIdsByCategoryIdInAfter(@Param("categoryIds") Collection<Long> categoryIds,
+      @Param("afterId") long afterId, Limit limit);
+
+  /**
+   * Liefert die Produkte einer Kategorie samt Kategorie als Cursor, statt sie vollständig zu laden. Der Stream muss
+   * innerhalb einer Transaktion konsumiert und anschließend geschlossen werden.
+   */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select p from Product p join fetch p.category c where c.id = :categoryId order by p.id")
+  Stream<Product> streamByCategoryId(@Param("categoryId") Long categoryId);
+
+  @Query("select new org.example.database.projection.CategoryPriceAggregate("
+      + "c.id, c.name, count(p), count(p.price), sum(p.price), min(p.price), max(p.price)) "
+      + "from Product p join p.category c group by c.id, c.name")
+  List<CategoryPriceAggregate> aggregatePricesPerCategory();
+
+  @Query("select new org.example.database.projection.PriceTotals("
+      + "count(p), count(p.price), sum(p.price), min(p.price), max(p.price)) from Product p")
+  PriceTotals aggregatePriceTotals();
+
+  @Query("select avg(p.price) from Product p")
+  Optional<Double> findAveragePrice();
+
+  @Query("select avg(p.price) from Product p where p.category.id = :categoryId")
+  Optional<Double> findAveragePriceByCategoryId(@Param("categoryId") Long categoryId);
+
+  @EntityGraph(attributePaths = "category")
+  Optional<Product> findFirstByPriceNotNullOrderByPriceDescIdAsc();
+
+  @EntityGraph(attributePaths = "category")
+  Optional<Product> findFirstByPriceNotNullOrderByPriceAscIdAsc();
+
+  @EntityGraph(attributePaths = "category")
+  Optional<Product> findFirstByCategoryIdAndPriceNotNullOrderByPriceAscIdAsc(Long categoryId);
+
+  @EntityGraph(attributePaths = "category")
+  Optional<Product> findFirstByCategoryIdAndPriceNotNullOrderByPriceDescIdAsc(Long categoryId);
+
+  @EntityGraph(attributePaths = "category")
+  List<Product> findByPriceNotNullOrderByPriceAscIdAsc(Limit limit);
+
+  @EntityGraph(attributePaths = "category")
+  List<Product> findByPriceNotNullOrderByPriceDescIdAsc(Limit limit);
+
+  @EntityGraph(attributePaths = "category")
+  List<Product> findByCategoryIdAndPriceNotNullOrderByPriceAscIdAsc(Long categoryId, Limit limit);
+
+  @EntityGraph(attributePaths = "category")
+  List<Product> findByCategoryIdAndPriceNotNullOrderByPriceDescIdAsc(Long categoryId, Limit limit);
+
+  List<Product> findByCategoryIsNullAndPriceNotNullOrderByPriceAscIdAsc(Limit limit);
+
+  List<Product> findByCategoryIsNullAndPriceNotNullOrderByPriceDescIdAsc(Limit limit);
+
+  /**
+   * Setzt die Preise aller Produkte einer Kategorie mit einem einzigen UPDATE auf
+   * {@code max(round(Preis * factor + amount, 2), 0)}. Wie alle Bulk-Statements läuft es an den Hibernate-Events
+   * vorbei und muss über {@link org.example.database.event.CatalogChangeTracker#recordBulkChange} gemeldet werden.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update versioned Product p set p.price = greatest(round(p.price * :factor + :amount, 2), 0.0) "
+      + "where p.category.id = :categoryId")
+  int repriceByCategoryId(@Param("categoryId") Long categoryId, @Param("factor") double factor,
+      @Param("amount") double amount);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update versioned Product p set p.price = greatest(round(p.price * :factor + :amount, 2), 0.0) "
+      + "where p.id in :ids")
+  int repriceByIdIn(@Param("ids") Collection<Long> ids, @Param("factor") double factor,
+      @Param("amount") double amount);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("delete from Product p where p.category.id = :categoryId")
+  int bulkDeleteByCategoryId(@Param("categoryId") Long categoryId);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("delete from Product p where p.id in :ids")
+  int bulkDeleteByIdIn(@Param("ids") Collection<Long> ids);
+}
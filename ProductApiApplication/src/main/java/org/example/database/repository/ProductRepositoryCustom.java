@@ -0,0 +1,18 @@
+package org.example.database.repository;
+
+import java.util.List;
+import org.example.dto.ProductDTO;
+import org.example.dto.ProductFilter;
+
+public interface ProductRepositoryCustom {
+
+  /**
+   * Lädt Produkte samt Kategoriedaten als DTO-Projektion per Keyset-Paginierung: aufsteigend nach ID und nur IDs größer als {@code afterId}.
+   * Anders als bei OFFSET hängt der Aufwand nicht davon ab, wie weit hinten die Seite liegt.
+   *
+   * @param filter  Die Filter; {@code null}-Felder schränken nicht ein.
+   * @param afterId Die letzte ID der vorherigen Seite oder {@code null} für die erste Seite.
+   * @param limit   Die maximale Anzahl Produkte.
+   */
+  List<ProductDTO> findPage(ProductFilter filter, Long afterId, int limit);
+}
@@ -0,0 +1,75 @@
+package org.example.database.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.example.dto.ProductDTO;
+import org.example.dto.ProductFilter;
+
+/**
+ * Baut die Abfrage nur aus den tatsächlich gesetzten Filtern auf, damit die Datenbank passende Indizes nutzen kann
+ * (statt {@code :param is null or ...}-Konstrukten).
+ */
+class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+  private static final char LIKE_ESCAPE = '\\';
+
+  private final EntityManager entityManager;
+
+  ProductRepositoryCustomImpl(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  @Override
+  public List<ProductDTO> findPage(ProductFilter filter, Long afterId, int limit) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<ProductDTO> query = cb.createQuery(ProductDTO.class);
+    Root<Product> product = query.from(Product.class);
+    Join<Product, Category> category = product.join("category", JoinType.LEFT);
+
+    List<Predicate> predicates = new ArrayList<>();
+    if (afterId != null) {
+      predicates.add(cb.greaterThan(product.get("id"), afterId));
+    }
+    if (filter.categoryId() != null) {
+      predicates.add(cb.equal(category.get("id"), filter.categoryId()));
+    }
+    if (filter.minPrice() != null) {
+      predicates.add(cb.greaterThanOrEqualTo(product.get("price"), filter.minPrice()));
+    }
+    if (filter.maxPrice() != null) {
+      predicates.add(cb.lessThanOrEqualTo(product.get("price"), filter.maxPrice()));
+    }
+    if (filter.namePrefix() != null && !filter.namePrefix().isEmpty()) {
+      predicates.add(cb.like(product.get("name"), escapeLike(filter.namePrefix()) + "%", LIKE_ESCAPE));
+    }
+
+    query.select(cb.construct(ProductDTO.class,
+            product.get("id"), product.get("name"), product.get("price"), category.get("id"), category.get("name")))
+        .where(predicates.toArray(Predicate[]::new))
+        .orderBy(cb.asc(product.get("id")));
+    return entityManager.createQuery(query)
+        .setMaxResults(limit)
+        .getResultList();
+  }
+
+  private static String escapeLike(String value) {
+    StringBuilder escaped = new StringBuilder(value.length() + 4);
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+        escaped.append(LIKE_ESCAPE);
+      }
+      escaped.append(c);
+    }
+    return escaped.toString();
+  }
+}
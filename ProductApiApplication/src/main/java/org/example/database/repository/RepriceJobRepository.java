@@ -0,0 +1,31 @@
+package org.example.database.repository;
+
+import java.time.Instant;
+import java.util.List;
+import org.example.database.model.RepriceJob;
+import org.example.model.RepriceJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RepriceJobRepository extends JpaRepository<RepriceJob, Long> {
+
+  List<RepriceJob> findTop20ByOrderByIdDesc();
+
+  /**
+   * Setzt den Checkpoint nur vorwärts, auch wenn parallele Partitionen ihre Stände in anderer Reihenfolge melden.
+   */
+  @Modifying
+  @Query("update RepriceJob j set j.checkpointId = :checkpointId, j.processedCount = :processedCount, "
+      + "j.updatedAt = :updatedAt where j.id = :id and j.checkpointId < :checkpointId")
+  int updateCheckpoint(@Param("id") Long id, @Param("checkpointId") long checkpointId,
+      @Param("processedCount") long processedCount, @Param("updatedAt") Instant updatedAt);
+
+  @Modifying
+  @Query("update RepriceJob j set j.status = :to, j.updatedAt = :updatedAt where j.status = :from")
+  int updateStatus(@Param("from") RepriceJobStatus from, @Param("to") RepriceJobStatus to,
+      @Param("updatedAt") Instant updatedAt);
+}
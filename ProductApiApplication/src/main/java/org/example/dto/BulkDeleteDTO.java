@@ -0,0 +1,24 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import java.util.List;
+
+@Schema(description = "Löschen aller Produkte einer Kategorie oder einer Liste von Produkten")
+public record BulkDeleteDTO(
+
+    @Schema(description = "Kategorie, deren Produkte gelöscht werden (alternativ zu productIds)", example = "1")
+    Long categoryId,
+
+    @Schema(description = "IDs der zu löschenden Produkte (alternativ zu categoryId)", example = "[1, 2, 3]")
+    List<Long> productIds
+
+) {
+
+  @JsonIgnore
+  @AssertTrue(message = "Genau eines von categoryId oder productIds muss angegeben sein")
+  public boolean isSelectionValid() {
+    return (categoryId == null) != (productIds == null);
+  }
+}
@@ -0,0 +1,13 @@
+package org.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Ergebnis einer mengenbasierten Änderung")
+public record BulkOperationResultDTO(
+
+    @Schema(description = "Anzahl der betroffenen Produkte", example = "4211")
+    long affectedCount
+
+) {
+
+}
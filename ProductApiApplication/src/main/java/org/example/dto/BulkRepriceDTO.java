@@ -0,0 +1,35 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import org.example.model.PriceAdjustmentType;
+
+@Schema(description = "Preisänderung für alle Produkte einer Kategorie oder für eine Liste von Produkten")
+public record BulkRepriceDTO(
+
+    @Schema(description = "Kategorie, deren Produkte geändert werden (alternativ zu productIds)", example = "1")
+    Long categoryId,
+
+    @Schema(description = "IDs der zu ändernden Produkte (alternativ zu categoryId)", example = "[1, 2, 3]")
+    List<Long> productIds,
+
+    @Schema(description = "PERCENTAGE: Änderung in Prozent, ABSOLUTE: Betrag, der addiert wird", example = "PERCENTAGE")
+    @NotNull(message = "Art der Preisänderung ist erforderlich")
+    PriceAdjustmentType type,
+
+    @Schema(description = "Prozentsatz bzw. Betrag, negativ für Preissenkungen. Preise fallen nicht unter 0.",
+        example = "10")
+    @NotNull(message = "Wert der Preisänderung ist erforderlich")
+    Double value
+
+) {
+
+  @JsonIgnore
+  @AssertTrue(message = "Genau eines von categoryId oder productIds muss angegeben sein")
+  public boolean isSelectionValid() {
+    return (categoryId == null) != (productIds == null);
+  }
+}
@@ -0,0 +1,31 @@
+package org.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Kennzahlen eines Caches seit dem Start der Anwendung")
+public record CacheStatsDTO(
+
+    @Schema(description = "Name des Caches", example = "products")
+    String name,
+
+    @Schema(description = "Ungefähre Anzahl der aktuell gehaltenen Einträge", example = "4211")
+    long size,
+
+    @Schema(description = "Maximale Anzahl Einträge", example = "10000")
+    long maximumSize,
+
+    @Schema(description = "Anzahl der Treffer", example = "981234")
+    long hitCount,
+
+    @Schema(description = "Anzahl der Fehlzugriffe, die aus der Datenbank geladen wurden", example = "12876")
+    long missCount,
+
+    @Schema(description = "Anteil der Treffer an allen Zugriffen", example = "0.987")
+    double hitRate,
+
+    @Schema(description = "Anzahl der wegen Größe oder Ablaufzeit verdrängten Einträge", example = "3120")
+    long evictionCount
+
+) {
+
+}
@@ -0,0 +1,35 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+import org.example.model.CatalogEventType;
+
+@Schema(description = "Eine committete Änderung am Katalog")
+public record CatalogEventDTO(
+
+    @Schema(description = "Position im Änderungsstrom, lückenlos aufsteigend", example = "4711")
+    long id,
+
+    @Schema(description = "Position samt Epoche des Stroms; zum Fortsetzen als after bzw. Last-Event-ID",
+        example = "m2x8k1qz-4711")
+    String cursor,
+
+    @Schema(description = "Art der Änderung", example = "PRODUCT_UPDATED")
+    CatalogEventType type,
+
+    @Schema(description = "ID des Produkts bzw. der Kategorie; leer bei mengenbasierten Änderungen", example = "42")
+    Long entityId,
+
+    @Schema(description = "Zeitpunkt des Commits")
+    Instant occurredAt,
+
+    @JsonRawValue
+    @Schema(description = "Neuer Zustand (bei Löschungen der letzte): name, price und categoryId bei Produkten, name "
+        + "bei Kategorien, categoryId oder productIds bei mengenbasierten Änderungen", type = "object",
+        example = "{\"name\": \"Laptop\", \"price\": 1199.0, \"categoryId\": 1}")
+    String data
+
+) {
+
+}
@@ -0,0 +1,16 @@
+package org.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Stand der aktiven Rabattregeln")
+public record DiscountRulesStatusDTO(
+
+    @Schema(description = "Version des Regelstands, steigt mit jedem Austausch", example = "3")
+    long version,
+
+    @Schema(description = "Anzahl der geladenen Regeln", example = "2")
+    int ruleCount
+
+) {
+
+}
@@ -0,0 +1,36 @@
+package org.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Geschätzte Preisverteilung einer oder mehrerer Kategorien")
+public record PriceDistributionDTO(
+
+    @Schema(description = "Anzahl der Produkte mit Preis", example = "10000")
+    long pricedCount,
+
+    @Schema(description = "Kleinster Preis (exakt)", example = "0.99")
+    double minPrice,
+
+    @Schema(description = "Median", example = "49.90")
+    double medianPrice,
+
+    @Schema(description = "90. Perzentil", example = "249.00")
+    double p90Price,
+
+    @Schema(description = "99. Perzentil", example = "899.00")
+    double p99Price,
+
+    @Schema(description = "Größter Preis (exakt)", example = "1999.00")
+    double maxPrice,
+
+    @Schema(description = "Normierter Rangfehler: Der Rang jedes geschätzten Werts liegt mit 99 % Wahrscheinlichkeit "
+        + "höchstens um diesen Anteil der Produktanzahl neben dem exakten; 0 bei exakten Werten", example = "0.0165")
+    double rankError,
+
+    @Schema(description = "Histogramm mit gleich breiten Preisklassen zwischen kleinstem und größtem Preis")
+    List<PriceHistogramBucketDTO> histogram
+
+) {
+
+}
@@ -0,0 +1,19 @@
+package org.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Eine Klasse des Preishistogramms")
+public record PriceHistogramBucketDTO(
+
+    @Schema(description = "Untere Grenze (ausschließlich, bei der ersten Klasse einschließlich)", example = "0.99")
+    double lowerBound,
+
+    @Schema(description = "Obere Grenze (einschließlich)", example = "100.99")
+    double upperBound,
+
+    @Schema(description = "Geschätzte Anzahl der Produkte in dieser Preisklasse", example = "1873")
+    long count
+
+) {
+
+}
@@ -0,0 +1,19 @@
+package org.example.dto;
+
+/**
+ * Optionale Filter für die Produktliste. Nicht gesetzte Felder ({@code null}) schränken nicht ein.
+ *
+ * @param categoryId Nur Produkte dieser Kategorie.
+ * @param minPrice   Mindestpreis (inklusiv).
+ * @param maxPrice   Höchstpreis (inklusiv).
+ * @param namePrefix Nur Produkte, deren Name mit diesem Präfix beginnt (Groß-/Kleinschreibung wird beachtet).
+ */
+public record ProductFilter(
+    Long categoryId,
+    Double minPrice,
+    Double maxPrice,
+    String namePrefix
+) {
+
+  public static final ProductFilter NONE = new ProductFilter(null, null, null, null);
+}
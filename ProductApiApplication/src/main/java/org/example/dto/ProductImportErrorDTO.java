@@ -0,0 +1,16 @@
+package org.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Eine Zeile, die nicht importiert werden konnte")
+public record ProductImportErrorDTO(
+
+    @Schema(description = "Nummer des Datensatzes (ab 1, ohne CSV-Header)", example = "17")
+    long row,
+
+    @Schema(description = "Grund, warum der Datensatz übersprungen wurde", example = "Preis ist erforderlich")
+    String message
+
+) {
+
+}
@@ -0,0 +1,23 @@
+package org.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Ergebnis eines Massenimports")
+public record ProductImportResultDTO(
+
+    @Schema(description = "Anzahl der angelegten Produkte", example = "999998")
+    long importedCount,
+
+    @Schema(description = "Anzahl der übersprungenen Datensätze", example = "2")
+    long failedCount,
+
+    @Schema(description = "Die übersprungenen Datensätze, höchstens die ersten 1000")
+    List<ProductImportErrorDTO> errors,
+
+    @Schema(description = "true, wenn mehr Fehler aufgetreten sind, als in errors enthalten sind", example = "false")
+    boolean errorsTruncated
+
+) {
+
+}
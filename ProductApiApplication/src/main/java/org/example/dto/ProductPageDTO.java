@@ -0,0 +1,16 @@
+package org.example.dto;
+
+import java.util.List;
+
+/**
+ * Eine Seite der Produktliste.
+ *
+ * @param products   Die Produkte der Seite, aufsteigend nach ID.
+ * @param nextCursor Der Cursor ({@code after}) für die nächste Seite oder {@code null}, wenn dies die letzte ist.
+ */
+public record ProductPageDTO(
+    List<ProductDTO> products,
+    Long nextCursor
+) {
+
+}
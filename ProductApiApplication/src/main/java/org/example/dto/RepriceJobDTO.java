@@ -0,0 +1,46 @@
+package org.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+import org.example.model.RepriceJobStatus;
+
+@Schema(description = "Stand einer Neuberechnung aller Preisinformationen")
+public record RepriceJobDTO(
+
+    @Schema(description = "ID des Jobs", example = "7")
+    Long id,
+
+    @Schema(description = "Status des Jobs", example = "RUNNING")
+    RepriceJobStatus status,
+
+    @Schema(description = "Kleinste Produkt-ID im Bereich des Jobs", example = "1")
+    long firstId,
+
+    @Schema(description = "Größte Produkt-ID im Bereich des Jobs", example = "250000")
+    long lastId,
+
+    @Schema(description = "Alle Produkte bis einschließlich dieser ID sind geschrieben; ab hier wird fortgesetzt",
+        example = "120000")
+    long checkpointId,
+
+    @Schema(description = "Anzahl der Produkte im Bereich beim Start", example = "250000")
+    long totalCount,
+
+    @Schema(description = "Anzahl der bisher geschriebenen Produkte", example = "131000")
+    long processedCount,
+
+    @Schema(description = "Fortschritt in Prozent", example = "52.4")
+    double percentComplete,
+
+    @Schema(description = "Startzeitpunkt")
+    Instant startedAt,
+
+    @Schema(description = "Endzeitpunkt; leer, solange der Job läuft")
+    Instant finishedAt,
+
+    @Schema(description = "Fehlermeldung bei Status FAILED")
+    String message
+
+) {
+
+}
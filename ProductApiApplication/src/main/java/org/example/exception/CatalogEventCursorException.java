@@ -0,0 +1,12 @@
+package org.example.exception;
+
+/**
+ * Eine Position im Änderungsstrom lässt sich nicht fortsetzen, weil sie aus einem früheren Strom stammt, etwa vor dem
+ * Zurücksetzen der Datenbank.
+ */
+public class CatalogEventCursorException extends RuntimeException {
+
+  public CatalogEventCursorException(String message) {
+    super(message);
+  }
+}
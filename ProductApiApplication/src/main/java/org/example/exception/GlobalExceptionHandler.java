@@ -1,16 +1,63 @@
 package org.example.exception;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+  private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+  private static final int RETRY_AFTER_SECONDS = 1;
+
   @ExceptionHandler(ResourceNotFoundException.class)
   public ResponseEntity<String> handleResourceNotFound(ResourceNotFoundException ex) {
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
   }
 
+  @ExceptionHandler(InvalidDiscountRulesException.class)
+  public ResponseEntity<String> handleInvalidDiscountRules(InvalidDiscountRulesException ex) {
+    return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(ex.getMessage());
+  }
+
+  @ExceptionHandler(InvalidImportException.class)
+  public ResponseEntity<String> handleInvalidImport(InvalidImportException ex) {
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+  }
+
+  @ExceptionHandler(RepriceJobStateException.class)
+  public ResponseEntity<String> handleRepriceJobState(RepriceJobStateException ex) {
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+  }
+
+  @ExceptionHandler(CatalogEventCursorException.class)
+  public ResponseEntity<String> handleCatalogEventCursor(CatalogEventCursorException ex) {
+    return ResponseEntity.status(HttpStatus.GONE).body(ex.getMessage());
+  }
+
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<String> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .body("Der Datensatz wurde zwischenzeitlich geändert. Bitte neu laden und erneut versuchen.");
+  }
+
+  /**
+   * Innerhalb von {@code spring.datasource.hikari.connection-timeout} war keine Datenbankverbindung frei. Meist ist der
+   * Pool nur kurzzeitig ausgelastet; der Client soll es kurz darauf erneut versuchen.
+   */
+  @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+  public ResponseEntity<String> handleConnectionUnavailable(RuntimeException ex) {
+    log.warn("No database connection available: {}", ex.getMessage());
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS))
+        .body("Die Datenbank ist gerade ausgelastet. Bitte in Kürze erneut versuchen.");
+  }
+
 }
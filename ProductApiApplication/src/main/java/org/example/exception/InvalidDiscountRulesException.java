@@ -0,0 +1,15 @@
+package org.example.exception;
+
+/**
+ * Die Rabatt-Regeltabelle konnte nicht gelesen oder übersetzt werden. Die bisher aktiven Regeln bleiben in Kraft.
+ */
+public class InvalidDiscountRulesException extends RuntimeException {
+
+  public InvalidDiscountRulesException(String message) {
+    super(message);
+  }
+
+  public InvalidDiscountRulesException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,16 @@
+package org.example.exception;
+
+/**
+ * Die Importdatei ist als Ganzes nicht lesbar (z.B. fehlender CSV-Header oder syntaktisch ungültiges JSON). Fehler in
+ * einzelnen Zeilen führen nicht zu dieser Exception, sondern werden im Importergebnis gemeldet.
+ */
+public class InvalidImportException extends RuntimeException {
+
+  public InvalidImportException(String message) {
+    super(message);
+  }
+
+  public InvalidImportException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
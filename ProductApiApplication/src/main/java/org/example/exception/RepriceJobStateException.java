@@ -0,0 +1,11 @@
+package org.example.exception;
+
+/**
+ * Die Aktion passt nicht zum Status des Jobs, z.B. ein zweiter Start, während bereits ein Job läuft.
+ */
+public class RepriceJobStateException extends RuntimeException {
+
+  public RepriceJobStateException(String message) {
+    super(message);
+  }
+}
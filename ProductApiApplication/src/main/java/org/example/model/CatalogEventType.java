@@ -0,0 +1,21 @@
+package org.example.model;
+
+/**
+ * Art eines Ereignisses im Änderungsstrom des Katalogs (GET /api/v1/catalog-events).
+ */
+public enum CatalogEventType {
+  PRODUCT_CREATED,
+  PRODUCT_UPDATED,
+  PRODUCT_DELETED,
+  CATEGORY_CREATED,
+  CATEGORY_UPDATED,
+  CATEGORY_DELETED,
+  /**
+   * Mengenbasierte Preisänderung; die neuen Preise sind nicht bekannt und müssen bei Bedarf nachgelesen werden.
+   */
+  PRODUCTS_UPDATED,
+  /**
+   * Mengenbasiertes Löschen per Kategorie oder Liste von IDs.
+   */
+  PRODUCTS_DELETED
+}
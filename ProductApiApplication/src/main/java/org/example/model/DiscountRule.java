@@ -0,0 +1,26 @@
+package org.example.model;
+
+import java.time.LocalDate;
+
+/**
+ * Eine Zeile der Rabatt-Regeltabelle.
+ *
+ * @param categoryName      Name der Kategorie, für die die Regel gilt (Groß-/Kleinschreibung egal).
+ * @param minPriceExclusive Untergrenze des Preises (exklusiv) oder {@code null} für keine.
+ * @param maxPriceInclusive Obergrenze des Preises (inklusiv) oder {@code null} für keine.
+ * @param discount          Der Rabatt, der bei einem Treffer angewendet wird.
+ * @param validFrom         Erster Gültigkeitstag oder {@code null} für unbegrenzt.
+ * @param validUntil        Letzter Gültigkeitstag oder {@code null} für unbegrenzt.
+ * @param priority          Bei Überschneidungen gewinnt die höhere Priorität.
+ */
+public record DiscountRule(
+    String categoryName,
+    Double minPriceExclusive,
+    Double maxPriceInclusive,
+    DiscountInfo discount,
+    LocalDate validFrom,
+    LocalDate validUntil,
+    int priority
+) {
+
+}
@@ -0,0 +1,12 @@
+package org.example.model;
+
+public enum RepriceJobStatus {
+  RUNNING,
+  COMPLETED,
+  CANCELLED,
+  FAILED,
+  /**
+   * Die Anwendung wurde während des Laufs beendet; der Job kann ab seinem Checkpoint fortgesetzt werden.
+   */
+  INTERRUPTED
+}
@@ -0,0 +1,52 @@
+package org.example.rest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.example.dto.CacheStatsDTO;
+import org.example.services.CatalogCacheService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/caches")
+@Tag(name = "Caches", description = "API zur Überwachung der Katalog-Caches")
+public class CacheController {
+
+  private final CatalogCacheService catalogCacheService;
+
+  public CacheController(CatalogCacheService catalogCacheService) {
+    this.catalogCacheService = catalogCacheService;
+  }
+
+  @Operation(summary = "Cache-Statistiken abrufen",
+      description = "Gibt Größe, Treffer, Fehlzugriffe und Verdrängungen der Produkt- und Kategorie-Caches zurück.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Statistiken erfolgreich abgerufen",
+          content = @Content(mediaType = "application/json",
+              array = @ArraySchema(schema = @Schema(implementation = CacheStatsDTO.class))))
+  })
+  @GetMapping
+  public ResponseEntity<List<CacheStatsDTO>> getStatistics() {
+    return ResponseEntity.ok(catalogCacheService.getStatistics());
+  }
+
+  @Operation(summary = "Caches leeren",
+      description = "Verwirft alle Einträge, z.B. nachdem Daten direkt in der Datenbank geändert wurden.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "204", description = "Caches geleert")
+  })
+  @DeleteMapping
+  public ResponseEntity<Void> invalidateAll() {
+    catalogCacheService.invalidateAll();
+    return ResponseEntity.noContent().build();
+  }
+}
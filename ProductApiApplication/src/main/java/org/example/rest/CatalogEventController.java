@@ -0,0 +1,87 @@
+package org.example.rest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import java.util.List;
+import org.example.dto.CatalogEventDTO;
+import org.example.services.CatalogEventService;
+import org.example.services.impl.events.CatalogEventCursor;
+import org.example.services.impl.events.CatalogEventRelay;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Änderungsstrom des Katalogs: Jede committete Änderung an Produkten und Kategorien genau einmal und in fester
+ * Reihenfolge, statt den Katalog periodisch neu zu lesen.
+ */
+@RestController
+@RequestMapping("/api/v1/catalog-events")
+@Tag(name = "Catalog Events", description = "API für den Änderungsstrom des Produktkatalogs")
+public class CatalogEventController {
+
+  private static final int DEFAULT_LIMIT = 100;
+
+  private final CatalogEventService catalogEventService;
+
+  public CatalogEventController(CatalogEventService catalogEventService) {
+    this.catalogEventService = catalogEventService;
+  }
+
+  @Operation(summary = "Änderungen abrufen",
+      description = "Gibt die Änderungen nach dem angegebenen Stand zurück, aufsteigend. Zum Fortsetzen den cursor des "
+          + "letzten Ereignisses als after mitschicken; eine leere Liste bedeutet, dass es nichts Neueres gibt. "
+          + "Stammt der Stand aus einem früheren Strom (etwa vor dem Zurücksetzen der Datenbank), kommt 410; der "
+          + "Katalog muss dann neu gelesen werden.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Änderungen erfolgreich ermittelt",
+          content = @Content(mediaType = "application/json",
+              array = @ArraySchema(schema = @Schema(implementation = CatalogEventDTO.class)))),
+      @ApiResponse(responseCode = "400", description = "Ungültiger Stand oder ungültige Anzahl"),
+      @ApiResponse(responseCode = "410", description = "Stand aus einem früheren Änderungsstrom")
+  })
+  @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<List<CatalogEventDTO>> getEvents(
+      @Parameter(description = "cursor des letzten bereits verarbeiteten Ereignisses, 0 für den Anfang")
+      @RequestParam(defaultValue = "0") @Pattern(regexp = CatalogEventCursor.PATTERN) String after,
+      @Parameter(description = "Höchstzahl der Ereignisse")
+      @RequestParam(defaultValue = "" + DEFAULT_LIMIT) @Min(1) @Max(CatalogEventRelay.BATCH_SIZE) int limit) {
+    return ResponseEntity.ok(catalogEventService.getEvents(after, limit));
+  }
+
+  @Operation(summary = "Änderungen als Server-Sent Events empfangen",
+      description = "Sendet neue Änderungen gebündelt als JSON-Array (event: catalog-events); die ID einer Nachricht "
+          + "ist der cursor ihres letzten Ereignisses. Mit Last-Event-ID (Header, beim Wiederverbinden von "
+          + "EventSource automatisch gesetzt) oder lastEventId wird nach diesem Stand fortgesetzt, ohne beides "
+          + "kommen nur künftige Änderungen. Sind die benötigten Ereignisse bereits gelöscht oder stammt der Stand "
+          + "aus einem früheren Strom, kommt zuerst event: resync mit dem aktuellen Stand; der Katalog muss dann neu "
+          + "gelesen werden.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Strom geöffnet",
+          content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)),
+      @ApiResponse(responseCode = "400", description = "Ungültiger Stand")
+  })
+  @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamEvents(
+      @Parameter(description = "Letzter empfangener Stand")
+      @RequestHeader(name = "Last-Event-ID", required = false) @Pattern(regexp = CatalogEventCursor.PATTERN)
+      String lastEventIdHeader,
+      @Parameter(description = "Letzter empfangener Stand, für Clients ohne eigene Header; Last-Event-ID hat Vorrang")
+      @RequestParam(required = false) @Pattern(regexp = CatalogEventCursor.PATTERN) String lastEventId) {
+    return catalogEventService.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+  }
+}
@@ -0,0 +1,42 @@
+package org.example.rest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.dto.DiscountRulesStatusDTO;
+import org.example.services.pricing.DiscountRuleService;
+import org.springdoc.api.ErrorMessage;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/discount-rules")
+@Tag(name = "Discount Rules", description = "API zur Verwaltung der Rabattregeln")
+public class DiscountRuleController {
+
+  private final DiscountRuleService discountRuleService;
+
+  public DiscountRuleController(DiscountRuleService discountRuleService) {
+    this.discountRuleService = discountRuleService;
+  }
+
+  @Operation(summary = "Rabattregeln neu laden",
+      description = "Liest die Regeltabelle neu ein und aktiviert sie ohne Neustart. Bei Fehlern bleibt der bisherige Stand aktiv.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Neuer Regelstand aktiv",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = DiscountRulesStatusDTO.class))),
+      @ApiResponse(responseCode = "422", description = "Regeltabelle fehlerhaft, bisheriger Stand bleibt aktiv",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class)))
+  })
+  @PostMapping("/reload")
+  public ResponseEntity<DiscountRulesStatusDTO> reload() {
+    return ResponseEntity.ok(discountRuleService.reloadRules());
+  }
+}
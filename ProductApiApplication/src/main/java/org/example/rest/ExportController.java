@@ -0,0 +1,160 @@
+package org.example.rest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import org.example.dto.CategoryDTO;
+import org.example.exception.ResourceNotFoundException;
+import org.example.services.CatalogExportService;
+import org.example.services.CategoryService;
+import org.example.services.ProductExportService;
+import org.springdoc.api.ErrorMessage;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Streamt Exporte direkt in die Antwort (chunked), ohne sie vorher im Speicher aufzubauen. Fehler wie unbekannte
+ * Kategorien werden vor dem ersten Byte geprüft und liefern ein reguläres 404.
+ */
+@RestController
+@RequestMapping("/api/v1/exports")
+@Tag(name = "Exports", description = "API zum Export von Produktdaten")
+public class ExportController {
+
+  static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+  static final MediaType APPLICATION_ZIP = new MediaType("application", "zip");
+
+  private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+  private final ProductExportService productExportService;
+  private final CatalogExportService catalogExportService;
+  private final CategoryService categoryService;
+
+  public ExportController(ProductExportService productExportService, CatalogExportService catalogExportService,
+      CategoryService categoryService) {
+    this.productExportService = productExportService;
+    this.catalogExportService = catalogExportService;
+    this.categoryService = categoryService;
+  }
+
+  @Operation(summary = "Produkte einer Kategorie als CSV exportieren",
+      description = "Streamt alle Produkte einer Kategorie als CSV. Mit 'Accept-Encoding: gzip' wird die Antwort gzip-komprimiert.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "CSV-Export wird gestreamt",
+          content = @Content(mediaType = "text/csv")),
+      @ApiResponse(responseCode = "404", description = "Kategorie mit der angegebenen ID nicht gefunden",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class))),
+      @ApiResponse(responseCode = "500", description = "Interner Serverfehler",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class)))
+  })
+  @GetMapping("/categories/{categoryId}")
+  public ResponseEntity<StreamingResponseBody> exportCategory(
+      @Parameter(description = "ID der zu exportierenden Kategorie", required = true) @PathVariable Long categoryId,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+    CategoryDTO category = findCategory(categoryId);
+    boolean gzip = acceptsGzip(acceptEncoding);
+
+    StreamingResponseBody body = outputStream -> {
+      if (gzip) {
+        // syncFlush, damit der Header trotz Kompression sofort beim Client ankommt.
+        GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE, true);
+        productExportService.exportProductsByCategoryToCsv(category.getId(), gzipStream);
+        gzipStream.finish();
+      } else {
+        productExportService.exportProductsByCategoryToCsv(category.getId(), outputStream);
+      }
+    };
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .contentType(TEXT_CSV)
+        .header(HttpHeaders.CONTENT_DISPOSITION, attachment("kategorie-" + category.getId() + ".csv"))
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    return response.body(body);
+  }
+
+  @Operation(summary = "Katalog als ZIP exportieren",
+      description = "Exportiert mehrere Kategorien parallel und streamt sie als ZIP-Archiv mit einer CSV-Datei pro Kategorie. "
+          + "Ohne Angabe von Kategorien wird der gesamte Katalog exportiert.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "ZIP-Archiv wird gestreamt",
+          content = @Content(mediaType = "application/zip")),
+      @ApiResponse(responseCode = "404", description = "Eine der angegebenen Kategorien wurde nicht gefunden",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class))),
+      @ApiResponse(responseCode = "500", description = "Interner Serverfehler",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class)))
+  })
+  @GetMapping("/catalog")
+  public ResponseEntity<StreamingResponseBody> exportCatalog(
+      @Parameter(description = "IDs der zu exportierenden Kategorien, leer für alle")
+      @RequestParam(required = false) List<Long> categoryIds) {
+    List<CategoryDTO> categories = categoryIds == null || categoryIds.isEmpty()
+        ? categoryService.getAllCategories()
+        : categoryIds.stream().distinct().map(this::findCategory).toList();
+
+    StreamingResponseBody body = outputStream -> catalogExportService.exportCategoriesToZip(categories, outputStream);
+
+    return ResponseEntity.ok()
+        .contentType(APPLICATION_ZIP)
+        .header(HttpHeaders.CONTENT_DISPOSITION, attachment("katalog.zip"))
+        .body(body);
+  }
+
+  private CategoryDTO findCategory(Long categoryId) {
+    return categoryService.getCategoryById(categoryId)
+        .orElseThrow(() -> new ResourceNotFoundException("Kategorie nicht gefunden mit der ID: " + categoryId));
+  }
+
+  private static String attachment(String fileName) {
+    return ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build().toString();
+  }
+
+  /**
+   * Prüft, ob der Client gzip akzeptiert. {@code gzip;q=0} gilt als Ablehnung.
+   */
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.trim().split(";");
+      if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+        continue;
+      }
+      for (int i = 1; i < parts.length; i++) {
+        String parameter = parts[i].trim();
+        if (parameter.startsWith("q=")) {
+          try {
+            return Double.parseDouble(parameter.substring(2)) > 0;
+          } catch (NumberFormatException e) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+}
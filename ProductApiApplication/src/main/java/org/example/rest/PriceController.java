@@ -0,0 +1,131 @@
+package org.example.rest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Size;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.example.dto.PriceDetailsDTO;
+import org.example.services.pricing.PriceCalculationService;
+import org.example.services.pricing.PriceVersion;
+import org.example.services.pricing.VersionedPriceDetails;
+import org.springdoc.api.ErrorMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Preisinformationen mit HTTP-Caching. Der ETag setzt sich aus Produktversion, Prüfsumme der Regeln der Kategorie und
+ * Stichtag zusammen ({@link PriceVersion}); ändert sich einer davon, ändert sich der ETag. Die Antworten dürfen
+ * höchstens {@code pricing.http.max-age} und nie über Mitternacht hinaus gecacht werden, danach muss per
+ * {@code If-None-Match} nachgefragt werden.
+ * <p>
+ * Die In-Memory-Datenbank vergibt Produkt-IDs und -Versionen nach jedem Start neu; der ETag enthält deshalb
+ * zusätzlich die Startzeit dieser Instanz.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Prices", description = "API zur Abfrage von Preisinformationen")
+public class PriceController {
+
+  static final int MAX_BATCH_SIZE = 1_000;
+
+  private final PriceCalculationService priceCalculationService;
+  private final Duration maxAge;
+  private final String instanceId = Long.toString(System.currentTimeMillis(), 36);
+
+  public PriceController(PriceCalculationService priceCalculationService,
+      @Value("${pricing.http.max-age:60s}") Duration maxAge) {
+    this.priceCalculationService = priceCalculationService;
+    this.maxAge = maxAge;
+  }
+
+  @Operation(summary = "Preisinformationen eines Produkts abrufen",
+      description = "Berechnet Endpreis, Rabatt und Steuern eines Produkts. Unterstützt bedingte Anfragen per ETag.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Preisinformationen erfolgreich berechnet",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = PriceDetailsDTO.class))),
+      @ApiResponse(responseCode = "304", description = "Unverändert seit dem mitgeschickten ETag"),
+      @ApiResponse(responseCode = "404", description = "Produkt mit der angegebenen ID nicht gefunden",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class)))
+  })
+  @GetMapping("/products/{id}/price")
+  public ResponseEntity<PriceDetailsDTO> getPrice(WebRequest request,
+      @Parameter(description = "ID des Produkts", required = true) @PathVariable Long id) {
+    String currentEtag = etag(id, priceCalculationService.getPriceVersion(id));
+    if (request.checkNotModified(currentEtag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentEtag).cacheControl(cacheControl()).build();
+    }
+    VersionedPriceDetails priced = priceCalculationService.calculateVersionedPriceDetails(List.of(id)).get(id);
+    if (priced == null) {
+      // Zwischen Stand und Berechnung gelöscht.
+      return ResponseEntity.notFound().build();
+    }
+    return ResponseEntity.ok()
+        .eTag(etag(id, priced.version()))
+        .cacheControl(cacheControl())
+        .body(priced.priceDetails());
+  }
+
+  @Operation(summary = "Preisinformationen mehrerer Produkte abrufen",
+      description = "Berechnet die Preisinformationen für bis zu " + MAX_BATCH_SIZE + " Produkte in der Reihenfolge "
+          + "der übergebenen IDs. Nicht gefundene Produkte fehlen in der Antwort. Der ETag ändert sich, sobald sich "
+          + "eines der Produkte, ihre Rabattregeln oder der Stichtag ändern.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Preisinformationen erfolgreich berechnet",
+          content = @Content(mediaType = "application/json",
+              array = @ArraySchema(schema = @Schema(implementation = PriceDetailsDTO.class)))),
+      @ApiResponse(responseCode = "400", description = "Zu viele IDs",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class)))
+  })
+  @PostMapping("/prices")
+  public ResponseEntity<List<PriceDetailsDTO>> getPrices(
+      @Parameter(description = "IDs der Produkte", required = true)
+      @RequestBody @Size(max = MAX_BATCH_SIZE) List<Long> productIds) {
+    Map<Long, VersionedPriceDetails> priced = priceCalculationService.calculateVersionedPriceDetails(productIds);
+    StringBuilder versions = new StringBuilder(instanceId);
+    priced.forEach((id, details) -> versions.append(';').append(tag(id, details.version())));
+    return ResponseEntity.ok()
+        .eTag(DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8)))
+        .cacheControl(cacheControl())
+        .body(priced.values().stream().map(VersionedPriceDetails::priceDetails).toList());
+  }
+
+  private String etag(Long productId, PriceVersion version) {
+    return "\"" + instanceId + "-" + tag(productId, version) + "\"";
+  }
+
+  private static String tag(Long productId, PriceVersion version) {
+    return productId + "." + version.productVersion() + "." + version.rulesFingerprint() + "." + version.pricingDay();
+  }
+
+  private CacheControl cacheControl() {
+    LocalDateTime now = LocalDateTime.now();
+    long untilMidnight = Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay()).toSeconds();
+    return CacheControl.maxAge(Math.max(0, Math.min(maxAge.toSeconds(), untilMidnight)), TimeUnit.SECONDS)
+        .cachePublic()
+        .mustRevalidate();
+  }
+}
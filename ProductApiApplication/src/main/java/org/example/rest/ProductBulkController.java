@@ -0,0 +1,68 @@
+package org.example.rest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.example.dto.BulkDeleteDTO;
+import org.example.dto.BulkOperationResultDTO;
+import org.example.dto.BulkRepriceDTO;
+import org.example.services.ProductBulkService;
+import org.springdoc.api.ErrorMessage;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/products/bulk")
+@Tag(name = "Product Bulk Operations", description = "API für mengenbasierte Änderungen an Produkten")
+public class ProductBulkController {
+
+  private final ProductBulkService productBulkService;
+
+  public ProductBulkController(ProductBulkService productBulkService) {
+    this.productBulkService = productBulkService;
+  }
+
+  @Operation(summary = "Preise mengenbasiert ändern",
+      description = "Ändert die Preise aller Produkte einer Kategorie oder einer Liste von IDs prozentual oder um einen "
+          + "festen Betrag, ohne die Produkte einzeln zu laden.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Preise geändert",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = BulkOperationResultDTO.class))),
+      @ApiResponse(responseCode = "400", description = "Ungültige Eingabedaten (Validierungsfehler)",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class))),
+      @ApiResponse(responseCode = "404", description = "Kategorie nicht gefunden",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class)))
+  })
+  @PostMapping("/reprice")
+  public ResponseEntity<BulkOperationResultDTO> repriceProducts(@Valid @RequestBody BulkRepriceDTO reprice) {
+    return ResponseEntity.ok(productBulkService.repriceProducts(reprice));
+  }
+
+  @Operation(summary = "Produkte mengenbasiert löschen",
+      description = "Löscht alle Produkte einer Kategorie oder einer Liste von IDs.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Produkte gelöscht",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = BulkOperationResultDTO.class))),
+      @ApiResponse(responseCode = "400", description = "Ungültige Eingabedaten (Validierungsfehler)",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class))),
+      @ApiResponse(responseCode = "404", description = "Kategorie nicht gefunden",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class)))
+  })
+  @PostMapping("/delete")
+  public ResponseEntity<BulkOperationResultDTO> deleteProducts(@Valid @RequestBody BulkDeleteDTO delete) {
+    return ResponseEntity.ok(productBulkService.deleteProducts(delete));
+  }
+}
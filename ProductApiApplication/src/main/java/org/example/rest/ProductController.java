@@ -9,11 +9,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import org.example.dto.ProductDTO;
+import org.example.dto.ProductFilter;
+import org.example.dto.ProductImportResultDTO;
+import org.example.dto.ProductPageDTO;
+import org.example.services.ProductImportService;
 import org.example.services.ProductService;
 import org.springdoc.api.ErrorMessage;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -21,31 +31,84 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
 @RequestMapping("/api/v1/products")
 @Tag(name = "Products", description = "API zur Verwaltung von Produkten")
 public class ProductController {
 
+  static final int DEFAULT_PAGE_SIZE = 100;
+  static final int MAX_PAGE_SIZE = 1000;
+  static final int DEFAULT_SEARCH_LIMIT = 20;
+  static final int MAX_SEARCH_LIMIT = 100;
+
   private final ProductService productService;
+  private final ProductImportService productImportService;
 
-  public ProductController(ProductService productService) {
+  public ProductController(ProductService productService, ProductImportService productImportService) {
     this.productService = productService;
+    this.productImportService = productImportService;
   }
 
-  @Operation(summary = "Alle Produkte abrufen", description = "Gibt eine Liste aller vorhandenen Produkte zurück.")
+  @Operation(summary = "Produkte seitenweise abrufen",
+      description = "Gibt eine Seite der Produkte aufsteigend nach ID zurück, optional gefiltert nach Kategorie, "
+          + "Preisbereich und Namenspräfix. Gibt es weitere Produkte, verweist der Link-Header (rel=\"next\") auf "
+          + "die nächste Seite.")
   @ApiResponses(value = {
-      @ApiResponse(responseCode = "200", description = "Liste der Produkte erfolgreich abgerufen",
+      @ApiResponse(responseCode = "200", description = "Seite der Produkte erfolgreich abgerufen",
           content = @Content(mediaType = "application/json",
               schema = @Schema(type = "array", implementation = ProductDTO.class))),
+      @ApiResponse(responseCode = "400", description = "Ungültige Parameter (z.B. limit außerhalb von 1 bis 1000)",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class))),
       @ApiResponse(responseCode = "500", description = "Interner Serverfehler",
           content = @Content(mediaType = "application/json",
               schema = @Schema(implementation = ErrorMessage.class)))
   })
   @GetMapping
-  public ResponseEntity<List<ProductDTO>> getAllProducts() {
-    return ResponseEntity.ok(productService.getAllProducts());
+  public ResponseEntity<List<ProductDTO>> getProducts(
+      @Parameter(description = "Cursor: die letzte ID der vorherigen Seite") @RequestParam(required = false) Long after,
+      @Parameter(description = "Maximale Anzahl Produkte pro Seite")
+      @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int limit,
+      @Parameter(description = "Nur Produkte dieser Kategorie") @RequestParam(required = false) Long categoryId,
+      @Parameter(description = "Mindestpreis (inklusiv)") @RequestParam(required = false) Double minPrice,
+      @Parameter(description = "Höchstpreis (inklusiv)") @RequestParam(required = false) Double maxPrice,
+      @Parameter(description = "Namenspräfix (Groß-/Kleinschreibung wird beachtet)")
+      @RequestParam(required = false) String namePrefix) {
+    ProductFilter filter = new ProductFilter(categoryId, minPrice, maxPrice, namePrefix);
+    ProductPageDTO page = productService.getProducts(filter, after, limit);
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (page.nextCursor() != null) {
+      String next = ServletUriComponentsBuilder.fromCurrentRequest()
+          .replaceQueryParam("after", page.nextCursor())
+          .toUriString();
+      response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+    }
+    return response.body(page.products());
+  }
+
+  @Operation(summary = "Produkte nach Namen suchen",
+      description = "Volltextsuche über die Produktnamen. Groß-/Kleinschreibung und Umlautschreibweise werden "
+          + "ignoriert, der letzte Suchbegriff wird auch als Wortanfang gesucht. Treffer mit mehr und selteneren "
+          + "Suchbegriffen stehen weiter vorne.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Treffer erfolgreich ermittelt",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(type = "array", implementation = ProductDTO.class))),
+      @ApiResponse(responseCode = "400", description = "Ungültige Parameter (z.B. limit außerhalb von 1 bis 100)",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class)))
+  })
+  @GetMapping("/search")
+  public ResponseEntity<List<ProductDTO>> searchProducts(
+      @Parameter(description = "Suchbegriffe", required = true) @RequestParam String q,
+      @Parameter(description = "Maximale Anzahl Treffer")
+      @RequestParam(defaultValue = "" + DEFAULT_SEARCH_LIMIT) @Min(1) @Max(MAX_SEARCH_LIMIT) int limit) {
+    return ResponseEntity.ok(productService.searchProducts(q, limit));
   }
 
   @Operation(summary = "Produkt anhand der ID abrufen", description = "Gibt ein einzelnes Produkt anhand seiner eindeutigen ID zurück.")
@@ -90,6 +153,38 @@ public class ProductController {
     return new ResponseEntity<>(createdProduct, HttpStatus.CREATED);
   }
 
+  @Operation(summary = "Produkte als JSON importieren",
+      description = "Legt alle Produkte eines JSON-Arrays an. Die Eingabe wird gestreamt verarbeitet; fehlerhafte "
+          + "Datensätze werden übersprungen und im Ergebnis gemeldet.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Import abgeschlossen",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ProductImportResultDTO.class))),
+      @ApiResponse(responseCode = "400", description = "Eingabe ist kein gültiges JSON-Array",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class)))
+  })
+  @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<ProductImportResultDTO> importProductsFromJson(InputStream body) throws IOException {
+    return ResponseEntity.ok(productImportService.importJson(body));
+  }
+
+  @Operation(summary = "Produkte als CSV importieren",
+      description = "Legt alle Produkte einer CSV-Datei mit den Spalten Name, Preis und KategorieID an. Die Eingabe "
+          + "wird gestreamt verarbeitet; fehlerhafte Zeilen werden übersprungen und im Ergebnis gemeldet.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Import abgeschlossen",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ProductImportResultDTO.class))),
+      @ApiResponse(responseCode = "400", description = "CSV-Header fehlt oder ist unvollständig",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class)))
+  })
+  @PostMapping(value = "/import", consumes = "text/csv")
+  public ResponseEntity<ProductImportResultDTO> importProductsFromCsv(InputStream body) throws IOException {
+    return ResponseEntity.ok(productImportService.importCsv(body));
+  }
+
   //TODO: Hier die Schnittstelle für Aufgab4 4 anlegen
 
   @Operation(summary = "Produkt löschen", description = "Löscht ein Produkt anhand seiner ID.")
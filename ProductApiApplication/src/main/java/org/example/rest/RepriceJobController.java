@@ -0,0 +1,110 @@
+package org.example.rest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.net.URI;
+import java.util.List;
+import org.example.dto.RepriceJobDTO;
+import org.example.services.pricing.RepriceJobService;
+import org.springdoc.api.ErrorMessage;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+@RestController
+@RequestMapping("/api/v1/reprice-jobs")
+@Tag(name = "Reprice Jobs", description = "API für die Neuberechnung aller Preisinformationen im Hintergrund")
+public class RepriceJobController {
+
+  private final RepriceJobService repriceJobService;
+
+  public RepriceJobController(RepriceJobService repriceJobService) {
+    this.repriceJobService = repriceJobService;
+  }
+
+  @Operation(summary = "Neuberechnung starten",
+      description = "Berechnet die Preisinformationen aller Produkte parallel im Hintergrund neu. Der Fortschritt kann "
+          + "über die zurückgegebene URL abgefragt werden.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "202", description = "Job gestartet",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = RepriceJobDTO.class))),
+      @ApiResponse(responseCode = "409", description = "Es läuft bereits ein Job",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class)))
+  })
+  @PostMapping
+  public ResponseEntity<RepriceJobDTO> startJob() {
+    RepriceJobDTO job = repriceJobService.startJob();
+    URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(job.id()).toUri();
+    return ResponseEntity.accepted().location(location).body(job);
+  }
+
+  @Operation(summary = "Letzte Jobs abrufen", description = "Gibt die letzten 20 Jobs zurück, neueste zuerst.")
+  @ApiResponse(responseCode = "200", description = "Liste der Jobs",
+      content = @Content(mediaType = "application/json",
+          array = @ArraySchema(schema = @Schema(implementation = RepriceJobDTO.class))))
+  @GetMapping
+  public ResponseEntity<List<RepriceJobDTO>> getJobs() {
+    return ResponseEntity.ok(repriceJobService.getJobs());
+  }
+
+  @Operation(summary = "Fortschritt eines Jobs abrufen")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Stand des Jobs",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = RepriceJobDTO.class))),
+      @ApiResponse(responseCode = "404", description = "Job nicht gefunden",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class)))
+  })
+  @GetMapping("/{id}")
+  public ResponseEntity<RepriceJobDTO> getJob(@PathVariable Long id) {
+    return ResponseEntity.ok(repriceJobService.getJob(id));
+  }
+
+  @Operation(summary = "Job abbrechen",
+      description = "Begonnene Partitionen werden noch geschrieben; der Job kann später fortgesetzt werden.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "202", description = "Abbruch angefordert",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = RepriceJobDTO.class))),
+      @ApiResponse(responseCode = "404", description = "Job nicht gefunden",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class))),
+      @ApiResponse(responseCode = "409", description = "Job läuft nicht",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class)))
+  })
+  @PostMapping("/{id}/cancel")
+  public ResponseEntity<RepriceJobDTO> cancelJob(@PathVariable Long id) {
+    return ResponseEntity.accepted().body(repriceJobService.cancelJob(id));
+  }
+
+  @Operation(summary = "Job fortsetzen",
+      description = "Setzt einen abgebrochenen, fehlgeschlagenen oder unterbrochenen Job ab seinem Checkpoint fort.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "202", description = "Job fortgesetzt",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = RepriceJobDTO.class))),
+      @ApiResponse(responseCode = "404", description = "Job nicht gefunden",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class))),
+      @ApiResponse(responseCode = "409", description = "Job abgeschlossen oder es läuft bereits ein Job",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class)))
+  })
+  @PostMapping("/{id}/resume")
+  public ResponseEntity<RepriceJobDTO> resumeJob(@PathVariable Long id) {
+    return ResponseEntity.accepted().body(repriceJobService.resumeJob(id));
+  }
+}
@@ -0,0 +1,230 @@
+package org.example.rest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.example.database.event.CatalogChangeTracker;
+import org.example.dto.PriceDistributionDTO;
+import org.example.dto.ProductDTO;
+import org.example.services.ProductStatisticsService;
+import org.springdoc.api.ErrorMessage;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Kennzahlen des Katalogs mit bedingtem GET: Jede Antwort trägt als ETag den Stand des Katalogs
+ * ({@link CatalogChangeTracker#getVersion()}). Schickt ein Client diesen per {@code If-None-Match} zurück und wurde
+ * seitdem nichts geändert, antwortet der Endpunkt mit 304, ohne die Kennzahl zu berechnen.
+ * <p>
+ * Der Stand wird vor der Berechnung gelesen, eine Antwort ist also nie älter als ihr ETag. Da der Zähler beim Start bei
+ * null beginnt, enthält der ETag zusätzlich die Startzeit dieser Instanz.
+ */
+@RestController
+@RequestMapping("/api/v1/statistics")
+@Tag(name = "Statistics", description = "API für Kennzahlen des Produktkatalogs")
+public class StatisticsController {
+
+  private static final int DEFAULT_HISTOGRAM_BUCKETS = 10;
+  private static final int MAX_HISTOGRAM_BUCKETS = 100;
+  private static final int DEFAULT_TOP_LIMIT = 10;
+  private static final int MAX_TOP_LIMIT = 100;
+
+  private final ProductStatisticsService statisticsService;
+  private final CatalogChangeTracker changeTracker;
+  private final String instanceId = Long.toString(System.currentTimeMillis(), 36);
+
+  public StatisticsController(ProductStatisticsService statisticsService, CatalogChangeTracker changeTracker) {
+    this.statisticsService = statisticsService;
+    this.changeTracker = changeTracker;
+  }
+
+  @Operation(summary = "Produktanzahl pro Kategorie", description = "Gibt zu jedem Kategorienamen die Anzahl der Produkte zurück.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Anzahl erfolgreich ermittelt"),
+      @ApiResponse(responseCode = "304", description = "Unverändert seit dem mitgeschickten ETag")
+  })
+  @GetMapping("/products-per-category")
+  public ResponseEntity<Map<String, Long>> countProductsPerCategory(WebRequest request) {
+    return conditional(request, () -> Optional.of(statisticsService.countProductsPerCategory()));
+  }
+
+  @Operation(summary = "Durchschnittspreis", description = "Gibt den Durchschnittspreis aller Produkte mit Preis zurück.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Durchschnittspreis erfolgreich ermittelt"),
+      @ApiResponse(responseCode = "304", description = "Unverändert seit dem mitgeschickten ETag")
+  })
+  @GetMapping("/average-price")
+  public ResponseEntity<Double> getAverageProductPrice(WebRequest request) {
+    return conditional(request, () -> Optional.of(statisticsService.getAverageProductPrice()));
+  }
+
+  @Operation(summary = "Durchschnittspreis einer Kategorie", description = "Gibt den Durchschnittspreis der Produkte einer Kategorie zurück.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Durchschnittspreis erfolgreich ermittelt"),
+      @ApiResponse(responseCode = "304", description = "Unverändert seit dem mitgeschickten ETag"),
+      @ApiResponse(responseCode = "404", description = "Kategorie mit der angegebenen ID nicht gefunden",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class)))
+  })
+  @GetMapping("/categories/{categoryId}/average-price")
+  public ResponseEntity<Double> getAverageProductPricePerCategory(WebRequest request,
+      @Parameter(description = "ID der Kategorie", required = true) @PathVariable Long categoryId) {
+    return conditional(request, () -> Optional.of(statisticsService.getAverageProductPricePerCategory(categoryId)));
+  }
+
+  @Operation(summary = "Teuerstes Produkt", description = "Gibt das teuerste Produkt des Katalogs zurück.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Produkt erfolgreich ermittelt",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ProductDTO.class))),
+      @ApiResponse(responseCode = "304", description = "Unverändert seit dem mitgeschickten ETag"),
+      @ApiResponse(responseCode = "404", description = "Kein Produkt mit Preis vorhanden")
+  })
+  @GetMapping("/most-expensive-product")
+  public ResponseEntity<ProductDTO> findMostExpensiveProduct(WebRequest request) {
+    return conditional(request, statisticsService::findMostExpensiveProduct);
+  }
+
+  @Operation(summary = "Günstigstes Produkt einer Kategorie", description = "Gibt das günstigste Produkt einer Kategorie zurück.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Produkt erfolgreich ermittelt",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ProductDTO.class))),
+      @ApiResponse(responseCode = "304", description = "Unverändert seit dem mitgeschickten ETag"),
+      @ApiResponse(responseCode = "404", description = "Kategorie nicht gefunden oder ohne Produkt mit Preis",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class)))
+  })
+  @GetMapping("/categories/{categoryId}/cheapest-product")
+  public ResponseEntity<ProductDTO> findCheapestProductInCategory(WebRequest request,
+      @Parameter(description = "ID der Kategorie", required = true) @PathVariable Long categoryId) {
+    return conditional(request, () -> statisticsService.findCheapestProductInCategory(categoryId));
+  }
+
+  @Operation(summary = "Günstigste Produkte", description = "Gibt die günstigsten Produkte des Katalogs zurück, aufsteigend nach Preis.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Produkte erfolgreich ermittelt"),
+      @ApiResponse(responseCode = "304", description = "Unverändert seit dem mitgeschickten ETag"),
+      @ApiResponse(responseCode = "400", description = "Ungültige Anzahl")
+  })
+  @GetMapping("/cheapest-products")
+  public ResponseEntity<List<ProductDTO>> findCheapestProducts(WebRequest request,
+      @Parameter(description = "Anzahl der Produkte")
+      @RequestParam(defaultValue = "" + DEFAULT_TOP_LIMIT) @Min(1) @Max(MAX_TOP_LIMIT) int limit) {
+    return conditional(request, () -> Optional.of(statisticsService.findCheapestProducts(null, limit)));
+  }
+
+  @Operation(summary = "Teuerste Produkte", description = "Gibt die teuersten Produkte des Katalogs zurück, absteigend nach Preis.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Produkte erfolgreich ermittelt"),
+      @ApiResponse(responseCode = "304", description = "Unverändert seit dem mitgeschickten ETag"),
+      @ApiResponse(responseCode = "400", description = "Ungültige Anzahl")
+  })
+  @GetMapping("/most-expensive-products")
+  public ResponseEntity<List<ProductDTO>> findMostExpensiveProducts(WebRequest request,
+      @Parameter(description = "Anzahl der Produkte")
+      @RequestParam(defaultValue = "" + DEFAULT_TOP_LIMIT) @Min(1) @Max(MAX_TOP_LIMIT) int limit) {
+    return conditional(request, () -> Optional.of(statisticsService.findMostExpensiveProducts(null, limit)));
+  }
+
+  @Operation(summary = "Günstigste Produkte einer Kategorie", description = "Gibt die günstigsten Produkte einer Kategorie zurück, aufsteigend nach Preis.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Produkte erfolgreich ermittelt"),
+      @ApiResponse(responseCode = "304", description = "Unverändert seit dem mitgeschickten ETag"),
+      @ApiResponse(responseCode = "400", description = "Ungültige Anzahl"),
+      @ApiResponse(responseCode = "404", description = "Kategorie mit der angegebenen ID nicht gefunden",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class)))
+  })
+  @GetMapping("/categories/{categoryId}/cheapest-products")
+  public ResponseEntity<List<ProductDTO>> findCheapestProductsInCategory(WebRequest request,
+      @Parameter(description = "ID der Kategorie", required = true) @PathVariable Long categoryId,
+      @Parameter(description = "Anzahl der Produkte")
+      @RequestParam(defaultValue = "" + DEFAULT_TOP_LIMIT) @Min(1) @Max(MAX_TOP_LIMIT) int limit) {
+    return conditional(request, () -> Optional.of(statisticsService.findCheapestProducts(categoryId, limit)));
+  }
+
+  @Operation(summary = "Teuerste Produkte einer Kategorie", description = "Gibt die teuersten Produkte einer Kategorie zurück, absteigend nach Preis.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Produkte erfolgreich ermittelt"),
+      @ApiResponse(responseCode = "304", description = "Unverändert seit dem mitgeschickten ETag"),
+      @ApiResponse(responseCode = "400", description = "Ungültige Anzahl"),
+      @ApiResponse(responseCode = "404", description = "Kategorie mit der angegebenen ID nicht gefunden",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class)))
+  })
+  @GetMapping("/categories/{categoryId}/most-expensive-products")
+  public ResponseEntity<List<ProductDTO>> findMostExpensiveProductsInCategory(WebRequest request,
+      @Parameter(description = "ID der Kategorie", required = true) @PathVariable Long categoryId,
+      @Parameter(description = "Anzahl der Produkte")
+      @RequestParam(defaultValue = "" + DEFAULT_TOP_LIMIT) @Min(1) @Max(MAX_TOP_LIMIT) int limit) {
+    return conditional(request, () -> Optional.of(statisticsService.findMostExpensiveProducts(categoryId, limit)));
+  }
+
+  @Operation(summary = "Preisverteilung", description = "Schätzt Median, 90. und 99. Perzentil sowie ein Histogramm der Preise des gesamten Katalogs oder der angegebenen Kategorien gemeinsam.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Verteilung erfolgreich ermittelt"),
+      @ApiResponse(responseCode = "304", description = "Unverändert seit dem mitgeschickten ETag"),
+      @ApiResponse(responseCode = "400", description = "Ungültige Anzahl an Preisklassen"),
+      @ApiResponse(responseCode = "404", description = "Kategorie nicht gefunden oder kein Produkt mit Preis",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class)))
+  })
+  @GetMapping("/price-distribution")
+  public ResponseEntity<PriceDistributionDTO> getPriceDistribution(WebRequest request,
+      @Parameter(description = "IDs der Kategorien; ohne Angabe der gesamte Katalog")
+      @RequestParam(name = "categoryId", required = false) List<Long> categoryIds,
+      @Parameter(description = "Anzahl der Preisklassen im Histogramm")
+      @RequestParam(defaultValue = "" + DEFAULT_HISTOGRAM_BUCKETS) @Min(1) @Max(MAX_HISTOGRAM_BUCKETS) int buckets) {
+    List<Long> selected = categoryIds == null ? List.of() : categoryIds;
+    return conditional(request, () -> statisticsService.getPriceDistribution(selected, buckets));
+  }
+
+  @Operation(summary = "Preisverteilung einer Kategorie", description = "Schätzt Median, 90. und 99. Perzentil sowie ein Histogramm der Preise einer Kategorie.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Verteilung erfolgreich ermittelt"),
+      @ApiResponse(responseCode = "304", description = "Unverändert seit dem mitgeschickten ETag"),
+      @ApiResponse(responseCode = "400", description = "Ungültige Anzahl an Preisklassen"),
+      @ApiResponse(responseCode = "404", description = "Kategorie nicht gefunden oder ohne Produkt mit Preis",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorMessage.class)))
+  })
+  @GetMapping("/categories/{categoryId}/price-distribution")
+  public ResponseEntity<PriceDistributionDTO> getPriceDistributionPerCategory(WebRequest request,
+      @Parameter(description = "ID der Kategorie", required = true) @PathVariable Long categoryId,
+      @Parameter(description = "Anzahl der Preisklassen im Histogramm")
+      @RequestParam(defaultValue = "" + DEFAULT_HISTOGRAM_BUCKETS) @Min(1) @Max(MAX_HISTOGRAM_BUCKETS) int buckets) {
+    return conditional(request, () -> statisticsService.getPriceDistribution(List.of(categoryId), buckets));
+  }
+
+  /**
+   * Berechnet die Kennzahl nur, wenn sich der Katalog seit dem ETag des Clients geändert hat. Eine leere Kennzahl wird
+   * als 404 beantwortet.
+   */
+  private <T> ResponseEntity<T> conditional(WebRequest request, Supplier<Optional<T>> statistic) {
+    String etag = "\"" + instanceId + "-" + changeTracker.getVersion() + "\"";
+    if (request.checkNotModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+    }
+    return statistic.get()
+        .map(body -> ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(body))
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+}
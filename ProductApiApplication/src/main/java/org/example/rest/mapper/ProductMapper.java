@@ -10,12 +10,14 @@ import org.mapstruct.Mapping;
 @Mapper
 public interface ProductMapper {
 
+  @BeanMapping(ignoreUnmappedSourceProperties = "version")
   @Mapping(source = "category.id", target = "categoryId")
   @Mapping(source = "category.name", target = "categoryName")
   ProductDTO toDto(Product product);
 
   @BeanMapping(ignoreUnmappedSourceProperties = {"categoryId", "categoryName"})
   @Mapping(target = "category", ignore = true)
+  @Mapping(target = "version", ignore = true)
   Product toEntity(ProductDTO productDTO);
 
   List<ProductDTO> toDtoList(List<Product> products);
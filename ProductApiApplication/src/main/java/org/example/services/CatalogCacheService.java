@@ -0,0 +1,17 @@
+package org.example.services;
+
+import java.util.List;
+import org.example.dto.CacheStatsDTO;
+
+public interface CatalogCacheService {
+
+  /**
+   * Liefert Treffer, Fehlzugriffe und Verdrängungen aller Katalog-Caches, um deren Größe abstimmen zu können.
+   */
+  List<CacheStatsDTO> getStatistics();
+
+  /**
+   * Leert alle Katalog-Caches, z.B. nach Änderungen direkt in der Datenbank.
+   */
+  void invalidateAll();
+}
@@ -0,0 +1,32 @@
+package org.example.services;
+
+import java.util.List;
+import org.example.dto.CatalogEventDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Stellt die committeten Katalogänderungen als geordneten, fortsetzbaren Strom bereit, damit Abnehmer nicht den ganzen
+ * Katalog neu lesen müssen, um Änderungen zu erkennen.
+ */
+public interface CatalogEventService {
+
+  /**
+   * @param after Der {@linkplain CatalogEventDTO#cursor() Stand} des letzten bereits verarbeiteten Ereignisses; 0 für
+   *              den Anfang.
+   * @return Bis zu {@code limit} Ereignisse nach {@code after}, aufsteigend. Leer, wenn es keine neueren gibt.
+   * @throws org.example.exception.CatalogEventCursorException Wenn der Stand aus einem früheren Strom stammt.
+   */
+  List<CatalogEventDTO> getEvents(String after, int limit);
+
+  /**
+   * Öffnet einen Server-Sent-Events-Strom. Ereignisse werden gebündelt als JSON-Array gesendet ({@code event:
+   * catalog-events}), die ID einer Nachricht ist der Stand ihres letzten Ereignisses.
+   * <p>
+   * Liegt {@code lastEventId} vor dem ältesten noch aufbewahrten Ereignis oder stammt aus einem früheren Strom, geht
+   * zuerst eine Nachricht {@code event: resync} mit dem aktuellen Stand; der Abnehmer muss dann den Katalog einmal neu
+   * lesen.
+   *
+   * @param lastEventId Der letzte empfangene Stand; {@code null}, um nur künftige Änderungen zu erhalten.
+   */
+  SseEmitter subscribe(String lastEventId);
+}
@@ -0,0 +1,19 @@
+package org.example.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import org.example.dto.CategoryDTO;
+
+public interface CatalogExportService {
+
+  /**
+   * Exportiert mehrere Kategorien als ZIP-Archiv mit je einer CSV-Datei pro Kategorie. Die Kategorien werden parallel
+   * exportiert, die Einträge erscheinen aber in der übergebenen Reihenfolge im Archiv.
+   *
+   * @param categories   Die zu exportierenden Kategorien.
+   * @param outputStream Das Ziel des Archivs. Es wird geflusht, aber nicht geschlossen.
+   * @throws IOException wenn ein Export oder das Schreiben des Archivs fehlschlägt.
+   */
+  void exportCategoriesToZip(List<CategoryDTO> categories, OutputStream outputStream) throws IOException;
+}
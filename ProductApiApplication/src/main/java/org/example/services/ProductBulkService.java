@@ -0,0 +1,27 @@
+package org.example.services;
+
+import org.example.dto.BulkDeleteDTO;
+import org.example.dto.BulkOperationResultDTO;
+import org.example.dto.BulkRepriceDTO;
+
+public interface ProductBulkService {
+
+  /**
+   * Ändert die Preise aller ausgewählten Produkte mengenbasiert, ohne die Produkte einzeln zu laden. Preise werden auf
+   * zwei Nachkommastellen gerundet und fallen nicht unter 0; Produkte ohne Preis bleiben unverändert.
+   *
+   * @param reprice Auswahl (Kategorie oder IDs) und Art der Preisänderung.
+   * @return Die Anzahl der geänderten Produkte.
+   * @throws org.example.exception.ResourceNotFoundException wenn die Kategorie nicht existiert.
+   */
+  BulkOperationResultDTO repriceProducts(BulkRepriceDTO reprice);
+
+  /**
+   * Löscht alle ausgewählten Produkte mengenbasiert. Unbekannte IDs werden ignoriert.
+   *
+   * @param delete Auswahl (Kategorie oder IDs).
+   * @return Die Anzahl der gelöschten Produkte.
+   * @throws org.example.exception.ResourceNotFoundException wenn die Kategorie nicht existiert.
+   */
+  BulkOperationResultDTO deleteProducts(BulkDeleteDTO delete);
+}
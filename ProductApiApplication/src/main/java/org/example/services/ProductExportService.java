@@ -1,5 +1,8 @@
 package org.example.services;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
 import org.example.database.model.Category;
 
 public interface ProductExportService {
@@ -11,4 +14,23 @@ public interface ProductExportService {
    * @return Einen String im CSV-Format oder eine Fehlermeldung bei Problemen.
    */
   String exportProductsByCategoryToCsv(Category category);
+
+  /**
+   * Schreibt alle Produkte einer Kategorie zeilenweise als CSV in den Writer, ohne den Export im Speicher aufzubauen.
+   * Der Header wird sofort geschrieben und geflusht. Spalten: ID, Name, Preis, KategorieName (Trennzeichen Komma,
+   * Preis immer mit Punkt und zwei Nachkommastellen).
+   *
+   * @param categoryId Die ID der Kategorie. Bei {@code null} oder einer unbekannten Kategorie wird nur der Header
+   *                   geschrieben.
+   * @param writer     Das Ziel des Exports. Er wird geflusht, aber nicht geschlossen.
+   * @return Die Anzahl der exportierten Produkte.
+   * @throws IOException wenn das Schreiben fehlschlägt.
+   */
+  long exportProductsByCategoryToCsv(Long categoryId, Writer writer) throws IOException;
+
+  /**
+   * Wie {@link #exportProductsByCategoryToCsv(Long, Writer)}, schreibt aber UTF-8-kodiert in einen OutputStream. Der
+   * Stream wird geflusht, aber nicht geschlossen.
+   */
+  long exportProductsByCategoryToCsv(Long categoryId, OutputStream outputStream) throws IOException;
 }
@@ -0,0 +1,31 @@
+package org.example.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.example.dto.ProductImportResultDTO;
+
+public interface ProductImportService {
+
+  /**
+   * Importiert Produkte aus einem JSON-Array von Objekten mit {@code name}, {@code price} und {@code categoryId}. Das
+   * Array wird gestreamt gelesen, nicht vollständig in den Speicher geladen.
+   *
+   * @param json Der Eingabestrom (UTF-8). Er wird gelesen, aber nicht geschlossen.
+   * @return Anzahl importierter und übersprungener Datensätze samt Fehlern pro Zeile.
+   * @throws org.example.exception.InvalidImportException wenn die Eingabe kein gültiges JSON-Array ist. Bis dahin
+   *                                                       importierte Blöcke bleiben erhalten.
+   * @throws IOException                                   wenn das Lesen fehlschlägt.
+   */
+  ProductImportResultDTO importJson(InputStream json) throws IOException;
+
+  /**
+   * Importiert Produkte aus CSV (UTF-8, Trennzeichen Komma, Anführungszeichen nach RFC 4180) mit den Spalten
+   * {@code Name}, {@code Preis} und {@code KategorieID} in beliebiger Reihenfolge; weitere Spalten werden ignoriert.
+   *
+   * @param csv Der Eingabestrom. Er wird gelesen, aber nicht geschlossen.
+   * @return Anzahl importierter und übersprungener Datensätze samt Fehlern pro Zeile.
+   * @throws org.example.exception.InvalidImportException wenn der Header fehlt oder unvollständig ist.
+   * @throws IOException                                   wenn das Lesen fehlschlägt.
+   */
+  ProductImportResultDTO importCsv(InputStream csv) throws IOException;
+}
@@ -2,13 +2,35 @@ package org.example.services;
 
 import java.util.List;
 import org.example.dto.ProductDTO;
+import org.example.dto.ProductFilter;
+import org.example.dto.ProductPageDTO;
 
 public interface ProductService {
 
   List<ProductDTO> getAllProducts();
 
+  /**
+   * Liefert eine Seite der gefilterten Produktliste, aufsteigend nach ID.
+   *
+   * @param filter  Die Filter; {@code null}-Felder schränken nicht ein.
+   * @param afterId Cursor: die letzte ID der vorherigen Seite oder {@code null} für die erste Seite.
+   * @param limit   Die maximale Anzahl Produkte pro Seite.
+   * @return Die Seite samt Cursor für die nächste Seite.
+   */
+  ProductPageDTO getProducts(ProductFilter filter, Long afterId, int limit);
+
   ProductDTO getProductById(Long id);
 
+  /**
+   * Volltextsuche über die Produktnamen. Groß-/Kleinschreibung und Umlautschreibweise ("Kühler"/"Kuehler") spielen
+   * keine Rolle, der letzte Suchbegriff darf unvollständig sein.
+   *
+   * @param query Die Suchbegriffe.
+   * @param limit Die maximale Anzahl Treffer.
+   * @return Die Treffer, die relevantesten zuerst.
+   */
+  List<ProductDTO> searchProducts(String query, int limit);
+
   ProductDTO createProduct(ProductDTO productDTO);
 
   ProductDTO updateProduct(Long id, ProductDTO productDTO);
@@ -1,7 +1,10 @@
 package org.example.services;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import org.example.dto.PriceDistributionDTO;
 import org.example.dto.ProductDTO;
 
 /**
@@ -48,4 +51,35 @@ public interface ProductStatisticsService {
    */
   Optional<ProductDTO> findCheapestProductInCategory(Long categoryId);
 
+  /**
+   * Findet die günstigsten Produkte einer Kategorie oder des gesamten Katalogs.
+   *
+   * @param categoryId Die ID der Kategorie oder null für den gesamten Katalog.
+   * @param limit      Die Anzahl der gewünschten Produkte.
+   * @return Die Produkte mit Preis, aufsteigend nach Preis, bei gleichem Preis nach ID.
+   * @throws org.example.exception.ResourceNotFoundException wenn die Kategorie-ID nicht existiert.
+   */
+  List<ProductDTO> findCheapestProducts(Long categoryId, int limit);
+
+  /**
+   * Findet die teuersten Produkte einer Kategorie oder des gesamten Katalogs.
+   *
+   * @param categoryId Die ID der Kategorie oder null für den gesamten Katalog.
+   * @param limit      Die Anzahl der gewünschten Produkte.
+   * @return Die Produkte mit Preis, absteigend nach Preis, bei gleichem Preis nach ID.
+   * @throws org.example.exception.ResourceNotFoundException wenn die Kategorie-ID nicht existiert.
+   */
+  List<ProductDTO> findMostExpensiveProducts(Long categoryId, int limit);
+
+  /**
+   * Schätzt Median, 90. und 99. Perzentil sowie ein Histogramm der Preise. Die Werte stammen aus Quantilskizzen und
+   * weichen im Rang höchstens um den mitgelieferten Rangfehler ab. Kleinster und größter Preis sind exakt.
+   *
+   * @param categoryIds Die Kategorien, über die gemeinsam ausgewertet wird; leer für den gesamten Katalog.
+   * @param buckets     Die Anzahl gleich breiter Preisklassen zwischen kleinstem und größtem Preis.
+   * @return Die Verteilung oder Optional.empty(), wenn keines der Produkte einen Preis hat.
+   * @throws org.example.exception.ResourceNotFoundException wenn eine der Kategorie-IDs nicht existiert.
+   */
+  Optional<PriceDistributionDTO> getPriceDistribution(Collection<Long> categoryIds, int buckets);
+
 }
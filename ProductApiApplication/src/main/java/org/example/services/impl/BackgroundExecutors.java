@@ -0,0 +1,103 @@
+package org.example.services.impl;
+
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Erzeugt die Executor der Hintergrundarbeiten (Katalog-Export, price_details, Neuberechnung) passend zum
+ * Ausführungsmodus.
+ * <p>
+ * Mit {@code spring.threads.virtual.enabled=true} laufen Tomcat, asynchrone MVC-Antworten und {@code @Async} über
+ * Spring Boot auf virtuellen Threads, die Executor von hier ebenfalls. Die Grenzen der Nebenläufigkeit bleiben in
+ * beiden Modi gleich. Zusätzlich ist die Parallelität datenbanklastiger Arbeiten auf die Hälfte des Connection-Pools
+ * begrenzt: virtuelle Threads kosten fast nichts, Verbindungen schon, und Anfragen sollen nicht hinter
+ * Hintergrundjobs auf eine Verbindung warten.
+ */
+@Component
+public class BackgroundExecutors {
+
+  private static final Logger log = LoggerFactory.getLogger(BackgroundExecutors.class);
+
+  private final boolean virtualThreads;
+  private final int maximumPoolSize;
+  private final List<AutoCloseable> executors = new CopyOnWriteArrayList<>();
+
+  public BackgroundExecutors(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+      @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize) {
+    this.virtualThreads = virtualThreads;
+    this.maximumPoolSize = maximumPoolSize;
+  }
+
+  @PreDestroy
+  void shutdown() throws Exception {
+    for (AutoCloseable executor : executors) {
+      executor.close();
+    }
+  }
+
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  /**
+   * @return Die gewünschte Parallelität, höchstens aber die Hälfte des Connection-Pools (mindestens 1).
+   */
+  public int databaseParallelism(String name, int requested) {
+    int limit = Math.max(1, maximumPoolSize / 2);
+    if (requested > limit) {
+      log.warn("{}: parallelism {} exceeds half of the connection pool ({}), using {}", name, requested,
+          maximumPoolSize, limit);
+      return limit;
+    }
+    return requested;
+  }
+
+  /**
+   * Ein Executor mit höchstens {@code concurrency} gleichzeitigen Aufgaben. Sind alle belegt, wartet der Aufrufer bzw.
+   * führt die Aufgabe selbst aus; Aufgaben stauen sich also nicht unbegrenzt.
+   */
+  public AsyncTaskExecutor bounded(String threadNamePrefix, int concurrency) {
+    if (virtualThreads) {
+      SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+      executor.setVirtualThreads(true);
+      executor.setConcurrencyLimit(concurrency);
+      executors.add(executor);
+      return executor;
+    }
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(concurrency);
+    executor.setMaxPoolSize(concurrency);
+    executor.setQueueCapacity(concurrency * 16);
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.setThreadNamePrefix(threadNamePrefix);
+    executor.initialize();
+    executors.add(executor::shutdown);
+    return executor;
+  }
+
+  /**
+   * Ein Executor, der Aufgaben nacheinander in Einreichungsreihenfolge ausführt. Der Aufrufer wartet nie.
+   */
+  public AsyncTaskExecutor serial(String threadNamePrefix) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    if (virtualThreads) {
+      executor.setThreadFactory(Thread.ofVirtual().name(threadNamePrefix, 1).factory());
+    } else {
+      executor.setThreadNamePrefix(threadNamePrefix);
+    }
+    executor.initialize();
+    executors.add(executor::shutdown);
+    return executor;
+  }
+}
@@ -0,0 +1,205 @@
+package org.example.services.impl;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.example.dto.CategoryDTO;
+import org.example.services.CatalogExportService;
+import org.example.services.ProductExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Exportiert Kategorien parallel in temporäre Dateien und kopiert sie der Reihe nach in ein ZIP-Archiv.
+ * <p>
+ * Pro Anfrage laufen höchstens {@code export.parallelism} Exporte gleichzeitig voraus. Dadurch bleiben Threads und
+ * belegter Plattenplatz begrenzt, und der erste Eintrag wird geschrieben, sobald seine Kategorie fertig ist.
+ */
+@Service
+public class CatalogExportServiceImpl implements CatalogExportService {
+
+  private static final Logger log = LoggerFactory.getLogger(CatalogExportServiceImpl.class);
+
+  private final ProductExportService productExportService;
+  private final AsyncTaskExecutor executor;
+  private final int parallelism;
+
+  public CatalogExportServiceImpl(ProductExportService productExportService, BackgroundExecutors backgroundExecutors,
+      @Value("${export.parallelism:4}") int parallelism) {
+    this.productExportService = productExportService;
+    this.parallelism = backgroundExecutors.databaseParallelism("export.parallelism", parallelism);
+    this.executor = backgroundExecutors.bounded("catalog-export-", this.parallelism);
+  }
+
+  @Override
+  public void exportCategoriesToZip(List<CategoryDTO> categories, OutputStream outputStream) throws IOException {
+    log.info("Starte Katalog-Export für {} Kategorien.", categories.size());
+    Iterator<CategoryDTO> remaining = categories.iterator();
+    Deque<PendingExport> window = new ArrayDeque<>(parallelism);
+    ZipOutputStream zip = new ZipOutputStream(outputStream);
+    try {
+      fillWindow(window, remaining);
+      while (!window.isEmpty()) {
+        PendingExport export = window.poll();
+        try {
+          export.await();
+          zip.putNextEntry(new ZipEntry(export.entryName()));
+          Files.copy(export.file(), zip);
+          zip.closeEntry();
+        } finally {
+          export.discard();
+        }
+        fillWindow(window, remaining);
+      }
+      zip.finish();
+      zip.flush();
+    } finally {
+      // Bei Fehlern oder Verbindungsabbruch laufende Exporte abbrechen und ihre Dateien entfernen.
+      window.forEach(PendingExport::cancel);
+    }
+    log.info("Katalog-Export für {} Kategorien abgeschlossen.", categories.size());
+  }
+
+  private void fillWindow(Deque<PendingExport> window, Iterator<CategoryDTO> remaining) throws IOException {
+    while (window.size() < parallelism && remaining.hasNext()) {
+      window.add(submit(remaining.next()));
+    }
+  }
+
+  private PendingExport submit(CategoryDTO category) throws IOException {
+    ExportTask task = new ExportTask(category.getId(), Files.createTempFile("catalog-export-", ".csv"));
+    try {
+      return new PendingExport(entryNameOf(category), task, executor.submit(task));
+    } catch (RuntimeException e) {
+      deleteQuietly(task.file());
+      throw e;
+    }
+  }
+
+  static String entryNameOf(CategoryDTO category) {
+    String name = category.getName() == null ? "" : category.getName().replaceAll("[^\\p{L}\\p{N}_-]+", "_");
+    return category.getId() + "-" + name + ".csv";
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("Temporäre Exportdatei {} konnte nicht gelöscht werden.", file, e);
+    }
+  }
+
+  /**
+   * Schreibt eine Kategorie in ihre temporäre Datei. Wer die Datei löscht, hängt davon ab, wann abgebrochen wird: Läuft
+   * der Export noch, löscht er sie selbst, nachdem die Datei geschlossen ist. Sonst könnte ein gerade startender Export
+   * sie nach dem Löschen neu anlegen, und unter Windows schlägt das Löschen einer offenen Datei fehl.
+   */
+  private final class ExportTask implements Runnable {
+
+    private final Long categoryId;
+    private final Path file;
+    /** Zugriff nur unter der Sperre dieses Objekts. */
+    private State state = State.NEW;
+
+    ExportTask(Long categoryId, Path file) {
+      this.categoryId = categoryId;
+      this.file = file;
+    }
+
+    Path file() {
+      return file;
+    }
+
+    @Override
+    public void run() {
+      synchronized (this) {
+        if (state == State.CANCELLED) {
+          return;
+        }
+        state = State.RUNNING;
+      }
+      boolean completed = false;
+      try {
+        try (OutputStream out = Files.newOutputStream(file)) {
+          productExportService.exportProductsByCategoryToCsv(categoryId, out);
+        }
+        completed = true;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      } finally {
+        boolean delete;
+        synchronized (this) {
+          delete = !completed || state == State.CANCELLED;
+          state = State.DONE;
+        }
+        if (delete) {
+          deleteQuietly(file);
+        }
+      }
+    }
+
+    /**
+     * @return true, wenn der Export nicht läuft und der Aufrufer die Datei selbst löschen muss.
+     */
+    synchronized boolean cancel() {
+      boolean running = state == State.RUNNING;
+      state = State.CANCELLED;
+      return !running;
+    }
+  }
+
+  private enum State {
+    NEW,
+    RUNNING,
+    CANCELLED,
+    DONE
+  }
+
+  private record PendingExport(String entryName, ExportTask task, Future<?> future) {
+
+    Path file() {
+      return task.file();
+    }
+
+    void await() throws IOException {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Katalog-Export wurde unterbrochen.");
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause() instanceof UncheckedIOException io ? io.getCause() : e.getCause();
+        throw new IOException("Export von " + entryName + " fehlgeschlagen: " + cause.getMessage(), cause);
+      }
+    }
+
+    void cancel() {
+      boolean notRunning = task.cancel();
+      future.cancel(true);
+      if (notRunning) {
+        discard();
+      }
+    }
+
+    /**
+     * Nur für Exporte, die nicht mehr laufen ({@link #await()} ist zurückgekehrt).
+     */
+    void discard() {
+      deleteQuietly(file());
+    }
+  }
+}
@@ -8,6 +8,7 @@ import org.example.dto.CategoryDTO;
 import org.example.exception.ResourceNotFoundException;
 import org.example.rest.mapper.CategoryMapper;
 import org.example.services.CategoryService;
+import org.example.services.impl.cache.CatalogCache;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -15,10 +16,13 @@ public class CategoryServiceImpl implements CategoryService {
 
   private final CategoryRepository categoryRepository;
   private final CategoryMapper categoryMapper;
+  private final CatalogCache catalogCache;
 
-  public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+  public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryMapper categoryMapper,
+      CatalogCache catalogCache) {
     this.categoryRepository = categoryRepository;
     this.categoryMapper = categoryMapper;
+    this.catalogCache = catalogCache;
   }
 
   @Override
@@ -28,7 +32,7 @@ public class CategoryServiceImpl implements CategoryService {
 
   @Override
   public Optional<CategoryDTO> getCategoryById(Long id) {
-    return categoryRepository.findById(id).map(categoryMapper::toDto);
+    return catalogCache.getCategory(id);
   }
 
   @Override
@@ -0,0 +1,82 @@
+package org.example.services.impl;
+
+import java.io.IOException;
+import java.io.Writer;
+import org.example.database.model.Product;
+import org.example.util.FixedPoint;
+
+/**
+ * Formatiert Produkte als CSV-Zeilen ({@code ID,Name,Preis,KategorieName}) über wiederverwendete Puffer.
+ * <p>
+ * Pro Zeile entstehen weder Strings noch Formatter-Objekte; Namen mit Trennzeichen, Anführungszeichen oder
+ * Zeilenumbrüchen werden nach RFC 4180 in Anführungszeichen gesetzt. Der Preis wird unabhängig von der Locale immer mit
+ * Punkt und zwei Nachkommastellen geschrieben. Nicht threadsicher, pro Export eine Instanz verwenden.
+ */
+final class CsvLineFormatter {
+
+  static final String HEADER = "ID,Name,Preis,KategorieName\n";
+
+  private static final char DELIMITER = ',';
+  private static final char QUOTE = '"';
+
+  private final StringBuilder line = new StringBuilder(128);
+  private char[] buffer = new char[128];
+
+  void writeLine(Product product, Writer writer) throws IOException {
+    line.setLength(0);
+    line.append(product.getId()).append(DELIMITER);
+    appendText(product.getName());
+    line.append(DELIMITER);
+    appendPrice(product.getPrice());
+    line.append(DELIMITER);
+    appendText(product.getCategory() == null ? null : product.getCategory().getName());
+    line.append('\n');
+
+    int length = line.length();
+    if (buffer.length < length) {
+      buffer = new char[Math.max(length, buffer.length * 2)];
+    }
+    line.getChars(0, length, buffer, 0);
+    writer.write(buffer, 0, length);
+  }
+
+  private void appendPrice(Double price) {
+    if (price == null) {
+      return;
+    }
+    if (!Double.isFinite(price)) {
+      line.append(price.doubleValue());
+      return;
+    }
+    FixedPoint.appendCents(line, FixedPoint.toCentsHalfUp(price));
+  }
+
+  private void appendText(String value) {
+    if (value == null) {
+      return;
+    }
+    if (!needsQuoting(value)) {
+      line.append(value);
+      return;
+    }
+    line.append(QUOTE);
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == QUOTE) {
+        line.append(QUOTE);
+      }
+      line.append(c);
+    }
+    line.append(QUOTE);
+  }
+
+  private static boolean needsQuoting(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == DELIMITER || c == QUOTE || c == '\n' || c == '\r') {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,110 @@
+package org.example.services.impl;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import org.example.database.event.BulkProductChange;
+import org.example.database.event.CatalogChangeTracker;
+import org.example.database.event.ChangeType;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
+import org.example.dto.BulkDeleteDTO;
+import org.example.dto.BulkOperationResultDTO;
+import org.example.dto.BulkRepriceDTO;
+import org.example.exception.ResourceNotFoundException;
+import org.example.model.PriceAdjustmentType;
+import org.example.services.ProductBulkService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Preisänderungen und Löschungen als JPQL-Bulk-Statements: nach Kategorie ein einzelnes Statement, nach IDs ein
+ * Statement pro Block von {@value #MAX_IDS_PER_STATEMENT} IDs, alles in einer Transaktion. Da die Statements an den
+ * Hibernate-Events vorbeilaufen, werden sie explizit beim {@link CatalogChangeTracker} gemeldet; Caches und
+ * Statistiken ziehen nach dem Commit nach.
+ */
+@Service
+@Transactional
+public class ProductBulkServiceImpl implements ProductBulkService {
+
+  private static final Logger log = LoggerFactory.getLogger(ProductBulkServiceImpl.class);
+
+  static final int MAX_IDS_PER_STATEMENT = 1_000;
+
+  private final ProductRepository productRepository;
+  private final CategoryRepository categoryRepository;
+  private final CatalogChangeTracker changeTracker;
+
+  public ProductBulkServiceImpl(ProductRepository productRepository, CategoryRepository categoryRepository,
+      CatalogChangeTracker changeTracker) {
+    this.productRepository = productRepository;
+    this.categoryRepository = categoryRepository;
+    this.changeTracker = changeTracker;
+  }
+
+  @Override
+  public BulkOperationResultDTO repriceProducts(BulkRepriceDTO reprice) {
+    double factor = reprice.type() == PriceAdjustmentType.PERCENTAGE ? 1.0 + reprice.value() / 100.0 : 1.0;
+    double amount = reprice.type() == PriceAdjustmentType.ABSOLUTE ? reprice.value() : 0.0;
+
+    long affected;
+    if (reprice.categoryId() != null) {
+      requireCategory(reprice.categoryId());
+      affected = productRepository.repriceByCategoryId(reprice.categoryId(), factor, amount);
+      recordIfAffected(affected, BulkProductChange.forCategory(ChangeType.UPDATED, reprice.categoryId()));
+    } else {
+      List<Long> ids = distinctIds(reprice.productIds());
+      affected = 0;
+      for (List<Long> chunk : chunks(ids)) {
+        affected += productRepository.repriceByIdIn(chunk, factor, amount);
+      }
+      recordIfAffected(affected, BulkProductChange.forProducts(ChangeType.UPDATED, ids));
+    }
+    log.info("Repriced {} products ({} {})", affected, reprice.type(), reprice.value());
+    return new BulkOperationResultDTO(affected);
+  }
+
+  @Override
+  public BulkOperationResultDTO deleteProducts(BulkDeleteDTO delete) {
+    long affected;
+    if (delete.categoryId() != null) {
+      requireCategory(delete.categoryId());
+      affected = productRepository.bulkDeleteByCategoryId(delete.categoryId());
+      recordIfAffected(affected, BulkProductChange.forCategory(ChangeType.DELETED, delete.categoryId()));
+    } else {
+      List<Long> ids = distinctIds(delete.productIds());
+      affected = 0;
+      for (List<Long> chunk : chunks(ids)) {
+        affected += productRepository.bulkDeleteByIdIn(chunk);
+      }
+      recordIfAffected(affected, BulkProductChange.forProducts(ChangeType.DELETED, ids));
+    }
+    log.info("Deleted {} products in bulk", affected);
+    return new BulkOperationResultDTO(affected);
+  }
+
+  private void requireCategory(Long categoryId) {
+    if (!categoryRepository.existsById(categoryId)) {
+      throw new ResourceNotFoundException("Kategorie nicht gefunden mit der ID: " + categoryId);
+    }
+  }
+
+  private void recordIfAffected(long affected, BulkProductChange change) {
+    if (affected > 0) {
+      changeTracker.recordBulkChange(change);
+    }
+  }
+
+  private static List<Long> distinctIds(List<Long> ids) {
+    return ids.stream().filter(Objects::nonNull).distinct().toList();
+  }
+
+  private static List<List<Long>> chunks(List<Long> ids) {
+    int count = (ids.size() + MAX_IDS_PER_STATEMENT - 1) / MAX_IDS_PER_STATEMENT;
+    return IntStream.range(0, count)
+        .mapToObj(i -> ids.subList(i * MAX_IDS_PER_STATEMENT, Math.min(ids.size(), (i + 1) * MAX_IDS_PER_STATEMENT)))
+        .toList();
+  }
+}
@@ -1,7 +1,16 @@
 package org.example.services.impl;
 
+import jakarta.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 import org.example.database.model.Category;
 import org.example.database.model.Product;
 import org.example.database.repository.ProductRepository;
@@ -17,24 +26,33 @@ public class ProductExportServiceImpl implements ProductExportService {
 
   private static final Logger log = LoggerFactory.getLogger(ProductExportServiceImpl.class);
   private final ProductRepository productRepository;
+  private final EntityManager entityManager;
 
   private static final String CSV_DELIMITER = ";";
 
+  /**
+   * Nach so vielen Zeilen wird der Persistence Context geleert, damit der Heap beim Streaming nicht mitwächst.
+   */
+  private static final int CLEAR_INTERVAL = 1_000;
+
+  private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
   @Autowired
-  public ProductExportServiceImpl(ProductRepository productRepository) {
+  public ProductExportServiceImpl(ProductRepository productRepository, EntityManager entityManager) {
     this.productRepository = productRepository;
+    this.entityManager = entityManager;
   }
 
   @Override
   public String exportProductsByCategoryToCsv(Category category) {
 
     Long categoryId = category.getId();
-    log.info("Starte Export für Kategorie ID: {}", categoryId);
+    log.debug("Starte Export für Kategorie ID: {}", categoryId);
 
     List<Product> products = fetchProductsForCategory(categoryId);
 
     if (products.isEmpty()) {
-      log.info("Keine Produkte für Kategorie ID {} gefunden. Gebe nur Header zurück.", categoryId);
+      log.debug("Keine Produkte für Kategorie ID {} gefunden. Gebe nur Header zurück.", categoryId);
       return "ID,Name,Preis,KategorieName\n";
     }
 
@@ -46,6 +64,39 @@ public class ProductExportServiceImpl implements ProductExportService {
     }
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public long exportProductsByCategoryToCsv(Long categoryId, Writer writer) throws IOException {
+    log.debug("Starte Streaming-Export für Kategorie ID: {}", categoryId);
+    writer.write(CsvLineFormatter.HEADER);
+    writer.flush();
+    if (categoryId == null) {
+      return 0;
+    }
+
+    CsvLineFormatter formatter = new CsvLineFormatter();
+    long rows = 0;
+    try (Stream<Product> products = productRepository.streamByCategoryId(categoryId)) {
+      Iterator<Product> iterator = products.iterator();
+      while (iterator.hasNext()) {
+        formatter.writeLine(iterator.next(), writer);
+        if (++rows % CLEAR_INTERVAL == 0) {
+          entityManager.clear();
+        }
+      }
+    }
+    writer.flush();
+    log.info("Streaming-Export für Kategorie ID {} abgeschlossen: {} Produkte.", categoryId, rows);
+    return rows;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long exportProductsByCategoryToCsv(Long categoryId, OutputStream outputStream) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE);
+    return exportProductsByCategoryToCsv(categoryId, writer);
+  }
+
   @Transactional(readOnly = true)
   public List<Product> fetchProductsForCategory(Long categoryId) {
     if (categoryId == null) {
@@ -53,7 +104,7 @@ public class ProductExportServiceImpl implements ProductExportService {
     }
     log.debug("Lade Produkte für Kategorie ID: {}", categoryId);
     List<Product> products = productRepository.findByCategoryId(categoryId);
-    log.info("{} Produkte für Kategorie ID {} gefunden.", products.size(), categoryId);
+    log.debug("{} Produkte für Kategorie ID {} gefunden.", products.size(), categoryId);
     return products;
   }
 
@@ -64,7 +115,7 @@ public class ProductExportServiceImpl implements ProductExportService {
       csvBuilder.append(formatToCsvLine(product));
     }
 
-    log.info("CSV-Inhalt erstellt (möglicherweise mit Formatierungsfehlern).");
+    log.debug("CSV-Inhalt erstellt (möglicherweise mit Formatierungsfehlern).");
     return csvBuilder.toString();
   }
 
@@ -1,14 +1,22 @@
 package org.example.services.impl;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.example.database.model.Category;
 import org.example.database.model.Product;
 import org.example.database.repository.CategoryRepository;
 import org.example.database.repository.ProductRepository;
 import org.example.dto.ProductDTO;
+import org.example.dto.ProductFilter;
+import org.example.dto.ProductPageDTO;
 import org.example.exception.ResourceNotFoundException;
 import org.example.rest.mapper.ProductMapper;
 import org.example.services.ProductService;
+import org.example.services.impl.cache.CatalogCache;
+import org.example.services.impl.search.ProductSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -18,25 +26,50 @@ public class ProductServiceImpl implements ProductService {
   private final ProductRepository productRepository;
   private final CategoryRepository categoryRepository;
   private final ProductMapper productMapper;
+  private final CatalogCache catalogCache;
+  private final ProductSearchIndex searchIndex;
 
   @Autowired
-  public ProductServiceImpl(ProductRepository productRepository, CategoryRepository categoryRepository, ProductMapper productMapper) {
+  public ProductServiceImpl(ProductRepository productRepository, CategoryRepository categoryRepository, ProductMapper productMapper,
+      CatalogCache catalogCache, ProductSearchIndex searchIndex) {
     this.productRepository = productRepository;
     this.categoryRepository = categoryRepository;
     this.productMapper = productMapper;
+    this.catalogCache = catalogCache;
+    this.searchIndex = searchIndex;
   }
 
   @Override
   public List<ProductDTO> getAllProducts() {
-    List<Product> products = productRepository.findAll();
-    return productMapper.toDtoList(products);
+    return productRepository.findAllAsDto();
+  }
+
+  @Override
+  public ProductPageDTO getProducts(ProductFilter filter, Long afterId, int limit) {
+    // Ein Produkt mehr laden, um zu erkennen, ob es eine nächste Seite gibt.
+    List<ProductDTO> products = productRepository.findPage(filter, afterId, limit + 1);
+    boolean hasNext = products.size() > limit;
+    List<ProductDTO> page = hasNext ? products.subList(0, limit) : products;
+    Long nextCursor = hasNext ? page.get(page.size() - 1).getId() : null;
+    return new ProductPageDTO(page, nextCursor);
   }
 
   @Override
   public ProductDTO getProductById(Long id) {
-    Product product = productRepository.findById(id)
+    return catalogCache.getProduct(id)
         .orElseThrow(() -> new ResourceNotFoundException("Produkt nicht gefunden mit der ID: " + id));
-    return productMapper.toDto(product);
+  }
+
+  @Override
+  public List<ProductDTO> searchProducts(String query, int limit) {
+    List<Long> ids = searchIndex.search(query, limit);
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    // Zwischen Commit und Indexaktualisierung gelöschte Produkte fehlen in der Datenbank und werden ausgelassen.
+    Map<Long, ProductDTO> products = productRepository.findAllAsDtoByIdIn(ids).stream()
+        .collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
+    return ids.stream().map(products::get).filter(Objects::nonNull).toList();
   }
 
   @Override
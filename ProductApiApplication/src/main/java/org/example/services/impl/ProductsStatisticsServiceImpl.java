@@ -1,197 +1,207 @@
 package org.example.services.impl;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import org.example.database.model.Product;
+import java.util.stream.Collectors;
+import org.example.database.event.CatalogChangeTracker;
+import org.example.database.projection.CategoryPriceAggregate;
 import org.example.database.repository.CategoryRepository;
 import org.example.database.repository.ProductRepository;
+import org.example.dto.PriceDistributionDTO;
+import org.example.dto.PriceHistogramBucketDTO;
 import org.example.dto.ProductDTO;
+import org.example.exception.ResourceNotFoundException;
 import org.example.rest.mapper.ProductMapper;
 import org.example.services.ProductStatisticsService;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.example.services.impl.statistics.PriceDistribution;
+import org.example.services.impl.statistics.PriceSketches;
+import org.example.services.impl.statistics.ProductRankings;
+import org.example.services.impl.statistics.ProductStatisticsCache;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
- * TODO: Diese Klasse kann im Rahmen von Aufgabe 5 komplett überarbeitet werden
+ * Beantwortet alle Kennzahlen aus dem {@link ProductStatisticsCache}, Preisverteilungen aus den {@link PriceSketches}
+ * und Top-K-Abfragen aus den {@link ProductRankings}. Nur wenn die aufrufende Transaktion selbst noch
+ * nicht committete Katalogänderungen enthält, wird per Aggregat-Abfrage direkt in der Datenbank gerechnet.
  */
 @Service
-@Transactional
 public class ProductsStatisticsServiceImpl implements ProductStatisticsService {
 
-  @Autowired
-  private ProductRepository productrepository;
-
-  @Autowired
-  private CategoryRepository categoryrepository;
-
-  @Autowired
-  private ProductMapper MAPPER;
-
+  private final ProductRepository productRepository;
+  private final CategoryRepository categoryRepository;
+  private final ProductMapper productMapper;
+  private final ProductStatisticsCache statisticsCache;
+  private final PriceSketches priceSketches;
+  private final ProductRankings productRankings;
+  private final CatalogChangeTracker changeTracker;
+
+  public ProductsStatisticsServiceImpl(ProductRepository productRepository, CategoryRepository categoryRepository,
+      ProductMapper productMapper, ProductStatisticsCache statisticsCache, PriceSketches priceSketches,
+      ProductRankings productRankings, CatalogChangeTracker changeTracker) {
+    this.productRepository = productRepository;
+    this.categoryRepository = categoryRepository;
+    this.productMapper = productMapper;
+    this.statisticsCache = statisticsCache;
+    this.priceSketches = priceSketches;
+    this.productRankings = productRankings;
+    this.changeTracker = changeTracker;
+  }
 
   @Override
   public Map<String, Long> countProductsPerCategory() {
-    List<Product> list_of_all_products = productrepository.findAll();
-    HashMap result_map = new HashMap();
-
-    System.out.println("INFO: Processing " + list_of_all_products.size() + " products for counting.");
-
-    int i = 0;
-    while (i < list_of_all_products.size()) {
-      Product current_p = list_of_all_products.get(i);
-      if (current_p != null) {
-        if (current_p.getCategory() != null && current_p.getCategory().getName() != null) {
-          String catName = current_p.getCategory().getName();
-          Object current_val_obj = result_map.get(catName);
-          long current_val = 0;
-          if (current_val_obj != null) {
-            if (current_val_obj instanceof Long) {
-              current_val = ((Long) current_val_obj).longValue();
-            } else {
-              System.err.println("WARNUNG: Unerwarteter Typ in Map gefunden für Key: " + catName);
-            }
-          }
-          result_map.put(catName, Long.valueOf(current_val + 1));
-        } else {
-          if (current_p.getCategory() == null) {
-            System.out.println("DEBUG: Produkt ID " + current_p.getId() + " hat keine Kategorie.");
-          } else {
-            System.out.println("DEBUG: Produkt ID " + current_p.getId() + " hat Kategorie ohne Namen.");
-          }
-        }
-      }
-      i++;
+    if (cacheUsable()) {
+      return statisticsCache.countProductsPerCategory();
     }
-    return result_map;
+    return productRepository.aggregatePricesPerCategory().stream()
+        .collect(Collectors.toMap(CategoryPriceAggregate::categoryName, CategoryPriceAggregate::productCount));
   }
 
   @Override
   public double getAverageProductPrice() {
-    List things = productrepository.findAll();
-    double total_price_sum = 0.0;
-    int number_of_items = 0;
-
-    for (int j = 0; j < things.size(); j++) {
-      Object thing_obj = things.get(j);
-      if (thing_obj instanceof Product) {
-        Product prod = (Product) thing_obj;
-        if (prod.getPrice() != null) {
-          total_price_sum += prod.getPrice();
-          number_of_items++;
-        } else {
-          System.out.println("Hinweis: Produkt mit ID " + prod.getId() + " hat keinen Preis, wird ignoriert.");
-        }
+    if (cacheUsable()) {
+      return statisticsCache.averagePrice();
+    }
+    return productRepository.findAveragePrice().orElse(0.0);
+  }
+
+  @Override
+  public double getAverageProductPricePerCategory(Long categoryId) {
+    if (cacheUsable()) {
+      if (!statisticsCache.containsCategory(categoryId)) {
+        throw categoryNotFound(categoryId);
       }
+      return statisticsCache.averagePrice(categoryId);
     }
+    Optional<Double> average = productRepository.findAveragePriceByCategoryId(categoryId);
+    if (average.isEmpty()) {
+      requireCategory(categoryId);
+    }
+    return average.orElse(0.0);
+  }
 
-    if (number_of_items > 0) {
-      double avg = total_price_sum / number_of_items;
-      System.out.println("Durchschnitt berechnet: " + avg);
-      return avg;
-    } else {
-      System.out.println("Keine Produkte mit Preis gefunden, Durchschnitt ist 0.");
-      return 0.0;
+  @Override
+  public Optional<ProductDTO> findMostExpensiveProduct() {
+    if (cacheUsable()) {
+      return statisticsCache.mostExpensiveProduct();
     }
+    return productRepository.findFirstByPriceNotNullOrderByPriceDescIdAsc().map(productMapper::toDto);
   }
 
   @Override
-  public double getAverageProductPricePerCategory(Long categoryId) {
-    List products_all = productrepository.findAll();
-    double price_sum_for_category = 0;
-    long count_for_category = 0;
-
-    for (Object p_obj : products_all) {
-      Product p = (Product) p_obj;
-      if (p != null) {
-        if (p.getCategory() != null) {
-          if (p.getCategory().getId() != null) {
-            if (p.getCategory().getId().equals(categoryId)) {
-              if (p.getPrice() != null) {
-                price_sum_for_category = price_sum_for_category + p.getPrice();
-                count_for_category = count_for_category + 1;
-              } else {
-                System.out.println("Hinweis: Produkt mit ID " + p.getId() + " hat keinen Preis, wird ignoriert.");
-              }
-            }
-          }
-        }
+  public Optional<ProductDTO> findCheapestProductInCategory(Long categoryId) {
+    if (cacheUsable()) {
+      if (!statisticsCache.containsCategory(categoryId)) {
+        throw categoryNotFound(categoryId);
       }
+      return statisticsCache.cheapestProduct(categoryId);
+    }
+    Optional<ProductDTO> cheapest = productRepository.findFirstByCategoryIdAndPriceNotNullOrderByPriceAscIdAsc(categoryId)
+        .map(productMapper::toDto);
+    if (cheapest.isEmpty()) {
+      requireCategory(categoryId);
     }
+    return cheapest;
+  }
 
-    if (count_for_category == 0) {
-      System.out.println("Keine Produkte in Kategorie " + categoryId + " gefunden oder alle ohne Preis.");
-      return 0.0;
-    } else {
-      double result = price_sum_for_category / count_for_category;
-      return result;
+  @Override
+  public List<ProductDTO> findCheapestProducts(Long categoryId, int limit) {
+    if (cacheUsable()) {
+      requireCachedCategory(categoryId);
+      return productRankings.cheapest(categoryId, limit);
     }
+    List<ProductDTO> cheapest = (categoryId == null
+        ? productRepository.findByPriceNotNullOrderByPriceAscIdAsc(Limit.of(limit))
+        : productRepository.findByCategoryIdAndPriceNotNullOrderByPriceAscIdAsc(categoryId, Limit.of(limit)))
+        .stream().map(productMapper::toDto).toList();
+    if (cheapest.isEmpty() && categoryId != null) {
+      requireCategory(categoryId);
+    }
+    return cheapest;
   }
 
   @Override
-  public Optional<ProductDTO> findMostExpensiveProduct() {
-    List<Product> productList = productrepository.findAll();
-    Product the_most_expensive_one = null;
-    Double max_price_found = null;
-
-    for (int k = 0; k < productList.size(); k++) {
-      Product current = productList.get(k);
-      if (current != null && current.getPrice() != null) {
-        if (max_price_found == null) {
-          max_price_found = current.getPrice();
-          the_most_expensive_one = current;
-        } else {
-          if (current.getPrice().doubleValue() > max_price_found.doubleValue()) {
-            max_price_found = current.getPrice();
-            the_most_expensive_one = current;
-          }
-        }
-      }
+  public List<ProductDTO> findMostExpensiveProducts(Long categoryId, int limit) {
+    if (cacheUsable()) {
+      requireCachedCategory(categoryId);
+      return productRankings.mostExpensive(categoryId, limit);
     }
+    List<ProductDTO> mostExpensive = (categoryId == null
+        ? productRepository.findByPriceNotNullOrderByPriceDescIdAsc(Limit.of(limit))
+        : productRepository.findByCategoryIdAndPriceNotNullOrderByPriceDescIdAsc(categoryId, Limit.of(limit)))
+        .stream().map(productMapper::toDto).toList();
+    if (mostExpensive.isEmpty() && categoryId != null) {
+      requireCategory(categoryId);
+    }
+    return mostExpensive;
+  }
 
-    if (the_most_expensive_one != null) {
-      ProductDTO dto = MAPPER.toDto(the_most_expensive_one);
-      return Optional.of(dto);
+  @Override
+  public Optional<PriceDistributionDTO> getPriceDistribution(Collection<Long> categoryIds, int buckets) {
+    PriceDistribution distribution;
+    if (cacheUsable()) {
+      categoryIds.forEach(this::requireCachedCategory);
+      distribution = priceSketches.distribution(categoryIds);
     } else {
+      categoryIds.forEach(this::requireCategory);
+      distribution = priceSketches.distributionFromDatabase(categoryIds);
+    }
+    if (distribution.isEmpty()) {
       return Optional.empty();
     }
+    double min = distribution.min();
+    double max = distribution.max();
+    return Optional.of(new PriceDistributionDTO(distribution.count(), min, distribution.quantile(0.5),
+        distribution.quantile(0.9), distribution.quantile(0.99), max, distribution.rankError(),
+        histogram(distribution, min, max, buckets)));
   }
 
-  @Override
-  public Optional<ProductDTO> findCheapestProductInCategory(Long category_id) {
-    List<Product> allProds = productrepository.findAll();
-    Product cheapest = null;
-    double currentMinPrice = -1;
-
-    for (Product p : allProds) {
-      boolean foundMatch = false;
-      if (p != null && p.getCategory() != null && p.getCategory().getId() != null && p.getCategory().getId().equals(category_id)) {
-        if (p.getPrice() != null) {
-          if (cheapest == null) {
-            cheapest = p;
-            currentMinPrice = p.getPrice();
-            foundMatch = true;
-            System.out.println("DEBUG: Erstes günstiges Produkt in Kat " + category_id + " gefunden: ID " + p.getId());
-          } else {
-            if (p.getPrice() < currentMinPrice) {
-              cheapest = p;
-              currentMinPrice = p.getPrice();
-              foundMatch = true;
-              System.out.println("DEBUG: Neueres günstigeres Produkt in Kat " + category_id + " gefunden: ID " + p.getId());
-            }
-          }
-        }
-      }
-      if (!foundMatch && p != null) {
-        System.out.println("Produkt ID " + p.getId() + " gehört nicht zur Kategorie " + category_id + " oder hat keinen Preis.");
-      }
+  /**
+   * Zählt pro Klasse die Differenz der geschätzten Ränge ihrer Grenzen; die Anzahlen ergeben so zusammen immer die
+   * Gesamtzahl.
+   */
+  private static List<PriceHistogramBucketDTO> histogram(PriceDistribution distribution, double min, double max,
+      int buckets) {
+    List<PriceHistogramBucketDTO> histogram = new ArrayList<>(buckets);
+    double width = (max - min) / buckets;
+    double lowerBound = min;
+    long rankBelow = 0;
+    for (int bucket = 0; bucket < buckets; bucket++) {
+      double upperBound = bucket == buckets - 1 ? max : min + width * (bucket + 1);
+      long rank = bucket == buckets - 1 ? distribution.count() : Math.max(rankBelow, distribution.rank(upperBound));
+      histogram.add(new PriceHistogramBucketDTO(lowerBound, upperBound, rank - rankBelow));
+      lowerBound = upperBound;
+      rankBelow = rank;
     }
+    return histogram;
+  }
 
-    if (cheapest == null) {
-      return Optional.empty();
-    } else {
-      return Optional.ofNullable(MAPPER.toDto(cheapest));
+  /**
+   * @param categoryId Die Kategorie oder null für den gesamten Katalog.
+   */
+  private void requireCachedCategory(Long categoryId) {
+    if (categoryId != null && !statisticsCache.containsCategory(categoryId)) {
+      throw categoryNotFound(categoryId);
+    }
+  }
+
+  private boolean cacheUsable() {
+    return !changeTracker.hasPendingChanges() && statisticsCache.ensureReady();
+  }
+
+  /**
+   * Wird nur aufgerufen, wenn die Aggregat-Abfrage leer ist, damit der Normalfall bei einer Abfrage bleibt.
+   */
+  private void requireCategory(Long categoryId) {
+    if (categoryId == null || !categoryRepository.existsById(categoryId)) {
+      throw categoryNotFound(categoryId);
     }
   }
-}
\ No newline at end of file
+
+  private static ResourceNotFoundException categoryNotFound(Long categoryId) {
+    return new ResourceNotFoundException("Kategorie nicht gefunden mit der ID: " + categoryId);
+  }
+}
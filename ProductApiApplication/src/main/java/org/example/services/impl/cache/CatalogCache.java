@@ -0,0 +1,212 @@
+package org.example.services.impl.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.example.database.event.BulkProductChange;
+import org.example.database.event.CatalogChangeListener;
+import org.example.database.event.CatalogChangeTracker;
+import org.example.database.event.CatalogChanges;
+import org.example.database.event.CategoryChange;
+import org.example.database.event.ChangeType;
+import org.example.database.event.ProductChange;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
+import org.example.dto.CacheStatsDTO;
+import org.example.dto.CategoryDTO;
+import org.example.dto.ProductDTO;
+import org.example.rest.mapper.CategoryMapper;
+import org.example.rest.mapper.ProductMapper;
+import org.example.services.CatalogCacheService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-Through-Cache für einzelne Produkte und Kategorien.
+ * <p>
+ * Beide Caches sind nach Größe und Alter begrenzt; Caffeine entscheidet per W-TinyLFU, welche neuen Einträge
+ * aufgenommen werden, sodass einmalige Zugriffe die häufig gelesenen Einträge nicht verdrängen. Invalidiert wird über
+ * {@link CatalogChangeListener} nach jedem Commit, unabhängig davon, ob über einen Service oder direkt über ein
+ * Repository geschrieben wurde. Nachladen und Invalidieren desselben Schlüssels laufen in Caffeine nacheinander, ein
+ * vor dem Commit begonnenes Nachladen eines geänderten Produkts kann also keinen veralteten Stand hinterlassen.
+ * <p>
+ * Das gilt nicht für Änderungen, die alle Produkte einer Kategorie betreffen (Umbenennen oder Löschen der Kategorie,
+ * Massenänderungen ohne Produkt-IDs): Deren Schlüssel sind nicht bekannt, und ein gerade laufendes Nachladen würde
+ * seinen alten Stand erst nach dem Entfernen der vorhandenen Einträge ablegen. Jede solche Änderung erhöht deshalb die
+ * Generation der Kategorie, und jeder Eintrag merkt sich die Generation vom Beginn seines Nachladens. Ist sie älter als
+ * die seiner Kategorie, wird der Eintrag beim Lesen verworfen und neu geladen.
+ * <p>
+ * Die DTOs sind veränderlich; Aufrufer erhalten deshalb immer eine Kopie des Cache-Eintrags.
+ * <p>
+ * Treffer, Fehlzugriffe und Verdrängungen stehen zusätzlich als Metriken {@code cache.*} (Tag {@code cache}) bereit.
+ */
+@Component
+public class CatalogCache implements CatalogCacheService, CatalogChangeListener, MeterBinder {
+
+  static final String PRODUCTS = "products";
+  static final String CATEGORIES = "categories";
+
+  private final ProductRepository productRepository;
+  private final CategoryRepository categoryRepository;
+  private final ProductMapper productMapper;
+  private final CategoryMapper categoryMapper;
+  private final CatalogChangeTracker changeTracker;
+
+  private final long productMaximumSize;
+  private final long categoryMaximumSize;
+  private final Cache<Long, CachedProduct> products;
+  private final Cache<Long, CategoryDTO> categories;
+
+  private final AtomicLong generation = new AtomicLong();
+  /** Generation der letzten Änderung, die alle Produkte der Kategorie betroffen hat. */
+  private final ConcurrentMap<Long, Long> categoryGenerations = new ConcurrentHashMap<>();
+
+  public CatalogCache(ProductRepository productRepository, CategoryRepository categoryRepository,
+      ProductMapper productMapper, CategoryMapper categoryMapper, CatalogChangeTracker changeTracker,
+      @Value("${catalog.cache.products.maximum-size:10000}") long productMaximumSize,
+      @Value("${catalog.cache.products.expire-after-write:10m}") Duration productTtl,
+      @Value("${catalog.cache.categories.maximum-size:1000}") long categoryMaximumSize,
+      @Value("${catalog.cache.categories.expire-after-write:10m}") Duration categoryTtl) {
+    this.productRepository = productRepository;
+    this.categoryRepository = categoryRepository;
+    this.productMapper = productMapper;
+    this.categoryMapper = categoryMapper;
+    this.changeTracker = changeTracker;
+    this.productMaximumSize = productMaximumSize;
+    this.categoryMaximumSize = categoryMaximumSize;
+    this.products = Caffeine.newBuilder()
+        .maximumSize(productMaximumSize)
+        .expireAfterWrite(productTtl)
+        .recordStats()
+        .build();
+    this.categories = Caffeine.newBuilder()
+        .maximumSize(categoryMaximumSize)
+        .expireAfterWrite(categoryTtl)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Liefert das Produkt samt Kategoriedaten. Nicht vorhandene Produkte werden nicht gecacht.
+   */
+  public Optional<ProductDTO> getProduct(Long id) {
+    if (changeTracker.hasPendingChanges()) {
+      // Eigene, noch nicht committete Änderungen dürfen weder übergangen noch in den Cache übernommen werden.
+      return loadProduct(id).map(CatalogCache::copy);
+    }
+    CachedProduct cached = products.get(id, this::loadCachedProduct);
+    while (cached != null && isStale(cached)) {
+      products.asMap().remove(id, cached);
+      cached = products.get(id, this::loadCachedProduct);
+    }
+    return Optional.ofNullable(cached).map(entry -> copy(entry.product()));
+  }
+
+  /**
+   * Liefert die Kategorie. Nicht vorhandene Kategorien werden nicht gecacht.
+   */
+  public Optional<CategoryDTO> getCategory(Long id) {
+    if (changeTracker.hasPendingChanges()) {
+      return loadCategory(id).map(CatalogCache::copy);
+    }
+    return Optional.ofNullable(categories.get(id, key -> loadCategory(key).orElse(null))).map(CatalogCache::copy);
+  }
+
+  @Override
+  public List<CacheStatsDTO> getStatistics() {
+    return List.of(
+        toStats(PRODUCTS, products, productMaximumSize),
+        toStats(CATEGORIES, categories, categoryMaximumSize));
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, products, PRODUCTS);
+    CaffeineCacheMetrics.monitor(registry, categories, CATEGORIES);
+  }
+
+  @Override
+  public void invalidateAll() {
+    products.invalidateAll();
+    categories.invalidateAll();
+  }
+
+  @Override
+  public void onCatalogChanges(CatalogChanges changes) {
+    for (ProductChange change : changes.productChanges()) {
+      products.invalidate(change.productId());
+    }
+    for (BulkProductChange change : changes.bulkProductChanges()) {
+      if (change.productIds() != null) {
+        products.invalidateAll(change.productIds());
+      } else {
+        invalidateProductsOfCategory(change.categoryId());
+      }
+    }
+    for (CategoryChange change : changes.categoryChanges()) {
+      categories.invalidate(change.categoryId());
+      if (change.type() != ChangeType.CREATED) {
+        // Der Kategoriename steckt auch in den Produkt-DTOs.
+        invalidateProductsOfCategory(change.categoryId());
+      }
+    }
+  }
+
+  private void invalidateProductsOfCategory(Long categoryId) {
+    // Zuerst die Generation: Nachladevorgänge, die vorher begonnen haben, gelten ab hier als veraltet.
+    categoryGenerations.merge(categoryId, generation.incrementAndGet(), Math::max);
+    products.asMap().values().removeIf(cached -> categoryId.equals(cached.product().getCategoryId()));
+  }
+
+  private boolean isStale(CachedProduct cached) {
+    Long categoryId = cached.product().getCategoryId();
+    return categoryId != null && categoryGenerations.getOrDefault(categoryId, 0L) > cached.generation();
+  }
+
+  private CachedProduct loadCachedProduct(Long id) {
+    long loadedAt = generation.get();
+    return loadProduct(id).map(product -> new CachedProduct(product, loadedAt)).orElse(null);
+  }
+
+  private Optional<ProductDTO> loadProduct(Long id) {
+    return productRepository.findWithCategoryById(id).map(productMapper::toDto);
+  }
+
+  private Optional<CategoryDTO> loadCategory(Long id) {
+    return categoryRepository.findById(id).map(categoryMapper::toDto);
+  }
+
+  private static CacheStatsDTO toStats(String name, Cache<?, ?> cache, long maximumSize) {
+    CacheStats stats = cache.stats();
+    return new CacheStatsDTO(name, cache.estimatedSize(), maximumSize, stats.hitCount(), stats.missCount(),
+        stats.hitRate(), stats.evictionCount());
+  }
+
+  private static ProductDTO copy(ProductDTO product) {
+    return new ProductDTO(product.getId(), product.getName(), product.getPrice(), product.getCategoryId(),
+        product.getCategoryName());
+  }
+
+  private static CategoryDTO copy(CategoryDTO category) {
+    CategoryDTO copy = new CategoryDTO();
+    copy.setId(category.getId());
+    copy.setName(category.getName());
+    return copy;
+  }
+
+  /**
+   * @param generation Die Generation beim Beginn des Nachladens.
+   */
+  private record CachedProduct(ProductDTO product, long generation) {
+
+  }
+}
@@ -0,0 +1,31 @@
+package org.example.services.impl.events;
+
+/**
+ * Stand eines Abnehmers im Änderungsstrom, nach außen als {@code <epoche>-<position>}. Die Position allein genügt
+ * nicht: Nach dem Zurücksetzen der Datenbank beginnen die Positionen wieder bei 1, und ein Abnehmer mit altem Stand
+ * würde die neuen Ereignisse bis dahin stillschweigend überspringen.
+ *
+ * @param epoch {@code null}, wenn nur eine Position angegeben wurde.
+ */
+public record CatalogEventCursor(String epoch, long position) {
+
+  /** Mit Epoche oder, nur für den Anfang des Stroms, als blanke Position. */
+  public static final String PATTERN = "([0-9a-z]{1,16}-)?[0-9]{1,18}";
+
+  /**
+   * @param value Ein Wert im Format {@link #PATTERN}.
+   */
+  public static CatalogEventCursor parse(String value) {
+    int separator = value.lastIndexOf('-');
+    return new CatalogEventCursor(separator < 0 ? null : value.substring(0, separator),
+        Long.parseLong(value.substring(separator + 1)));
+  }
+
+  public static String format(String epoch, long position) {
+    return epoch + "-" + position;
+  }
+
+  boolean belongsTo(String currentEpoch) {
+    return currentEpoch.equals(epoch);
+  }
+}
@@ -0,0 +1,322 @@
+package org.example.services.impl.events;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.example.database.event.CatalogChangeListener;
+import org.example.database.event.CatalogChanges;
+import org.example.database.model.CatalogEvent;
+import org.example.database.model.CatalogEventStream;
+import org.example.database.repository.CatalogEventRepository;
+import org.example.database.repository.CatalogEventStreamRepository;
+import org.example.dto.CatalogEventDTO;
+import org.example.services.impl.BackgroundExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Relay der Outbox-Tabelle {@code catalog_event}: gibt committeten Ereignissen ihre Position im Strom und verteilt sie
+ * an die offenen Server-Sent-Events-Verbindungen.
+ * <p>
+ * Die Positionen vergibt pro Instanz ein einzelner Thread, lückenlos und in der Reihenfolge, in der die Zeilen
+ * sichtbar werden. Eine Transaktion, die ihre Zeilen früher geschrieben, aber später committet hat, erscheint also
+ * hinter den bereits verteilten Ereignissen statt zwischen ihnen; was ein Abnehmer einmal gesehen hat, ändert sich
+ * nicht mehr. Geweckt wird der Relay nach jedem Commit dieser Instanz, zusätzlich fragt er alle
+ * {@code catalog.events.poll-interval} nach, etwa für Zeilen, die vor einem Absturz nicht mehr verteilt wurden. Laufen
+ * mehrere Instanzen, vergibt jede ab der höchsten Position in der Tabelle; vergeben zwei gleichzeitig dieselben,
+ * scheitert eine am eindeutigen Index und versucht es erneut.
+ * <p>
+ * Positionen gelten nur zusammen mit der {@linkplain #epoch() Epoche} des Stroms, die in der Datenbank liegt: Nach
+ * deren Zurücksetzen beginnen die Positionen wieder bei 1, die Epoche ist dann eine andere.
+ * <p>
+ * Die letzten {@value #RECENT_CAPACITY} Ereignisse bleiben im Speicher; Abnehmer, die mithalten, lesen nie aus der
+ * Datenbank. Jede Verbindung hat ihren eigenen Stand und bekommt bis zu {@value #BATCH_SIZE} Ereignisse pro Nachricht,
+ * ein langsamer Abnehmer hält also niemanden auf und holt gebündelt auf. Ereignisse älter als
+ * {@code catalog.events.retention} werden gelöscht.
+ * <p>
+ * Mit {@code catalog.events.relay.enabled=false} läuft der Relay nur bei direktem Aufruf von {@link #relay()}; die
+ * Outbox-Tabelle wird trotzdem geschrieben.
+ */
+@Component
+public class CatalogEventRelay implements CatalogChangeListener {
+
+  public static final int BATCH_SIZE = 500;
+  static final int RECENT_CAPACITY = 10_000;
+  private static final int MAX_CONFLICTS = 3;
+
+  private static final Logger log = LoggerFactory.getLogger(CatalogEventRelay.class);
+
+  private final CatalogEventRepository eventRepository;
+  private final CatalogEventStreamRepository streamRepository;
+  private final TransactionTemplate writeTransaction;
+  private final TransactionTemplate readTransaction;
+  private final AsyncTaskExecutor relayExecutor;
+  private final AsyncTaskExecutor deliveryExecutor;
+  private final Duration retention;
+  private final boolean enabled;
+
+  private final RecentCatalogEvents recent = new RecentCatalogEvents(RECENT_CAPACITY);
+  private final Set<CatalogEventSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+  private final AtomicBoolean relayScheduled = new AtomicBoolean();
+  /** Position des letzten verteilten Ereignisses. */
+  private volatile long head;
+  private volatile String epoch;
+
+  public CatalogEventRelay(CatalogEventRepository eventRepository, CatalogEventStreamRepository streamRepository,
+      PlatformTransactionManager transactionManager, BackgroundExecutors backgroundExecutors,
+      @Value("${catalog.events.delivery-parallelism:2}") int deliveryParallelism,
+      @Value("${catalog.events.retention:P7D}") Duration retention,
+      @Value("${catalog.events.relay.enabled:true}") boolean enabled) {
+    this.eventRepository = eventRepository;
+    this.streamRepository = streamRepository;
+    // Auch aus dem Listener heraus, der nach dem Commit noch in der abgeschlossenen Transaktion läuft.
+    this.writeTransaction = new TransactionTemplate(transactionManager);
+    this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.readTransaction = new TransactionTemplate(transactionManager);
+    this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.readTransaction.setReadOnly(true);
+    this.relayExecutor = backgroundExecutors.serial("catalog-events-");
+    this.deliveryExecutor = backgroundExecutors.bounded("catalog-events-delivery-",
+        backgroundExecutors.databaseParallelism("catalog.events.delivery-parallelism", deliveryParallelism));
+    this.retention = retention;
+    this.enabled = enabled;
+  }
+
+  @PostConstruct
+  void loadHead() {
+    epoch = loadEpoch();
+    head = readTransaction.execute(status -> eventRepository.findMaxSequenceNumber());
+    recent.reset(head);
+  }
+
+  private String loadEpoch() {
+    try {
+      return writeTransaction.execute(status -> streamRepository.findById(CatalogEventStream.ID)
+          .orElseGet(() -> streamRepository.saveAndFlush(
+              new CatalogEventStream(Long.toString(System.currentTimeMillis(), 36))))
+          .getEpoch());
+    } catch (DataIntegrityViolationException e) {
+      // Eine andere Instanz hat die Epoche gleichzeitig angelegt.
+      return readTransaction.execute(status -> streamRepository.findById(CatalogEventStream.ID).orElseThrow())
+          .getEpoch();
+    }
+  }
+
+  /**
+   * @return Die Epoche des Stroms; eine Position stammt nur aus diesem Strom, wenn sie mit dieser Epoche kommt.
+   */
+  public String epoch() {
+    return epoch;
+  }
+
+  /**
+   * @return Die Position des letzten verteilten Ereignisses, 0 solange es keines gibt.
+   */
+  public long head() {
+    return head;
+  }
+
+  @Override
+  public void onCatalogChanges(CatalogChanges changes) {
+    wakeUp();
+  }
+
+  @Scheduled(fixedDelayString = "${catalog.events.poll-interval:PT1S}")
+  public void poll() {
+    wakeUp();
+  }
+
+  /**
+   * Vergibt Positionen für alle sichtbaren, noch nicht verteilten Ereignisse und stößt die Zustellung an.
+   *
+   * @return Die Anzahl der neu verteilten Ereignisse.
+   */
+  public synchronized int relay() {
+    long before = head;
+    int relayed = 0;
+    int conflicts = 0;
+    while (true) {
+      SequencedBatch batch;
+      try {
+        batch = writeTransaction.execute(status -> sequenceBatch());
+      } catch (DataIntegrityViolationException e) {
+        if (++conflicts > MAX_CONFLICTS) {
+          throw e;
+        }
+        log.debug("Catalog event positions were taken by another relay, retrying");
+        continue;
+      }
+      if (batch.previousHead() > head) {
+        // Positionen einer anderen Instanz; die kennt der Puffer nicht, sie werden aus der Datenbank gelesen.
+        recent.reset(batch.previousHead());
+        head = batch.previousHead();
+      }
+      if (!batch.events().isEmpty()) {
+        recent.append(batch.events());
+        head = batch.events().get(batch.events().size() - 1).id();
+        relayed += batch.events().size();
+      }
+      if (batch.events().size() < BATCH_SIZE) {
+        break;
+      }
+    }
+    if (head != before) {
+      log.debug("Relayed {} catalog events, stream is at {}", relayed, head);
+      subscriptions.forEach(this::scheduleDelivery);
+    }
+    return relayed;
+  }
+
+  /**
+   * @return Bis zu {@code limit} verteilte Ereignisse nach {@code afterId}, aufsteigend.
+   */
+  public List<CatalogEventDTO> read(long afterId, int limit) {
+    List<CatalogEventDTO> events = recent.read(afterId, limit);
+    if (events != null) {
+      return events;
+    }
+    return readTransaction.execute(status -> eventRepository
+        .findBySequenceNumberGreaterThanOrderBySequenceNumberAsc(afterId, Limit.of(limit))
+        .stream()
+        .map(this::toDto)
+        .toList());
+  }
+
+  /**
+   * @return true, wenn ein Abnehmer mit Stand {@code afterId} lückenlos fortsetzen kann: Die folgenden Ereignisse sind
+   * noch nicht gelöscht und {@code afterId} liegt nicht hinter dem Strom (etwa nach dem Zurücksetzen der Datenbank).
+   */
+  public boolean canResumeAfter(long afterId) {
+    long current = head;
+    if (afterId >= current) {
+      // Eine andere Instanz kann schon weiter sein.
+      return afterId == current
+          || afterId <= readTransaction.execute(status -> eventRepository.findMaxSequenceNumber());
+    }
+    if (recent.covers(afterId)) {
+      return true;
+    }
+    return afterId + 1 >= readTransaction.execute(status -> eventRepository.findMinSequenceNumber());
+  }
+
+  void register(CatalogEventSubscription subscription) {
+    subscriptions.add(subscription);
+    scheduleDelivery(subscription);
+  }
+
+  void unregister(CatalogEventSubscription subscription) {
+    subscription.close();
+    subscriptions.remove(subscription);
+  }
+
+  /**
+   * Hält Verbindungen über Proxies hinweg offen, auf denen gerade nichts passiert.
+   */
+  @Scheduled(fixedRateString = "${catalog.events.heartbeat-interval:PT15S}")
+  public void sendHeartbeats() {
+    for (CatalogEventSubscription subscription : subscriptions) {
+      subscription.requestHeartbeat();
+      scheduleDelivery(subscription);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${catalog.events.cleanup-interval:PT1H}",
+      initialDelayString = "${catalog.events.cleanup-interval:PT1H}")
+  public void deleteExpired() {
+    Instant createdBefore = Instant.now().minus(retention);
+    long keepFrom = head;
+    Integer deleted = writeTransaction.execute(
+        status -> eventRepository.deleteSequencedBefore(createdBefore, keepFrom));
+    if (deleted != null && deleted > 0) {
+      log.info("Deleted {} catalog events older than {}", deleted, retention);
+    }
+  }
+
+  private void wakeUp() {
+    if (!enabled || !relayScheduled.compareAndSet(false, true)) {
+      return;
+    }
+    relayExecutor.execute(() -> {
+      relayScheduled.set(false);
+      try {
+        relay();
+      } catch (RuntimeException e) {
+        log.error("Catalog event relay failed, retrying with the next poll", e);
+      }
+    });
+  }
+
+  private SequencedBatch sequenceBatch() {
+    long previousHead = eventRepository.findMaxSequenceNumber();
+    List<CatalogEvent> events = eventRepository.findBySequenceNumberIsNullOrderByIdAsc(Limit.of(BATCH_SIZE));
+    List<CatalogEventDTO> sequenced = new ArrayList<>(events.size());
+    long next = previousHead;
+    for (CatalogEvent event : events) {
+      event.setSequenceNumber(++next);
+      sequenced.add(toDto(event));
+    }
+    return new SequencedBatch(previousHead, sequenced);
+  }
+
+  private void scheduleDelivery(CatalogEventSubscription subscription) {
+    if (subscription.isOpen() && subscription.markScheduled()) {
+      deliveryExecutor.execute(() -> deliver(subscription));
+    }
+  }
+
+  /**
+   * Sendet alles nach dem Stand der Verbindung. Kommt währenddessen etwas hinzu, plant sich die Zustellung neu ein.
+   */
+  private void deliver(CatalogEventSubscription subscription) {
+    try {
+      boolean sent = false;
+      List<CatalogEventDTO> batch;
+      while (subscription.isOpen() && !(batch = read(subscription.cursor(), BATCH_SIZE)).isEmpty()) {
+        subscription.send(batch);
+        sent = true;
+      }
+      if (subscription.takeHeartbeat() && !sent && subscription.isOpen()) {
+        subscription.sendHeartbeat();
+      }
+    } catch (IOException | IllegalStateException e) {
+      // Verbindung geschlossen oder Emitter bereits abgeschlossen.
+      log.debug("Catalog event subscriber disconnected: {}", e.toString());
+      unregister(subscription);
+    } catch (RuntimeException e) {
+      log.error("Delivering catalog events failed", e);
+      unregister(subscription);
+    } finally {
+      subscription.unmarkScheduled();
+    }
+    if (subscription.isOpen() && (subscription.cursor() < head || subscription.isHeartbeatDue())) {
+      scheduleDelivery(subscription);
+    }
+  }
+
+  private CatalogEventDTO toDto(CatalogEvent event) {
+    return new CatalogEventDTO(event.getSequenceNumber(), CatalogEventCursor.format(epoch, event.getSequenceNumber()),
+        event.getType(), event.getEntityId(), event.getCreatedAt(), event.getPayload());
+  }
+
+  /**
+   * @param previousHead Die höchste bereits vergebene Position vor diesem Block, von welcher Instanz auch immer.
+   */
+  private record SequencedBatch(long previousHead, List<CatalogEventDTO> events) {
+
+  }
+}
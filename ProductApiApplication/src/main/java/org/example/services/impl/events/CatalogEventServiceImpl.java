@@ -0,0 +1,66 @@
+package org.example.services.impl.events;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import org.example.dto.CatalogEventDTO;
+import org.example.exception.CatalogEventCursorException;
+import org.example.services.CatalogEventService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Liest den Änderungsstrom aus dem {@link CatalogEventRelay}. Verbindungen werden nach
+ * {@code catalog.events.timeout} geschlossen; Clients wie {@code EventSource} verbinden sich dann mit der letzten ID
+ * neu und setzen nahtlos fort.
+ */
+@Service
+public class CatalogEventServiceImpl implements CatalogEventService {
+
+  private static final Logger log = LoggerFactory.getLogger(CatalogEventServiceImpl.class);
+
+  private final CatalogEventRelay relay;
+  private final Duration timeout;
+
+  public CatalogEventServiceImpl(CatalogEventRelay relay,
+      @Value("${catalog.events.timeout:PT30M}") Duration timeout) {
+    this.relay = relay;
+    this.timeout = timeout;
+  }
+
+  @Override
+  public List<CatalogEventDTO> getEvents(String after, int limit) {
+    CatalogEventCursor cursor = CatalogEventCursor.parse(after);
+    if (cursor.position() != 0 && !cursor.belongsTo(relay.epoch())) {
+      throw new CatalogEventCursorException("Der Stand " + after + " stammt aus einem früheren Änderungsstrom; "
+          + "bitte den Katalog neu lesen und mit after=0 bzw. dem aktuellen Stand fortsetzen.");
+    }
+    return relay.read(cursor.position(), limit);
+  }
+
+  @Override
+  public SseEmitter subscribe(String lastEventId) {
+    SseEmitter emitter = new SseEmitter(timeout.toMillis());
+    long head = relay.head();
+    CatalogEventCursor cursor = lastEventId != null ? CatalogEventCursor.parse(lastEventId) : null;
+    CatalogEventSubscription subscription = new CatalogEventSubscription(emitter,
+        cursor != null ? cursor.position() : head);
+    if (cursor != null && !(cursor.belongsTo(relay.epoch()) && relay.canResumeAfter(cursor.position()))) {
+      log.info("Catalog event subscriber at {} cannot resume, stream is at {}; requesting resync", lastEventId, head);
+      try {
+        subscription.sendResync(relay.epoch(), head);
+      } catch (IOException e) {
+        emitter.completeWithError(e);
+        return emitter;
+      }
+    }
+    emitter.onCompletion(() -> relay.unregister(subscription));
+    emitter.onTimeout(() -> relay.unregister(subscription));
+    emitter.onError(e -> relay.unregister(subscription));
+    relay.register(subscription);
+    return emitter;
+  }
+}
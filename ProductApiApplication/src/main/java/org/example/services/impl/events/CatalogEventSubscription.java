@@ -0,0 +1,89 @@
+package org.example.services.impl.events;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.example.dto.CatalogEventDTO;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Eine offene Server-Sent-Events-Verbindung mit ihrem Stand im Strom. Gesendet wird nur aus der Zustellung des
+ * {@link CatalogEventRelay}, für jede Verbindung höchstens aus einem Thread gleichzeitig.
+ */
+final class CatalogEventSubscription {
+
+  static final String EVENT_NAME = "catalog-events";
+  static final String RESYNC_EVENT_NAME = "resync";
+
+  private final SseEmitter emitter;
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+  private volatile long cursor;
+  private volatile boolean open = true;
+
+  CatalogEventSubscription(SseEmitter emitter, long cursor) {
+    this.emitter = emitter;
+    this.cursor = cursor;
+  }
+
+  /**
+   * @return Die Position des zuletzt gesendeten Ereignisses.
+   */
+  long cursor() {
+    return cursor;
+  }
+
+  boolean isOpen() {
+    return open;
+  }
+
+  void close() {
+    open = false;
+  }
+
+  /**
+   * Sendet die Ereignisse als eine Nachricht, deren ID der {@linkplain CatalogEventDTO#cursor() Stand} des letzten ist.
+   */
+  void send(List<CatalogEventDTO> events) throws IOException {
+    CatalogEventDTO last = events.get(events.size() - 1);
+    emitter.send(SseEmitter.event().id(last.cursor()).name(EVENT_NAME).data(events, MediaType.APPLICATION_JSON));
+    cursor = last.id();
+  }
+
+  /**
+   * Teilt dem Abnehmer mit, dass Ereignisse fehlen, und setzt den Stand auf {@code head}.
+   */
+  void sendResync(String epoch, long head) throws IOException {
+    String headCursor = CatalogEventCursor.format(epoch, head);
+    emitter.send(SseEmitter.event().id(headCursor).name(RESYNC_EVENT_NAME).data(headCursor));
+    cursor = head;
+  }
+
+  void sendHeartbeat() throws IOException {
+    emitter.send(SseEmitter.event().comment("keep-alive"));
+  }
+
+  /**
+   * @return true, wenn die Zustellung eingeplant werden muss, also nicht schon eingeplant ist.
+   */
+  boolean markScheduled() {
+    return scheduled.compareAndSet(false, true);
+  }
+
+  void unmarkScheduled() {
+    scheduled.set(false);
+  }
+
+  void requestHeartbeat() {
+    heartbeatDue.set(true);
+  }
+
+  boolean isHeartbeatDue() {
+    return heartbeatDue.get();
+  }
+
+  boolean takeHeartbeat() {
+    return heartbeatDue.getAndSet(false);
+  }
+}
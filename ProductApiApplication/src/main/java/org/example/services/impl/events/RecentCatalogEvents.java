@@ -0,0 +1,64 @@
+package org.example.services.impl.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.example.dto.CatalogEventDTO;
+
+/**
+ * Ringpuffer der zuletzt verteilten Ereignisse. Die Positionen sind lückenlos, ein Ereignis liegt also direkt an
+ * {@code id % capacity}.
+ */
+final class RecentCatalogEvents {
+
+  private final CatalogEventDTO[] ring;
+  /** Position des ältesten gehaltenen Ereignisses. */
+  private long first = 1;
+  /** Position des nächsten erwarteten Ereignisses. */
+  private long next = 1;
+
+  RecentCatalogEvents(int capacity) {
+    this.ring = new CatalogEventDTO[capacity];
+  }
+
+  /**
+   * Leert den Puffer; das nächste Ereignis muss die Position {@code head + 1} haben.
+   */
+  synchronized void reset(long head) {
+    first = head + 1;
+    next = head + 1;
+  }
+
+  synchronized void append(List<CatalogEventDTO> events) {
+    for (CatalogEventDTO event : events) {
+      if (event.id() != next) {
+        throw new IllegalStateException("Erwartet wurde Position " + next + ", nicht " + event.id());
+      }
+      ring[(int) (next % ring.length)] = event;
+      next++;
+    }
+    first = Math.max(first, next - ring.length);
+  }
+
+  /**
+   * @return true, wenn alle Ereignisse nach {@code afterId} im Puffer liegen.
+   */
+  synchronized boolean covers(long afterId) {
+    return afterId + 1 >= first;
+  }
+
+  /**
+   * @return Bis zu {@code limit} Ereignisse nach {@code afterId}, oder {@code null}, wenn ältere benötigt werden, als
+   * der Puffer hält.
+   */
+  synchronized List<CatalogEventDTO> read(long afterId, int limit) {
+    if (afterId + 1 < first) {
+      return null;
+    }
+    long end = Math.min(next, afterId + 1 + limit);
+    List<CatalogEventDTO> events = new ArrayList<>((int) Math.max(0, end - afterId - 1));
+    for (long position = afterId + 1; position < end; position++) {
+      events.add(ring[(int) (position % ring.length)]);
+    }
+    return events;
+  }
+}
@@ -0,0 +1,189 @@
+package org.example.services.impl.imports;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.example.dto.ProductDTO;
+import org.example.exception.InvalidImportException;
+
+/**
+ * Liest CSV nach RFC 4180: Komma als Trennzeichen, Felder optional in Anführungszeichen, darin {@code ""} als
+ * Anführungszeichen und Zeilenumbrüche erlaubt. Die Spalten werden über den Header zugeordnet, leere Zeilen
+ * übersprungen.
+ */
+class CsvImportRowReader implements ImportRowReader {
+
+  static final String NAME_COLUMN = "name";
+  static final String PRICE_COLUMN = "preis";
+  static final String CATEGORY_ID_COLUMN = "kategorieid";
+  private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+  private final Reader reader;
+  private final StringBuilder field = new StringBuilder(64);
+  private final List<String> record = new ArrayList<>();
+  private int pushedBack = -2;
+  private long rowNumber;
+
+  private int nameIndex = -1;
+  private int priceIndex = -1;
+  private int categoryIdIndex = -1;
+  private boolean headerRead;
+
+  /**
+   * @param reader Die Eingabe; sollte gepuffert sein.
+   */
+  CsvImportRowReader(Reader reader) {
+    this.reader = reader;
+  }
+
+  @Override
+  public ImportRow next() throws IOException {
+    if (!headerRead) {
+      readHeader();
+    }
+    while (true) {
+      RecordStatus status = readRecord();
+      if (status == RecordStatus.END) {
+        return null;
+      }
+      if (status == RecordStatus.EMPTY) {
+        continue;
+      }
+      rowNumber++;
+      if (status == RecordStatus.UNTERMINATED) {
+        return ImportRow.failed(rowNumber, "Nicht geschlossenes Anführungszeichen");
+      }
+      return toRow();
+    }
+  }
+
+  private void readHeader() throws IOException {
+    headerRead = true;
+    RecordStatus status;
+    do {
+      status = readRecord();
+    } while (status == RecordStatus.EMPTY);
+    if (status == RecordStatus.END || status == RecordStatus.UNTERMINATED) {
+      throw new InvalidImportException("CSV-Header fehlt.");
+    }
+    for (int i = 0; i < record.size(); i++) {
+      String column = record.get(i).strip().toLowerCase(Locale.ROOT);
+      if (i == 0 && column.startsWith(BYTE_ORDER_MARK)) {
+        column = column.substring(1);
+      }
+      switch (column) {
+        case NAME_COLUMN -> nameIndex = i;
+        case PRICE_COLUMN -> priceIndex = i;
+        case CATEGORY_ID_COLUMN -> categoryIdIndex = i;
+        default -> {
+          // Weitere Spalten (z.B. ID oder KategorieName aus einem Export) werden ignoriert.
+        }
+      }
+    }
+    if (nameIndex < 0 || priceIndex < 0 || categoryIdIndex < 0) {
+      throw new InvalidImportException("CSV-Header muss die Spalten Name, Preis und KategorieID enthalten.");
+    }
+  }
+
+  private ImportRow toRow() {
+    int required = Math.max(nameIndex, Math.max(priceIndex, categoryIdIndex)) + 1;
+    if (record.size() < required) {
+      return ImportRow.failed(rowNumber, "Erwartet mindestens " + required + " Spalten, gefunden " + record.size());
+    }
+    ProductDTO product = new ProductDTO();
+    String name = record.get(nameIndex);
+    product.setName(name.isEmpty() ? null : name);
+
+    String price = record.get(priceIndex).strip();
+    if (!price.isEmpty()) {
+      try {
+        product.setPrice(Double.parseDouble(price));
+      } catch (NumberFormatException e) {
+        return ImportRow.failed(rowNumber, "Preis '" + price + "' ist keine Zahl");
+      }
+    }
+
+    String categoryId = record.get(categoryIdIndex).strip();
+    if (!categoryId.isEmpty()) {
+      try {
+        product.setCategoryId(Long.parseLong(categoryId));
+      } catch (NumberFormatException e) {
+        return ImportRow.failed(rowNumber, "KategorieID '" + categoryId + "' ist keine Zahl");
+      }
+    }
+    return ImportRow.of(rowNumber, product);
+  }
+
+  private RecordStatus readRecord() throws IOException {
+    record.clear();
+    field.setLength(0);
+    int c = read();
+    if (c == -1) {
+      return RecordStatus.END;
+    }
+    if (c == '\n' || c == '\r') {
+      skipLineFeedAfter(c);
+      return RecordStatus.EMPTY;
+    }
+    boolean quoted = false;
+    while (true) {
+      if (quoted) {
+        if (c == -1) {
+          record.add(field.toString());
+          return RecordStatus.UNTERMINATED;
+        }
+        if (c == '"') {
+          int next = read();
+          if (next == '"') {
+            field.append('"');
+          } else {
+            quoted = false;
+            c = next;
+            continue;
+          }
+        } else {
+          field.append((char) c);
+        }
+      } else if (c == '"' && field.isEmpty()) {
+        quoted = true;
+      } else if (c == ',') {
+        record.add(field.toString());
+        field.setLength(0);
+      } else if (c == '\n' || c == '\r' || c == -1) {
+        record.add(field.toString());
+        skipLineFeedAfter(c);
+        return RecordStatus.COMPLETE;
+      } else {
+        field.append((char) c);
+      }
+      c = read();
+    }
+  }
+
+  private void skipLineFeedAfter(int c) throws IOException {
+    if (c == '\r') {
+      int next = read();
+      if (next != '\n') {
+        pushedBack = next;
+      }
+    }
+  }
+
+  private int read() throws IOException {
+    if (pushedBack != -2) {
+      int c = pushedBack;
+      pushedBack = -2;
+      return c;
+    }
+    return reader.read();
+  }
+
+  private enum RecordStatus {
+    COMPLETE,
+    EMPTY,
+    UNTERMINATED,
+    END
+  }
+}
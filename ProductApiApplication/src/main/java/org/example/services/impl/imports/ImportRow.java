@@ -0,0 +1,25 @@
+package org.example.services.impl.imports;
+
+import org.example.dto.ProductDTO;
+
+/**
+ * Ein gelesener Datensatz.
+ *
+ * @param rowNumber Die Nummer des Datensatzes ab 1.
+ * @param product   Die gelesenen Werte oder {@code null}, wenn der Datensatz nicht lesbar war.
+ * @param error     Der Lesefehler oder {@code null}.
+ */
+record ImportRow(
+    long rowNumber,
+    ProductDTO product,
+    String error
+) {
+
+  static ImportRow of(long rowNumber, ProductDTO product) {
+    return new ImportRow(rowNumber, product, null);
+  }
+
+  static ImportRow failed(long rowNumber, String error) {
+    return new ImportRow(rowNumber, null, error);
+  }
+}
@@ -0,0 +1,15 @@
+package org.example.services.impl.imports;
+
+import java.io.IOException;
+
+/**
+ * Liest die Datensätze einer Importdatei nacheinander, ohne die Datei vollständig zu laden.
+ */
+interface ImportRowReader {
+
+  /**
+   * @return Den nächsten Datensatz oder {@code null} am Ende der Eingabe.
+   * @throws org.example.exception.InvalidImportException wenn die Eingabe als Ganzes nicht weiter lesbar ist.
+   */
+  ImportRow next() throws IOException;
+}
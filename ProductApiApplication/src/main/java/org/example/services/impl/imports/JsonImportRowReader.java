@@ -0,0 +1,58 @@
+package org.example.services.impl.imports;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import org.example.dto.ProductDTO;
+import org.example.exception.InvalidImportException;
+
+/**
+ * Liest ein JSON-Array Element für Element. Jedes Element wird zunächst als Baum gelesen, damit ein falscher Typ in
+ * einem Datensatz nur diesen Datensatz betrifft; nur syntaktisch ungültiges JSON bricht den Import ab.
+ */
+class JsonImportRowReader implements ImportRowReader {
+
+  private final ObjectMapper objectMapper;
+  private final JsonParser parser;
+  private boolean started;
+  private long rowNumber;
+
+  JsonImportRowReader(ObjectMapper objectMapper, InputStream json) throws IOException {
+    this.objectMapper = objectMapper;
+    this.parser = objectMapper.createParser(json);
+  }
+
+  @Override
+  public ImportRow next() throws IOException {
+    try {
+      if (!started) {
+        started = true;
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+          throw new InvalidImportException("JSON-Import erwartet ein Array von Produkten.");
+        }
+      }
+      JsonToken token = parser.nextToken();
+      if (token == JsonToken.END_ARRAY || token == null) {
+        return null;
+      }
+      rowNumber++;
+      JsonNode node = objectMapper.readTree(parser);
+      if (!node.isObject()) {
+        return ImportRow.failed(rowNumber, "Datensatz ist kein JSON-Objekt");
+      }
+      try {
+        ProductDTO product = objectMapper.treeToValue(node, ProductDTO.class);
+        product.setId(null);
+        return ImportRow.of(rowNumber, product);
+      } catch (JsonProcessingException e) {
+        return ImportRow.failed(rowNumber, "Ungültiger Wert: " + e.getOriginalMessage());
+      }
+    } catch (JsonProcessingException e) {
+      throw new InvalidImportException("Ungültiges JSON nach Datensatz " + rowNumber + ": " + e.getOriginalMessage(), e);
+    }
+  }
+}
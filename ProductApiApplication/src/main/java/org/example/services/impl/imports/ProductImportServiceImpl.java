@@ -0,0 +1,217 @@
+package org.example.services.impl.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.example.database.repository.CategoryRepository;
+import org.example.dto.ProductDTO;
+import org.example.dto.ProductImportErrorDTO;
+import org.example.dto.ProductImportResultDTO;
+import org.example.exception.InvalidImportException;
+import org.example.services.ProductImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Importiert Produkte in Blöcken zu {@value #CHUNK_SIZE} Datensätzen, jeder Block in einer eigenen Transaktion.
+ * <p>
+ * Pro Block werden die noch unbekannten Kategorie-IDs mit einer Abfrage geprüft und danach nur noch als Referenz
+ * verwendet. Zusammen mit den sequenzbasierten IDs von {@link Product} kann Hibernate die Inserts eines Blocks per
+ * JDBC-Batching senden. Schlägt ein Block in der Datenbank fehl, wird er Zeile für Zeile wiederholt, damit nur die
+ * fehlerhaften Datensätze übersprungen werden.
+ * <p>
+ * Jede Transaktion leert am Ende den Persistenzkontext. Bei Open-Session-in-View lebt er sonst bis zum Ende des
+ * Requests, und jeder Flush müsste alle bisher importierten Produkte erneut auf Änderungen prüfen.
+ */
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+  private static final Logger log = LoggerFactory.getLogger(ProductImportServiceImpl.class);
+
+  static final int CHUNK_SIZE = 1_000;
+  static final int MAX_REPORTED_ERRORS = 1_000;
+
+  private final CategoryRepository categoryRepository;
+  private final EntityManager entityManager;
+  private final TransactionTemplate transactionTemplate;
+  private final Validator validator;
+  private final ObjectMapper objectMapper;
+
+  public ProductImportServiceImpl(CategoryRepository categoryRepository, EntityManager entityManager,
+      TransactionTemplate transactionTemplate, Validator validator, ObjectMapper objectMapper) {
+    this.categoryRepository = categoryRepository;
+    this.entityManager = entityManager;
+    this.transactionTemplate = transactionTemplate;
+    this.validator = validator;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public ProductImportResultDTO importJson(InputStream json) throws IOException {
+    return importRows(new JsonImportRowReader(objectMapper, json));
+  }
+
+  @Override
+  public ProductImportResultDTO importCsv(InputStream csv) throws IOException {
+    return importRows(new CsvImportRowReader(new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))));
+  }
+
+  private ProductImportResultDTO importRows(ImportRowReader reader) throws IOException {
+    ImportProgress progress = new ImportProgress();
+    List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+    try {
+      ImportRow row;
+      while ((row = reader.next()) != null) {
+        chunk.add(row);
+        if (chunk.size() == CHUNK_SIZE) {
+          importChunk(chunk, progress);
+          chunk.clear();
+        }
+      }
+      importChunk(chunk, progress);
+    } catch (InvalidImportException e) {
+      // Vollständige Blöcke sind bereits committet; der angefangene Block wird verworfen.
+      throw new InvalidImportException(e.getMessage() + " Bereits importiert: " + progress.imported + " Produkte.", e);
+    }
+    log.info("Product import finished: {} imported, {} skipped", progress.imported, progress.failed);
+    return progress.toResult();
+  }
+
+  private void importChunk(List<ImportRow> chunk, ImportProgress progress) {
+    List<ImportRow> valid = new ArrayList<>(chunk.size());
+    for (ImportRow row : chunk) {
+      String error = row.error() != null ? row.error() : validate(row.product());
+      if (error != null) {
+        progress.fail(row.rowNumber(), error);
+      } else {
+        valid.add(row);
+      }
+    }
+    resolveCategories(valid, progress);
+    valid.removeIf(row -> {
+      Long categoryId = row.product().getCategoryId();
+      if (progress.missingCategoryIds.contains(categoryId)) {
+        progress.fail(row.rowNumber(), "Kategorie nicht gefunden mit der ID: " + categoryId);
+        return true;
+      }
+      return false;
+    });
+    if (valid.isEmpty()) {
+      return;
+    }
+
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        valid.forEach(this::persist);
+        flushAndClear();
+      });
+      progress.imported += valid.size();
+    } catch (DataAccessException | TransactionException | PersistenceException e) {
+      log.warn("Import chunk of {} rows failed, retrying row by row: {}", valid.size(), e.getMessage());
+      for (ImportRow row : valid) {
+        try {
+          transactionTemplate.executeWithoutResult(status -> {
+            persist(row);
+            flushAndClear();
+          });
+          progress.imported++;
+        } catch (DataAccessException | TransactionException | PersistenceException rowError) {
+          progress.fail(row.rowNumber(), "Datenbankfehler: " + rootMessage(rowError));
+        }
+      }
+    }
+  }
+
+  private String validate(ProductDTO product) {
+    Set<ConstraintViolation<ProductDTO>> violations = validator.validate(product);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+        .map(ConstraintViolation::getMessage)
+        .sorted()
+        .collect(Collectors.joining("; "));
+  }
+
+  /**
+   * Prüft die Kategorie-IDs, die in diesem Import noch nicht vorkamen, mit einer einzigen Abfrage.
+   */
+  private void resolveCategories(List<ImportRow> rows, ImportProgress progress) {
+    Set<Long> unknown = new HashSet<>();
+    for (ImportRow row : rows) {
+      Long categoryId = row.product().getCategoryId();
+      if (!progress.knownCategoryIds.contains(categoryId) && !progress.missingCategoryIds.contains(categoryId)) {
+        unknown.add(categoryId);
+      }
+    }
+    if (unknown.isEmpty()) {
+      return;
+    }
+    for (Long categoryId : categoryRepository.findExistingIds(unknown)) {
+      progress.knownCategoryIds.add(categoryId);
+      unknown.remove(categoryId);
+    }
+    progress.missingCategoryIds.addAll(unknown);
+  }
+
+  private void persist(ImportRow row) {
+    ProductDTO dto = row.product();
+    Category category = entityManager.getReference(Category.class, dto.getCategoryId());
+    entityManager.persist(new Product(null, dto.getName(), dto.getPrice(), category));
+  }
+
+  private void flushAndClear() {
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  private static String rootMessage(Throwable e) {
+    Throwable root = e;
+    while (root.getCause() != null && root.getCause() != root) {
+      root = root.getCause();
+    }
+    return root.getMessage();
+  }
+
+  private static final class ImportProgress {
+
+    private final Set<Long> knownCategoryIds = new HashSet<>();
+    private final Set<Long> missingCategoryIds = new HashSet<>();
+    private final List<ProductImportErrorDTO> errors = new ArrayList<>();
+    private long imported;
+    private long failed;
+
+    void fail(long rowNumber, String message) {
+      failed++;
+      if (errors.size() < MAX_REPORTED_ERRORS) {
+        errors.add(new ProductImportErrorDTO(rowNumber, message));
+      }
+    }
+
+    ProductImportResultDTO toResult() {
+      List<ProductImportErrorDTO> sorted = errors.stream()
+          .sorted(Comparator.comparingLong(ProductImportErrorDTO::row))
+          .toList();
+      return new ProductImportResultDTO(imported, failed, sorted, failed > errors.size());
+    }
+  }
+}
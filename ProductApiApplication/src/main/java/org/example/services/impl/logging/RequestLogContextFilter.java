@@ -0,0 +1,65 @@
+package org.example.services.impl.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Versieht alle Log-Einträge einer Anfrage mit einer Request-ID (MDC {@value #REQUEST_ID}, übernommen aus dem Header
+ * {@value #REQUEST_ID_HEADER} oder neu vergeben) und wählt den Anteil {@code logging.request-sampling.debug-rate} der
+ * Anfragen aus, für die DEBUG-Einträge geschrieben werden (siehe {@link SampledDebugTurboFilter}).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLogContextFilter extends OncePerRequestFilter {
+
+  static final String REQUEST_ID = "requestId";
+  static final String DEBUG_SAMPLED = "debugSampled";
+  static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+  private static final int MAX_REQUEST_ID_LENGTH = 64;
+
+  private final double debugRate;
+
+  public RequestLogContextFilter(@Value("${logging.request-sampling.debug-rate:0.0}") double debugRate) {
+    this.debugRate = debugRate;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    String requestId = requestId(request.getHeader(REQUEST_ID_HEADER));
+    response.setHeader(REQUEST_ID_HEADER, requestId);
+    MDC.put(REQUEST_ID, requestId);
+    if (debugRate > 0 && ThreadLocalRandom.current().nextDouble() < debugRate) {
+      MDC.put(DEBUG_SAMPLED, "true");
+    }
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      MDC.remove(REQUEST_ID);
+      MDC.remove(DEBUG_SAMPLED);
+    }
+  }
+
+  /**
+   * Übernimmt eine mitgeschickte ID nur, wenn sie kurz ist und keine Steuerzeichen enthält, damit sie die Log-Zeilen
+   * nicht verfälschen kann.
+   */
+  private static String requestId(String header) {
+    if (header != null && !header.isBlank() && header.length() <= MAX_REQUEST_ID_LENGTH
+        && header.chars().allMatch(c -> c > 0x20 && c < 0x7f)) {
+      return header;
+    }
+    return Long.toHexString(ThreadLocalRandom.current().nextLong());
+  }
+}
@@ -0,0 +1,32 @@
+package org.example.services.impl.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Schaltet DEBUG für die Anwendungs-Logger ein, solange der aktuelle Thread eine per {@link RequestLogContextFilter}
+ * ausgewählte Anfrage bearbeitet. Alle anderen Log-Aufrufe entscheidet wie gewohnt das Log-Level.
+ * <p>
+ * Logback fragt Turbo-Filter auch in {@code isDebugEnabled()}; geschützte Log-Stellen bleiben damit außerhalb
+ * ausgewählter Anfragen ohne Kosten für ihre Argumente.
+ */
+public class SampledDebugTurboFilter extends TurboFilter {
+
+  private String loggerPrefix = "org.example";
+
+  @Override
+  public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+    if (level != Level.DEBUG || MDC.get(RequestLogContextFilter.DEBUG_SAMPLED) == null) {
+      return FilterReply.NEUTRAL;
+    }
+    return logger.getName().startsWith(loggerPrefix) ? FilterReply.ACCEPT : FilterReply.NEUTRAL;
+  }
+
+  public void setLoggerPrefix(String loggerPrefix) {
+    this.loggerPrefix = loggerPrefix;
+  }
+}
@@ -0,0 +1,138 @@
+package org.example.services.impl.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.example.dto.ProductPageDTO;
+import org.example.services.CategoryService;
+import org.example.services.ProductExportService;
+import org.example.services.ProductService;
+import org.example.services.ProductStatisticsService;
+import org.example.services.pricing.PriceCalculationService;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Misst jeden Aufruf der Service-Schnittstellen, getaggt mit {@code service} und {@code method}:
+ * <ul>
+ *   <li>{@value #CALLS}: Dauer und Anzahl, zusätzlich getaggt mit {@code outcome} ({@code success}/{@code error}) und
+ *   {@code exception}. Fehler sind also die Aufrufe mit {@code outcome=error}.</li>
+ *   <li>{@value #ROWS}: Anzahl gelieferter Datensätze (Listen, Seiten, Maps, Optionals, einzelne DTOs sowie die
+ *   Zeilenzahl der Exporte).</li>
+ *   <li>{@value #STATEMENTS}: Anzahl der dabei vorbereiteten SQL-Statements.</li>
+ * </ul>
+ * Der Aspekt läuft außerhalb der Transaktion, die Dauer enthält also auch den Commit. Histogramme und Perzentile
+ * werden über {@code management.metrics.distribution.*} konfiguriert.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+  static final String CALLS = "catalog.service.calls";
+  static final String ROWS = "catalog.service.rows";
+  static final String STATEMENTS = "catalog.service.sql.statements";
+
+  private static final List<Class<?>> SERVICES = List.of(ProductService.class, CategoryService.class,
+      PriceCalculationService.class, ProductStatisticsService.class, ProductExportService.class);
+
+  private final MeterRegistry meterRegistry;
+  private final SqlStatementCounter statementCounter;
+  private final Map<Class<?>, String> serviceNames = new ConcurrentHashMap<>();
+
+  public ServiceMetricsAspect(MeterRegistry meterRegistry, SqlStatementCounter statementCounter) {
+    this.meterRegistry = meterRegistry;
+    this.statementCounter = statementCounter;
+  }
+
+  @Around("execution(* org.example.services.ProductService.*(..))"
+      + " || execution(* org.example.services.CategoryService.*(..))"
+      + " || execution(* org.example.services.pricing.PriceCalculationService.*(..))"
+      + " || execution(* org.example.services.ProductStatisticsService.*(..))"
+      + " || execution(* org.example.services.ProductExportService.*(..))")
+  public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+    MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+    Tags tags = Tags.of("service", serviceName(joinPoint.getTarget()), "method", signature.getName());
+    long statementsBefore = statementCounter.current();
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String outcome = "success";
+    String exception = "none";
+    try {
+      Object result = joinPoint.proceed();
+      long rows = rows(result, signature.getReturnType());
+      if (rows >= 0) {
+        DistributionSummary.builder(ROWS)
+            .description("Records returned per service call")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(rows);
+      }
+      return result;
+    } catch (Throwable e) {
+      outcome = "error";
+      exception = e.getClass().getSimpleName();
+      throw e;
+    } finally {
+      sample.stop(Timer.builder(CALLS)
+          .description("Service calls")
+          .tags(tags)
+          .tag("outcome", outcome)
+          .tag("exception", exception)
+          .register(meterRegistry));
+      DistributionSummary.builder(STATEMENTS)
+          .description("SQL statements prepared per service call")
+          .tags(tags)
+          .register(meterRegistry)
+          .record(statementCounter.current() - statementsBefore);
+    }
+  }
+
+  private String serviceName(Object target) {
+    return serviceNames.computeIfAbsent(AopUtils.getTargetClass(target), targetClass -> SERVICES.stream()
+        .filter(service -> service.isAssignableFrom(targetClass))
+        .findFirst()
+        .map(Class::getSimpleName)
+        .orElse(targetClass.getSimpleName()));
+  }
+
+  /**
+   * @return Die Anzahl der Datensätze im Ergebnis oder -1, wenn das Ergebnis keine Datensätze sind (z. B. Durchschnitte).
+   */
+  private static long rows(Object result, Class<?> returnType) {
+    if (returnType == void.class || returnType == double.class || returnType == String.class) {
+      return -1;
+    }
+    if (returnType == long.class) {
+      // Die Exporte liefern die Anzahl geschriebener Zeilen.
+      return (Long) result;
+    }
+    if (result == null) {
+      return 0;
+    }
+    if (result instanceof Collection<?> collection) {
+      return collection.size();
+    }
+    if (result instanceof Map<?, ?> map) {
+      return map.size();
+    }
+    if (result instanceof Optional<?> optional) {
+      return optional.isPresent() ? 1 : 0;
+    }
+    if (result instanceof ProductPageDTO page) {
+      return page.products().size();
+    }
+    return 1;
+  }
+}
@@ -0,0 +1,38 @@
+package org.example.services.impl.metrics;
+
+import java.util.Map;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Zählt je Thread die SQL-Statements, die Hibernate vorbereitet. Ein JDBC-Batch zählt dabei einmal.
+ * <p>
+ * Der Zähler wird nie zurückgesetzt; wer die Statements eines Abschnitts wissen will, merkt sich {@link #current()}
+ * vorher und bildet die Differenz. Statements, die ein Hintergrund-Thread für den Aufrufer ausführt, zählen bei diesem
+ * Thread.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+  private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+  @Override
+  public String inspect(String sql) {
+    COUNT.get()[0]++;
+    return sql;
+  }
+
+  @Override
+  public void customize(Map<String, Object> hibernateProperties) {
+    hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+  }
+
+  /**
+   * @return Die Anzahl der bisher im aktuellen Thread vorbereiteten Statements.
+   */
+  public long current() {
+    return COUNT.get()[0];
+  }
+}
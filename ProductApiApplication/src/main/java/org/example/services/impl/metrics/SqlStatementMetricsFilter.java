@@ -0,0 +1,48 @@
+package org.example.services.impl.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Misst die SQL-Statements je HTTP-Anfrage als {@value #METRIC}, getaggt wie {@code http.server.requests} mit Methode
+ * und URI-Muster. Statements aus Hintergrund-Threads (z. B. beim Streaming-Export) gehören nicht dazu.
+ */
+@Component
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+  static final String METRIC = "http.server.requests.sql.statements";
+
+  private final SqlStatementCounter statementCounter;
+  private final MeterRegistry meterRegistry;
+
+  public SqlStatementMetricsFilter(SqlStatementCounter statementCounter, MeterRegistry meterRegistry) {
+    this.statementCounter = statementCounter;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    long before = statementCounter.current();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      // Ohne passenden Handler (404, statische Ressourcen) gibt es kein Muster; wie bei http.server.requests.
+      Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+      DistributionSummary.builder(METRIC)
+          .description("SQL statements prepared per HTTP request")
+          .tag("method", request.getMethod())
+          .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+          .register(meterRegistry)
+          .record(statementCounter.current() - before);
+    }
+  }
+}
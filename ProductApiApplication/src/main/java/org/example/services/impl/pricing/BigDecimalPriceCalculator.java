@@ -0,0 +1,129 @@
+package org.example.services.impl.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import org.example.dto.PriceDetailsDTO;
+import org.example.model.DiscountInfo;
+import org.example.model.DiscountType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Referenzimplementierung der Preisberechnung auf Basis von {@link BigDecimal}.
+ * <p>
+ * Sie definiert das fachlich korrekte Ergebnis inklusive aller Sonderfälle (ungültige Rabatte, negative Steuersätze,
+ * Rabatte über dem Basispreis). {@link FixedPointPriceCalculator} muss für jede Eingabe exakt dasselbe Ergebnis liefern
+ * oder an diese Klasse abgeben.
+ */
+public final class BigDecimalPriceCalculator {
+
+  private static final Logger log = LoggerFactory.getLogger(BigDecimalPriceCalculator.class);
+  private static final BigDecimal ZERO = BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+  private static final DiscountInfo NO_DISCOUNT = new DiscountInfo(DiscountType.NONE, 0);
+
+  private BigDecimalPriceCalculator() {
+  }
+
+  /**
+   * @throws IllegalArgumentException wenn der Basispreis negativ ist.
+   */
+  public static PriceDetailsDTO calculate(Long productId, double price, DiscountInfo discountInfo, double rawTaxRate) {
+    BigDecimal basePrice = validateAndGetBasePrice(productId, price);
+
+    PriceCalculationResult calculationResult = applyDiscount(basePrice, discountInfo, productId);
+
+    double taxRate = validateTaxRate(rawTaxRate, productId);
+    BigDecimal taxAmount = calculateTaxAmount(calculationResult.priceAfterDiscount(), taxRate);
+    BigDecimal finalPrice = calculationResult.priceAfterDiscount().add(taxAmount);
+
+    log.debug("Final calculated price for product ID {}: {}", productId, finalPrice);
+
+    return new PriceDetailsDTO(
+        productId,
+        basePrice,
+        calculationResult.discountInfo(),
+        calculationResult.discountAmount(),
+        calculationResult.priceAfterDiscount(),
+        taxRate,
+        taxAmount,
+        finalPrice
+    );
+  }
+
+  private static BigDecimal validateAndGetBasePrice(Long productId, double price) {
+    BigDecimal basePrice = BigDecimal.valueOf(price).setScale(2, RoundingMode.HALF_UP);
+    if (basePrice.compareTo(ZERO) < 0) {
+      log.error("Product ID {} has negative price: {}", productId, basePrice);
+      throw new IllegalArgumentException("Produkt (ID: " + productId + ") hat einen negativen Preis: " + basePrice);
+    }
+    log.debug("Base price for product ID {}: {}", productId, basePrice);
+    return basePrice;
+  }
+
+  private static double validateTaxRate(double taxRate, Long productId) {
+    log.debug("Tax rate for product ID {}: {}", productId, taxRate);
+    if (taxRate < 0) {
+      log.error("Tax service returned negative tax rate {} for product ID {}. Using 0.", taxRate, productId);
+      taxRate = 0;
+    }
+    return taxRate;
+  }
+
+  private static BigDecimal calculateTaxAmount(BigDecimal priceAfterDiscount, double taxRate) {
+    if (taxRate <= 0) {
+      log.debug("No tax applied (tax rate is 0 or negative).");
+      return ZERO;
+    }
+    BigDecimal taxAmount = priceAfterDiscount.multiply(BigDecimal.valueOf(taxRate))
+        .setScale(2, RoundingMode.HALF_UP);
+    log.debug("Calculated tax amount: {}", taxAmount);
+    return taxAmount;
+  }
+
+  private static PriceCalculationResult applyDiscount(BigDecimal basePrice, DiscountInfo discountInfo, Long productId) {
+    BigDecimal discountAmount = ZERO;
+    BigDecimal priceAfterDiscount = basePrice;
+
+    switch (discountInfo.type()) {
+      case PERCENTAGE:
+        if (discountInfo.value() > 0 && discountInfo.value() <= 1.0) {
+          discountAmount = basePrice.multiply(BigDecimal.valueOf(discountInfo.value()))
+              .setScale(2, RoundingMode.HALF_UP);
+          priceAfterDiscount = basePrice.subtract(discountAmount);
+          log.debug("Applied percentage discount: Amount={}, PriceAfter={}", discountAmount, priceAfterDiscount);
+        } else {
+          log.warn("Invalid percentage discount value {} for product ID {}, ignoring.", discountInfo.value(), productId);
+          discountInfo = NO_DISCOUNT;
+        }
+        break;
+      case FIXED_AMOUNT:
+        BigDecimal fixedDiscount = BigDecimal.valueOf(discountInfo.value()).setScale(2, RoundingMode.HALF_UP);
+        if (fixedDiscount.compareTo(ZERO) > 0) {
+          discountAmount = fixedDiscount;
+          priceAfterDiscount = basePrice.subtract(discountAmount);
+          if (priceAfterDiscount.compareTo(ZERO) < 0) {
+            log.warn("Fixed discount {} is higher than base price {} for product ID {}. Setting price after discount to 0.",
+                discountAmount, basePrice, productId);
+            priceAfterDiscount = ZERO;
+            discountAmount = basePrice;
+          }
+          log.debug("Applied fixed discount: Amount={}, PriceAfter={}", discountAmount, priceAfterDiscount);
+        } else {
+          log.warn("Invalid fixed discount value {} for product ID {}, ignoring.", discountInfo.value(), productId);
+          discountInfo = NO_DISCOUNT;
+        }
+        break;
+      case NONE:
+        log.debug("No discount applied.");
+        break;
+    }
+
+    return new PriceCalculationResult(discountInfo, discountAmount, priceAfterDiscount);
+  }
+
+  private record PriceCalculationResult(
+      DiscountInfo discountInfo,
+      BigDecimal discountAmount,
+      BigDecimal priceAfterDiscount
+  ) {}
+}
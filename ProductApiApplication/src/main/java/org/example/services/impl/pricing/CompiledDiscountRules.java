@@ -0,0 +1,267 @@
+package org.example.services.impl.pricing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.example.model.DiscountInfo;
+import org.example.model.DiscountRule;
+import org.example.model.DiscountType;
+
+/**
+ * Unveränderlicher, vorübersetzter Stand der Rabattregeln.
+ * <p>
+ * Pro Kategorie-ID werden die Preisgrenzen aller Regeln sortiert; zwischen zwei Grenzen liegt ein Preisband, dem die
+ * passenden Regeln nach Priorität sortiert zugeordnet sind. Eine Abfrage ist damit eine Hash-Suche und eine binäre
+ * Suche über die Grenzen, ohne Stringvergleiche und ohne Allokation.
+ * <p>
+ * Zusätzlich hat jede Kategorie eine {@linkplain #fingerprint(Long, String) Prüfsumme} ihrer Regeln. Anders als die
+ * Version hängt sie nur vom Inhalt der Regeln ab und ist damit über Neustarts und Instanzen hinweg vergleichbar.
+ */
+public final class CompiledDiscountRules {
+
+  static final DiscountInfo NO_DISCOUNT = new DiscountInfo(DiscountType.NONE, 0);
+
+  /**
+   * Prüfsumme für Kategorien ohne Regeln und Produkte ohne Kategorie.
+   */
+  public static final long NO_RULES = 0;
+
+  private final long version;
+  private final List<DiscountRule> rules;
+  private final Map<Long, String> categoryNames;
+  private final Map<Long, CategoryIndex> index;
+  private final Map<String, CategoryIndex> indexByName;
+
+  private CompiledDiscountRules(long version, List<DiscountRule> rules, Map<Long, String> categoryNames,
+      Map<Long, CategoryIndex> index, Map<String, CategoryIndex> indexByName) {
+    this.version = version;
+    this.rules = rules;
+    this.categoryNames = categoryNames;
+    this.index = index;
+    this.indexByName = indexByName;
+  }
+
+  /**
+   * Übersetzt die Regeln für die bekannten Kategorien. Regeln für unbekannte Kategorien bleiben erhalten und greifen,
+   * sobald eine Kategorie mit diesem Namen bekannt wird.
+   *
+   * @param categoryNames Name je Kategorie-ID.
+   */
+  public static CompiledDiscountRules compile(long version, List<DiscountRule> rules, Map<Long, String> categoryNames) {
+    Map<String, List<Long>> idsByName = new HashMap<>();
+    categoryNames.forEach((id, name) -> idsByName.computeIfAbsent(normalize(name), n -> new ArrayList<>()).add(id));
+
+    Map<String, List<Candidate>> candidatesByName = new HashMap<>();
+    for (int order = 0; order < rules.size(); order++) {
+      DiscountRule rule = rules.get(order);
+      candidatesByName.computeIfAbsent(normalize(rule.categoryName()), n -> new ArrayList<>())
+          .add(Candidate.of(rule, order));
+    }
+
+    Map<Long, CategoryIndex> index = new HashMap<>();
+    Map<String, CategoryIndex> indexByName = new HashMap<>();
+    candidatesByName.forEach((name, candidates) -> {
+      CategoryIndex categoryIndex = CategoryIndex.of(candidates);
+      indexByName.put(name, categoryIndex);
+      for (Long id : idsByName.getOrDefault(name, List.of())) {
+        index.put(id, categoryIndex);
+      }
+    });
+    return new CompiledDiscountRules(version, List.copyOf(rules), Map.copyOf(categoryNames), Map.copyOf(index),
+        Map.copyOf(indexByName));
+  }
+
+  public long version() {
+    return version;
+  }
+
+  public List<DiscountRule> rules() {
+    return rules;
+  }
+
+  public Map<Long, String> categoryNames() {
+    return categoryNames;
+  }
+
+  /**
+   * Ermittelt den Rabatt für ein Produkt.
+   *
+   * @param categoryId Die Kategorie des Produkts oder {@code null}.
+   * @param price      Der Preis des Produkts oder {@code null}.
+   * @param epochDay   Der Stichtag als {@link java.time.LocalDate#toEpochDay()}.
+   * @return Der Rabatt der passenden Regel mit der höchsten Priorität oder {@code NONE}.
+   */
+  public DiscountInfo lookup(Long categoryId, Double price, long epochDay) {
+    if (categoryId == null || price == null) {
+      return NO_DISCOUNT;
+    }
+    CategoryIndex categoryIndex = index.get(categoryId);
+    return categoryIndex == null ? NO_DISCOUNT : categoryIndex.lookup(price, epochDay);
+  }
+
+  /**
+   * @return {@code true}, wenn die Kategorie beim Übersetzen bekannt war.
+   */
+  public boolean knowsCategory(Long categoryId) {
+    return categoryNames.containsKey(categoryId);
+  }
+
+  /**
+   * Ermittelt den Rabatt über den Kategorienamen. Nur für Kategorien gedacht, die beim Übersetzen noch nicht bekannt
+   * waren (z.B. in der laufenden Transaktion angelegt).
+   */
+  public DiscountInfo lookupByCategoryName(String categoryName, Double price, long epochDay) {
+    if (categoryName == null || price == null) {
+      return NO_DISCOUNT;
+    }
+    CategoryIndex categoryIndex = indexByName.get(normalize(categoryName));
+    return categoryIndex == null ? NO_DISCOUNT : categoryIndex.lookup(price, epochDay);
+  }
+
+  /**
+   * Ermittelt die Prüfsumme der Regeln, die für eine Kategorie gelten. Kategorien, die beim Übersetzen noch nicht
+   * bekannt waren, werden wie bei {@link #lookupByCategoryName} über den Namen aufgelöst.
+   *
+   * @return Die Prüfsumme oder {@link #NO_RULES}, wenn keine Regel für die Kategorie gilt.
+   */
+  public long fingerprint(Long categoryId, String categoryName) {
+    if (categoryId == null) {
+      return NO_RULES;
+    }
+    CategoryIndex categoryIndex = knowsCategory(categoryId) ? index.get(categoryId)
+        : categoryName != null ? indexByName.get(normalize(categoryName)) : null;
+    return categoryIndex == null ? NO_RULES : categoryIndex.fingerprint();
+  }
+
+  /**
+   * @return Die Kategorien, deren Regeln sich gegenüber {@code previous} geändert haben.
+   */
+  public Set<Long> categoriesChangedSince(CompiledDiscountRules previous) {
+    Set<Long> changed = new HashSet<>();
+    Set<Long> all = new HashSet<>(index.keySet());
+    all.addAll(previous.index.keySet());
+    for (Long id : all) {
+      CategoryIndex before = previous.index.get(id);
+      CategoryIndex after = index.get(id);
+      if (before == null || after == null || !before.sameRulesAs(after)) {
+        changed.add(id);
+      }
+    }
+    return changed;
+  }
+
+  private static String normalize(String categoryName) {
+    return categoryName == null ? "" : categoryName.trim().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Eine übersetzte Regel. Die Gültigkeit ist als Epoch-Day abgelegt, damit die Prüfung ohne Datumsobjekte auskommt.
+   */
+  private record Candidate(double minExclusive, double maxInclusive, long fromDay, long untilDay, int priority,
+      int order, DiscountInfo discount) {
+
+    private static final Comparator<Candidate> BY_PRIORITY = Comparator.comparingInt(Candidate::priority).reversed()
+        .thenComparingInt(Candidate::order);
+
+    static Candidate of(DiscountRule rule, int order) {
+      return new Candidate(
+          rule.minPriceExclusive() == null ? Double.NEGATIVE_INFINITY : rule.minPriceExclusive(),
+          rule.maxPriceInclusive() == null ? Double.POSITIVE_INFINITY : rule.maxPriceInclusive(),
+          rule.validFrom() == null ? Long.MIN_VALUE : rule.validFrom().toEpochDay(),
+          rule.validUntil() == null ? Long.MAX_VALUE : rule.validUntil().toEpochDay(),
+          rule.priority(), order, rule.discount());
+    }
+
+    boolean validOn(long epochDay) {
+      return fromDay <= epochDay && epochDay <= untilDay;
+    }
+
+    boolean covers(double bandLow, double bandHigh) {
+      return minExclusive <= bandLow && bandHigh <= maxInclusive;
+    }
+  }
+
+  /**
+   * Preisbänder einer Kategorie. Band {@code i} umfasst {@code (boundaries[i-1], boundaries[i]]}, das letzte Band
+   * reicht bis unendlich.
+   */
+  private record CategoryIndex(double[] boundaries, Candidate[][] bands, long fingerprint) {
+
+    static CategoryIndex of(List<Candidate> candidates) {
+      TreeSet<Double> sorted = new TreeSet<>();
+      for (Candidate candidate : candidates) {
+        if (Double.isFinite(candidate.minExclusive())) {
+          sorted.add(candidate.minExclusive());
+        }
+        if (Double.isFinite(candidate.maxInclusive())) {
+          sorted.add(candidate.maxInclusive());
+        }
+      }
+      double[] boundaries = sorted.stream().mapToDouble(Double::doubleValue).toArray();
+
+      Candidate[][] bands = new Candidate[boundaries.length + 1][];
+      for (int band = 0; band <= boundaries.length; band++) {
+        double low = band == 0 ? Double.NEGATIVE_INFINITY : boundaries[band - 1];
+        double high = band == boundaries.length ? Double.POSITIVE_INFINITY : boundaries[band];
+        bands[band] = candidates.stream()
+            .filter(candidate -> candidate.covers(low, high))
+            .sorted(Candidate.BY_PRIORITY)
+            .toArray(Candidate[]::new);
+      }
+      return new CategoryIndex(boundaries, bands, fingerprint(candidates));
+    }
+
+    /**
+     * SHA-256 über die Regeln in Dateireihenfolge, gekürzt auf 64 Bit. Der Kategoriename fließt nicht ein: gleiche
+     * Regeln ergeben unabhängig vom Namen dieselben Preise.
+     */
+    private static long fingerprint(List<Candidate> candidates) {
+      MessageDigest digest;
+      try {
+        digest = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException("SHA-256 ist nicht verfügbar", e);
+      }
+      ByteBuffer buffer = ByteBuffer.allocate(6 * Long.BYTES);
+      for (Candidate candidate : candidates) {
+        buffer.clear();
+        buffer.putDouble(candidate.minExclusive())
+            .putDouble(candidate.maxInclusive())
+            .putLong(candidate.fromDay())
+            .putLong(candidate.untilDay())
+            .putLong(candidate.priority())
+            .putDouble(candidate.discount().value());
+        digest.update(buffer.array(), 0, buffer.position());
+        digest.update(candidate.discount().type().name().getBytes(StandardCharsets.UTF_8));
+      }
+      long fingerprint = ByteBuffer.wrap(digest.digest()).getLong();
+      return fingerprint == NO_RULES ? 1 : fingerprint;
+    }
+
+    DiscountInfo lookup(double price, long epochDay) {
+      int position = Arrays.binarySearch(boundaries, price);
+      int band = position >= 0 ? position : -position - 1;
+      for (Candidate candidate : bands[band]) {
+        if (candidate.validOn(epochDay)) {
+          return candidate.discount();
+        }
+      }
+      return NO_DISCOUNT;
+    }
+
+    boolean sameRulesAs(CategoryIndex other) {
+      return Arrays.equals(boundaries, other.boundaries) && Arrays.deepEquals(bands, other.bands);
+    }
+  }
+}
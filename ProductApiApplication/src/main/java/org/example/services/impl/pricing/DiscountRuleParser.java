@@ -0,0 +1,104 @@
+package org.example.services.impl.pricing;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.example.exception.InvalidDiscountRulesException;
+import org.example.model.DiscountInfo;
+import org.example.model.DiscountRule;
+import org.example.model.DiscountType;
+
+/**
+ * Liest die Rabatt-Regeltabelle im Format
+ * {@code kategorie,preis_ab,preis_bis,typ,wert,gueltig_ab,gueltig_bis,prioritaet}. Leere Zeilen und Zeilen mit
+ * {@code #} werden ignoriert, ebenso die Kopfzeile.
+ */
+public final class DiscountRuleParser {
+
+  private static final String HEADER_PREFIX = "kategorie,";
+  private static final int COLUMNS = 8;
+
+  private DiscountRuleParser() {
+  }
+
+  /**
+   * @throws InvalidDiscountRulesException wenn eine Zeile nicht dem Format entspricht.
+   */
+  public static List<DiscountRule> parse(Reader reader) throws IOException {
+    List<DiscountRule> rules = new ArrayList<>();
+    BufferedReader lines = new BufferedReader(reader);
+    String line;
+    int lineNumber = 0;
+    while ((line = lines.readLine()) != null) {
+      lineNumber++;
+      String trimmed = line.trim();
+      if (trimmed.isEmpty() || trimmed.startsWith("#") || trimmed.toLowerCase(Locale.ROOT).startsWith(HEADER_PREFIX)) {
+        continue;
+      }
+      try {
+        rules.add(parseLine(trimmed));
+      } catch (IllegalArgumentException | DateTimeParseException e) {
+        throw new InvalidDiscountRulesException(
+            "Ungültige Rabattregel in Zeile " + lineNumber + ": " + e.getMessage(), e);
+      }
+    }
+    return rules;
+  }
+
+  private static DiscountRule parseLine(String line) {
+    String[] columns = line.split(",", -1);
+    if (columns.length != COLUMNS) {
+      throw new IllegalArgumentException("Erwartet " + COLUMNS + " Spalten, gefunden " + columns.length);
+    }
+    String categoryName = columns[0].trim();
+    if (categoryName.isEmpty()) {
+      throw new IllegalArgumentException("Kategorie fehlt");
+    }
+    Double minPrice = optionalDouble(columns[1]);
+    Double maxPrice = optionalDouble(columns[2]);
+    if (minPrice != null && maxPrice != null && minPrice >= maxPrice) {
+      throw new IllegalArgumentException("preis_ab muss kleiner als preis_bis sein");
+    }
+    DiscountType type = DiscountType.valueOf(columns[3].trim().toUpperCase(Locale.ROOT));
+    double value = columns[4].isBlank() ? 0 : Double.parseDouble(columns[4].trim());
+    validateValue(type, value);
+    LocalDate validFrom = optionalDate(columns[5]);
+    LocalDate validUntil = optionalDate(columns[6]);
+    if (validFrom != null && validUntil != null && validUntil.isBefore(validFrom)) {
+      throw new IllegalArgumentException("gueltig_bis liegt vor gueltig_ab");
+    }
+    int priority = columns[7].isBlank() ? 0 : Integer.parseInt(columns[7].trim());
+    return new DiscountRule(categoryName, minPrice, maxPrice, new DiscountInfo(type, value), validFrom, validUntil,
+        priority);
+  }
+
+  private static void validateValue(DiscountType type, double value) {
+    switch (type) {
+      case PERCENTAGE -> {
+        if (!(value > 0 && value <= 1.0)) {
+          throw new IllegalArgumentException("Prozentualer Rabatt muss zwischen 0 und 1 liegen: " + value);
+        }
+      }
+      case FIXED_AMOUNT -> {
+        if (!(value > 0)) {
+          throw new IllegalArgumentException("Fester Rabatt muss positiv sein: " + value);
+        }
+      }
+      case NONE -> {
+      }
+    }
+  }
+
+  private static Double optionalDouble(String column) {
+    return column.isBlank() ? null : Double.valueOf(column.trim());
+  }
+
+  private static LocalDate optionalDate(String column) {
+    return column.isBlank() ? null : LocalDate.parse(column.trim());
+  }
+}
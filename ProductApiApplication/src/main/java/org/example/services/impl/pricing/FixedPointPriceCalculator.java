@@ -0,0 +1,113 @@
+package org.example.services.impl.pricing;
+
+import org.example.model.DiscountInfo;
+import org.example.util.FixedPoint;
+
+/**
+ * Preisberechnung in ganzzahligen Cent, ohne {@link java.math.BigDecimal} und ohne Allokation.
+ * <p>
+ * Prozentsätze (Rabatt und Steuer) werden exakt als Vielfache von 10<sup>-9</sup> dargestellt. Das ist genau dann
+ * möglich, wenn ihre kürzeste Dezimaldarstellung (die auch {@code BigDecimal.valueOf(double)} verwendet) höchstens neun
+ * Nachkommastellen hat. Produkte werden dann exakt in {@code long} gerechnet und kaufmännisch gerundet, das Ergebnis
+ * ist identisch mit {@link BigDecimalPriceCalculator}.
+ * <p>
+ * Alle Eingaben außerhalb dieses Bereichs sowie fachliche Sonderfälle (negativer Preis oder Steuersatz, ungültiger
+ * Rabatt, Rabatt über dem Basispreis) werden nicht berechnet; der Aufrufer muss dann die Referenzimplementierung
+ * verwenden, die diese Fälle auch protokolliert.
+ */
+public final class FixedPointPriceCalculator {
+
+  private static final long NANOS = 1_000_000_000L;
+  private static final long HALF_NANOS = NANOS / 2;
+
+  /**
+   * Beträge ab hier werden der Referenzimplementierung überlassen.
+   */
+  private static final double MAX_AMOUNT = 1e13;
+
+  /**
+   * Bis hierhin ist der Abstand benachbarter {@code double}-Werte kleiner als 10<sup>-9</sup>, so dass höchstens eine
+   * Dezimalzahl mit neun Nachkommastellen auf denselben Wert rundet.
+   */
+  private static final double MAX_RATE = 1024;
+
+  private FixedPointPriceCalculator() {
+  }
+
+  /**
+   * Berechnet den Preis, sofern die Eingaben im exakt darstellbaren Bereich liegen.
+   *
+   * @param price        Basispreis.
+   * @param discountInfo Anzuwendender Rabatt.
+   * @param taxRate      Steuersatz als Dezimalzahl.
+   * @param result       Wird bei Erfolg vollständig befüllt.
+   * @return {@code false}, wenn die Referenzimplementierung rechnen muss; {@code result} ist dann undefiniert.
+   */
+  public static boolean tryCalculate(double price, DiscountInfo discountInfo, double taxRate, PriceBreakdown result) {
+    if (!(Math.abs(price) < MAX_AMOUNT) || discountInfo == null || discountInfo.type() == null) {
+      return false;
+    }
+    long baseCents = FixedPoint.toCentsHalfUp(price);
+    if (baseCents < 0) {
+      return false;
+    }
+
+    long discountCents;
+    double discountValue = discountInfo.value();
+    switch (discountInfo.type()) {
+      case PERCENTAGE -> {
+        if (!(discountValue > 0 && discountValue <= 1.0)) {
+          return false;
+        }
+        long rateNanos = toNanos(discountValue);
+        if (rateNanos < 0 || baseCents > (Long.MAX_VALUE - HALF_NANOS) / rateNanos) {
+          return false;
+        }
+        discountCents = (baseCents * rateNanos + HALF_NANOS) / NANOS;
+      }
+      case FIXED_AMOUNT -> {
+        if (!(Math.abs(discountValue) < MAX_AMOUNT)) {
+          return false;
+        }
+        discountCents = FixedPoint.toCentsHalfUp(discountValue);
+        if (discountCents <= 0 || discountCents > baseCents) {
+          return false;
+        }
+      }
+      default -> discountCents = 0;
+    }
+    long priceAfterDiscountCents = baseCents - discountCents;
+
+    long taxCents;
+    if (!(taxRate >= 0 && taxRate < MAX_RATE)) {
+      // Negativ, NaN oder sehr groß.
+      return false;
+    }
+    if (taxRate == 0) {
+      taxCents = 0;
+    } else {
+      long rateNanos = toNanos(taxRate);
+      if (rateNanos < 0 || priceAfterDiscountCents > (Long.MAX_VALUE - HALF_NANOS) / rateNanos) {
+        return false;
+      }
+      taxCents = (priceAfterDiscountCents * rateNanos + HALF_NANOS) / NANOS;
+    }
+
+    result.basePriceCents = baseCents;
+    result.appliedDiscount = discountInfo;
+    result.discountCents = discountCents;
+    result.priceAfterDiscountCents = priceAfterDiscountCents;
+    result.taxRateApplied = taxRate;
+    result.taxCents = taxCents;
+    result.finalPriceCents = priceAfterDiscountCents + taxCents;
+    return true;
+  }
+
+  /**
+   * @return Den Satz in 10<sup>-9</sup>, oder {@code -1}, wenn er sich so nicht exakt darstellen lässt.
+   */
+  private static long toNanos(double rate) {
+    long nanos = Math.round(rate * NANOS);
+    return nanos > 0 && (double) nanos / NANOS == rate ? nanos : -1;
+  }
+}
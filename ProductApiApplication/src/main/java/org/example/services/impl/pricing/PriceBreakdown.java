@@ -0,0 +1,63 @@
+package org.example.services.impl.pricing;
+
+import java.math.BigDecimal;
+import org.example.dto.PriceDetailsDTO;
+import org.example.model.DiscountInfo;
+
+/**
+ * Veränderliches Ergebnis von {@link FixedPointPriceCalculator}. Alle Beträge in Cent.
+ */
+public final class PriceBreakdown {
+
+  long basePriceCents;
+  DiscountInfo appliedDiscount;
+  long discountCents;
+  long priceAfterDiscountCents;
+  double taxRateApplied;
+  long taxCents;
+  long finalPriceCents;
+
+  public long basePriceCents() {
+    return basePriceCents;
+  }
+
+  public DiscountInfo appliedDiscount() {
+    return appliedDiscount;
+  }
+
+  public long discountCents() {
+    return discountCents;
+  }
+
+  public long priceAfterDiscountCents() {
+    return priceAfterDiscountCents;
+  }
+
+  public double taxRateApplied() {
+    return taxRateApplied;
+  }
+
+  public long taxCents() {
+    return taxCents;
+  }
+
+  public long finalPriceCents() {
+    return finalPriceCents;
+  }
+
+  /**
+   * Erst hier entstehen {@link BigDecimal}-Objekte, weil das DTO sie verlangt.
+   */
+  public PriceDetailsDTO toDto(Long productId) {
+    return new PriceDetailsDTO(
+        productId,
+        BigDecimal.valueOf(basePriceCents, 2),
+        appliedDiscount,
+        BigDecimal.valueOf(discountCents, 2),
+        BigDecimal.valueOf(priceAfterDiscountCents, 2),
+        taxRateApplied,
+        BigDecimal.valueOf(taxCents, 2),
+        BigDecimal.valueOf(finalPriceCents, 2)
+    );
+  }
+}
@@ -1,16 +1,25 @@
 package org.example.services.impl.pricing;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.example.database.model.Category;
 import org.example.database.model.Product;
 import org.example.database.repository.ProductRepository;
 import org.example.dto.PriceDetailsDTO;
+import org.example.dto.ProductDTO;
 import org.example.exception.ResourceNotFoundException;
 import org.example.model.DiscountInfo;
-import org.example.model.DiscountType;
+import org.example.services.impl.cache.CatalogCache;
 import org.example.services.pricing.DiscountService;
 import org.example.services.pricing.PriceCalculationService;
+import org.example.services.pricing.PriceVersion;
 import org.example.services.pricing.TaxService;
+import org.example.services.pricing.VersionedPriceDetails;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -21,128 +30,175 @@ import org.springframework.transaction.annotation.Transactional;
 public class PriceCalculationServiceImpl implements PriceCalculationService {
 
   private static final Logger log = LoggerFactory.getLogger(PriceCalculationServiceImpl.class);
-  private static final BigDecimal ZERO = BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+
+  /**
+   * Obergrenze für die Anzahl der IDs in einer IN-Liste.
+   */
+  private static final int MAX_IDS_PER_QUERY = 1_000;
 
   private final ProductRepository productRepository;
   private final DiscountService discountService;
   private final TaxService taxService;
+  private final CatalogCache catalogCache;
+  private final PriceDetailsStore priceDetailsStore;
 
   public PriceCalculationServiceImpl(ProductRepository productRepository,
       DiscountService discountService,
-      TaxService taxService) {
+      TaxService taxService,
+      CatalogCache catalogCache,
+      PriceDetailsStore priceDetailsStore) {
     this.productRepository = productRepository;
     this.discountService = discountService;
     this.taxService = taxService;
+    this.catalogCache = catalogCache;
+    this.priceDetailsStore = priceDetailsStore;
   }
 
   @Override
   public PriceDetailsDTO calculatePriceDetails(Long productId) {
-    log.info("Calculating price details for product ID: {}", productId);
-    
+    log.debug("Calculating price details for product ID: {}", productId);
+
     Product product = loadProduct(productId);
-    BigDecimal basePrice = validateAndGetBasePrice(product);
-    DiscountInfo discountInfo = discountService.getDiscount(product);
-    
-    PriceCalculationResult calculationResult = applyDiscount(basePrice, discountInfo, productId);
-    
-    double taxRate = getValidatedTaxRate(product);
-    BigDecimal taxAmount = calculateTaxAmount(calculationResult.priceAfterDiscount(), taxRate);
-    BigDecimal finalPrice = calculationResult.priceAfterDiscount().add(taxAmount);
-    
-    log.info("Final calculated price for product ID {}: {}", productId, finalPrice);
-    
-    return new PriceDetailsDTO(
-        productId,
-        basePrice,
-        calculationResult.discountInfo(),
-        calculationResult.discountAmount(),
-        calculationResult.priceAfterDiscount(),
-        taxRate,
-        taxAmount,
-        finalPrice
-    );
+    Optional<PriceDetailsDTO> materialized = priceDetailsStore.find(product);
+    if (materialized.isPresent()) {
+      log.debug("Price details for product ID {} served from price_details", productId);
+      return materialized.get();
+    }
+    PriceDetailsDTO priceDetails = calculatePriceDetails(product, discountService.getDiscount(product),
+        taxService.getTaxRate(product));
+
+    log.debug("Final calculated price for product ID {}: {}", productId, priceDetails.finalPrice());
+    return priceDetails;
   }
 
-  private Product loadProduct(Long productId) {
-    return productRepository.findById(productId)
+  @Override
+  public Map<Long, PriceDetailsDTO> calculatePriceDetails(Collection<Long> productIds) {
+    List<Long> ids = productIds.stream().filter(Objects::nonNull).distinct().toList();
+    log.debug("Calculating price details for {} products", ids.size());
+    if (ids.isEmpty()) {
+      return Map.of();
+    }
+
+    Map<Long, PriceDetailsDTO> calculated = calculate(loadProducts(ids).values());
+
+    Map<Long, PriceDetailsDTO> result = new LinkedHashMap<>(Math.max(16, ids.size() * 2));
+    for (Long id : ids) {
+      PriceDetailsDTO priceDetails = calculated.get(id);
+      if (priceDetails == null) {
+        log.debug("Product ID {} not found, skipping.", id);
+        continue;
+      }
+      result.put(id, priceDetails);
+    }
+    log.debug("Calculated price details for {} of {} requested products", result.size(), ids.size());
+    return result;
+  }
+
+  @Override
+  public PriceVersion getPriceVersion(Long productId) {
+    long today = priceDetailsStore.today();
+    return productRepository.findVersionsByIdIn(List.of(productId)).stream()
+        .findFirst()
+        .map(version -> new PriceVersion(version.version() != null ? version.version() : 0,
+            priceDetailsStore.rulesFingerprint(version.categoryId()), today))
         .orElseThrow(() -> new ResourceNotFoundException("Produkt nicht gefunden mit der ID: " + productId));
   }
 
-  private BigDecimal validateAndGetBasePrice(Product product) {
-    BigDecimal basePrice = BigDecimal.valueOf(product.getPrice()).setScale(2, RoundingMode.HALF_UP);
-    if (basePrice.compareTo(ZERO) < 0) {
-      log.error("Product ID {} has negative price: {}", product.getId(), basePrice);
-      throw new IllegalArgumentException("Produkt (ID: " + product.getId() + ") hat einen negativen Preis: " + basePrice);
+  @Override
+  public Map<Long, VersionedPriceDetails> calculateVersionedPriceDetails(Collection<Long> productIds) {
+    List<Long> ids = productIds.stream().filter(Objects::nonNull).distinct().toList();
+    if (ids.isEmpty()) {
+      return Map.of();
     }
-    log.debug("Base price for product ID {}: {}", product.getId(), basePrice);
-    return basePrice;
-  }
 
-  private double getValidatedTaxRate(Product product) {
-    double taxRate = taxService.getTaxRate(product);
-    log.debug("Tax rate for product ID {}: {}", product.getId(), taxRate);
-    if (taxRate < 0) {
-      log.error("Tax service returned negative tax rate {} for product ID {}. Using 0.", taxRate, product.getId());
-      taxRate = 0;
+    // Stichtag und Prüfsummen der Regeln vor der Berechnung lesen: ändern sie sich währenddessen, sind die Preise
+    // neuer als ihr Stand, nie älter. Die Produktversion stammt aus derselben Abfrage wie Preis und Kategorie.
+    long today = priceDetailsStore.today();
+    Map<Long, Product> productsById = loadProducts(ids);
+    Map<Long, PriceVersion> versions = new HashMap<>(Math.max(16, productsById.size() * 2));
+    for (Product product : productsById.values()) {
+      versions.put(product.getId(), new PriceVersion(product.getVersion() != null ? product.getVersion() : 0,
+          priceDetailsStore.rulesFingerprint(product), today));
+    }
+    Map<Long, PriceDetailsDTO> calculated = calculate(productsById.values());
+
+    Map<Long, VersionedPriceDetails> result = new LinkedHashMap<>(Math.max(16, ids.size() * 2));
+    for (Long id : ids) {
+      PriceDetailsDTO priceDetails = calculated.get(id);
+      if (priceDetails != null) {
+        result.put(id, new VersionedPriceDetails(priceDetails, versions.get(id)));
+      }
     }
-    return taxRate;
+    return result;
   }
 
-  private BigDecimal calculateTaxAmount(BigDecimal priceAfterDiscount, double taxRate) {
-    if (taxRate <= 0) {
-      log.debug("No tax applied (tax rate is 0 or negative).");
-      return ZERO;
+  /**
+   * Berechnet die Preisinformationen bereits geladener Produkte (samt Kategorie) mit einem Regelstand und gebündelt
+   * ermittelten Steuersätzen, ohne den materialisierten Stand zu lesen.
+   *
+   * @throws IllegalArgumentException wenn eines der Produkte keinen Preis hat.
+   */
+  public Map<Long, PriceDetailsDTO> calculateAll(Collection<Product> products) {
+    Map<Long, DiscountInfo> discounts = discountService.getDiscounts(products);
+    Map<Long, Double> taxRates = taxService.getTaxRates(products);
+    Map<Long, PriceDetailsDTO> result = new HashMap<>(Math.max(16, products.size() * 2));
+    for (Product product : products) {
+      DiscountInfo discountInfo = discounts.get(product.getId());
+      Double taxRate = taxRates.get(product.getId());
+      result.put(product.getId(), calculatePriceDetails(product,
+          discountInfo != null ? discountInfo : discountService.getDiscount(product),
+          taxRate != null ? taxRate : taxService.getTaxRate(product)));
     }
-    BigDecimal taxAmount = priceAfterDiscount.multiply(BigDecimal.valueOf(taxRate))
-        .setScale(2, RoundingMode.HALF_UP);
-    log.debug("Calculated tax amount: {}", taxAmount);
-    return taxAmount;
+    return result;
   }
 
-  private PriceCalculationResult applyDiscount(BigDecimal basePrice, DiscountInfo discountInfo, Long productId) {
-    BigDecimal discountAmount = ZERO;
-    BigDecimal priceAfterDiscount = basePrice;
-
-    switch (discountInfo.type()) {
-      case PERCENTAGE:
-        if (discountInfo.value() > 0 && discountInfo.value() <= 1.0) {
-          discountAmount = basePrice.multiply(BigDecimal.valueOf(discountInfo.value()))
-              .setScale(2, RoundingMode.HALF_UP);
-          priceAfterDiscount = basePrice.subtract(discountAmount);
-          log.debug("Applied percentage discount: Amount={}, PriceAfter={}", discountAmount, priceAfterDiscount);
-        } else {
-          log.warn("Invalid percentage discount value {} for product ID {}, ignoring.", discountInfo.value(), productId);
-          discountInfo = new DiscountInfo(DiscountType.NONE, 0);
-        }
-        break;
-      case FIXED_AMOUNT:
-        BigDecimal fixedDiscount = BigDecimal.valueOf(discountInfo.value()).setScale(2, RoundingMode.HALF_UP);
-        if (fixedDiscount.compareTo(ZERO) > 0) {
-          discountAmount = fixedDiscount;
-          priceAfterDiscount = basePrice.subtract(discountAmount);
-          if (priceAfterDiscount.compareTo(ZERO) < 0) {
-            log.warn("Fixed discount {} is higher than base price {} for product ID {}. Setting price after discount to 0.",
-                discountAmount, basePrice, productId);
-            priceAfterDiscount = ZERO;
-            discountAmount = basePrice;
-          }
-          log.debug("Applied fixed discount: Amount={}, PriceAfter={}", discountAmount, priceAfterDiscount);
-        } else {
-          log.warn("Invalid fixed discount value {} for product ID {}, ignoring.", discountInfo.value(), productId);
-          discountInfo = new DiscountInfo(DiscountType.NONE, 0);
-        }
-        break;
-      case NONE:
-        log.debug("No discount applied.");
-        break;
+  /**
+   * Liest die aktuellen materialisierten Preisinformationen und berechnet die übrigen live.
+   */
+  private Map<Long, PriceDetailsDTO> calculate(Collection<Product> products) {
+    Map<Long, PriceDetailsDTO> calculated = new HashMap<>(priceDetailsStore.findAll(products));
+    List<Product> missing = products.stream()
+        .filter(product -> !calculated.containsKey(product.getId()))
+        .toList();
+    calculated.putAll(calculateAll(missing));
+    return calculated;
+  }
+
+  private PriceDetailsDTO calculatePriceDetails(Product product, DiscountInfo discountInfo, double taxRate) {
+    if (product.getPrice() == null) {
+      log.error("Product ID {} has no price", product.getId());
+      throw new IllegalArgumentException("Produkt (ID: " + product.getId() + ") hat keinen Preis.");
+    }
+    PriceBreakdown breakdown = new PriceBreakdown();
+    if (FixedPointPriceCalculator.tryCalculate(product.getPrice(), discountInfo, taxRate, breakdown)) {
+      return breakdown.toDto(product.getId());
     }
+    // Sonderfälle (ungültige Werte, Rundungsgrenzen, sehr große Beträge) rechnet die Referenzimplementierung.
+    return BigDecimalPriceCalculator.calculate(product.getId(), product.getPrice(), discountInfo, taxRate);
+  }
 
-    return new PriceCalculationResult(discountInfo, discountAmount, priceAfterDiscount);
+  private Product loadProduct(Long productId) {
+    ProductDTO cached = catalogCache.getProduct(productId)
+        .orElseThrow(() -> new ResourceNotFoundException("Produkt nicht gefunden mit der ID: " + productId));
+    if (cached.getPrice() == null) {
+      log.error("Product ID {} has no price", productId);
+      throw new IllegalArgumentException("Produkt (ID: " + productId + ") hat keinen Preis.");
+    }
+    // Rabatt- und Steuerberechnung lesen nur ID, Preis und Kategorie; ein nicht verwaltetes Produkt genügt.
+    Category category = cached.getCategoryId() != null
+        ? new Category(cached.getCategoryId(), cached.getCategoryName())
+        : null;
+    return new Product(cached.getId(), cached.getName(), cached.getPrice(), category);
   }
 
-  private record PriceCalculationResult(
-      DiscountInfo discountInfo,
-      BigDecimal discountAmount,
-      BigDecimal priceAfterDiscount
-  ) {}
+  private Map<Long, Product> loadProducts(List<Long> ids) {
+    Map<Long, Product> productsById = new HashMap<>(Math.max(16, ids.size() * 2));
+    for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+      List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_IDS_PER_QUERY));
+      for (Product product : productRepository.findAllWithCategoryByIdIn(chunk)) {
+        productsById.put(product.getId(), product);
+      }
+    }
+    return productsById;
+  }
 }
@@ -0,0 +1,212 @@
+package org.example.services.impl.pricing;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongFunction;
+import org.example.database.event.BulkProductChange;
+import org.example.database.event.CatalogChangeListener;
+import org.example.database.event.CatalogChanges;
+import org.example.database.event.ChangeType;
+import org.example.database.event.ProductChange;
+import org.example.database.repository.MaterializedPriceDetailsRepository;
+import org.example.database.repository.ProductRepository;
+import org.example.services.impl.BackgroundExecutors;
+import org.example.services.pricing.PricingRulesChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hält die Tabelle {@code price_details} im Hintergrund aktuell.
+ * <p>
+ * Neu berechnet werden nur die betroffenen Produkte: nach einem Commit die Produkte mit geändertem Preis oder
+ * geänderter Kategorie, nach einer Regeländerung alle Produkte der betroffenen Kategorien. Beim Start und zu jedem
+ * Tageswechsel wird der ganze Katalog neu berechnet, da Rabattregeln datumsabhängig sind.
+ * <p>
+ * Aufträge werden von einem einzelnen Koordinator-Thread in Commit-Reihenfolge abgearbeitet; die Blöcke zu
+ * {@value #CHUNK_SIZE} Produkten eines Auftrags rechnen bis zu {@code pricing.price-details.parallelism} Threads
+ * parallel, jeder Block in einer eigenen Transaktion. Bis ein Block geschrieben ist, berechnen Leser veraltete Zeilen
+ * live (siehe {@link PriceDetailsStore}).
+ */
+@Component
+public class PriceDetailsMaterializer implements CatalogChangeListener {
+
+  private static final Logger log = LoggerFactory.getLogger(PriceDetailsMaterializer.class);
+
+  static final int CHUNK_SIZE = 500;
+
+  private final ProductRepository productRepository;
+  private final MaterializedPriceDetailsRepository priceDetailsRepository;
+  private final PriceDetailsWriter priceDetailsWriter;
+  private final PriceDetailsStore priceDetailsStore;
+  private final TransactionTemplate transactionTemplate;
+  private final AsyncTaskExecutor coordinator;
+  private final AsyncTaskExecutor workers;
+
+  /**
+   * Jede vollständige Neuberechnung erhöht den Zähler; ältere, noch laufende brechen dann ab.
+   */
+  private final AtomicLong fullRefreshGeneration = new AtomicLong();
+
+  public PriceDetailsMaterializer(ProductRepository productRepository,
+      MaterializedPriceDetailsRepository priceDetailsRepository, PriceDetailsWriter priceDetailsWriter,
+      PriceDetailsStore priceDetailsStore, TransactionTemplate transactionTemplate,
+      BackgroundExecutors backgroundExecutors,
+      @Value("${pricing.price-details.parallelism:4}") int parallelism) {
+    this.productRepository = productRepository;
+    this.priceDetailsRepository = priceDetailsRepository;
+    this.priceDetailsWriter = priceDetailsWriter;
+    this.priceDetailsStore = priceDetailsStore;
+    this.transactionTemplate = transactionTemplate;
+
+    this.coordinator = backgroundExecutors.serial("price-details-");
+    this.workers = backgroundExecutors.bounded("price-details-worker-",
+        backgroundExecutors.databaseParallelism("pricing.price-details.parallelism", parallelism));
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    refreshAll();
+  }
+
+  /**
+   * Berechnet nach dem Tageswechsel den ganzen Katalog neu.
+   */
+  @Scheduled(cron = "${pricing.price-details.refresh-cron:0 0 0 * * *}")
+  public void onDayChange() {
+    refreshAll();
+  }
+
+  /**
+   * Berechnet den ganzen Katalog im Hintergrund neu. Eine noch laufende vollständige Neuberechnung wird abgebrochen.
+   */
+  public void refreshAll() {
+    if (!priceDetailsStore.isEnabled()) {
+      return;
+    }
+    long generation = fullRefreshGeneration.incrementAndGet();
+    coordinator.execute(() -> {
+      int refreshed = refreshPaged(afterId -> productRepository.findIdsAfter(afterId, Limit.of(CHUNK_SIZE)),
+          () -> fullRefreshGeneration.get() == generation);
+      log.info("Price details refreshed for {} products", refreshed);
+    });
+  }
+
+  @EventListener
+  public void onPricingRulesChanged(PricingRulesChangedEvent event) {
+    if (!priceDetailsStore.isEnabled() || event.affectedCategoryIds().isEmpty()) {
+      return;
+    }
+    Set<Long> categoryIds = Set.copyOf(event.affectedCategoryIds());
+    coordinator.execute(() -> {
+      int refreshed = refreshCategories(categoryIds);
+      log.info("Price details refreshed for {} products after discount rules version {}", refreshed,
+          event.version());
+    });
+  }
+
+  @Override
+  public void onCatalogChanges(CatalogChanges changes) {
+    if (!priceDetailsStore.isEnabled()) {
+      return;
+    }
+    // Gelöschte Produkte werden mit "neu berechnet": ihre Zeilen fallen weg, weil das Produkt fehlt.
+    Set<Long> productIds = new LinkedHashSet<>();
+    Set<Long> categoryIds = new LinkedHashSet<>();
+    Set<Long> deletedCategoryIds = new LinkedHashSet<>();
+    for (ProductChange change : changes.productChanges()) {
+      if (affectsPrice(change)) {
+        productIds.add(change.productId());
+      }
+    }
+    for (BulkProductChange change : changes.bulkProductChanges()) {
+      if (change.productIds() != null) {
+        productIds.addAll(change.productIds());
+      } else if (change.type() == ChangeType.DELETED) {
+        deletedCategoryIds.add(change.categoryId());
+      } else {
+        categoryIds.add(change.categoryId());
+      }
+    }
+    // Umbenannte Kategorien können andere Regeln treffen; das meldet der Regelstand per PricingRulesChangedEvent.
+    if (productIds.isEmpty() && categoryIds.isEmpty() && deletedCategoryIds.isEmpty()) {
+      return;
+    }
+    coordinator.execute(() -> {
+      deletedCategoryIds.forEach(categoryId -> transactionTemplate.executeWithoutResult(
+          status -> priceDetailsRepository.bulkDeleteByCategoryId(categoryId)));
+      awaitAll(submitChunks(new ArrayList<>(productIds)));
+      refreshCategories(categoryIds);
+    });
+  }
+
+  private static boolean affectsPrice(ProductChange change) {
+    if (change.type() != ChangeType.UPDATED || change.before() == null) {
+      return true;
+    }
+    return !Objects.equals(change.before().price(), change.after().price())
+        || !Objects.equals(change.before().categoryId(), change.after().categoryId());
+  }
+
+  private int refreshCategories(Collection<Long> categoryIds) {
+    if (categoryIds.isEmpty()) {
+      return 0;
+    }
+    return refreshPaged(afterId -> productRepository.findIdsByCategoryIdInAfter(categoryIds, afterId,
+        Limit.of(CHUNK_SIZE)), () -> true);
+  }
+
+  /**
+   * Liest die Produkt-IDs seitenweise und verteilt jede Seite als Block auf die Worker.
+   */
+  private int refreshPaged(LongFunction<List<Long>> nextPage, BooleanSupplier active) {
+    List<Future<Integer>> pending = new ArrayList<>();
+    long afterId = Long.MIN_VALUE;
+    List<Long> page;
+    while (active.getAsBoolean() && !(page = nextPage.apply(afterId)).isEmpty()) {
+      List<Long> chunk = page;
+      pending.add(workers.submit(() -> priceDetailsWriter.refresh(chunk)));
+      afterId = page.get(page.size() - 1);
+    }
+    return awaitAll(pending);
+  }
+
+  private List<Future<Integer>> submitChunks(List<Long> productIds) {
+    List<Future<Integer>> pending = new ArrayList<>();
+    for (int from = 0; from < productIds.size(); from += CHUNK_SIZE) {
+      List<Long> chunk = productIds.subList(from, Math.min(productIds.size(), from + CHUNK_SIZE));
+      pending.add(workers.submit(() -> priceDetailsWriter.refresh(chunk)));
+    }
+    return pending;
+  }
+
+  private int awaitAll(List<Future<Integer>> pending) {
+    int refreshed = 0;
+    for (Future<Integer> future : pending) {
+      try {
+        refreshed += future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return refreshed;
+      } catch (ExecutionException e) {
+        log.warn("Price details could not be refreshed for a chunk of products", e.getCause());
+      }
+    }
+    return refreshed;
+  }
+}
@@ -0,0 +1,134 @@
+package org.example.services.impl.pricing;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.example.database.model.Category;
+import org.example.database.model.MaterializedPriceDetails;
+import org.example.database.model.Product;
+import org.example.database.repository.MaterializedPriceDetailsRepository;
+import org.example.dto.PriceDetailsDTO;
+import org.example.model.DiscountInfo;
+import org.example.services.pricing.DiscountRuleService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lesender Zugriff auf die Tabelle {@code price_details}.
+ * <p>
+ * Eine Zeile wird nur verwendet, wenn sie zum aktuellen Stand passt: gleicher Preis und gleiche Kategorie wie das
+ * Produkt, heutiger Stichtag und dieselbe {@linkplain DiscountRuleService#rulesFingerprint Prüfsumme} der Regeln, die
+ * für die Kategorie gelten. Die Prüfsumme hängt nur vom Inhalt der Regeln ab; Zeilen aus einem früheren Lauf oder von
+ * einer anderen Instanz werden also genau dann verwendet, wenn sie mit denselben Regeln berechnet wurden. Alles andere
+ * gilt als veraltet und wird vom Aufrufer live berechnet, bis der {@link PriceDetailsMaterializer} nachgezogen hat.
+ * Der Steuersatz ist konstant und wird deshalb nicht eigens versioniert.
+ */
+@Component
+public class PriceDetailsStore {
+
+  private static final int MAX_IDS_PER_QUERY = 1_000;
+
+  private final MaterializedPriceDetailsRepository repository;
+  private final DiscountRuleService discountRuleService;
+  private final boolean enabled;
+  private final Clock clock = Clock.systemDefaultZone();
+
+  public PriceDetailsStore(MaterializedPriceDetailsRepository repository, DiscountRuleService discountRuleService,
+      @Value("${pricing.price-details.enabled:true}") boolean enabled) {
+    this.repository = repository;
+    this.discountRuleService = discountRuleService;
+    this.enabled = enabled;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * @return Die materialisierten Preisinformationen des Produkts, sofern sie aktuell sind.
+   */
+  public Optional<PriceDetailsDTO> find(Product product) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    long today = today();
+    return repository.findById(product.getId())
+        .filter(row -> isCurrent(row, product, today))
+        .map(PriceDetailsStore::toDto);
+  }
+
+  /**
+   * @return Die aktuellen materialisierten Preisinformationen der Produkte, nach Produkt-ID.
+   */
+  public Map<Long, PriceDetailsDTO> findAll(Collection<Product> products) {
+    if (!enabled || products.isEmpty()) {
+      return Map.of();
+    }
+    long today = today();
+    Map<Long, Product> productsById = new HashMap<>(Math.max(16, products.size() * 2));
+    products.forEach(product -> productsById.put(product.getId(), product));
+    List<Long> ids = List.copyOf(productsById.keySet());
+    Map<Long, PriceDetailsDTO> result = new HashMap<>(Math.max(16, products.size() * 2));
+    for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+      for (MaterializedPriceDetails row : repository.findAllById(
+          ids.subList(from, Math.min(ids.size(), from + MAX_IDS_PER_QUERY)))) {
+        if (isCurrent(row, productsById.get(row.getProductId()), today)) {
+          result.put(row.getProductId(), toDto(row));
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return Die Prüfsumme der Regeln, die für die Kategorie des Produkts gelten.
+   */
+  public long rulesFingerprint(Product product) {
+    Category category = product.getCategory();
+    return category == null ? CompiledDiscountRules.NO_RULES
+        : discountRuleService.rulesFingerprint(category.getId(), category.getName());
+  }
+
+  /**
+   * @return Die Prüfsumme der Regeln, die für die committete Kategorie gelten.
+   */
+  public long rulesFingerprint(Long categoryId) {
+    return discountRuleService.rulesFingerprint(categoryId, null);
+  }
+
+  long today() {
+    return LocalDate.now(clock).toEpochDay();
+  }
+
+  private boolean isCurrent(MaterializedPriceDetails row, Product product, long today) {
+    Long categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
+    if (product.getPrice() == null || Double.compare(row.getProductPrice(), product.getPrice()) != 0
+        || !Objects.equals(row.getCategoryId(), categoryId) || row.getPricingDay() != today) {
+      return false;
+    }
+    return row.getRulesFingerprint() == rulesFingerprint(product);
+  }
+
+  static MaterializedPriceDetails toRow(Product product, PriceDetailsDTO priceDetails, long rulesFingerprint,
+      long pricingDay) {
+    DiscountInfo discount = priceDetails.appliedDiscount();
+    return new MaterializedPriceDetails(product.getId(),
+        product.getCategory() != null ? product.getCategory().getId() : null,
+        product.getPrice(), rulesFingerprint, pricingDay, priceDetails.basePrice(),
+        discount != null ? discount.type() : null, discount != null ? discount.value() : 0.0,
+        priceDetails.discountAmount(), priceDetails.priceAfterDiscount(), priceDetails.taxRateApplied(),
+        priceDetails.taxAmount(), priceDetails.finalPrice());
+  }
+
+  private static PriceDetailsDTO toDto(MaterializedPriceDetails row) {
+    DiscountInfo discount = row.getDiscountType() != null
+        ? new DiscountInfo(row.getDiscountType(), row.getDiscountValue()) : null;
+    return new PriceDetailsDTO(row.getProductId(), row.getBasePrice(), discount, row.getDiscountAmount(),
+        row.getPriceAfterDiscount(), row.getTaxRate(), row.getTaxAmount(), row.getFinalPrice());
+  }
+}
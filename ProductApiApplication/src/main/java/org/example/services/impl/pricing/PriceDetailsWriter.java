@@ -0,0 +1,111 @@
+package org.example.services.impl.pricing;
+
+import jakarta.persistence.EntityManager;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.example.database.model.Product;
+import org.example.database.repository.MaterializedPriceDetailsRepository;
+import org.example.database.repository.ProductRepository;
+import org.example.dto.PriceDetailsDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Berechnet die Zeilen von {@code price_details} für einen Block von Produkten neu und ersetzt sie.
+ * <p>
+ * Gerechnet wird außerhalb der schreibenden Transaktion, damit diese kurz bleibt. Zeilen von Produkten, die es nicht
+ * mehr gibt, werden entfernt.
+ */
+@Component
+class PriceDetailsWriter {
+
+  private static final Logger log = LoggerFactory.getLogger(PriceDetailsWriter.class);
+
+  private final ProductRepository productRepository;
+  private final MaterializedPriceDetailsRepository priceDetailsRepository;
+  private final PriceCalculationServiceImpl priceCalculationService;
+  private final PriceDetailsStore priceDetailsStore;
+  private final EntityManager entityManager;
+  private final TransactionTemplate transactionTemplate;
+
+  PriceDetailsWriter(ProductRepository productRepository, MaterializedPriceDetailsRepository priceDetailsRepository,
+      PriceCalculationServiceImpl priceCalculationService, PriceDetailsStore priceDetailsStore,
+      EntityManager entityManager, TransactionTemplate transactionTemplate) {
+    this.productRepository = productRepository;
+    this.priceDetailsRepository = priceDetailsRepository;
+    this.priceCalculationService = priceCalculationService;
+    this.priceDetailsStore = priceDetailsStore;
+    this.entityManager = entityManager;
+    this.transactionTemplate = transactionTemplate;
+  }
+
+  /**
+   * Ersetzt die Zeilen der angegebenen Produkte.
+   *
+   * @return Die Anzahl der geschriebenen Zeilen.
+   */
+  int refresh(Collection<Long> productIds) {
+    return refresh(() -> productRepository.findAllWithCategoryByIdIn(productIds),
+        () -> priceDetailsRepository.bulkDeleteByProductIdIn(productIds));
+  }
+
+  /**
+   * Ersetzt die Zeilen aller Produkte mit einer ID zwischen {@code fromId} und {@code toId} (jeweils inklusiv).
+   *
+   * @return Die Anzahl der geschriebenen Zeilen.
+   */
+  int refreshRange(long fromId, long toId) {
+    return refresh(() -> productRepository.findAllWithCategoryByIdBetween(fromId, toId),
+        () -> priceDetailsRepository.bulkDeleteByProductIdBetween(fromId, toId));
+  }
+
+  private int refresh(Supplier<List<Product>> loader, Runnable deleteRows) {
+    // Stichtag und Prüfsummen vor dem Rechnen lesen: ein zwischenzeitlicher Wechsel macht die Zeilen höchstens zu früh
+    // ungültig, nie zu spät. Ebenso erkennen Leser eine Zeile als veraltet, deren Produkt sich seitdem geändert hat.
+    long pricingDay = priceDetailsStore.today();
+    List<Product> products = loader.get();
+    Map<Long, Long> rulesFingerprints = new HashMap<>(Math.max(16, products.size() * 2));
+    products.forEach(product -> rulesFingerprints.put(product.getId(), priceDetailsStore.rulesFingerprint(product)));
+    Map<Long, PriceDetailsDTO> priceDetails = calculate(products);
+    if (priceDetailsStore.today() != pricingDay) {
+      // Die Neuberechnung zum Tageswechsel übernimmt.
+      return 0;
+    }
+    transactionTemplate.executeWithoutResult(status -> {
+      deleteRows.run();
+      for (Product product : products) {
+        PriceDetailsDTO details = priceDetails.get(product.getId());
+        if (details != null) {
+          entityManager.persist(PriceDetailsStore.toRow(product, details, rulesFingerprints.get(product.getId()),
+              pricingDay));
+        }
+      }
+    });
+    return priceDetails.size();
+  }
+
+  /**
+   * Berechnet den Block in einem Durchgang; nur wenn ein Produkt ungültige Werte hat, wird einzeln gerechnet und das
+   * Produkt ausgelassen. Leser bekommen für solche Produkte weiterhin den Fehler der Live-Berechnung.
+   */
+  private Map<Long, PriceDetailsDTO> calculate(List<Product> products) {
+    try {
+      return priceCalculationService.calculateAll(products);
+    } catch (IllegalArgumentException e) {
+      Map<Long, PriceDetailsDTO> priceDetails = new HashMap<>();
+      for (Product product : products) {
+        try {
+          priceDetails.putAll(priceCalculationService.calculateAll(List.of(product)));
+        } catch (IllegalArgumentException invalid) {
+          log.debug("Price details for product ID {} not materialized: {}", product.getId(), invalid.getMessage());
+        }
+      }
+      return priceDetails;
+    }
+  }
+}
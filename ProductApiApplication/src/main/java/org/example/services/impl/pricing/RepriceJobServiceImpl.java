@@ -0,0 +1,343 @@
+package org.example.services.impl.pricing;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import org.example.database.model.RepriceJob;
+import org.example.database.repository.ProductRepository;
+import org.example.database.repository.RepriceJobRepository;
+import org.example.dto.RepriceJobDTO;
+import org.example.exception.RepriceJobStateException;
+import org.example.exception.ResourceNotFoundException;
+import org.example.model.RepriceJobStatus;
+import org.example.services.impl.BackgroundExecutors;
+import org.example.services.pricing.RepriceJobService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Berechnet {@code price_details} für den ganzen Katalog auf einem Fork/Join-Pool neu.
+ * <p>
+ * Der ID-Bereich des Jobs wird rekursiv halbiert, bis eine Partition höchstens {@code pricing.reprice.partition-size}
+ * IDs umfasst. Jede Partition lädt ihre Produkte mit einer Abfrage, rechnet und ersetzt ihre Zeilen in einer
+ * Transaktion (siehe {@link PriceDetailsWriter}). Sobald alle Partitionen bis zu einer ID fertig sind, wird diese als
+ * Checkpoint gespeichert; abgebrochene, fehlgeschlagene und durch einen Neustart unterbrochene Jobs setzen dort fort.
+ * Es läuft höchstens ein Job gleichzeitig.
+ */
+@Service
+public class RepriceJobServiceImpl implements RepriceJobService {
+
+  private static final Logger log = LoggerFactory.getLogger(RepriceJobServiceImpl.class);
+
+  private final RepriceJobRepository jobRepository;
+  private final ProductRepository productRepository;
+  private final PriceDetailsWriter priceDetailsWriter;
+  private final TransactionTemplate transactionTemplate;
+  private final ForkJoinPool pool;
+  private final long partitionSize;
+
+  private final Object lock = new Object();
+  private volatile RunningJob running;
+
+  public RepriceJobServiceImpl(RepriceJobRepository jobRepository, ProductRepository productRepository,
+      PriceDetailsWriter priceDetailsWriter, TransactionTemplate transactionTemplate,
+      BackgroundExecutors backgroundExecutors,
+      @Value("${pricing.reprice.parallelism:0}") int parallelism,
+      @Value("${pricing.reprice.partition-size:1000}") long partitionSize) {
+    this.jobRepository = jobRepository;
+    this.productRepository = productRepository;
+    this.priceDetailsWriter = priceDetailsWriter;
+    this.transactionTemplate = transactionTemplate;
+    // Fork/Join verteilt nur die Partitionen; jede Partition braucht eine Verbindung, daher gilt auch hier die Grenze
+    // des Connection-Pools.
+    this.pool = newPool(backgroundExecutors.databaseParallelism("pricing.reprice.parallelism",
+        parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors()));
+    this.partitionSize = partitionSize;
+  }
+
+  private static ForkJoinPool newPool(int parallelism) {
+    return new ForkJoinPool(parallelism, pool -> {
+      ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName("reprice-" + thread.getPoolIndex());
+      // Die Worker sollen Klassen der Anwendung laden können, auch aus dem ausführbaren JAR.
+      thread.setContextClassLoader(RepriceJobServiceImpl.class.getClassLoader());
+      return thread;
+    }, null, false);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    // Ein laufender Job bleibt auf RUNNING und wird beim nächsten Start als unterbrochen markiert.
+    pool.shutdownNow();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    Integer interrupted = transactionTemplate.execute(status -> jobRepository.updateStatus(RepriceJobStatus.RUNNING,
+        RepriceJobStatus.INTERRUPTED, Instant.now()));
+    if (interrupted != null && interrupted > 0) {
+      log.warn("{} reprice jobs were interrupted by a restart and can be resumed", interrupted);
+    }
+  }
+
+  @Override
+  public RepriceJobDTO startJob() {
+    synchronized (lock) {
+      requireNoRunningJob();
+      Long minId = productRepository.findMinId();
+      Long maxId = productRepository.findMaxId();
+      long firstId = minId != null ? minId : 0;
+      long lastId = maxId != null ? maxId : firstId - 1;
+
+      Instant now = Instant.now();
+      RepriceJob job = new RepriceJob();
+      job.setStatus(RepriceJobStatus.RUNNING);
+      job.setFirstId(firstId);
+      job.setLastId(lastId);
+      job.setCheckpointId(firstId - 1);
+      job.setTotalCount(lastId >= firstId ? productRepository.countByIdBetween(firstId, lastId) : 0);
+      job.setStartedAt(now);
+      job.setUpdatedAt(now);
+      job = jobRepository.save(job);
+      log.info("Reprice job {} started for product IDs {} to {} ({} products)", job.getId(), firstId, lastId,
+          job.getTotalCount());
+      launch(job);
+      return toDto(job);
+    }
+  }
+
+  @Override
+  public RepriceJobDTO getJob(Long jobId) {
+    return toDto(findJob(jobId));
+  }
+
+  @Override
+  public List<RepriceJobDTO> getJobs() {
+    return jobRepository.findTop20ByOrderByIdDesc().stream().map(this::toDto).toList();
+  }
+
+  @Override
+  public RepriceJobDTO cancelJob(Long jobId) {
+    synchronized (lock) {
+      RepriceJob job = findJob(jobId);
+      RunningJob current = running;
+      if (current == null || !current.jobId.equals(jobId)) {
+        throw new RepriceJobStateException("Job " + jobId + " läuft nicht (Status " + job.getStatus() + ")");
+      }
+      current.cancelled = true;
+      log.info("Reprice job {} cancellation requested", jobId);
+      return toDto(job);
+    }
+  }
+
+  @Override
+  public RepriceJobDTO resumeJob(Long jobId) {
+    synchronized (lock) {
+      RepriceJob job = findJob(jobId);
+      if (job.getStatus() == RepriceJobStatus.RUNNING || job.getStatus() == RepriceJobStatus.COMPLETED) {
+        throw new RepriceJobStateException(
+            "Job " + jobId + " kann nicht fortgesetzt werden (Status " + job.getStatus() + ")");
+      }
+      requireNoRunningJob();
+      job.setStatus(RepriceJobStatus.RUNNING);
+      job.setUpdatedAt(Instant.now());
+      job.setFinishedAt(null);
+      job.setMessage(null);
+      job = jobRepository.save(job);
+      log.info("Reprice job {} resumed after product ID {}", jobId, job.getCheckpointId());
+      launch(job);
+      return toDto(job);
+    }
+  }
+
+  private void requireNoRunningJob() {
+    RunningJob current = running;
+    if (current != null) {
+      throw new RepriceJobStateException("Es läuft bereits ein Job: " + current.jobId);
+    }
+  }
+
+  private RepriceJob findJob(Long jobId) {
+    return jobRepository.findById(jobId)
+        .orElseThrow(() -> new ResourceNotFoundException("Job nicht gefunden mit der ID: " + jobId));
+  }
+
+  private void launch(RepriceJob job) {
+    RunningJob state = new RunningJob(job.getId(), job.getCheckpointId(), job.getProcessedCount());
+    running = state;
+    pool.execute(() -> run(state, job.getCheckpointId() + 1, job.getLastId()));
+  }
+
+  private void run(RunningJob state, long fromId, long toId) {
+    try {
+      new PartitionTask(state, fromId, toId).invoke();
+    } catch (RuntimeException | Error e) {
+      // Auch ein Error beendet den Job; sonst bliebe er auf RUNNING und jeder weitere Start würde abgewiesen.
+      state.fail(e);
+      if (e instanceof Error error) {
+        throw error;
+      }
+    } finally {
+      // Unter der Sperre, damit ein Start oder Fortsetzen erst nach dem gespeicherten Endstand möglich ist.
+      synchronized (lock) {
+        try {
+          finish(state);
+        } finally {
+          running = null;
+        }
+      }
+    }
+  }
+
+  private void processPartition(RunningJob state, long fromId, long toId) {
+    try {
+      int written = toId >= fromId ? priceDetailsWriter.refreshRange(fromId, toId) : 0;
+      Checkpoint checkpoint = state.complete(fromId, toId, written);
+      if (checkpoint != null) {
+        transactionTemplate.executeWithoutResult(status -> jobRepository.updateCheckpoint(state.jobId,
+            checkpoint.checkpointId(), checkpoint.processedCount(), Instant.now()));
+      }
+    } catch (RuntimeException e) {
+      state.fail(e);
+    }
+  }
+
+  private void finish(RunningJob state) {
+    Checkpoint checkpoint = state.checkpoint();
+    RepriceJobStatus status = state.failure != null ? RepriceJobStatus.FAILED
+        : state.cancelled ? RepriceJobStatus.CANCELLED : RepriceJobStatus.COMPLETED;
+    transactionTemplate.executeWithoutResult(tx -> {
+      RepriceJob job = findJob(state.jobId);
+      Instant now = Instant.now();
+      job.setStatus(status);
+      job.setCheckpointId(checkpoint.checkpointId());
+      job.setProcessedCount(checkpoint.processedCount());
+      job.setUpdatedAt(now);
+      job.setFinishedAt(now);
+      job.setMessage(state.failure != null ? abbreviate(state.failure.getMessage()) : null);
+    });
+    if (state.failure != null) {
+      log.error("Reprice job {} failed after product ID {}", state.jobId, checkpoint.checkpointId(), state.failure);
+    } else {
+      log.info("Reprice job {} {}: {} products written", state.jobId, status, state.processed.get());
+    }
+  }
+
+  private RepriceJobDTO toDto(RepriceJob job) {
+    RunningJob current = running;
+    boolean live = current != null && current.jobId.equals(job.getId())
+        && job.getStatus() == RepriceJobStatus.RUNNING;
+    long processed = live ? current.processed.get() : job.getProcessedCount();
+    double percent = job.getTotalCount() == 0 ? 100.0
+        : Math.min(100.0, Math.round(processed * 1000.0 / job.getTotalCount()) / 10.0);
+    return new RepriceJobDTO(job.getId(), job.getStatus(), job.getFirstId(), job.getLastId(), job.getCheckpointId(),
+        job.getTotalCount(), processed, percent, job.getStartedAt(), job.getFinishedAt(), job.getMessage());
+  }
+
+  private static String abbreviate(String message) {
+    if (message == null) {
+      return null;
+    }
+    return message.length() <= 1000 ? message : message.substring(0, 1000);
+  }
+
+  /**
+   * Halbiert den ID-Bereich, bis er in eine Partition passt.
+   */
+  private final class PartitionTask extends RecursiveAction {
+
+    private final RunningJob state;
+    private final long fromId;
+    private final long toId;
+
+    private PartitionTask(RunningJob state, long fromId, long toId) {
+      this.state = state;
+      this.fromId = fromId;
+      this.toId = toId;
+    }
+
+    @Override
+    protected void compute() {
+      if (state.isStopped()) {
+        return;
+      }
+      if (toId - fromId < partitionSize) {
+        processPartition(state, fromId, toId);
+        return;
+      }
+      long middle = fromId + (toId - fromId) / 2;
+      invokeAll(new PartitionTask(state, fromId, middle), new PartitionTask(state, middle + 1, toId));
+    }
+  }
+
+  private record Checkpoint(long checkpointId, long processedCount) {
+
+  }
+
+  private record CompletedPartition(long toId, int written) {
+
+  }
+
+  /**
+   * Laufzeitstand eines Jobs. Partitionen werden in beliebiger Reihenfolge fertig; der Checkpoint rückt nur über
+   * lückenlos abgeschlossene Partitionen vor.
+   */
+  private static final class RunningJob {
+
+    private final Long jobId;
+    private final AtomicLong processed;
+    private final Map<Long, CompletedPartition> completedAfterCheckpoint = new HashMap<>();
+    private long checkpointId;
+    private long checkpointProcessed;
+    private volatile boolean cancelled;
+    private volatile Throwable failure;
+
+    private RunningJob(Long jobId, long checkpointId, long processedCount) {
+      this.jobId = jobId;
+      this.checkpointId = checkpointId;
+      this.checkpointProcessed = processedCount;
+      this.processed = new AtomicLong(processedCount);
+    }
+
+    boolean isStopped() {
+      return cancelled || failure != null;
+    }
+
+    void fail(Throwable e) {
+      if (failure == null) {
+        failure = e;
+      }
+    }
+
+    /**
+     * @return Der neue Checkpoint, falls er vorgerückt ist, sonst null.
+     */
+    synchronized Checkpoint complete(long fromId, long toId, int written) {
+      processed.addAndGet(written);
+      completedAfterCheckpoint.put(fromId, new CompletedPartition(toId, written));
+      boolean advanced = false;
+      CompletedPartition next;
+      while ((next = completedAfterCheckpoint.remove(checkpointId + 1)) != null) {
+        checkpointId = next.toId();
+        checkpointProcessed += next.written();
+        advanced = true;
+      }
+      return advanced ? new Checkpoint(checkpointId, checkpointProcessed) : null;
+    }
+
+    synchronized Checkpoint checkpoint() {
+      return new Checkpoint(checkpointId, checkpointProcessed);
+    }
+  }
+}
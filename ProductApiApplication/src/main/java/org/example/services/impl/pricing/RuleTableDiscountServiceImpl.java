@@ -0,0 +1,186 @@
+package org.example.services.impl.pricing;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import org.example.database.event.CatalogChangeListener;
+import org.example.database.event.CatalogChanges;
+import org.example.database.event.CategoryChange;
+import org.example.database.event.ChangeType;
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.example.database.repository.CategoryRepository;
+import org.example.dto.DiscountRulesStatusDTO;
+import org.example.exception.InvalidDiscountRulesException;
+import org.example.model.DiscountInfo;
+import org.example.model.DiscountRule;
+import org.example.services.pricing.DiscountRuleService;
+import org.example.services.pricing.DiscountService;
+import org.example.services.pricing.PricingRulesChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+/**
+ * Ermittelt Rabatte anhand einer Regeltabelle (siehe {@code pricing/discount-rules.csv}).
+ * <p>
+ * Die Regeln werden beim ersten Zugriff geladen und in {@link CompiledDiscountRules} übersetzt. Neue Stände
+ * (Reload der Datei oder geänderte Kategorien) werden vollständig aufgebaut und dann atomar ausgetauscht; lesende
+ * Zugriffe sehen immer einen konsistenten Stand und warten nie auf ein Reload.
+ */
+@Service
+public class RuleTableDiscountServiceImpl implements DiscountService, DiscountRuleService, CatalogChangeListener {
+
+  private static final Logger log = LoggerFactory.getLogger(RuleTableDiscountServiceImpl.class);
+
+  private final CategoryRepository categoryRepository;
+  private final ResourceLoader resourceLoader;
+  private final ApplicationEventPublisher eventPublisher;
+  private final String rulesLocation;
+  private final Clock clock = Clock.systemDefaultZone();
+
+  private final AtomicReference<CompiledDiscountRules> current = new AtomicReference<>();
+  private final Object writeLock = new Object();
+
+  public RuleTableDiscountServiceImpl(CategoryRepository categoryRepository, ResourceLoader resourceLoader,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${pricing.discount-rules.location:classpath:pricing/discount-rules.csv}") String rulesLocation) {
+    this.categoryRepository = categoryRepository;
+    this.resourceLoader = resourceLoader;
+    this.eventPublisher = eventPublisher;
+    this.rulesLocation = rulesLocation;
+  }
+
+  @Override
+  public DiscountInfo getDiscount(Product product) {
+    if (product == null) {
+      return CompiledDiscountRules.NO_DISCOUNT;
+    }
+    return lookup(rules(), product, LocalDate.now(clock).toEpochDay());
+  }
+
+  @Override
+  public Map<Long, DiscountInfo> getDiscounts(Collection<Product> products) {
+    // Ein Regelstand und ein Stichtag für alle Produkte der Anfrage.
+    CompiledDiscountRules rules = rules();
+    long epochDay = LocalDate.now(clock).toEpochDay();
+    Map<Long, DiscountInfo> discounts = new HashMap<>(Math.max(16, products.size() * 2));
+    for (Product product : products) {
+      discounts.put(product.getId(), lookup(rules, product, epochDay));
+    }
+    return discounts;
+  }
+
+  @Override
+  public long rulesVersion() {
+    return rules().version();
+  }
+
+  @Override
+  public long rulesFingerprint(Long categoryId, String categoryName) {
+    return rules().fingerprint(categoryId, categoryName);
+  }
+
+  @Override
+  public DiscountRulesStatusDTO reloadRules() {
+    List<DiscountRule> rules = readRules();
+    CompiledDiscountRules activated;
+    synchronized (writeLock) {
+      CompiledDiscountRules previous = current.get();
+      Map<Long, String> categoryNames = previous != null ? previous.categoryNames() : loadCategoryNames();
+      activated = activate(previous, rules, categoryNames);
+    }
+    return new DiscountRulesStatusDTO(activated.version(), activated.rules().size());
+  }
+
+  @Override
+  public void onCatalogChanges(CatalogChanges changes) {
+    if (changes.categoryChanges().isEmpty()) {
+      return;
+    }
+    synchronized (writeLock) {
+      CompiledDiscountRules previous = current.get();
+      if (previous == null) {
+        // Noch nicht geladen: der erste Zugriff liest die Kategorien ohnehin frisch.
+        return;
+      }
+      Map<Long, String> categoryNames = new HashMap<>(previous.categoryNames());
+      for (CategoryChange change : changes.categoryChanges()) {
+        if (change.type() == ChangeType.DELETED) {
+          categoryNames.remove(change.categoryId());
+        } else {
+          categoryNames.put(change.categoryId(), change.name());
+        }
+      }
+      if (!categoryNames.equals(previous.categoryNames())) {
+        activate(previous, previous.rules(), categoryNames);
+      }
+    }
+  }
+
+  private CompiledDiscountRules rules() {
+    CompiledDiscountRules rules = current.get();
+    if (rules != null) {
+      return rules;
+    }
+    synchronized (writeLock) {
+      rules = current.get();
+      return rules != null ? rules : activate(null, readRules(), loadCategoryNames());
+    }
+  }
+
+  private CompiledDiscountRules activate(CompiledDiscountRules previous, List<DiscountRule> rules,
+      Map<Long, String> categoryNames) {
+    long version = previous == null ? 1 : previous.version() + 1;
+    CompiledDiscountRules compiled = CompiledDiscountRules.compile(version, rules, categoryNames);
+    current.set(compiled);
+    Set<Long> affected = previous == null ? Set.copyOf(compiled.categoryNames().keySet())
+        : compiled.categoriesChangedSince(previous);
+    log.info("Discount rules version {} active: {} rules, {} affected categories", version, rules.size(),
+        affected.size());
+    eventPublisher.publishEvent(new PricingRulesChangedEvent(version, Set.copyOf(affected)));
+    return compiled;
+  }
+
+  private List<DiscountRule> readRules() {
+    Resource resource = resourceLoader.getResource(rulesLocation);
+    try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+      return DiscountRuleParser.parse(reader);
+    } catch (IOException e) {
+      throw new InvalidDiscountRulesException("Rabattregeln konnten nicht gelesen werden: " + rulesLocation, e);
+    }
+  }
+
+  private Map<Long, String> loadCategoryNames() {
+    Map<Long, String> categoryNames = new HashMap<>();
+    for (Category category : categoryRepository.findAll()) {
+      categoryNames.put(category.getId(), category.getName());
+    }
+    return categoryNames;
+  }
+
+  private static DiscountInfo lookup(CompiledDiscountRules rules, Product product, long epochDay) {
+    Category category = product.getCategory();
+    if (category == null) {
+      return CompiledDiscountRules.NO_DISCOUNT;
+    }
+    if (!rules.knowsCategory(category.getId())) {
+      // Noch nicht committete Kategorie: einmalig über den Namen auflösen.
+      return rules.lookupByCategoryName(category.getName(), product.getPrice(), epochDay);
+    }
+    return rules.lookup(category.getId(), product.getPrice(), epochDay);
+  }
+}
@@ -0,0 +1,206 @@
+package org.example.services.impl.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unveränderlicher invertierter Index über Produktnamen.
+ * <p>
+ * Die Terme liegen sortiert in einem Array, damit exakte Terme und Präfixe per Binärsuche gefunden werden. Alle
+ * Posting-Listen teilen sich ein einziges {@code byte[]}: Pro Produkt steht die Differenz zur vorherigen ID als
+ * Varint, gefolgt von der Termanzahl des Namens (auf 255 begrenzt) für die Längennormierung. Bei dicht vergebenen IDs
+ * braucht ein Posting so meist zwei Byte statt sechzehn für ein {@code long} und ein {@code int}.
+ */
+final class InvertedIndex {
+
+  static final InvertedIndex EMPTY = new Builder().build();
+
+  private final String[] terms;
+  private final int[] offsets;
+  private final int[] documentFrequencies;
+  private final byte[] minLengths;
+  private final byte[] postings;
+  private final int documentCount;
+  private final long totalLength;
+
+  private InvertedIndex(String[] terms, int[] offsets, int[] documentFrequencies, byte[] minLengths, byte[] postings,
+      int documentCount, long totalLength) {
+    this.terms = terms;
+    this.offsets = offsets;
+    this.documentFrequencies = documentFrequencies;
+    this.minLengths = minLengths;
+    this.postings = postings;
+    this.documentCount = documentCount;
+    this.totalLength = totalLength;
+  }
+
+  int documentCount() {
+    return documentCount;
+  }
+
+  long totalLength() {
+    return totalLength;
+  }
+
+  int termCount() {
+    return terms.length;
+  }
+
+  int postingBytes() {
+    return postings.length;
+  }
+
+  String term(int termIndex) {
+    return terms[termIndex];
+  }
+
+  /**
+   * @return Der Index des Terms oder -1.
+   */
+  int find(String term) {
+    int index = Arrays.binarySearch(terms, term);
+    return index >= 0 ? index : -1;
+  }
+
+  /**
+   * @return Der erste Index, dessen Term mit {@code prefix} beginnt oder danach einsortiert wird.
+   */
+  int lowerBound(String prefix) {
+    int index = Arrays.binarySearch(terms, prefix);
+    return index >= 0 ? index : -index - 1;
+  }
+
+  int documentFrequency(int termIndex) {
+    return documentFrequencies[termIndex];
+  }
+
+  /**
+   * @return Die kleinste Termanzahl eines Namens, der den Term enthält.
+   */
+  int minLength(int termIndex) {
+    return minLengths[termIndex] & 0xFF;
+  }
+
+  Cursor cursor(int termIndex) {
+    return new Cursor(postings, offsets[termIndex], offsets[termIndex + 1]);
+  }
+
+  /**
+   * Liest eine Posting-Liste in aufsteigender ID-Reihenfolge.
+   */
+  static final class Cursor implements RankedSearch.Cursor {
+
+    private final byte[] data;
+    private final int end;
+    private int position;
+    private long productId;
+    private int length;
+
+    private Cursor(byte[] data, int start, int end) {
+      this.data = data;
+      this.position = start;
+      this.end = end;
+    }
+
+    @Override
+    public boolean next() {
+      if (position >= end) {
+        return false;
+      }
+      long delta = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = data[position++];
+        delta |= (long) (b & 0x7F) << shift;
+        shift += 7;
+      } while (b < 0);
+      productId += delta;
+      length = data[position++] & 0xFF;
+      return true;
+    }
+
+    @Override
+    public long productId() {
+      return productId;
+    }
+
+    @Override
+    public int length() {
+      return length;
+    }
+  }
+
+  /**
+   * Baut einen Index aus Produkten, die in aufsteigender ID-Reihenfolge hinzugefügt werden.
+   */
+  static final class Builder {
+
+    private final Map<String, PostingBuffer> postings = new HashMap<>();
+    private long lastProductId;
+    private int documentCount;
+    private long totalLength;
+
+    void add(long productId, List<String> documentTerms) {
+      if (productId <= lastProductId) {
+        throw new IllegalArgumentException("Produkt-IDs müssen aufsteigend und positiv sein: " + productId);
+      }
+      lastProductId = productId;
+      documentCount++;
+      totalLength += documentTerms.size();
+      int length = Math.min(documentTerms.size(), 255);
+      for (String term : documentTerms) {
+        postings.computeIfAbsent(term, key -> new PostingBuffer()).append(productId, length);
+      }
+    }
+
+    InvertedIndex build() {
+      String[] terms = postings.keySet().toArray(String[]::new);
+      Arrays.sort(terms);
+      int[] offsets = new int[terms.length + 1];
+      int[] documentFrequencies = new int[terms.length];
+      byte[] minLengths = new byte[terms.length];
+      int size = 0;
+      for (int i = 0; i < terms.length; i++) {
+        offsets[i] = size;
+        size += postings.get(terms[i]).size;
+      }
+      offsets[terms.length] = size;
+      byte[] data = new byte[size];
+      for (int i = 0; i < terms.length; i++) {
+        PostingBuffer buffer = postings.get(terms[i]);
+        System.arraycopy(buffer.data, 0, data, offsets[i], buffer.size);
+        documentFrequencies[i] = buffer.count;
+        minLengths[i] = (byte) buffer.minLength;
+      }
+      return new InvertedIndex(terms, offsets, documentFrequencies, minLengths, data, documentCount, totalLength);
+    }
+  }
+
+  private static final class PostingBuffer {
+
+    private byte[] data = new byte[8];
+    private int size;
+    private int count;
+    private int minLength = 255;
+    private long lastProductId;
+
+    void append(long productId, int length) {
+      if (size + 11 > data.length) {
+        data = Arrays.copyOf(data, data.length * 2);
+      }
+      long delta = productId - lastProductId;
+      while ((delta & ~0x7FL) != 0) {
+        data[size++] = (byte) ((delta & 0x7F) | 0x80);
+        delta >>>= 7;
+      }
+      data[size++] = (byte) delta;
+      data[size++] = (byte) length;
+      lastProductId = productId;
+      minLength = Math.min(minLength, length);
+      count++;
+    }
+  }
+}
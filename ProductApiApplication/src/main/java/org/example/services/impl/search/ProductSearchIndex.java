@@ -0,0 +1,400 @@
+package org.example.services.impl.search;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.example.database.event.BulkProductChange;
+import org.example.database.event.CatalogChangeListener;
+import org.example.database.event.CatalogChanges;
+import org.example.database.event.ChangeType;
+import org.example.database.event.ProductChange;
+import org.example.database.projection.ProductName;
+import org.example.database.repository.ProductRepository;
+import org.example.services.impl.BackgroundExecutors;
+import org.example.services.impl.search.RankedSearch.WeightedCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Volltextsuche über Produktnamen.
+ * <p>
+ * Der Großteil des Katalogs liegt in einem unveränderlichen, komprimierten {@link InvertedIndex}, der beim Start im
+ * Hintergrund aufgebaut wird. Committete Änderungen kommen über {@link CatalogChangeListener} in einen kleinen,
+ * veränderlichen Delta-Index; Produkte, die dort stehen oder gelöscht wurden, werden im Basisindex übersprungen. Wird
+ * das Delta zu groß oder fehlen Einzelheiten (Löschen einer ganzen Kategorie), wird der Basisindex neu aufgebaut.
+ * Änderungen, die währenddessen committet werden, werden danach auf den neuen Stand nachgespielt.
+ * <p>
+ * Bewertet wird mit BM25: seltene Terme zählen mehr, kurze Namen mehr als lange. Produkte müssen nicht alle Terme der
+ * Anfrage enthalten, solche mit mehr Treffern stehen aber weiter vorne. Der letzte Term wird als Präfix gesucht
+ * ("Lapt" findet "Laptop"), Erweiterungen zählen dabei nur halb so viel wie der exakte Term.
+ */
+@Component
+public class ProductSearchIndex implements CatalogChangeListener {
+
+  private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+  static final int MAX_QUERY_TERMS = 10;
+  static final int MAX_PREFIX_EXPANSIONS = 64;
+  static final int MIN_PREFIX_LENGTH = 2;
+  private static final int LOAD_PAGE_SIZE = 10_000;
+  private static final int MIN_REBUILD_THRESHOLD = 10_000;
+  private static final double PREFIX_WEIGHT = 0.5;
+
+  private final ProductRepository productRepository;
+  private final Executor executor;
+  private final Object writeLock = new Object();
+  private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+  private volatile IndexState state = new IndexState(InvertedIndex.EMPTY);
+  private volatile boolean ready;
+  /** Änderungen, die während eines laufenden Neuaufbaus committet wurden; guarded by {@link #writeLock}. */
+  private List<Consumer<IndexState>> replay;
+
+  public ProductSearchIndex(ProductRepository productRepository, BackgroundExecutors backgroundExecutors) {
+    this.productRepository = productRepository;
+    this.executor = backgroundExecutors.serial("product-search-");
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    scheduleRebuild();
+  }
+
+  /**
+   * Sucht Produkte, deren Name Terme der Anfrage enthält.
+   *
+   * @return Die IDs der besten Treffer, nach Relevanz absteigend; bei gleicher Relevanz nach ID.
+   */
+  public List<Long> search(String query, int limit) {
+    List<String> queryTerms = SearchTokenizer.tokenize(query);
+    if (queryTerms.isEmpty() || limit <= 0) {
+      return List.of();
+    }
+    if (queryTerms.size() > MAX_QUERY_TERMS) {
+      queryTerms = queryTerms.subList(0, MAX_QUERY_TERMS);
+    }
+    ensureReady();
+    IndexState current = state;
+    double documentCount = Math.max(1, current.documentCount());
+
+    List<List<WeightedCursor>> cursorsPerQueryTerm = new ArrayList<>();
+    for (int i = 0; i < queryTerms.size(); i++) {
+      String queryTerm = queryTerms.get(i);
+      boolean prefix = i == queryTerms.size() - 1 && queryTerm.length() >= MIN_PREFIX_LENGTH;
+      List<WeightedCursor> cursors = new ArrayList<>();
+      for (String term : current.matchingTerms(queryTerm, prefix)) {
+        int documentFrequency = current.documentFrequency(term);
+        double idf = Math.log(1 + Math.max(0, documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        double weight = term.equals(queryTerm) ? idf : idf * PREFIX_WEIGHT;
+        int baseIndex = current.base.find(term);
+        if (baseIndex >= 0) {
+          cursors.add(new WeightedCursor(new BaseCursor(current, baseIndex), weight, current.base.minLength(baseIndex)));
+        }
+        Set<Long> deltaPostings = current.deltaPostings.get(term);
+        if (deltaPostings != null) {
+          cursors.add(new WeightedCursor(new DeltaCursor(current, deltaPostings), weight, 1));
+        }
+      }
+      cursorsPerQueryTerm.add(cursors);
+    }
+    return new RankedSearch(current.averageLength()).topK(cursorsPerQueryTerm, limit);
+  }
+
+  /**
+   * Baut den Index synchron auf, falls das beim Start noch nicht geschehen ist.
+   */
+  public void ensureReady() {
+    if (!ready) {
+      synchronized (this) {
+        if (!ready) {
+          rebuild();
+        }
+      }
+    }
+  }
+
+  public boolean isReady() {
+    return ready;
+  }
+
+  /**
+   * Baut den Basisindex vollständig aus der Datenbank neu auf.
+   */
+  public synchronized void rebuild() {
+    List<Consumer<IndexState>> changes = new ArrayList<>();
+    synchronized (writeLock) {
+      replay = changes;
+    }
+    InvertedIndex base;
+    try {
+      base = load();
+    } catch (RuntimeException e) {
+      synchronized (writeLock) {
+        replay = null;
+      }
+      throw e;
+    }
+    IndexState rebuilt = new IndexState(base);
+    synchronized (writeLock) {
+      changes.forEach(change -> change.accept(rebuilt));
+      state = rebuilt;
+      replay = null;
+    }
+    ready = true;
+    log.info("Product search index built: {} products, {} terms, {} posting bytes, {} changes replayed",
+        rebuilt.base.documentCount(), rebuilt.base.termCount(), rebuilt.base.postingBytes(), changes.size());
+  }
+
+  @Override
+  public void onCatalogChanges(CatalogChanges changes) {
+    for (ProductChange change : changes.productChanges()) {
+      long productId = change.productId();
+      if (change.type() == ChangeType.DELETED) {
+        apply(current -> current.remove(productId));
+      } else if (change.before() == null || !Objects.equals(change.before().name(), change.after().name())) {
+        List<String> terms = SearchTokenizer.tokenize(change.after().name());
+        apply(current -> current.upsert(productId, terms));
+      }
+    }
+    for (BulkProductChange change : changes.bulkProductChanges()) {
+      if (change.type() != ChangeType.DELETED) {
+        // Bulk-Updates ändern nur Preise.
+        continue;
+      }
+      if (change.productIds() == null) {
+        log.info("Products of category {} bulk deleted, product search index will be rebuilt", change.categoryId());
+        scheduleRebuild();
+      } else {
+        change.productIds().forEach(productId -> apply(current -> current.remove(productId)));
+      }
+    }
+    IndexState current = state;
+    if (current.replaced.size() > Math.max(MIN_REBUILD_THRESHOLD, current.base.documentCount() / 10)) {
+      scheduleRebuild();
+    }
+  }
+
+  private void apply(Consumer<IndexState> change) {
+    synchronized (writeLock) {
+      change.accept(state);
+      if (replay != null) {
+        replay.add(change);
+      }
+    }
+  }
+
+  private void scheduleRebuild() {
+    if (rebuildScheduled.compareAndSet(false, true)) {
+      executor.execute(() -> {
+        rebuildScheduled.set(false);
+        try {
+          rebuild();
+        } catch (RuntimeException e) {
+          log.error("Building product search index failed", e);
+        }
+      });
+    }
+  }
+
+  private InvertedIndex load() {
+    InvertedIndex.Builder builder = new InvertedIndex.Builder();
+    long afterId = 0;
+    List<ProductName> page;
+    do {
+      page = productRepository.findNamesAfter(afterId, Limit.of(LOAD_PAGE_SIZE));
+      for (ProductName product : page) {
+        builder.add(product.productId(), SearchTokenizer.tokenize(product.name()));
+        afterId = product.productId();
+      }
+    } while (page.size() == LOAD_PAGE_SIZE);
+    return builder.build();
+  }
+
+  /**
+   * Basisindex plus Delta. Geschrieben wird nur unter {@link #writeLock}, gelesen ohne Sperre.
+   */
+  private static final class IndexState {
+
+    private final InvertedIndex base;
+    /** Produkte, deren Eintrag im Basisindex nicht mehr gilt. */
+    private final Set<Long> replaced = ConcurrentHashMap.newKeySet();
+    private final Map<Long, List<String>> deltaDocuments = new ConcurrentHashMap<>();
+    private final DeltaPostings deltaPostings = new DeltaPostings();
+
+    private IndexState(InvertedIndex base) {
+      this.base = base;
+    }
+
+    void upsert(long productId, List<String> terms) {
+      remove(productId);
+      deltaDocuments.put(productId, terms);
+      terms.forEach(term -> deltaPostings.add(term, productId));
+    }
+
+    void remove(long productId) {
+      replaced.add(productId);
+      List<String> terms = deltaDocuments.remove(productId);
+      if (terms != null) {
+        terms.forEach(term -> deltaPostings.remove(term, productId));
+      }
+    }
+
+    /**
+     * Näherungsweise: gelöschte Produkte zählen bis zum nächsten Neuaufbau mit.
+     */
+    int documentCount() {
+      return base.documentCount() + deltaDocuments.size();
+    }
+
+    double averageLength() {
+      if (base.documentCount() > 0) {
+        return Math.max(1.0, (double) base.totalLength() / base.documentCount());
+      }
+      return Math.max(1.0, deltaDocuments.values().stream().mapToInt(List::size).average().orElse(1.0));
+    }
+
+    int documentFrequency(String term) {
+      int baseIndex = base.find(term);
+      Set<Long> delta = deltaPostings.get(term);
+      return (baseIndex >= 0 ? base.documentFrequency(baseIndex) : 0) + (delta == null ? 0 : delta.size());
+    }
+
+    /**
+     * @return Der Term selbst und, falls {@code prefix}, bis zu {@link #MAX_PREFIX_EXPANSIONS} Terme, die mit ihm
+     * beginnen, jeweils aus Basisindex und Delta.
+     */
+    List<String> matchingTerms(String queryTerm, boolean prefix) {
+      if (!prefix) {
+        return List.of(queryTerm);
+      }
+      Set<String> terms = new TreeSet<>();
+      terms.add(queryTerm);
+      for (int i = base.lowerBound(queryTerm); i < base.termCount() && terms.size() <= MAX_PREFIX_EXPANSIONS; i++) {
+        String term = base.term(i);
+        if (!term.startsWith(queryTerm)) {
+          break;
+        }
+        terms.add(term);
+      }
+      for (String term : deltaPostings.termsStartingWith(queryTerm)) {
+        if (terms.size() > MAX_PREFIX_EXPANSIONS) {
+          break;
+        }
+        terms.add(term);
+      }
+      return new ArrayList<>(terms);
+    }
+  }
+
+  /**
+   * Posting-Listen des Deltas, nach Term sortiert, damit auch hier Präfixe ohne Vollscan gefunden werden.
+   */
+  private static final class DeltaPostings {
+
+    private final ConcurrentSkipListMap<String, ConcurrentSkipListSet<Long>> postings =
+        new ConcurrentSkipListMap<>();
+
+    void add(String term, long productId) {
+      postings.computeIfAbsent(term, key -> new ConcurrentSkipListSet<>()).add(productId);
+    }
+
+    void remove(String term, long productId) {
+      ConcurrentSkipListSet<Long> productIds = postings.get(term);
+      if (productIds != null) {
+        productIds.remove(productId);
+        if (productIds.isEmpty()) {
+          postings.remove(term);
+        }
+      }
+    }
+
+    Set<Long> get(String term) {
+      return postings.get(term);
+    }
+
+    Set<String> termsStartingWith(String prefix) {
+      return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).keySet();
+    }
+  }
+
+  private static final class BaseCursor implements RankedSearch.Cursor {
+
+    private final InvertedIndex.Cursor cursor;
+    private final Set<Long> replaced;
+
+    BaseCursor(IndexState state, int termIndex) {
+      this.cursor = state.base.cursor(termIndex);
+      this.replaced = state.replaced;
+    }
+
+    @Override
+    public boolean next() {
+      while (cursor.next()) {
+        if (replaced.isEmpty() || !replaced.contains(cursor.productId())) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public long productId() {
+      return cursor.productId();
+    }
+
+    @Override
+    public int length() {
+      return cursor.length();
+    }
+  }
+
+  private static final class DeltaCursor implements RankedSearch.Cursor {
+
+    private final Iterator<Long> productIds;
+    private final Map<Long, List<String>> documents;
+    private long productId;
+    private int length;
+
+    DeltaCursor(IndexState state, Set<Long> productIds) {
+      this.productIds = productIds.iterator();
+      this.documents = state.deltaDocuments;
+    }
+
+    @Override
+    public boolean next() {
+      while (productIds.hasNext()) {
+        productId = productIds.next();
+        List<String> terms = documents.get(productId);
+        if (terms != null) {
+          length = terms.size();
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public long productId() {
+      return productId;
+    }
+
+    @Override
+    public int length() {
+      return length;
+    }
+  }
+}
@@ -0,0 +1,227 @@
+package org.example.services.impl.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Ermittelt die besten Treffer einer Anfrage nach BM25, ohne alle Postings bewerten zu müssen (MaxScore).
+ * <p>
+ * Jeder Suchbegriff kennt eine Obergrenze für seinen Beitrag. Sobald die besten {@code limit} Treffer feststehen,
+ * reicht es, Produkte zu betrachten, die in den Listen der Begriffe mit den höchsten Obergrenzen vorkommen; die
+ * übrigen Listen werden nur noch bis zu diesen Produkten vorgespult. Kann kein Produkt mehr den schwächsten Treffer
+ * überholen, endet die Suche vorzeitig.
+ */
+final class RankedSearch {
+
+  static final double K1 = 1.2;
+  static final double B = 0.75;
+
+  /**
+   * Eine Posting-Liste in aufsteigender ID-Reihenfolge.
+   */
+  interface Cursor {
+
+    /**
+     * @return false, wenn die Liste zu Ende ist.
+     */
+    boolean next();
+
+    long productId();
+
+    /**
+     * @return Die Termanzahl des Produktnamens.
+     */
+    int length();
+  }
+
+  /**
+   * @param cursor    Die Posting-Liste eines Terms.
+   * @param weight    Das Gewicht des Terms (IDF, bei Präfix-Erweiterungen reduziert).
+   * @param minLength Die kleinste Termanzahl eines Namens in der Liste, für die Obergrenze.
+   */
+  record WeightedCursor(Cursor cursor, double weight, int minLength) {
+
+  }
+
+  private final double averageLength;
+
+  RankedSearch(double averageLength) {
+    this.averageLength = averageLength;
+  }
+
+  /**
+   * @param queryTerms Pro Suchbegriff alle passenden Posting-Listen. Ein Produkt, das in mehreren Listen desselben
+   *                   Suchbegriffs vorkommt, bekommt dafür den höchsten Einzelwert.
+   * @return Die IDs der besten Treffer, nach Relevanz absteigend; bei gleicher Relevanz nach ID.
+   */
+  List<Long> topK(List<List<WeightedCursor>> queryTerms, int limit) {
+    List<TermGroup> open = new ArrayList<>();
+    for (List<WeightedCursor> cursors : queryTerms) {
+      TermGroup group = new TermGroup(cursors);
+      if (!group.exhausted()) {
+        open.add(group);
+      }
+    }
+    TermGroup[] groups = open.toArray(TermGroup[]::new);
+    Arrays.sort(groups, Comparator.comparingDouble(group -> group.upperBound));
+    // cumulative[i]: höchstens erreichbare Summe der Gruppen 0..i.
+    double[] cumulative = new double[groups.length];
+    for (int i = 0; i < groups.length; i++) {
+      cumulative[i] = (i == 0 ? 0 : cumulative[i - 1]) + groups[i].upperBound;
+    }
+
+    TopK best = new TopK(limit);
+    int firstEssential = 0;
+    while (true) {
+      double threshold = best.threshold();
+      while (firstEssential < groups.length && cumulative[firstEssential] <= threshold) {
+        firstEssential++;
+      }
+      if (firstEssential == groups.length) {
+        break;
+      }
+      long productId = Long.MAX_VALUE;
+      for (int i = firstEssential; i < groups.length; i++) {
+        productId = Math.min(productId, groups[i].productId);
+      }
+      if (productId == Long.MAX_VALUE) {
+        break;
+      }
+      double score = 0;
+      for (int i = firstEssential; i < groups.length; i++) {
+        if (groups[i].productId == productId) {
+          score += groups[i].score();
+          groups[i].advance(productId + 1);
+        }
+      }
+      for (int i = firstEssential - 1; i >= 0 && score + cumulative[i] > threshold; i--) {
+        groups[i].advance(productId);
+        if (groups[i].productId == productId) {
+          score += groups[i].score();
+        }
+      }
+      best.offer(productId, score);
+    }
+    return best.ranked();
+  }
+
+  private double bm25(double weight, int length) {
+    return weight * (K1 + 1) / (1 + K1 * (1 - B + B * length / averageLength));
+  }
+
+  /**
+   * Alle Posting-Listen eines Suchbegriffs, gemeinsam vorgespult.
+   */
+  private final class TermGroup {
+
+    private Cursor[] cursors;
+    private double[] weights;
+    private int size;
+    private final double upperBound;
+    private long productId = -1;
+
+    TermGroup(List<WeightedCursor> weighted) {
+      cursors = new Cursor[weighted.size()];
+      weights = new double[weighted.size()];
+      double bound = 0;
+      for (WeightedCursor cursor : weighted) {
+        cursors[size] = cursor.cursor();
+        weights[size] = cursor.weight();
+        size++;
+        bound = Math.max(bound, bm25(cursor.weight(), cursor.minLength()));
+      }
+      upperBound = bound;
+      advance(0);
+    }
+
+    boolean exhausted() {
+      return productId == Long.MAX_VALUE;
+    }
+
+    /**
+     * Spult alle Listen bis zur ersten ID {@code >= target} vor.
+     */
+    void advance(long target) {
+      long min = Long.MAX_VALUE;
+      int i = 0;
+      while (i < size) {
+        Cursor cursor = cursors[i];
+        boolean positioned = productId >= 0 && cursor.productId() >= target;
+        while (!positioned) {
+          if (!cursor.next()) {
+            break;
+          }
+          positioned = cursor.productId() >= target;
+        }
+        if (!positioned) {
+          // Liste zu Ende: durch die letzte ersetzen.
+          size--;
+          cursors[i] = cursors[size];
+          weights[i] = weights[size];
+          continue;
+        }
+        min = Math.min(min, cursor.productId());
+        i++;
+      }
+      productId = min;
+    }
+
+    /**
+     * @return Der Beitrag des Suchbegriffs zum aktuellen Produkt.
+     */
+    double score() {
+      double best = 0;
+      for (int i = 0; i < size; i++) {
+        if (cursors[i].productId() == productId) {
+          best = Math.max(best, bm25(weights[i], cursors[i].length()));
+        }
+      }
+      return best;
+    }
+  }
+
+  private static final class TopK {
+
+    /** Niedrigere Relevanz zuerst, bei Gleichstand die höhere ID. */
+    private static final Comparator<ScoredProduct> WORST_FIRST = Comparator.comparingDouble(ScoredProduct::score)
+        .thenComparing(Comparator.comparingLong(ScoredProduct::productId).reversed());
+
+    private final int limit;
+    private final PriorityQueue<ScoredProduct> heap;
+
+    TopK(int limit) {
+      this.limit = limit;
+      this.heap = new PriorityQueue<>(limit, WORST_FIRST);
+    }
+
+    /**
+     * @return Der Wert, den ein Produkt übertreffen muss, um aufgenommen zu werden. Produkte kommen in aufsteigender
+     * ID-Reihenfolge, bei Gleichstand gewinnt also immer das bereits aufgenommene.
+     */
+    double threshold() {
+      return heap.size() < limit ? -1 : heap.peek().score();
+    }
+
+    void offer(long productId, double score) {
+      if (heap.size() < limit) {
+        heap.add(new ScoredProduct(productId, score));
+      } else if (score > heap.peek().score()) {
+        heap.poll();
+        heap.add(new ScoredProduct(productId, score));
+      }
+    }
+
+    List<Long> ranked() {
+      List<ScoredProduct> ranked = new ArrayList<>(heap);
+      ranked.sort(WORST_FIRST.reversed());
+      return ranked.stream().map(ScoredProduct::productId).toList();
+    }
+  }
+
+  private record ScoredProduct(long productId, double score) {
+
+  }
+}
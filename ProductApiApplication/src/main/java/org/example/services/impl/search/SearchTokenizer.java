@@ -0,0 +1,67 @@
+package org.example.services.impl.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Zerlegt Produktnamen und Suchanfragen in Terme. Groß-/Kleinschreibung wird ignoriert, Umlaute werden wie in der
+ * deutschen Umschrift gefaltet ({@code ä → ae}, {@code ß → ss}) und übrige diakritische Zeichen entfernt
+ * ({@code é → e}). Alles außer Buchstaben und Ziffern trennt Terme.
+ */
+final class SearchTokenizer {
+
+  static final int MAX_TERM_LENGTH = 64;
+
+  private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+  private SearchTokenizer() {
+  }
+
+  /**
+   * @return Die unterschiedlichen Terme des Textes in der Reihenfolge ihres ersten Auftretens.
+   */
+  static List<String> tokenize(String text) {
+    if (text == null || text.isEmpty()) {
+      return List.of();
+    }
+    String folded = fold(text);
+    Set<String> terms = new LinkedHashSet<>();
+    int start = -1;
+    for (int i = 0; i <= folded.length(); i++) {
+      boolean termChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+      if (termChar && start < 0) {
+        start = i;
+      } else if (!termChar && start >= 0) {
+        terms.add(folded.substring(start, Math.min(i, start + MAX_TERM_LENGTH)));
+        start = -1;
+      }
+    }
+    return new ArrayList<>(terms);
+  }
+
+  static String fold(String text) {
+    StringBuilder folded = new StringBuilder(text.length() + 4);
+    boolean ascii = true;
+    for (int i = 0; i < text.length(); i++) {
+      char c = Character.toLowerCase(text.charAt(i));
+      switch (c) {
+        case 'ä' -> folded.append("ae");
+        case 'ö' -> folded.append("oe");
+        case 'ü' -> folded.append("ue");
+        case 'ß' -> folded.append("ss");
+        default -> {
+          ascii &= c < 128;
+          folded.append(c);
+        }
+      }
+    }
+    if (ascii) {
+      return folded.toString();
+    }
+    return COMBINING_MARKS.matcher(Normalizer.normalize(folded, Normalizer.Form.NFD)).replaceAll("");
+  }
+}
@@ -0,0 +1,220 @@
+package org.example.services.impl.statistics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.example.database.event.BulkProductChange;
+import org.example.database.event.CatalogChangeListener;
+import org.example.database.event.CatalogChangeTracker;
+import org.example.database.event.CatalogChanges;
+import org.example.database.event.ChangeType;
+import org.example.database.event.ProductChange;
+import org.example.database.projection.ProductPriceRow;
+import org.example.database.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hält den aktuellen {@link CatalogColumns}-Stand und schreibt ihn mit jeder committeten Änderung fort.
+ * <p>
+ * Der Stand wird beim ersten Zugriff einmalig blockweise aus der Datenbank geladen. Einzeländerungen bringen ihren
+ * neuen Zustand mit; für Bulk-Statements werden nur die betroffenen Zeilen (eine Kategorie bzw. die ausgewählten IDs)
+ * nachgeladen. Jede Änderung erzeugt einen neuen Stand, der per {@code volatile}-Referenz veröffentlicht wird; Leser
+ * arbeiten immer auf einem unveränderlichen Stand.
+ * <p>
+ * Die Änderungen werden streng in der Reihenfolge ihrer {@linkplain CatalogChanges#sequence() Sequenznummern}
+ * übernommen; ein Aufruf wartet, bis alle Vorgänger übernommen oder verworfen sind. Jeder Stand trägt so als
+ * {@linkplain CatalogColumns#version() Version} die Nummer, bis zu der er alle Änderungen enthält, und abgeleitete
+ * Sichten, die aus einem Stand neu aufbauen, können die darin schon enthaltenen Änderungen überspringen. Beim Laden
+ * können die Abfragen Commits sehen, deren Listener-Aufruf noch aussteht; das Laden wartet deshalb auf alle bis dahin
+ * vergebenen Nummern und übernimmt deren Änderungen ein zweites Mal, was für den Stand folgenlos ist.
+ * <p>
+ * Läuft vor allen anderen {@link CatalogChangeListener}n, damit diese bereits den fortgeschriebenen Stand sehen.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CatalogColumnStore implements CatalogChangeListener {
+
+  private static final Logger log = LoggerFactory.getLogger(CatalogColumnStore.class);
+  private static final int LOAD_PAGE_SIZE = 10_000;
+  private static final int MAX_IDS_PER_QUERY = 1_000;
+  private static final Duration ORDER_TIMEOUT = Duration.ofSeconds(10);
+
+  private final ProductRepository productRepository;
+  private final CatalogChangeTracker changeTracker;
+  private final TransactionTemplate readTransaction;
+
+  private volatile CatalogColumns columns;
+  /** Alle Änderungen bis zu dieser Sequenznummer sind übernommen oder verworfen. Zugriff nur unter der Sperre. */
+  private long appliedThrough;
+  /** Während des Ladens eingetroffene Änderungen, sonst {@code null}. Zugriff nur unter der Sperre. */
+  private List<CatalogChanges> deferred;
+
+  public CatalogColumnStore(ProductRepository productRepository, CatalogChangeTracker changeTracker,
+      PlatformTransactionManager transactionManager) {
+    this.productRepository = productRepository;
+    this.changeTracker = changeTracker;
+    // Der Listener läuft nach dem Commit noch in der abgeschlossenen Transaktion; Nachladen braucht eine eigene.
+    this.readTransaction = new TransactionTemplate(transactionManager);
+    this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.readTransaction.setReadOnly(true);
+  }
+
+  /**
+   * @return Der aktuelle Stand; wird beim ersten Aufruf geladen.
+   */
+  public CatalogColumns snapshot() {
+    CatalogColumns current = columns;
+    return current != null ? current : loadIfAbsent();
+  }
+
+  /**
+   * Lädt den Stand vollständig neu aus der Datenbank.
+   */
+  public synchronized CatalogColumns load() {
+    deferred = new ArrayList<>();
+    try {
+      CatalogColumns.Builder builder = new CatalogColumns.Builder();
+      long afterId = 0;
+      List<ProductPriceRow> page;
+      do {
+        long from = afterId;
+        page = readTransaction.execute(
+            status -> productRepository.findPriceRowsAfter(from, Limit.of(LOAD_PAGE_SIZE)));
+        for (ProductPriceRow row : page) {
+          builder.add(row);
+          afterId = row.productId();
+        }
+      } while (page.size() == LOAD_PAGE_SIZE);
+      // Gibt die Sperre frei, bis alle Commits, die die Abfragen gesehen haben können, hier eingetroffen sind.
+      awaitApplied(changeTracker.getLastSequence());
+      CatalogColumns loaded = builder.build();
+      for (CatalogChanges changes : deferred) {
+        loaded = patched(loaded, changes);
+      }
+      loaded = loaded.withVersion(appliedThrough);
+      columns = loaded;
+      log.info("Catalog columns loaded: {} products", loaded.rowCount());
+      return loaded;
+    } finally {
+      deferred = null;
+    }
+  }
+
+  private synchronized CatalogColumns loadIfAbsent() {
+    return columns != null ? columns : load();
+  }
+
+  @Override
+  public synchronized void onCatalogChanges(CatalogChanges changes) {
+    awaitApplied(changes.sequence() - 1);
+    try {
+      if (deferred != null) {
+        deferred.add(changes);
+      } else if (columns != null) {
+        columns = patched(columns, changes).withVersion(Math.max(appliedThrough, changes.sequence()));
+      }
+      // Sonst noch nicht geladen: der erste Zugriff liest ohnehin den committeten Stand.
+    } catch (RuntimeException e) {
+      // Ohne diese Änderung wäre die Version des Stands falsch; er wird beim nächsten Zugriff neu geladen.
+      columns = null;
+      throw e;
+    } finally {
+      markApplied(changes.sequence());
+    }
+  }
+
+  @Override
+  public synchronized void onCatalogChangesDiscarded(long sequence) {
+    awaitApplied(sequence - 1);
+    markApplied(sequence);
+  }
+
+  private void awaitApplied(long sequence) {
+    long deadline = System.nanoTime() + ORDER_TIMEOUT.toNanos();
+    try {
+      while (appliedThrough < sequence) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          log.warn("Catalog changes up to {} not received within {}, continuing without them", sequence,
+              ORDER_TIMEOUT);
+          return;
+        }
+        wait(Math.max(1, remaining / 1_000_000));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void markApplied(long sequence) {
+    if (sequence > appliedThrough) {
+      appliedThrough = sequence;
+      notifyAll();
+    }
+  }
+
+  private CatalogColumns patched(CatalogColumns current, CatalogChanges changes) {
+    Map<Long, ProductPriceRow> upserts = new LinkedHashMap<>();
+    Set<Long> removals = new HashSet<>();
+    for (ProductChange change : changes.productChanges()) {
+      if (change.type() == ChangeType.DELETED) {
+        upserts.remove(change.productId());
+        removals.add(change.productId());
+      } else {
+        removals.remove(change.productId());
+        upserts.put(change.productId(), new ProductPriceRow(change.productId(), change.after().price(),
+            change.after().categoryId()));
+      }
+    }
+    for (BulkProductChange change : changes.bulkProductChanges()) {
+      List<Long> affected = change.productIds() != null
+          ? change.productIds() : current.productIdsInCategory(change.categoryId());
+      Set<Long> missing = new HashSet<>(affected);
+      for (ProductPriceRow row : reload(change, affected)) {
+        missing.remove(row.productId());
+        removals.remove(row.productId());
+        upserts.put(row.productId(), row);
+      }
+      missing.forEach(upserts::remove);
+      removals.addAll(missing);
+    }
+    return current.patched(upserts.values(), removals);
+  }
+
+  /**
+   * Lädt den committeten Stand der Zeilen, die ein Bulk-Statement betroffen hat.
+   */
+  private List<ProductPriceRow> reload(BulkProductChange change, List<Long> productIds) {
+    return readTransaction.execute(status -> {
+      List<ProductPriceRow> rows = new ArrayList<>();
+      if (change.productIds() == null) {
+        long afterId = 0;
+        List<ProductPriceRow> page;
+        do {
+          page = productRepository.findPriceRowsByCategoryIdAfter(change.categoryId(), afterId,
+              Limit.of(LOAD_PAGE_SIZE));
+          rows.addAll(page);
+          afterId = page.isEmpty() ? afterId : page.get(page.size() - 1).productId();
+        } while (page.size() == LOAD_PAGE_SIZE);
+        return rows;
+      }
+      for (int from = 0; from < productIds.size(); from += MAX_IDS_PER_QUERY) {
+        rows.addAll(productRepository.findPriceRowsByIdIn(
+            productIds.subList(from, Math.min(productIds.size(), from + MAX_IDS_PER_QUERY))));
+      }
+      return rows;
+    });
+  }
+}
@@ -0,0 +1,515 @@
+package org.example.services.impl.statistics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.DoubleConsumer;
+import java.util.stream.IntStream;
+import org.example.database.projection.ProductPriceRow;
+
+/**
+ * Unveränderliche, spaltenweise Kopie des Katalogs für Kennzahlen über alle Produkte: IDs, Preise und Kategorien liegen
+ * in primitiven Arrays, ohne Entitäten, Boxing oder Datenbankzugriff.
+ * <p>
+ * Die Zeilen sind nach ID sortiert und in Blöcke von etwa {@link #DEFAULT_CHUNK_SIZE} Zeilen aufgeteilt. Änderungen
+ * ({@link #patched(Collection, Collection)}) kopieren nur die betroffenen Blöcke und liefern einen neuen Stand; alle
+ * anderen Blöcke werden geteilt. Auswertungen laufen parallel über die Blöcke. Fehlende Preise stehen als
+ * {@link Double#NaN}, fehlende Kategorien als Ordinalzahl -1 in den Spalten.
+ */
+public final class CatalogColumns {
+
+  public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+  private final int chunkSize;
+  private final Chunk[] chunks;
+  private final long[] firstIds;
+  /** Kategorie-ID zu jeder Ordinalzahl. */
+  private final long[] categoryIds;
+  private final Map<Long, Integer> ordinals;
+  private final long rowCount;
+  private final long version;
+  /** Ergebnis von {@link #aggregate()}, einmal pro Stand berechnet. */
+  private volatile ColumnAggregates aggregates;
+
+  private CatalogColumns(int chunkSize, Chunk[] chunks, long[] categoryIds, Map<Long, Integer> ordinals,
+      long version) {
+    this.chunkSize = chunkSize;
+    this.chunks = chunks;
+    this.categoryIds = categoryIds;
+    this.ordinals = ordinals;
+    this.firstIds = new long[chunks.length];
+    long rows = 0;
+    for (int i = 0; i < chunks.length; i++) {
+      firstIds[i] = chunks[i].ids[0];
+      rows += chunks[i].ids.length;
+    }
+    this.rowCount = rows;
+    this.version = version;
+  }
+
+  public static CatalogColumns empty() {
+    return empty(DEFAULT_CHUNK_SIZE);
+  }
+
+  public static CatalogColumns empty(int chunkSize) {
+    return new CatalogColumns(chunkSize, new Chunk[0], new long[0], Map.of(), 0);
+  }
+
+  /**
+   * Baut einen Stand aus Zeilen, die in aufsteigender ID-Reihenfolge hinzugefügt werden.
+   */
+  public static final class Builder {
+
+    private final int chunkSize;
+    private final List<Chunk> chunks = new ArrayList<>();
+    private final List<Long> categoryIds = new ArrayList<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private long[] ids;
+    private double[] prices;
+    private int[] categoryOrdinals;
+    private int size;
+    private long lastProductId = Long.MIN_VALUE;
+
+    public Builder() {
+      this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public Builder(int chunkSize) {
+      this.chunkSize = chunkSize;
+      startChunk();
+    }
+
+    public Builder add(ProductPriceRow row) {
+      if (row.productId() <= lastProductId) {
+        throw new IllegalArgumentException("Produkt-IDs müssen aufsteigend sein: " + row.productId());
+      }
+      lastProductId = row.productId();
+      if (size == chunkSize) {
+        chunks.add(new Chunk(ids, prices, categoryOrdinals));
+        startChunk();
+      }
+      ids[size] = row.productId();
+      prices[size] = row.price() == null ? Double.NaN : row.price();
+      categoryOrdinals[size++] = row.categoryId() == null ? -1 : ordinals.computeIfAbsent(row.categoryId(), id -> {
+        categoryIds.add(id);
+        return categoryIds.size() - 1;
+      });
+      return this;
+    }
+
+    public CatalogColumns build() {
+      List<Chunk> all = new ArrayList<>(chunks);
+      if (size > 0) {
+        all.add(new Chunk(ids, prices, categoryOrdinals).slice(0, size));
+      }
+      return new CatalogColumns(chunkSize, all.toArray(Chunk[]::new),
+          categoryIds.stream().mapToLong(Long::longValue).toArray(), new HashMap<>(ordinals), 0);
+    }
+
+    private void startChunk() {
+      ids = new long[chunkSize];
+      prices = new double[chunkSize];
+      categoryOrdinals = new int[chunkSize];
+      size = 0;
+    }
+  }
+
+  public long rowCount() {
+    return rowCount;
+  }
+
+  /**
+   * @return Die {@linkplain org.example.database.event.CatalogChanges#sequence() Sequenznummer}, bis zu der dieser
+   *     Stand alle Katalogänderungen enthält; spätere enthält er nicht.
+   */
+  public long version() {
+    return version;
+  }
+
+  /**
+   * @return Derselbe Stand mit der angegebenen {@linkplain #version() Version}; die Spalten werden geteilt.
+   */
+  public CatalogColumns withVersion(long version) {
+    return version == this.version ? this : new CatalogColumns(chunkSize, chunks, categoryIds, ordinals, version);
+  }
+
+  int chunkCount() {
+    return chunks.length;
+  }
+
+  /**
+   * @return Alle Kategorien, die in diesem Stand vorkommen oder in einem früheren vorkamen.
+   */
+  public List<Long> categoryIds() {
+    return Arrays.stream(categoryIds).boxed().toList();
+  }
+
+  /**
+   * @return Die IDs aller Produkte der Kategorie, aufsteigend.
+   */
+  public List<Long> productIdsInCategory(Long categoryId) {
+    Integer ordinal = ordinals.get(categoryId);
+    List<Long> productIds = new ArrayList<>();
+    if (ordinal == null) {
+      return productIds;
+    }
+    for (Chunk chunk : chunks) {
+      for (int i = 0; i < chunk.ids.length; i++) {
+        if (chunk.categoryOrdinals[i] == ordinal) {
+          productIds.add(chunk.ids[i]);
+        }
+      }
+    }
+    return productIds;
+  }
+
+  /**
+   * Übergibt alle vorhandenen Preise mit ihrer Kategorie ({@code null} für Produkte ohne Kategorie).
+   */
+  public void forEachPrice(PriceConsumer consumer) {
+    for (Chunk chunk : chunks) {
+      for (int i = 0; i < chunk.ids.length; i++) {
+        double price = chunk.prices[i];
+        if (price == price) {
+          int ordinal = chunk.categoryOrdinals[i];
+          consumer.accept(ordinal < 0 ? null : categoryIds[ordinal], price);
+        }
+      }
+    }
+  }
+
+  /**
+   * Übergibt alle vorhandenen Preise einer Kategorie.
+   *
+   * @param categoryId Die Kategorie oder {@code null} für Produkte ohne Kategorie.
+   */
+  public void forEachPrice(Long categoryId, DoubleConsumer consumer) {
+    Integer ordinal = categoryId == null ? Integer.valueOf(-1) : ordinals.get(categoryId);
+    if (ordinal == null) {
+      return;
+    }
+    for (Chunk chunk : chunks) {
+      for (int i = 0; i < chunk.ids.length; i++) {
+        if (chunk.categoryOrdinals[i] == ordinal && chunk.prices[i] == chunk.prices[i]) {
+          consumer.accept(chunk.prices[i]);
+        }
+      }
+    }
+  }
+
+  @FunctionalInterface
+  public interface PriceConsumer {
+
+    void accept(Long categoryId, double price);
+  }
+
+  /**
+   * Liefert einen neuen Stand mit den Änderungen; dieser Stand bleibt unverändert.
+   *
+   * @param upserts  Neue oder geänderte Zeilen.
+   * @param removals Die IDs gelöschter Produkte; unbekannte IDs werden ignoriert.
+   */
+  public CatalogColumns patched(Collection<ProductPriceRow> upserts, Collection<Long> removals) {
+    if (upserts.isEmpty() && removals.isEmpty()) {
+      return this;
+    }
+    long[] newCategoryIds = categoryIds;
+    Map<Long, Integer> newOrdinals = ordinals;
+    // Pro betroffenem Block die Änderungen nach ID; null steht für Löschen.
+    Map<Integer, TreeMap<Long, ProductPriceRow>> changesPerChunk = new HashMap<>();
+    for (Long productId : removals) {
+      changesPerChunk.computeIfAbsent(chunkIndex(productId), index -> new TreeMap<>()).put(productId, null);
+    }
+    for (ProductPriceRow row : upserts) {
+      Long categoryId = row.categoryId();
+      if (categoryId != null && !newOrdinals.containsKey(categoryId)) {
+        if (newOrdinals == ordinals) {
+          newOrdinals = new HashMap<>(ordinals);
+        }
+        newOrdinals.put(categoryId, newCategoryIds.length);
+        newCategoryIds = Arrays.copyOf(newCategoryIds, newCategoryIds.length + 1);
+        newCategoryIds[newCategoryIds.length - 1] = categoryId;
+      }
+      changesPerChunk.computeIfAbsent(chunkIndex(row.productId()), index -> new TreeMap<>())
+          .put(row.productId(), row);
+    }
+
+    List<Chunk> newChunks = new ArrayList<>(chunks.length + 1);
+    int chunkCount = Math.max(chunks.length, 1);
+    for (int index = 0; index < chunkCount; index++) {
+      Chunk chunk = index < chunks.length ? chunks[index] : Chunk.EMPTY;
+      TreeMap<Long, ProductPriceRow> changes = changesPerChunk.get(index);
+      if (changes == null) {
+        newChunks.add(chunk);
+        continue;
+      }
+      Chunk merged = chunk.merged(changes, newOrdinals);
+      // Zu groß gewordene Blöcke gleichmäßig teilen, leere entfallen.
+      int parts = (merged.ids.length + chunkSize - 1) / chunkSize;
+      for (int part = 0; part < parts; part++) {
+        newChunks.add(merged.slice(part * merged.ids.length / parts, (part + 1) * merged.ids.length / parts));
+      }
+    }
+    return new CatalogColumns(chunkSize, newChunks.toArray(Chunk[]::new), newCategoryIds, newOrdinals, version);
+  }
+
+  /**
+   * Berechnet Anzahl, Summe und Extremwerte der Preise für den gesamten Katalog und jede Kategorie in einem Durchlauf.
+   * Die Blöcke werden parallel im gemeinsamen Fork/Join-Pool ausgewertet; da der Stand unveränderlich ist, wird das
+   * Ergebnis für weitere Aufrufe gemerkt.
+   */
+  public ColumnAggregates aggregate() {
+    ColumnAggregates result = aggregates;
+    if (result == null) {
+      result = computeAggregates();
+      aggregates = result;
+    }
+    return result;
+  }
+
+  private ColumnAggregates computeAggregates() {
+    int categories = categoryIds.length;
+    Accumulator result = IntStream.range(0, chunks.length)
+        .parallel()
+        .collect(() -> new Accumulator(categories),
+            (accumulator, index) -> accumulator.add(chunks[index]),
+            Accumulator::merge);
+    Map<Long, PriceColumnStats> perCategory = new HashMap<>();
+    Accumulator total = new Accumulator(0);
+    for (int ordinal = 0; ordinal < categories; ordinal++) {
+      if (result.productCounts[ordinal + 1] > 0) {
+        perCategory.put(categoryIds[ordinal], result.toStats(ordinal + 1));
+      }
+    }
+    for (int slot = 0; slot <= categories; slot++) {
+      total.merge(0, result, slot);
+    }
+    return new ColumnAggregates(total.toStats(0), perCategory);
+  }
+
+  /**
+   * Berechnet Anzahl, Summe und Extremwerte der Preise über die angegebenen Kategorien zusammen, ohne die übrigen
+   * Kategorien auszuwerten.
+   *
+   * @param selectedCategoryIds Die Kategorien; {@code null} steht für Produkte ohne Kategorie, unbekannte werden
+   *                            ignoriert.
+   */
+  public PriceColumnStats aggregate(Collection<Long> selectedCategoryIds) {
+    boolean[] selected = new boolean[categoryIds.length + 1];
+    for (Long categoryId : selectedCategoryIds) {
+      Integer ordinal = categoryId == null ? Integer.valueOf(-1) : ordinals.get(categoryId);
+      if (ordinal != null) {
+        selected[ordinal + 1] = true;
+      }
+    }
+    return IntStream.range(0, chunks.length)
+        .parallel()
+        .collect(() -> new Accumulator(0),
+            (accumulator, index) -> accumulator.add(chunks[index], selected),
+            Accumulator::merge)
+        .toStats(0);
+  }
+
+  private int chunkIndex(long productId) {
+    int index = Arrays.binarySearch(firstIds, productId);
+    if (index >= 0) {
+      return index;
+    }
+    // Vor dem ersten Block: in den ersten Block einsortieren.
+    return Math.max(0, -index - 2);
+  }
+
+  /**
+   * Anzahl, Summe und Extremwerte der Preise einer Kategorie bzw. des Katalogs.
+   *
+   * @param cheapestId       Bei gleichem Preis die kleinste ID; {@code null} ohne Produkt mit Preis.
+   * @param mostExpensiveId  Bei gleichem Preis die kleinste ID; {@code null} ohne Produkt mit Preis.
+   */
+  public record PriceColumnStats(
+      long productCount,
+      long pricedCount,
+      double priceSum,
+      Long cheapestId,
+      double minPrice,
+      Long mostExpensiveId,
+      double maxPrice
+  ) {
+
+  }
+
+  public record ColumnAggregates(
+      PriceColumnStats total,
+      Map<Long, PriceColumnStats> perCategory
+  ) {
+
+  }
+
+  private static final class Chunk {
+
+    static final Chunk EMPTY = new Chunk(new long[0], new double[0], new int[0]);
+
+    final long[] ids;
+    final double[] prices;
+    final int[] categoryOrdinals;
+
+    Chunk(long[] ids, double[] prices, int[] categoryOrdinals) {
+      this.ids = ids;
+      this.prices = prices;
+      this.categoryOrdinals = categoryOrdinals;
+    }
+
+    /**
+     * Führt die sortierten Zeilen des Blocks mit den sortierten Änderungen zusammen.
+     */
+    Chunk merged(TreeMap<Long, ProductPriceRow> changes, Map<Long, Integer> ordinals) {
+      int capacity = ids.length + changes.size();
+      long[] newIds = new long[capacity];
+      double[] newPrices = new double[capacity];
+      int[] newOrdinals = new int[capacity];
+      int size = 0;
+      int i = 0;
+      for (Map.Entry<Long, ProductPriceRow> change : changes.entrySet()) {
+        long productId = change.getKey();
+        while (i < ids.length && ids[i] < productId) {
+          newIds[size] = ids[i];
+          newPrices[size] = prices[i];
+          newOrdinals[size++] = categoryOrdinals[i++];
+        }
+        if (i < ids.length && ids[i] == productId) {
+          i++;
+        }
+        ProductPriceRow row = change.getValue();
+        if (row != null) {
+          newIds[size] = productId;
+          newPrices[size] = row.price() == null ? Double.NaN : row.price();
+          newOrdinals[size++] = row.categoryId() == null ? -1 : ordinals.get(row.categoryId());
+        }
+      }
+      int remaining = ids.length - i;
+      System.arraycopy(ids, i, newIds, size, remaining);
+      System.arraycopy(prices, i, newPrices, size, remaining);
+      System.arraycopy(categoryOrdinals, i, newOrdinals, size, remaining);
+      size += remaining;
+      return new Chunk(Arrays.copyOf(newIds, size), Arrays.copyOf(newPrices, size), Arrays.copyOf(newOrdinals, size));
+    }
+
+    Chunk slice(int from, int to) {
+      if (from == 0 && to == ids.length) {
+        return this;
+      }
+      return new Chunk(Arrays.copyOfRange(ids, from, to), Arrays.copyOfRange(prices, from, to),
+          Arrays.copyOfRange(categoryOrdinals, from, to));
+    }
+  }
+
+  /**
+   * Veränderliche Zwischensumme eines Fork/Join-Teilbereichs: eine Spalte pro Kennzahl, ein Eintrag pro Kategorie.
+   * Eintrag 0 sammelt Produkte ohne Kategorie; die Summe über alle Einträge ergibt den gesamten Katalog.
+   */
+  private static final class Accumulator {
+
+    final long[] productCounts;
+    final long[] pricedCounts;
+    final double[] priceSums;
+    final double[] minPrices;
+    final long[] cheapestIds;
+    final double[] maxPrices;
+    final long[] mostExpensiveIds;
+
+    Accumulator(int categories) {
+      int slots = categories + 1;
+      productCounts = new long[slots];
+      pricedCounts = new long[slots];
+      priceSums = new double[slots];
+      minPrices = new double[slots];
+      cheapestIds = new long[slots];
+      maxPrices = new double[slots];
+      mostExpensiveIds = new long[slots];
+      Arrays.fill(minPrices, Double.POSITIVE_INFINITY);
+      Arrays.fill(maxPrices, Double.NEGATIVE_INFINITY);
+    }
+
+    void add(Chunk chunk) {
+      long[] ids = chunk.ids;
+      double[] prices = chunk.prices;
+      int[] ordinals = chunk.categoryOrdinals;
+      for (int i = 0; i < ids.length; i++) {
+        add(ordinals[i] + 1, ids[i], prices[i]);
+      }
+    }
+
+    /**
+     * Sammelt nur die Zeilen der ausgewählten Einträge, alle in Eintrag 0.
+     */
+    void add(Chunk chunk, boolean[] selected) {
+      long[] ids = chunk.ids;
+      double[] prices = chunk.prices;
+      int[] ordinals = chunk.categoryOrdinals;
+      for (int i = 0; i < ids.length; i++) {
+        if (selected[ordinals[i] + 1]) {
+          add(0, ids[i], prices[i]);
+        }
+      }
+    }
+
+    private void add(int slot, long id, double price) {
+      productCounts[slot]++;
+      if (price != price) {
+        return;
+      }
+      pricedCounts[slot]++;
+      priceSums[slot] += price;
+      // Zeilen kommen pro Block aufsteigend nach ID: bei gleichem Preis gewinnt die erste.
+      if (price < minPrices[slot]) {
+        minPrices[slot] = price;
+        cheapestIds[slot] = id;
+      }
+      if (price > maxPrices[slot]) {
+        maxPrices[slot] = price;
+        mostExpensiveIds[slot] = id;
+      }
+    }
+
+    void merge(Accumulator other) {
+      for (int slot = 0; slot < productCounts.length; slot++) {
+        merge(slot, other, slot);
+      }
+    }
+
+    /**
+     * Übernimmt den Eintrag {@code otherSlot} von {@code other} in den eigenen Eintrag {@code slot}.
+     */
+    void merge(int slot, Accumulator other, int otherSlot) {
+      productCounts[slot] += other.productCounts[otherSlot];
+      if (other.pricedCounts[otherSlot] == 0) {
+        return;
+      }
+      boolean empty = pricedCounts[slot] == 0;
+      pricedCounts[slot] += other.pricedCounts[otherSlot];
+      priceSums[slot] += other.priceSums[otherSlot];
+      double min = other.minPrices[otherSlot];
+      if (empty || min < minPrices[slot]
+          || min == minPrices[slot] && other.cheapestIds[otherSlot] < cheapestIds[slot]) {
+        minPrices[slot] = min;
+        cheapestIds[slot] = other.cheapestIds[otherSlot];
+      }
+      double max = other.maxPrices[otherSlot];
+      if (empty || max > maxPrices[slot]
+          || max == maxPrices[slot] && other.mostExpensiveIds[otherSlot] < mostExpensiveIds[slot]) {
+        maxPrices[slot] = max;
+        mostExpensiveIds[slot] = other.mostExpensiveIds[otherSlot];
+      }
+    }
+
+    PriceColumnStats toStats(int slot) {
+      boolean priced = pricedCounts[slot] > 0;
+      return new PriceColumnStats(productCounts[slot], pricedCounts[slot], priceSums[slot],
+          priced ? cheapestIds[slot] : null, minPrices[slot], priced ? mostExpensiveIds[slot] : null,
+          maxPrices[slot]);
+    }
+  }
+}
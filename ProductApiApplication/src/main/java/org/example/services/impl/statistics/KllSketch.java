@@ -0,0 +1,220 @@
+package org.example.services.impl.statistics;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Mergebare Quantilskizze nach Karnin, Lang und Liberty ("Optimal Quantile Approximation in Streams", 2016).
+ * <p>
+ * Die Werte liegen in Ebenen; ein Wert auf Ebene {@code h} steht für {@code 2^h} ursprüngliche Werte. Läuft eine Ebene
+ * über, wird sie sortiert und jeder zweite Wert (zufällig die geraden oder ungeraden Positionen) wandert eine Ebene
+ * höher. Die oberste Ebene fasst {@code k} Werte, jede darunter zwei Drittel der nächsthöheren; der Speicher wächst
+ * also nur logarithmisch mit der Anzahl der Werte.
+ * <p>
+ * Für {@code k = 200} liegt der Rang jedes Werts mit 99 % Wahrscheinlichkeit höchstens {@link #RANK_ERROR} mal der
+ * Anzahl aller Werte neben dem exakten Rang. Zwei Skizzen lassen sich ohne zusätzlichen Fehler zusammenführen.
+ * <p>
+ * Nicht threadsicher.
+ */
+final class KllSketch {
+
+  static final int DEFAULT_K = 200;
+
+  /** Normierter Rangfehler für {@link #DEFAULT_K} bei 99 % Konfidenz. */
+  static final double RANK_ERROR = 0.0165;
+
+  private static final double CAPACITY_DECAY = 2.0 / 3.0;
+  private static final int MIN_CAPACITY = 2;
+
+  private final int k;
+  private final SplittableRandom random = new SplittableRandom();
+  /** Ebene 0 ungeordnet, alle höheren aufsteigend sortiert. */
+  private double[][] levels = new double[0][];
+  private int[] sizes = new int[0];
+  private int[] capacities = new int[0];
+  private int levelCount;
+  private int retained;
+  private int maxRetained;
+  private long count;
+
+  KllSketch() {
+    this(DEFAULT_K);
+  }
+
+  KllSketch(int k) {
+    this.k = k;
+    grow();
+  }
+
+  private KllSketch(KllSketch other) {
+    k = other.k;
+    levelCount = other.levelCount;
+    levels = new double[levelCount][];
+    for (int level = 0; level < levelCount; level++) {
+      levels[level] = Arrays.copyOf(other.levels[level], other.sizes[level]);
+    }
+    sizes = Arrays.copyOf(other.sizes, levelCount);
+    capacities = other.capacities.clone();
+    retained = other.retained;
+    maxRetained = other.maxRetained;
+    count = other.count;
+  }
+
+  /**
+   * @return Eine unabhängige Kopie mit denselben Werten.
+   */
+  KllSketch copy() {
+    return new KllSketch(this);
+  }
+
+  /**
+   * @return Die Anzahl aller aufgenommenen Werte.
+   */
+  long count() {
+    return count;
+  }
+
+  /**
+   * @return true, solange noch nichts verdichtet wurde; Ränge sind dann exakt.
+   */
+  boolean exact() {
+    return retained == count;
+  }
+
+  void update(double value) {
+    append(0, value);
+    count++;
+    if (retained >= maxRetained) {
+      compress();
+    }
+  }
+
+  /**
+   * Nimmt alle Werte von {@code other} auf; {@code other} bleibt unverändert.
+   */
+  void merge(KllSketch other) {
+    while (levelCount < other.levelCount) {
+      grow();
+    }
+    for (int i = 0; i < other.sizes[0]; i++) {
+      append(0, other.levels[0][i]);
+    }
+    for (int level = 1; level < other.levelCount; level++) {
+      mergeSorted(level, other.levels[level], 0, other.sizes[level], 1);
+    }
+    count += other.count;
+    while (retained >= maxRetained) {
+      compress();
+    }
+  }
+
+  /**
+   * Übergibt jeden gehaltenen Wert mit seinem Gewicht, in keiner bestimmten Reihenfolge.
+   */
+  void forEachItem(ItemConsumer consumer) {
+    for (int level = 0; level < levelCount; level++) {
+      long weight = 1L << level;
+      for (int i = 0; i < sizes[level]; i++) {
+        consumer.accept(levels[level][i], weight);
+      }
+    }
+  }
+
+  int retained() {
+    return retained;
+  }
+
+  @FunctionalInterface
+  interface ItemConsumer {
+
+    void accept(double value, long weight);
+  }
+
+  private void append(int level, double value) {
+    double[] items = levels[level];
+    if (sizes[level] == items.length) {
+      items = Arrays.copyOf(items, Math.max(8, items.length * 2));
+      levels[level] = items;
+    }
+    items[sizes[level]++] = value;
+    retained++;
+  }
+
+  private void grow() {
+    levelCount++;
+    if (levels.length < levelCount) {
+      levels = Arrays.copyOf(levels, levelCount);
+      sizes = Arrays.copyOf(sizes, levelCount);
+      levels[levelCount - 1] = new double[0];
+    }
+    capacities = new int[levelCount];
+    maxRetained = 0;
+    for (int level = 0; level < levelCount; level++) {
+      int depth = levelCount - level - 1;
+      capacities[level] = Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+      maxRetained += capacities[level];
+    }
+  }
+
+  /**
+   * Verdichtet die unterste volle Ebene. Da {@code maxRetained} die Summe aller Kapazitäten ist, gibt es eine solche,
+   * sobald {@code retained >= maxRetained}.
+   */
+  private void compress() {
+    for (int level = 0; level < levelCount; level++) {
+      if (sizes[level] >= capacities[level]) {
+        if (level + 1 == levelCount) {
+          grow();
+        }
+        compact(level);
+        return;
+      }
+    }
+  }
+
+  private void compact(int level) {
+    double[] items = levels[level];
+    int size = sizes[level];
+    if (level == 0) {
+      Arrays.sort(items, 0, size);
+    }
+    // Bei ungerader Anzahl bleibt der kleinste Wert auf dieser Ebene.
+    int first = size % 2;
+    mergeSorted(level + 1, items, first + (random.nextBoolean() ? 1 : 0), size, 2);
+    retained -= size - first;
+    sizes[level] = first;
+  }
+
+  /**
+   * Mischt jeden {@code step}-ten Wert von {@code source[from..to)} (aufsteigend) in die sortierte Ebene {@code level}.
+   */
+  private void mergeSorted(int level, double[] source, int from, int to, int step) {
+    int added = (to - from + step - 1) / step;
+    if (added <= 0) {
+      return;
+    }
+    double[] current = levels[level];
+    int size = sizes[level];
+    double[] merged = new double[Math.max(8, Integer.highestOneBit(size + added) * 2)];
+    int i = 0;
+    int j = from;
+    int out = 0;
+    while (i < size && j < to) {
+      if (current[i] <= source[j]) {
+        merged[out++] = current[i++];
+      } else {
+        merged[out++] = source[j];
+        j += step;
+      }
+    }
+    while (i < size) {
+      merged[out++] = current[i++];
+    }
+    for (; j < to; j += step) {
+      merged[out++] = source[j];
+    }
+    levels[level] = merged;
+    sizes[level] = out;
+    retained += added;
+  }
+}
@@ -0,0 +1,70 @@
+package org.example.services.impl.statistics;
+
+/**
+ * Unveränderlicher Stand der Preiskennzahlen einer Kategorie (bzw. des gesamten Katalogs).
+ * <p>
+ * Anzahl und Summe lassen sich bei jeder Änderung exakt fortschreiben. Günstigstes und teuerstes Produkt dagegen
+ * nicht, sobald eines davon gelöscht oder geändert wird; dann wird {@code extremesStale} gesetzt und die Extremwerte
+ * werden beim nächsten Lesen einmalig aus der Datenbank nachgeladen.
+ */
+record PriceAggregate(
+    long productCount,
+    long pricedCount,
+    double priceSum,
+    ProductSummary cheapest,
+    ProductSummary mostExpensive,
+    boolean extremesStale
+) {
+
+  static final PriceAggregate EMPTY = new PriceAggregate(0, 0, 0.0, null, null, false);
+
+  static PriceAggregate seeded(long productCount, long pricedCount, Double priceSum) {
+    return new PriceAggregate(productCount, pricedCount, priceSum == null ? 0.0 : priceSum, null, null,
+        pricedCount > 0);
+  }
+
+  double averagePrice() {
+    return pricedCount == 0 ? 0.0 : priceSum / pricedCount;
+  }
+
+  PriceAggregate withAdded(ProductSummary product) {
+    if (product.price() == null) {
+      return new PriceAggregate(productCount + 1, pricedCount, priceSum, cheapest, mostExpensive, extremesStale);
+    }
+    if (extremesStale) {
+      return new PriceAggregate(productCount + 1, pricedCount + 1, priceSum + product.price(), null, null, true);
+    }
+    ProductSummary newCheapest = cheapest == null || ProductSummary.CHEAPEST_FIRST.compare(product, cheapest) < 0
+        ? product : cheapest;
+    ProductSummary newMostExpensive =
+        mostExpensive == null || ProductSummary.MOST_EXPENSIVE_FIRST.compare(product, mostExpensive) < 0
+            ? product : mostExpensive;
+    return new PriceAggregate(productCount + 1, pricedCount + 1, priceSum + product.price(), newCheapest,
+        newMostExpensive, false);
+  }
+
+  PriceAggregate withRemoved(ProductSummary product) {
+    if (product.price() == null) {
+      return new PriceAggregate(productCount - 1, pricedCount, priceSum, cheapest, mostExpensive, extremesStale);
+    }
+    long newPricedCount = pricedCount - 1;
+    if (newPricedCount <= 0) {
+      // Summe zurücksetzen, damit sich keine Rundungsfehler über leer gewordene Kategorien hinweg ansammeln.
+      return new PriceAggregate(productCount - 1, 0, 0.0, null, null, false);
+    }
+    double newSum = priceSum - product.price();
+    if (extremesStale || isExtreme(product.id())) {
+      return new PriceAggregate(productCount - 1, newPricedCount, newSum, null, null, true);
+    }
+    return new PriceAggregate(productCount - 1, newPricedCount, newSum, cheapest, mostExpensive, false);
+  }
+
+  PriceAggregate withExtremes(ProductSummary cheapest, ProductSummary mostExpensive) {
+    return new PriceAggregate(productCount, pricedCount, priceSum, cheapest, mostExpensive, false);
+  }
+
+  private boolean isExtreme(Long productId) {
+    return (cheapest != null && cheapest.id().equals(productId))
+        || (mostExpensive != null && mostExpensive.id().equals(productId));
+  }
+}
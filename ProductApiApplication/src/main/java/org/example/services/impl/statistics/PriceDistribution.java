@@ -0,0 +1,175 @@
+package org.example.services.impl.statistics;
+
+import java.util.Arrays;
+
+/**
+ * Unveränderliche Auswertung der Preisverteilung einer oder mehrerer Kategorien, gebildet aus zwei
+ * {@link KllSketch}es: einer mit allen hinzugekommenen und einer mit allen entfernten Preisen. Der Rang eines Preises
+ * ist die Differenz der beiden Ränge.
+ * <p>
+ * Beide Skizzen tragen ihren Fehler bei: ein geschätzter Rang liegt mit 99 % Wahrscheinlichkeit höchstens
+ * {@link #rankError()} mal {@link #count()} neben dem exakten. Ein geschätztes Quantil ist ein tatsächlich
+ * vorgekommener Preis, dessen Rang entsprechend vom gewünschten abweicht; es kann auch ein inzwischen entfernter
+ * Preis sein. Kleinster und größter Preis werden deshalb nicht geschätzt, sondern exakt mitgegeben; alle Quantile
+ * liegen zwischen ihnen.
+ */
+public final class PriceDistribution {
+
+  static final PriceDistribution EMPTY = new PriceDistribution(new double[0], new long[0], 0, 0.0, Double.NaN,
+      Double.NaN);
+
+  /** Aufsteigende Preise. */
+  private final double[] values;
+  /** Geschätzte Anzahl der Preise {@code <= values[i]}. */
+  private final long[] ranks;
+  private final long count;
+  private final double rankError;
+  private final double min;
+  private final double max;
+
+  private PriceDistribution(double[] values, long[] ranks, long count, double rankError, double min, double max) {
+    this.values = values;
+    this.ranks = ranks;
+    this.count = count;
+    this.rankError = rankError;
+    this.min = min;
+    this.max = max;
+  }
+
+  /**
+   * @param min Der exakte kleinste Preis.
+   * @param max Der exakte größte Preis.
+   */
+  static PriceDistribution of(KllSketch added, KllSketch removed, double min, double max) {
+    long count = added.count() - removed.count();
+    if (count <= 0 || min > max) {
+      return EMPTY;
+    }
+    int size = added.retained() + removed.retained();
+    double[] values = new double[size];
+    long[] weights = new long[size];
+    int[] next = {0};
+    added.forEachItem((value, weight) -> {
+      values[next[0]] = value;
+      weights[next[0]++] = weight;
+    });
+    removed.forEachItem((value, weight) -> {
+      values[next[0]] = value;
+      weights[next[0]++] = -weight;
+    });
+    sortByValue(values, weights);
+
+    // Gleiche Preise zusammenfassen und kumulieren.
+    double[] distinct = new double[size];
+    long[] ranks = new long[size];
+    int distinctCount = 0;
+    long rank = 0;
+    for (int i = 0; i < size; i++) {
+      rank += weights[i];
+      if (distinctCount > 0 && distinct[distinctCount - 1] == values[i]) {
+        ranks[distinctCount - 1] = rank;
+      } else {
+        distinct[distinctCount] = values[i];
+        ranks[distinctCount++] = rank;
+      }
+    }
+    double rankError = added.exact() && removed.exact()
+        ? 0.0 : KllSketch.RANK_ERROR * (added.count() + removed.count()) / count;
+    return new PriceDistribution(Arrays.copyOf(distinct, distinctCount), Arrays.copyOf(ranks, distinctCount), count,
+        rankError, min, max);
+  }
+
+  /**
+   * @return Die Anzahl der Produkte mit Preis.
+   */
+  public long count() {
+    return count;
+  }
+
+  public boolean isEmpty() {
+    return count == 0;
+  }
+
+  /**
+   * @return Der normierte Rangfehler (Anteil an {@link #count()}), den Schätzungen mit 99 % Wahrscheinlichkeit
+   * einhalten; 0, solange die Skizzen noch exakt sind.
+   */
+  public double rankError() {
+    return rankError;
+  }
+
+  /**
+   * @return Der exakte kleinste Preis.
+   * @throws IllegalStateException wenn die Verteilung leer ist.
+   */
+  public double min() {
+    requireNotEmpty();
+    return min;
+  }
+
+  /**
+   * @return Der exakte größte Preis.
+   * @throws IllegalStateException wenn die Verteilung leer ist.
+   */
+  public double max() {
+    requireNotEmpty();
+    return max;
+  }
+
+  /**
+   * @param fraction Der Anteil zwischen 0 und 1, z.B. 0.5 für den Median.
+   * @return Der kleinste Preis, dessen geschätzter Rang mindestens {@code fraction * count()} ist, begrenzt auf
+   *     {@link #min()} bis {@link #max()}; für 0 und 1 genau diese.
+   * @throws IllegalStateException wenn die Verteilung leer ist.
+   */
+  public double quantile(double fraction) {
+    requireNotEmpty();
+    if (fraction <= 0) {
+      return min;
+    }
+    if (fraction >= 1) {
+      return max;
+    }
+    long target = (long) Math.ceil(fraction * count);
+    for (int i = 0; i < values.length; i++) {
+      if (ranks[i] >= target) {
+        return Math.min(max, Math.max(min, values[i]));
+      }
+    }
+    return max;
+  }
+
+  /**
+   * @return Die geschätzte Anzahl der Preise {@code <= price}, zwischen 0 und {@link #count()}.
+   */
+  public long rank(double price) {
+    int index = Arrays.binarySearch(values, price);
+    int last = index >= 0 ? index : -index - 2;
+    return last < 0 ? 0 : Math.max(0, Math.min(count, ranks[last]));
+  }
+
+  private void requireNotEmpty() {
+    if (isEmpty()) {
+      throw new IllegalStateException("Keine Preise vorhanden");
+    }
+  }
+
+  /**
+   * Sortiert beide Arrays gemeinsam nach {@code values}; die Skizzen halten nur wenige tausend Werte.
+   */
+  private static void sortByValue(double[] values, long[] weights) {
+    Integer[] order = new Integer[values.length];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (left, right) -> Double.compare(values[left], values[right]));
+    double[] sortedValues = new double[values.length];
+    long[] sortedWeights = new long[values.length];
+    for (int i = 0; i < order.length; i++) {
+      sortedValues[i] = values[order[i]];
+      sortedWeights[i] = weights[order[i]];
+    }
+    System.arraycopy(sortedValues, 0, values, 0, values.length);
+    System.arraycopy(sortedWeights, 0, weights, 0, weights.length);
+  }
+}
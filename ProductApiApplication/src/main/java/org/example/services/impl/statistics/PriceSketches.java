@@ -0,0 +1,298 @@
+package org.example.services.impl.statistics;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.example.database.event.BulkProductChange;
+import org.example.database.event.CatalogChangeListener;
+import org.example.database.event.CatalogChanges;
+import org.example.database.event.CategoryChange;
+import org.example.database.event.ChangeType;
+import org.example.database.event.ProductChange;
+import org.example.database.event.ProductState;
+import org.example.database.projection.ProductPriceRow;
+import org.example.database.repository.ProductRepository;
+import org.example.services.impl.statistics.CatalogColumns.PriceColumnStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hält pro Kategorie eine Skizze der Preisverteilung ({@link KllSketch}) für Median, Perzentile und Histogramme, ohne
+ * den Katalog bei jeder Anfrage sortieren zu müssen.
+ * <p>
+ * Die Skizzen werden beim Start aus den {@link CatalogColumns} aufgebaut und mit jeder committeten Änderung
+ * fortgeschrieben. Da sich aus einer KLL-Skizze nichts entfernen lässt, bekommt jede Kategorie eine zweite Skizze für
+ * entfernte Preise (Löschungen und die alten Preise geänderter Produkte). Beide Fehler addieren sich; sobald verdichtet
+ * wurde und die entfernten Preise ein Viertel der verbliebenen übersteigen, wird die Kategorie aus den Spalten neu
+ * aufgebaut. Der Rangfehler bleibt so unter dem Anderthalbfachen von {@link KllSketch#RANK_ERROR}.
+ * <p>
+ * Auswertungen über mehrere Kategorien oder den ganzen Katalog führen die Skizzen der Kategorien zusammen, statt Zeilen
+ * zu lesen. Nach Bulk-Statements für eine Kategorie wird diese neu aufgebaut, nach Bulk-Statements über einzelne IDs
+ * alles beim nächsten Lesen.
+ * <p>
+ * Da die Listener-Aufrufe verschiedener Commits gleichzeitig laufen, kann ein Stand der Spalten bereits Änderungen
+ * enthalten, die hier noch nicht angekommen sind. Jede Skizze merkt sich deshalb die
+ * {@linkplain CatalogColumns#version() Version} des Stands, aus dem sie aufgebaut wurde, und überspringt Änderungen,
+ * die darin schon enthalten sind.
+ * <p>
+ * Die Sperre dieses Objekts schützt nur die Zuordnung der Skizzen; Commits warten an ihr auf diesen Listener. Einmal
+ * eingetragene Skizzen werden deshalb nicht mehr verändert, sondern beim Fortschreiben kopiert (einmal pro Commit und
+ * Kategorie). Auswertungen übernehmen unter der Sperre nur die Referenzen und führen die Skizzen danach zusammen;
+ * Neuaufbauten rechnen ebenfalls ohne Sperre.
+ */
+@Component
+public class PriceSketches implements CatalogChangeListener {
+
+  private static final Logger log = LoggerFactory.getLogger(PriceSketches.class);
+  private static final int MAX_REMOVED_SHARE = 4;
+  private static final int PAGE_SIZE = 10_000;
+  private static final int OPTIMISTIC_REBUILD_ATTEMPTS = 3;
+
+  private final CatalogColumnStore columnStore;
+  private final ProductRepository productRepository;
+
+  /**
+   * Schlüssel {@code null} steht für Produkte ohne Kategorie. Zugriff nur unter der Sperre dieses Objekts; die
+   * eingetragenen Skizzen sind danach unveränderlich.
+   */
+  private Map<Long, CategorySketch> perCategory = new HashMap<>();
+  private boolean ready;
+  /** Version des Stands, aus dem zuletzt alle Skizzen aufgebaut wurden. */
+  private long builtFrom;
+
+  public PriceSketches(CatalogColumnStore columnStore, ProductRepository productRepository) {
+    this.columnStore = columnStore;
+    this.productRepository = productRepository;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    rebuild();
+  }
+
+  /**
+   * Baut alle Skizzen aus den Katalogspalten neu auf.
+   * <p>
+   * Gerechnet wird ohne Sperre; ist dabei eine neuere Änderung in den Spalten angekommen, hat dieser Listener sie
+   * womöglich schon verworfen, und der Versuch wird wiederholt. Bei anhaltender Schreiblast wird zuletzt unter der
+   * Sperre gerechnet.
+   */
+  public void rebuild() {
+    for (int attempt = 0; attempt < OPTIMISTIC_REBUILD_ATTEMPTS; attempt++) {
+      CatalogColumns columns = columnStore.snapshot();
+      Map<Long, CategorySketch> sketches = build(columns);
+      synchronized (this) {
+        // Änderungen erreichen die Skizzen erst nach den Spalten: gleiche Version heißt, keine kam dazwischen.
+        if (columnStore.snapshot().version() == columns.version()) {
+          install(sketches, columns.version());
+          return;
+        }
+      }
+    }
+    synchronized (this) {
+      CatalogColumns columns = columnStore.snapshot();
+      install(build(columns), columns.version());
+    }
+  }
+
+  private static Map<Long, CategorySketch> build(CatalogColumns columns) {
+    Map<Long, CategorySketch> sketches = new HashMap<>();
+    columns.forEachPrice((categoryId, price) ->
+        sketches.computeIfAbsent(categoryId, id -> new CategorySketch(columns.version())).add(price));
+    return sketches;
+  }
+
+  private void install(Map<Long, CategorySketch> sketches, long version) {
+    perCategory = sketches;
+    builtFrom = version;
+    ready = true;
+    log.info("Price sketches built: {} categories", sketches.size());
+  }
+
+  /**
+   * Kleinster und größter Preis stammen exakt aus dem aktuellen Stand der {@link CatalogColumns}.
+   *
+   * @param categoryIds Die Kategorien; leer für den gesamten Katalog einschließlich der Produkte ohne Kategorie.
+   */
+  public PriceDistribution distribution(Collection<Long> categoryIds) {
+    KllSketch added = new KllSketch();
+    KllSketch removed = new KllSketch();
+    for (CategorySketch sketch : select(categoryIds)) {
+      added.merge(sketch.added);
+      removed.merge(sketch.removed);
+    }
+    CatalogColumns columns = columnStore.snapshot();
+    PriceColumnStats range = categoryIds.isEmpty() ? columns.aggregate().total() : columns.aggregate(categoryIds);
+    return PriceDistribution.of(added, removed, range.minPrice(), range.maxPrice());
+  }
+
+  private List<CategorySketch> select(Collection<Long> categoryIds) {
+    while (true) {
+      synchronized (this) {
+        if (ready) {
+          return categoryIds.isEmpty() ? List.copyOf(perCategory.values())
+              : new HashSet<>(categoryIds).stream().map(perCategory::get).filter(Objects::nonNull).toList();
+        }
+      }
+      rebuild();
+    }
+  }
+
+  /**
+   * Baut die Verteilung direkt aus der Datenbank auf, in der Transaktion des Aufrufers. Nur für Transaktionen mit
+   * eigenen, noch nicht committeten Änderungen, die die Skizzen noch nicht kennen.
+   *
+   * @param categoryIds Die Kategorien; leer für den gesamten Katalog.
+   */
+  public PriceDistribution distributionFromDatabase(Collection<Long> categoryIds) {
+    Set<Long> selected = new HashSet<>(categoryIds);
+    KllSketch sketch = new KllSketch();
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
+    long afterId = 0;
+    List<ProductPriceRow> page;
+    do {
+      page = productRepository.findPriceRowsAfter(afterId, Limit.of(PAGE_SIZE));
+      for (ProductPriceRow row : page) {
+        if (row.price() != null && (selected.isEmpty() || selected.contains(row.categoryId()))) {
+          sketch.update(row.price());
+          min = Math.min(min, row.price());
+          max = Math.max(max, row.price());
+        }
+        afterId = row.productId();
+      }
+    } while (page.size() == PAGE_SIZE);
+    return PriceDistribution.of(sketch, new KllSketch(), min, max);
+  }
+
+  @Override
+  public synchronized void onCatalogChanges(CatalogChanges changes) {
+    if (!ready) {
+      return;
+    }
+    Set<Long> rebuilds = new HashSet<>();
+    Set<Long> copied = new HashSet<>();
+    for (ProductChange change : changes.productChanges()) {
+      if (!apply(changes, change, rebuilds, copied)) {
+        ready = false;
+        return;
+      }
+    }
+    for (BulkProductChange change : changes.bulkProductChanges()) {
+      if (change.categoryId() == null) {
+        // Die betroffenen Kategorien sind nicht bekannt: alles beim nächsten Lesen neu aufbauen.
+        ready = false;
+        return;
+      }
+      rebuilds.add(change.categoryId());
+    }
+    changes.categoryChanges().stream()
+        .filter(change -> change.type() == ChangeType.DELETED)
+        .map(CategoryChange::categoryId)
+        .forEach(categoryId -> {
+          rebuilds.remove(categoryId);
+          perCategory.remove(categoryId);
+        });
+    if (!rebuilds.isEmpty()) {
+      CatalogColumns columns = columnStore.snapshot();
+      for (Long categoryId : rebuilds) {
+        CategorySketch sketch = new CategorySketch(columns.version());
+        columns.forEachPrice(categoryId, sketch::add);
+        perCategory.put(categoryId, sketch);
+      }
+    }
+  }
+
+  /**
+   * @return false, wenn der alte Zustand eines geänderten Produkts unbekannt ist.
+   */
+  private boolean apply(CatalogChanges changes, ProductChange change, Set<Long> rebuilds, Set<Long> copied) {
+    ProductState before = change.before();
+    ProductState after = change.after();
+    if (change.type() != ChangeType.CREATED && before == null) {
+      return false;
+    }
+    if (before != null && after != null && Objects.equals(before.price(), after.price())
+        && Objects.equals(before.categoryId(), after.categoryId())) {
+      return true;
+    }
+    if (before != null && before.price() != null) {
+      CategorySketch sketch = perCategory.get(before.categoryId());
+      if (sketch != null && !changes.isCoveredBy(sketch.builtFrom)) {
+        sketch = writable(before.categoryId(), copied);
+        sketch.remove(before.price());
+        if (sketch.needsRebuild()) {
+          rebuilds.add(before.categoryId());
+        }
+      }
+    }
+    if (after != null && after.price() != null) {
+      CategorySketch sketch = perCategory.get(after.categoryId());
+      if (sketch == null || !changes.isCoveredBy(sketch.builtFrom)) {
+        writable(after.categoryId(), copied).add(after.price());
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Liefert die Skizze der Kategorie zum Fortschreiben; eine bereits eingetragene wird dafür einmal pro Commit
+   * kopiert, da laufende Auswertungen sie noch lesen können.
+   *
+   * @param copied Die Kategorien, deren Skizze in diesem Commit schon kopiert oder neu angelegt wurde.
+   */
+  private CategorySketch writable(Long categoryId, Set<Long> copied) {
+    CategorySketch sketch = perCategory.get(categoryId);
+    if (sketch != null && copied.contains(categoryId)) {
+      return sketch;
+    }
+    sketch = sketch == null ? new CategorySketch(builtFrom) : new CategorySketch(sketch);
+    perCategory.put(categoryId, sketch);
+    copied.add(categoryId);
+    return sketch;
+  }
+
+  private static final class CategorySketch {
+
+    private final KllSketch added;
+    private final KllSketch removed;
+    /** Version des Stands, aus dem die Skizze aufgebaut wurde; darin enthaltene Änderungen sind schon erfasst. */
+    private final long builtFrom;
+
+    CategorySketch(long builtFrom) {
+      this.added = new KllSketch();
+      this.removed = new KllSketch();
+      this.builtFrom = builtFrom;
+    }
+
+    CategorySketch(CategorySketch other) {
+      this.added = other.added.copy();
+      this.removed = other.removed.copy();
+      this.builtFrom = other.builtFrom;
+    }
+
+    void add(double price) {
+      added.update(price);
+    }
+
+    void remove(double price) {
+      removed.update(price);
+    }
+
+    /**
+     * Solange beide Skizzen exakt sind, ist auch die Differenz exakt.
+     */
+    boolean needsRebuild() {
+      return !(added.exact() && removed.exact())
+          && removed.count() * MAX_REMOVED_SHARE > added.count() - removed.count();
+    }
+  }
+}
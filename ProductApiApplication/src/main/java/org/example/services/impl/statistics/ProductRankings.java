@@ -0,0 +1,328 @@
+package org.example.services.impl.statistics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import org.example.database.event.BulkProductChange;
+import org.example.database.event.CatalogChangeListener;
+import org.example.database.event.CatalogChanges;
+import org.example.database.event.CategoryChange;
+import org.example.database.event.ChangeType;
+import org.example.database.event.ProductChange;
+import org.example.database.event.ProductState;
+import org.example.database.model.Product;
+import org.example.database.repository.ProductRepository;
+import org.example.dto.ProductDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hält pro Kategorie die {@link #CAPACITY} günstigsten und teuersten Produkte in sortierten, unveränderlichen Listen,
+ * damit Top-K-Abfragen weder sortieren noch die Datenbank lesen müssen.
+ * <p>
+ * Eine Liste wird beim ersten Zugriff aus der Datenbank geladen und danach über {@link CatalogChangeListener} mit jeder
+ * committeten Änderung fortgeschrieben: Neue oder umgepreiste Produkte werden einsortiert, wenn sie besser als das
+ * letzte Element sind, und verdrängen bei voller Liste das letzte. Gelöschte Produkte werden nur entfernt; die Liste
+ * bleibt dabei exakt, wird aber kürzer. Erst wenn eine Abfrage mehr Produkte braucht, als eine gekürzte Liste noch hat,
+ * wird sie aus der Datenbank nachgefüllt. Nach Bulk-Statements werden die betroffenen Listen verworfen.
+ * <p>
+ * Top-K über den gesamten Katalog entsteht per k-Wege-Merge über die Listen aller Kategorien. Pro Kategorie liegt ein
+ * unveränderliches {@link CategoryRankings} in einer {@link ConcurrentHashMap}; Lesezugriffe kommen ohne Sperre aus.
+ * Nachgeladene Listen werden nur übernommen, wenn seit dem Lesen keine Änderung an der Kategorie committet wurde.
+ */
+@Component
+public class ProductRankings implements CatalogChangeListener {
+
+  /** Die Länge jeder Liste und damit das größte K, das ohne Datenbankzugriff beantwortet wird. */
+  public static final int CAPACITY = 100;
+
+  private static final Logger log = LoggerFactory.getLogger(ProductRankings.class);
+  /** Schlüssel für Produkte ohne Kategorie; Kategorie-IDs werden ab 1 vergeben. */
+  private static final Long UNCATEGORIZED = 0L;
+
+  private final ProductRepository productRepository;
+  private final CatalogColumnStore columnStore;
+  private final ProductStatisticsCache statisticsCache;
+  private final TransactionTemplate readTransaction;
+
+  private final ConcurrentHashMap<Long, CategoryRankings> perCategory = new ConcurrentHashMap<>();
+  /** Wird erhöht, wenn Listen verworfen werden, deren Kategorie nicht bekannt ist; macht laufendes Nachladen ungültig. */
+  private final AtomicLong invalidations = new AtomicLong();
+
+  public ProductRankings(ProductRepository productRepository, CatalogColumnStore columnStore,
+      ProductStatisticsCache statisticsCache, PlatformTransactionManager transactionManager) {
+    this.productRepository = productRepository;
+    this.columnStore = columnStore;
+    this.statisticsCache = statisticsCache;
+    // Nachladen auch aus dem Listener heraus, der nach dem Commit noch in der abgeschlossenen Transaktion läuft.
+    this.readTransaction = new TransactionTemplate(transactionManager);
+    this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.readTransaction.setReadOnly(true);
+  }
+
+  /**
+   * @param categoryId Die Kategorie oder {@code null} für den gesamten Katalog.
+   * @return Die günstigsten Produkte mit Preis, aufsteigend nach Preis, bei gleichem Preis nach ID.
+   */
+  public List<ProductDTO> cheapest(Long categoryId, int limit) {
+    return top(Direction.CHEAPEST, categoryId, limit);
+  }
+
+  /**
+   * @param categoryId Die Kategorie oder {@code null} für den gesamten Katalog.
+   * @return Die teuersten Produkte, absteigend nach Preis, bei gleichem Preis nach ID.
+   */
+  public List<ProductDTO> mostExpensive(Long categoryId, int limit) {
+    return top(Direction.MOST_EXPENSIVE, categoryId, limit);
+  }
+
+  private List<ProductDTO> top(Direction direction, Long categoryId, int limit) {
+    if (limit > CAPACITY) {
+      // Länger als jede Liste: direkt aus der Datenbank.
+      return load(direction, categoryId, limit).stream().map(statisticsCache::toDto).toList();
+    }
+    List<ProductSummary> products = categoryId == null
+        ? merge(direction, limit) : ranking(direction, categoryId, limit).products();
+    return products.stream().limit(limit).map(statisticsCache::toDto).toList();
+  }
+
+  /**
+   * k-Wege-Merge über die Listen aller Kategorien. Jede Liste hat mindestens {@code limit} Einträge oder ist
+   * vollständig; das Ergebnis ist also exakt.
+   */
+  private List<ProductSummary> merge(Direction direction, int limit) {
+    List<Long> categoryIds = new ArrayList<>(columnStore.snapshot().categoryIds());
+    categoryIds.add(UNCATEGORIZED);
+    PriorityQueue<MergeCursor> heads = new PriorityQueue<>(categoryIds.size(),
+        Comparator.comparing(MergeCursor::head, direction.order));
+    for (Long categoryId : categoryIds) {
+      List<ProductSummary> products = ranking(direction, categoryId, limit).products();
+      if (!products.isEmpty()) {
+        heads.add(new MergeCursor(products, 0));
+      }
+    }
+    List<ProductSummary> merged = new ArrayList<>(limit);
+    while (merged.size() < limit && !heads.isEmpty()) {
+      MergeCursor cursor = heads.poll();
+      merged.add(cursor.head());
+      if (cursor.position() + 1 < cursor.products().size()) {
+        heads.add(new MergeCursor(cursor.products(), cursor.position() + 1));
+      }
+    }
+    return merged;
+  }
+
+  /**
+   * @return Die Liste der Kategorie mit mindestens {@code limit} Einträgen, sofern die Kategorie so viele hat; lädt
+   * sie bei Bedarf nach.
+   */
+  private Ranking ranking(Direction direction, Long categoryId, int limit) {
+    CategoryRankings observed = perCategory.get(categoryId);
+    Ranking ranking = observed == null ? null : observed.get(direction);
+    if (ranking != null && (ranking.products().size() >= limit || !ranking.truncated())) {
+      return ranking;
+    }
+    long observedVersion = observed == null ? 0 : observed.version();
+    long observedInvalidations = invalidations.get();
+    List<ProductSummary> products = load(direction, categoryId, CAPACITY);
+    Ranking loaded = new Ranking(products, products.size() == CAPACITY);
+    perCategory.compute(categoryId, (id, current) -> {
+      long currentVersion = current == null ? 0 : current.version();
+      if (currentVersion != observedVersion || invalidations.get() != observedInvalidations) {
+        // Inzwischen geändert: das Geladene nur für diese Abfrage verwenden.
+        return current;
+      }
+      return (current == null ? CategoryRankings.UNLOADED : current).with(direction, loaded);
+    });
+    return loaded;
+  }
+
+  private List<ProductSummary> load(Direction direction, Long categoryId, int limit) {
+    List<Product> products = readTransaction.execute(status -> direction.query(productRepository, categoryId,
+        Limit.of(limit)));
+    return products.stream().map(ProductRankings::toSummary).toList();
+  }
+
+  @Override
+  public void onCatalogChanges(CatalogChanges changes) {
+    for (ProductChange change : changes.productChanges()) {
+      if (change.type() != ChangeType.CREATED && change.before() == null) {
+        log.warn("Previous state of product {} unknown, product rankings will be reloaded", change.productId());
+        invalidateAll();
+        return;
+      }
+      if (change.before() != null) {
+        update(change.before().categoryId(), rankings -> rankings.without(change.productId()));
+      }
+      ProductState after = change.after();
+      if (after != null && after.price() != null) {
+        ProductSummary product = new ProductSummary(change.productId(), after.name(), after.price(),
+            after.categoryId());
+        update(after.categoryId(), rankings -> rankings.offer(product));
+      }
+    }
+    for (BulkProductChange change : changes.bulkProductChanges()) {
+      if (change.categoryId() == null) {
+        invalidateAll();
+        return;
+      }
+      update(change.categoryId(), rankings -> CategoryRankings.UNLOADED);
+    }
+    changes.categoryChanges().stream()
+        .filter(change -> change.type() == ChangeType.DELETED)
+        .map(CategoryChange::categoryId)
+        .forEach(categoryId -> {
+          invalidations.incrementAndGet();
+          perCategory.remove(categoryId);
+        });
+  }
+
+  /**
+   * Wendet eine Änderung auf die Listen einer Kategorie an und erhöht deren Version, auch wenn sie noch nicht geladen
+   * sind, damit gleichzeitig nachgeladene Listen verworfen werden.
+   */
+  private void update(Long categoryId, UnaryOperator<CategoryRankings> change) {
+    perCategory.compute(categoryId == null ? UNCATEGORIZED : categoryId, (id, current) -> {
+      CategoryRankings rankings = current == null ? CategoryRankings.UNLOADED : current;
+      return change.apply(rankings).withVersion(rankings.version() + 1);
+    });
+  }
+
+  private void invalidateAll() {
+    invalidations.incrementAndGet();
+    perCategory.replaceAll((categoryId, rankings) -> CategoryRankings.UNLOADED.withVersion(rankings.version() + 1));
+  }
+
+  private static ProductSummary toSummary(Product product) {
+    return new ProductSummary(product.getId(), product.getName(), product.getPrice(),
+        product.getCategory() == null ? null : product.getCategory().getId());
+  }
+
+  private enum Direction {
+
+    CHEAPEST(ProductSummary.CHEAPEST_FIRST) {
+      @Override
+      List<Product> query(ProductRepository repository, Long categoryId, Limit limit) {
+        if (categoryId == null) {
+          return repository.findByPriceNotNullOrderByPriceAscIdAsc(limit);
+        }
+        return UNCATEGORIZED.equals(categoryId)
+            ? repository.findByCategoryIsNullAndPriceNotNullOrderByPriceAscIdAsc(limit)
+            : repository.findByCategoryIdAndPriceNotNullOrderByPriceAscIdAsc(categoryId, limit);
+      }
+    },
+    MOST_EXPENSIVE(ProductSummary.MOST_EXPENSIVE_FIRST) {
+      @Override
+      List<Product> query(ProductRepository repository, Long categoryId, Limit limit) {
+        if (categoryId == null) {
+          return repository.findByPriceNotNullOrderByPriceDescIdAsc(limit);
+        }
+        return UNCATEGORIZED.equals(categoryId)
+            ? repository.findByCategoryIsNullAndPriceNotNullOrderByPriceDescIdAsc(limit)
+            : repository.findByCategoryIdAndPriceNotNullOrderByPriceDescIdAsc(categoryId, limit);
+      }
+    };
+
+    private final Comparator<ProductSummary> order;
+
+    Direction(Comparator<ProductSummary> order) {
+      this.order = order;
+    }
+
+    /**
+     * @param categoryId Die Kategorie, {@link #UNCATEGORIZED} oder {@code null} für den gesamten Katalog.
+     */
+    abstract List<Product> query(ProductRepository repository, Long categoryId, Limit limit);
+  }
+
+  /**
+   * Die ersten Produkte einer Kategorie in einer {@link Direction}.
+   *
+   * @param truncated true, wenn die Kategorie darüber hinaus weitere Produkte mit Preis haben kann.
+   */
+  private record Ranking(List<ProductSummary> products, boolean truncated) {
+
+    Ranking without(Long productId) {
+      if (products.stream().noneMatch(product -> product.id().equals(productId))) {
+        return this;
+      }
+      return new Ranking(products.stream().filter(product -> !product.id().equals(productId)).toList(), truncated);
+    }
+
+    /**
+     * Sortiert das Produkt ein, wenn es sicher zu den ersten gehört. Bei gekürzter Liste ist das nur der Fall, wenn es
+     * besser als das letzte Element ist; sonst könnten nicht geladene Produkte davor liegen.
+     */
+    Ranking offer(ProductSummary product, Comparator<ProductSummary> order) {
+      Ranking current = without(product.id());
+      List<ProductSummary> existing = current.products();
+      if (truncated && (existing.isEmpty() || order.compare(product, existing.get(existing.size() - 1)) >= 0)) {
+        return current;
+      }
+      List<ProductSummary> updated = new ArrayList<>(existing.size() + 1);
+      int position = 0;
+      while (position < existing.size() && order.compare(existing.get(position), product) < 0) {
+        position++;
+      }
+      updated.addAll(existing.subList(0, position));
+      updated.add(product);
+      updated.addAll(existing.subList(position, existing.size()));
+      if (updated.size() > CAPACITY) {
+        updated.remove(updated.size() - 1);
+        return new Ranking(List.copyOf(updated), true);
+      }
+      return new Ranking(List.copyOf(updated), truncated);
+    }
+  }
+
+  /**
+   * Beide Listen einer Kategorie; {@code null}, solange eine Liste nicht geladen ist.
+   *
+   * @param version Zählt die fortgeschriebenen Änderungen der Kategorie.
+   */
+  private record CategoryRankings(Ranking cheapest, Ranking mostExpensive, long version) {
+
+    static final CategoryRankings UNLOADED = new CategoryRankings(null, null, 0);
+
+    Ranking get(Direction direction) {
+      return direction == Direction.CHEAPEST ? cheapest : mostExpensive;
+    }
+
+    CategoryRankings with(Direction direction, Ranking ranking) {
+      return direction == Direction.CHEAPEST
+          ? new CategoryRankings(ranking, mostExpensive, version)
+          : new CategoryRankings(cheapest, ranking, version);
+    }
+
+    CategoryRankings withVersion(long newVersion) {
+      return new CategoryRankings(cheapest, mostExpensive, newVersion);
+    }
+
+    CategoryRankings without(Long productId) {
+      return new CategoryRankings(cheapest == null ? null : cheapest.without(productId),
+          mostExpensive == null ? null : mostExpensive.without(productId), version);
+    }
+
+    CategoryRankings offer(ProductSummary product) {
+      return new CategoryRankings(
+          cheapest == null ? null : cheapest.offer(product, Direction.CHEAPEST.order),
+          mostExpensive == null ? null : mostExpensive.offer(product, Direction.MOST_EXPENSIVE.order), version);
+    }
+  }
+
+  private record MergeCursor(List<ProductSummary> products, int position) {
+
+    ProductSummary head() {
+      return products.get(position);
+    }
+  }
+}
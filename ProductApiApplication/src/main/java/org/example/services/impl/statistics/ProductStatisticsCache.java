@@ -0,0 +1,391 @@
+package org.example.services.impl.statistics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import org.example.database.event.CatalogChangeListener;
+import org.example.database.event.CatalogChanges;
+import org.example.database.event.CategoryChange;
+import org.example.database.event.ChangeType;
+import org.example.database.event.ProductChange;
+import org.example.database.event.ProductState;
+import org.example.database.model.Product;
+import org.example.database.projection.CategoryPriceAggregate;
+import org.example.database.projection.PriceTotals;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
+import org.example.dto.ProductDTO;
+import org.example.services.impl.statistics.CatalogColumns.ColumnAggregates;
+import org.example.services.impl.statistics.CatalogColumns.PriceColumnStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Materialisierte Sicht auf die Produktstatistiken: Anzahl, Summe sowie günstigstes und teuerstes Produkt pro
+ * Kategorie und für den gesamten Katalog.
+ * <p>
+ * Die Sicht wird beim Start einmalig aus den {@link CatalogColumns} aufgebaut und danach über
+ * {@link CatalogChangeListener} mit jeder committeten Änderung fortgeschrieben. Nach Bulk-Statements und für
+ * veraltete Extremwerte wird erneut über die Spalten gerechnet, nicht in der Datenbank. Pro Kategorie liegt ein
+ * unveränderliches {@link PriceAggregate} in einer {@link ConcurrentHashMap}; Änderungen laufen über {@code compute},
+ * sperren also nur den Bucket der betroffenen Kategorie, und Lesezugriffe kommen ganz ohne Sperre aus.
+ * <p>
+ * Ein Neuaufbau kann Spalten lesen, die bereits Änderungen enthalten, deren Listener-Aufruf hier noch aussteht. Die
+ * Sicht merkt sich deshalb die {@linkplain CatalogColumns#version() Version} ihres Stands und überspringt Änderungen,
+ * die darin schon enthalten sind. Fortschreiben und das Austauschen der Maps schließen sich über eine
+ * Lese-Schreib-Sperre aus, damit keine neuere Änderung in den gerade ersetzten Maps verloren geht.
+ */
+@Component
+public class ProductStatisticsCache implements CatalogChangeListener {
+
+  private static final Logger log = LoggerFactory.getLogger(ProductStatisticsCache.class);
+  private static final double SUM_TOLERANCE = 1e-9;
+  private static final int OPTIMISTIC_REBUILD_ATTEMPTS = 3;
+
+  private final ProductRepository productRepository;
+  private final CategoryRepository categoryRepository;
+  private final CatalogColumnStore columnStore;
+
+  private volatile Map<Long, PriceAggregate> perCategory = new ConcurrentHashMap<>();
+  private volatile Map<Long, String> categoryNames = new ConcurrentHashMap<>();
+  private final AtomicReference<PriceAggregate> overall = new AtomicReference<>(PriceAggregate.EMPTY);
+  private volatile boolean ready;
+  /** Version der Katalogspalten, aus der die Sicht zuletzt aufgebaut wurde. */
+  private volatile long builtFrom;
+  /** Lesesperre zum Fortschreiben, Schreibsperre zum Austauschen der Maps. */
+  private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+  public ProductStatisticsCache(ProductRepository productRepository, CategoryRepository categoryRepository,
+      CatalogColumnStore columnStore) {
+    this.productRepository = productRepository;
+    this.categoryRepository = categoryRepository;
+    this.columnStore = columnStore;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    rebuild();
+  }
+
+  /**
+   * Baut die Sicht vollständig aus den Katalogspalten neu auf. Extremwerte werden erst beim ersten Lesen bestimmt.
+   * <p>
+   * Gerechnet wird ohne Sperre; ist dabei eine neuere Änderung in den Spalten angekommen, hat sie womöglich schon die
+   * alten Maps fortgeschrieben, und der Versuch wird wiederholt. Bei anhaltender Schreiblast wird zuletzt unter der
+   * Schreibsperre gerechnet; Commits warten dann so lange auf diesen Listener.
+   */
+  public synchronized void rebuild() {
+    for (int attempt = 0; attempt < OPTIMISTIC_REBUILD_ATTEMPTS; attempt++) {
+      CatalogColumns columns = columnStore.snapshot();
+      Rebuilt rebuilt = aggregate(columns);
+      rebuildLock.writeLock().lock();
+      try {
+        // Änderungen erreichen diese Sicht erst nach den Spalten: gleiche Version heißt, keine kam dazwischen.
+        if (columnStore.snapshot().version() == columns.version()) {
+          install(rebuilt, columns.version());
+          return;
+        }
+      } finally {
+        rebuildLock.writeLock().unlock();
+      }
+    }
+    rebuildLock.writeLock().lock();
+    try {
+      CatalogColumns columns = columnStore.snapshot();
+      install(aggregate(columns), columns.version());
+    } finally {
+      rebuildLock.writeLock().unlock();
+    }
+  }
+
+  private Rebuilt aggregate(CatalogColumns columns) {
+    Map<Long, String> names = new ConcurrentHashMap<>();
+    categoryRepository.findAll().forEach(category -> names.put(category.getId(), category.getName()));
+
+    ColumnAggregates aggregates = columns.aggregate();
+    Map<Long, PriceAggregate> perCategory = new ConcurrentHashMap<>();
+    aggregates.perCategory().forEach((categoryId, stats) -> perCategory.put(categoryId,
+        PriceAggregate.seeded(stats.productCount(), stats.pricedCount(), stats.priceSum())));
+    PriceColumnStats totals = aggregates.total();
+    return new Rebuilt(names, perCategory,
+        PriceAggregate.seeded(totals.productCount(), totals.pricedCount(), totals.priceSum()));
+  }
+
+  private void install(Rebuilt rebuilt, long version) {
+    categoryNames = rebuilt.categoryNames();
+    perCategory = rebuilt.perCategory();
+    overall.set(rebuilt.overall());
+    builtFrom = version;
+    ready = true;
+    log.info("Product statistics cache built: {} categories, {} products", rebuilt.categoryNames().size(),
+        rebuilt.overall().productCount());
+  }
+
+  /**
+   * @return true, wenn die Sicht aufgebaut ist; baut sie bei Bedarf synchron neu auf.
+   */
+  public boolean ensureReady() {
+    if (!ready) {
+      rebuild();
+    }
+    return ready;
+  }
+
+  public boolean containsCategory(Long categoryId) {
+    return categoryId != null && categoryNames.containsKey(categoryId);
+  }
+
+  public Map<String, Long> countProductsPerCategory() {
+    Map<Long, String> names = categoryNames;
+    Map<String, Long> counts = new HashMap<>();
+    perCategory.forEach((categoryId, aggregate) -> {
+      String name = names.get(categoryId);
+      if (name != null && aggregate.productCount() > 0) {
+        counts.put(name, aggregate.productCount());
+      }
+    });
+    return counts;
+  }
+
+  public double averagePrice() {
+    return overall.get().averagePrice();
+  }
+
+  public double averagePrice(Long categoryId) {
+    return perCategory.getOrDefault(categoryId, PriceAggregate.EMPTY).averagePrice();
+  }
+
+  public Optional<ProductDTO> mostExpensiveProduct() {
+    PriceAggregate aggregate = overall.get();
+    if (aggregate.extremesStale()) {
+      aggregate = refreshOverallExtremes(aggregate);
+    }
+    return Optional.ofNullable(aggregate.mostExpensive()).map(this::toDto);
+  }
+
+  public Optional<ProductDTO> cheapestProduct(Long categoryId) {
+    PriceAggregate aggregate = perCategory.get(categoryId);
+    if (aggregate == null) {
+      return Optional.empty();
+    }
+    if (aggregate.extremesStale()) {
+      aggregate = refreshCategoryExtremes(categoryId, aggregate);
+    }
+    return Optional.ofNullable(aggregate.cheapest()).map(this::toDto);
+  }
+
+  @Override
+  public void onCatalogChanges(CatalogChanges changes) {
+    rebuildLock.readLock().lock();
+    try {
+      if (!changes.isCoveredBy(builtFrom)) {
+        apply(changes);
+      }
+    } finally {
+      rebuildLock.readLock().unlock();
+    }
+  }
+
+  private void apply(CatalogChanges changes) {
+    if (!changes.bulkProductChanges().isEmpty()) {
+      // Ohne Einzelzustände lässt sich die Sicht nicht fortschreiben; sie wird beim nächsten Lesen neu aufgebaut.
+      log.info("{} bulk product changes committed, statistics cache will be rebuilt",
+          changes.bulkProductChanges().size());
+      ready = false;
+      return;
+    }
+    Map<Long, String> names = categoryNames;
+    changes.categoryChanges().stream()
+        .filter(change -> change.type() != ChangeType.DELETED)
+        .forEach(change -> names.put(change.categoryId(), change.name()));
+    changes.productChanges().forEach(this::apply);
+    changes.categoryChanges().stream()
+        .filter(change -> change.type() == ChangeType.DELETED)
+        .map(CategoryChange::categoryId)
+        .forEach(categoryId -> {
+          names.remove(categoryId);
+          perCategory.remove(categoryId);
+        });
+  }
+
+  /**
+   * Vergleicht die Sicht mit den Aggregaten der Datenbank. Bei gleichzeitigen Schreibzugriffen können kurzzeitig
+   * Abweichungen gemeldet werden, die sich mit dem nächsten Commit wieder auflösen.
+   */
+  public StatisticsConsistencyReport checkConsistency() {
+    List<String> mismatches = new ArrayList<>();
+    Map<Long, PriceAggregate> cached = perCategory;
+    Map<Long, String> names = categoryNames;
+    Set<Long> categoriesInDatabase = new HashSet<>();
+
+    for (CategoryPriceAggregate expected : productRepository.aggregatePricesPerCategory()) {
+      categoriesInDatabase.add(expected.categoryId());
+      String scope = "Kategorie " + expected.categoryId();
+      if (!expected.categoryName().equals(names.get(expected.categoryId()))) {
+        mismatches.add(scope + ": Name '" + names.get(expected.categoryId()) + "' (Cache) != '"
+            + expected.categoryName() + "' (Datenbank)");
+      }
+      compare(scope, cached.getOrDefault(expected.categoryId(), PriceAggregate.EMPTY), expected.productCount(),
+          expected.pricedCount(), expected.priceSum(), expected.minPrice(), expected.maxPrice(), mismatches);
+    }
+    cached.forEach((categoryId, aggregate) -> {
+      if (!categoriesInDatabase.contains(categoryId) && aggregate.productCount() > 0) {
+        mismatches.add("Kategorie " + categoryId + ": " + aggregate.productCount()
+            + " Produkte im Cache, keine in der Datenbank");
+      }
+    });
+
+    PriceTotals totals = productRepository.aggregatePriceTotals();
+    compare("Gesamt", overall.get(), totals.productCount(), totals.pricedCount(), totals.priceSum(),
+        totals.minPrice(), totals.maxPrice(), mismatches);
+
+    if (!mismatches.isEmpty()) {
+      log.warn("Product statistics cache deviates from database: {}", mismatches);
+    }
+    return new StatisticsConsistencyReport(mismatches.isEmpty(), List.copyOf(mismatches));
+  }
+
+  private void apply(ProductChange change) {
+    switch (change.type()) {
+      case CREATED -> add(change.productId(), change.after());
+      case DELETED -> remove(change.productId(), change.before());
+      case UPDATED -> {
+        if (change.before() == null) {
+          log.warn("Previous state of product {} unknown, statistics cache will be rebuilt", change.productId());
+          ready = false;
+          return;
+        }
+        remove(change.productId(), change.before());
+        add(change.productId(), change.after());
+      }
+    }
+  }
+
+  private void add(Long productId, ProductState state) {
+    ProductSummary product = new ProductSummary(productId, state.name(), state.price(), state.categoryId());
+    overall.updateAndGet(aggregate -> aggregate.withAdded(product));
+    if (state.categoryId() != null) {
+      perCategory.compute(state.categoryId(),
+          (categoryId, aggregate) -> (aggregate == null ? PriceAggregate.EMPTY : aggregate).withAdded(product));
+    }
+  }
+
+  private void remove(Long productId, ProductState state) {
+    ProductSummary product = new ProductSummary(productId, state.name(), state.price(), state.categoryId());
+    overall.updateAndGet(aggregate -> aggregate.withRemoved(product));
+    if (state.categoryId() != null) {
+      perCategory.computeIfPresent(state.categoryId(), (categoryId, aggregate) -> {
+        PriceAggregate updated = aggregate.withRemoved(product);
+        return updated.productCount() > 0 ? updated : null;
+      });
+    }
+  }
+
+  private PriceAggregate refreshOverallExtremes(PriceAggregate observed) {
+    PriceColumnStats stats = columnStore.snapshot().aggregate().total();
+    Map<Long, ProductSummary> loaded = loadExtremes(stats);
+    PriceAggregate refreshed = observed.withExtremes(
+        extreme(loaded, stats.cheapestId(), productRepository::findFirstByPriceNotNullOrderByPriceAscIdAsc),
+        extreme(loaded, stats.mostExpensiveId(), productRepository::findFirstByPriceNotNullOrderByPriceDescIdAsc));
+    overall.compareAndSet(observed, refreshed);
+    return refreshed;
+  }
+
+  private PriceAggregate refreshCategoryExtremes(Long categoryId, PriceAggregate observed) {
+    PriceColumnStats stats = columnStore.snapshot().aggregate(List.of(categoryId));
+    Map<Long, ProductSummary> loaded = loadExtremes(stats);
+    PriceAggregate refreshed = observed.withExtremes(
+        extreme(loaded, stats.cheapestId(),
+            () -> productRepository.findFirstByCategoryIdAndPriceNotNullOrderByPriceAscIdAsc(categoryId)),
+        extreme(loaded, stats.mostExpensiveId(),
+            () -> productRepository.findFirstByCategoryIdAndPriceNotNullOrderByPriceDescIdAsc(categoryId)));
+    perCategory.replace(categoryId, observed, refreshed);
+    return refreshed;
+  }
+
+  /**
+   * Lädt das günstigste und das teuerste Produkt aus den Spalten in einer Abfrage.
+   */
+  private Map<Long, ProductSummary> loadExtremes(PriceColumnStats stats) {
+    if (stats.cheapestId() == null) {
+      return Map.of();
+    }
+    Map<Long, ProductSummary> loaded = new HashMap<>();
+    productRepository.findAllWithCategoryByIdIn(List.of(stats.cheapestId(), stats.mostExpensiveId()))
+        .forEach(product -> loaded.put(product.getId(), toSummary(product)));
+    return loaded;
+  }
+
+  /**
+   * Wurde das in den Spalten ermittelte Produkt seit deren Stand gelöscht oder sein Preis entfernt, wird stattdessen in
+   * der Datenbank gesucht.
+   */
+  private static ProductSummary extreme(Map<Long, ProductSummary> loaded, Long productId,
+      Supplier<Optional<Product>> query) {
+    if (productId == null) {
+      return null;
+    }
+    return Optional.ofNullable(loaded.get(productId))
+        .filter(product -> product.price() != null)
+        .or(() -> query.get().map(ProductStatisticsCache::toSummary))
+        .orElse(null);
+  }
+
+  private static void compare(String scope, PriceAggregate cached, long productCount, long pricedCount,
+      Double priceSum, Double minPrice, Double maxPrice, List<String> mismatches) {
+    if (cached.productCount() != productCount) {
+      mismatches.add(scope + ": Anzahl " + cached.productCount() + " (Cache) != " + productCount + " (Datenbank)");
+    }
+    if (cached.pricedCount() != pricedCount) {
+      mismatches.add(scope + ": Anzahl mit Preis " + cached.pricedCount() + " (Cache) != " + pricedCount
+          + " (Datenbank)");
+    }
+    double expectedSum = priceSum == null ? 0.0 : priceSum;
+    if (Math.abs(cached.priceSum() - expectedSum) > SUM_TOLERANCE * Math.max(1.0, Math.abs(expectedSum))) {
+      mismatches.add(scope + ": Preissumme " + cached.priceSum() + " (Cache) != " + expectedSum + " (Datenbank)");
+    }
+    if (!cached.extremesStale()) {
+      Double cachedMin = cached.cheapest() == null ? null : cached.cheapest().price();
+      Double cachedMax = cached.mostExpensive() == null ? null : cached.mostExpensive().price();
+      if (!Objects.equals(cachedMin, minPrice)) {
+        mismatches.add(scope + ": Minimum " + cachedMin + " (Cache) != " + minPrice + " (Datenbank)");
+      }
+      if (!Objects.equals(cachedMax, maxPrice)) {
+        mismatches.add(scope + ": Maximum " + cachedMax + " (Cache) != " + maxPrice + " (Datenbank)");
+      }
+    }
+  }
+
+  ProductDTO toDto(ProductSummary product) {
+    ProductDTO dto = new ProductDTO();
+    dto.setId(product.id());
+    dto.setName(product.name());
+    dto.setPrice(product.price());
+    dto.setCategoryId(product.categoryId());
+    dto.setCategoryName(product.categoryId() == null ? null : categoryNames.get(product.categoryId()));
+    return dto;
+  }
+
+  private static ProductSummary toSummary(Product product) {
+    return new ProductSummary(product.getId(), product.getName(), product.getPrice(),
+        product.getCategory() == null ? null : product.getCategory().getId());
+  }
+
+  private record Rebuilt(Map<Long, String> categoryNames, Map<Long, PriceAggregate> perCategory,
+      PriceAggregate overall) {
+
+  }
+}
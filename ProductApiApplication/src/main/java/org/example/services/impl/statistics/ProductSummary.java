@@ -0,0 +1,21 @@
+package org.example.services.impl.statistics;
+
+import java.util.Comparator;
+
+/**
+ * Unveränderliche Kopie der Produktfelder, die für Statistik-Antworten ohne Datenbankzugriff benötigt werden.
+ */
+record ProductSummary(
+    Long id,
+    String name,
+    Double price,
+    Long categoryId
+) {
+
+  static final Comparator<ProductSummary> CHEAPEST_FIRST = Comparator.comparing(ProductSummary::price)
+      .thenComparing(ProductSummary::id);
+
+  static final Comparator<ProductSummary> MOST_EXPENSIVE_FIRST = Comparator.comparing(ProductSummary::price)
+      .reversed()
+      .thenComparing(ProductSummary::id);
+}
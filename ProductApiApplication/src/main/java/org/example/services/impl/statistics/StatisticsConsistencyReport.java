@@ -0,0 +1,16 @@
+package org.example.services.impl.statistics;
+
+import java.util.List;
+
+/**
+ * Ergebnis des Abgleichs zwischen {@link ProductStatisticsCache} und der Datenbank.
+ *
+ * @param consistent true, wenn keine Abweichungen gefunden wurden.
+ * @param mismatches Lesbare Beschreibung jeder gefundenen Abweichung.
+ */
+public record StatisticsConsistencyReport(
+    boolean consistent,
+    List<String> mismatches
+) {
+
+}
@@ -0,0 +1,31 @@
+package org.example.services.pricing;
+
+import org.example.dto.DiscountRulesStatusDTO;
+
+/**
+ * Verwaltung der Rabatt-Regeltabelle, aus der der {@link DiscountService} seine Rabatte bezieht.
+ */
+public interface DiscountRuleService {
+
+  /**
+   * Liest die Regeltabelle neu ein und aktiviert sie atomar. Ist die Tabelle fehlerhaft, bleibt der bisherige Stand
+   * aktiv.
+   *
+   * @return Der Stand der neu aktivierten Regeln.
+   * @throws org.example.exception.InvalidDiscountRulesException wenn die Regeltabelle nicht gelesen werden kann.
+   */
+  DiscountRulesStatusDTO reloadRules();
+
+  /**
+   * @return Die Version des aktiven Regelstands. Sie steigt mit jedem Austausch.
+   */
+  long rulesVersion();
+
+  /**
+   * @param categoryId   Die Kategorie oder {@code null}.
+   * @param categoryName Ihr Name; nur nötig, solange die Kategorie noch nicht committet ist.
+   * @return Eine Prüfsumme der Regeln, die für die Kategorie gelten. Sie ändert sich genau dann, wenn sich diese Regeln
+   * ändern, und ist anders als {@link #rulesVersion()} über Neustarts und Instanzen hinweg stabil.
+   */
+  long rulesFingerprint(Long categoryId, String categoryName);
+}
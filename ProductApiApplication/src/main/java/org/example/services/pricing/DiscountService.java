@@ -1,5 +1,8 @@
 package org.example.services.pricing;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import org.example.database.model.Product;
 import org.example.model.DiscountInfo;
 
@@ -15,4 +18,19 @@ public interface DiscountService {
    * @return DiscountInfo Objekt, das den Rabatt beschreibt (Typ und Wert).
    */
   DiscountInfo getDiscount(Product product);
+
+  /**
+   * Ermittelt die gültigen Rabatte für mehrere Produkte auf einmal. Implementierungen, die Rabatte aus externen Quellen
+   * laden, sollten diese Methode überschreiben und die Daten gebündelt abfragen.
+   *
+   * @param products Die Produkte, für die Rabatte ermittelt werden sollen.
+   * @return Die Rabatte, nach Produkt-ID.
+   */
+  default Map<Long, DiscountInfo> getDiscounts(Collection<Product> products) {
+    Map<Long, DiscountInfo> discounts = new HashMap<>(Math.max(16, products.size() * 2));
+    for (Product product : products) {
+      discounts.put(product.getId(), getDiscount(product));
+    }
+    return discounts;
+  }
 }
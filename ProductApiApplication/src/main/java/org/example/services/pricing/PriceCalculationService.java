@@ -1,5 +1,7 @@
 package org.example.services.pricing;
 
+import java.util.Collection;
+import java.util.Map;
 import org.example.dto.PriceDetailsDTO;
 
 /**
@@ -16,4 +18,35 @@ public interface PriceCalculationService {
    * @throws IllegalArgumentException                        wenn das Produkt einen ungültigen Basispreis hat (z.B. null oder negativ).
    */
   PriceDetailsDTO calculatePriceDetails(Long productId);
+
+  /**
+   * Berechnet die detaillierten Preisinformationen für mehrere Produkte. Produkte und Kategorien werden gebündelt
+   * geladen, Rabatte und Steuersätze gebündelt ermittelt.
+   *
+   * @param productIds Die IDs der Produkte. Doppelte IDs und {@code null} werden ignoriert.
+   * @return Die Preisinformationen nach Produkt-ID, in der Reihenfolge der übergebenen IDs. Nicht gefundene Produkte
+   * fehlen in der Map.
+   * @throws IllegalArgumentException wenn eines der Produkte einen ungültigen Basispreis hat (z.B. null oder negativ).
+   */
+  Map<Long, PriceDetailsDTO> calculatePriceDetails(Collection<Long> productIds);
+
+  /**
+   * Ermittelt den Stand der Preisinformationen eines Produkts, ohne sie zu berechnen.
+   *
+   * @param productId Die ID des Produkts.
+   * @return Der aktuelle Stand.
+   * @throws org.example.exception.ResourceNotFoundException wenn das Produkt nicht gefunden wird.
+   */
+  PriceVersion getPriceVersion(Long productId);
+
+  /**
+   * Berechnet die Preisinformationen wie {@link #calculatePriceDetails(Collection)} und liefert zu jedem Produkt den
+   * Stand, aus dem sie berechnet wurden. Die Produkte werden dafür immer aus der Datenbank gelesen.
+   *
+   * @param productIds Die IDs der Produkte. Doppelte IDs und {@code null} werden ignoriert.
+   * @return Die Preisinformationen mit Stand nach Produkt-ID, in der Reihenfolge der übergebenen IDs. Nicht gefundene
+   * Produkte fehlen in der Map.
+   * @throws IllegalArgumentException wenn eines der Produkte einen ungültigen Basispreis hat (z.B. null oder negativ).
+   */
+  Map<Long, VersionedPriceDetails> calculateVersionedPriceDetails(Collection<Long> productIds);
 }
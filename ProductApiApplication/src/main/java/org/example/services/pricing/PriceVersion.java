@@ -0,0 +1,17 @@
+package org.example.services.pricing;
+
+/**
+ * Der Stand, aus dem die Preisinformationen eines Produkts berechnet werden. Solange er sich nicht ändert, ändern sich
+ * auch die Preisinformationen nicht.
+ *
+ * @param productVersion   Die Version des Produkts (Preis und Kategorie).
+ * @param rulesFingerprint Die Prüfsumme der Regeln, die für die Kategorie gelten.
+ * @param pricingDay       Der Stichtag als Epochentag, da Rabattregeln datumsabhängig sind.
+ */
+public record PriceVersion(
+    long productVersion,
+    long rulesFingerprint,
+    long pricingDay
+) {
+
+}
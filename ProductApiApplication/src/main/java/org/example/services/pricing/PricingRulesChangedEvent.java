@@ -0,0 +1,16 @@
+package org.example.services.pricing;
+
+import java.util.Set;
+
+/**
+ * Wird veröffentlicht, nachdem ein neuer Stand der Rabattregeln aktiv geworden ist.
+ *
+ * @param version              Die Version des neuen Regelstands.
+ * @param affectedCategoryIds  Die Kategorien, deren Rabatte sich geändert haben können.
+ */
+public record PricingRulesChangedEvent(
+    long version,
+    Set<Long> affectedCategoryIds
+) {
+
+}
@@ -0,0 +1,45 @@
+package org.example.services.pricing;
+
+import java.util.List;
+import org.example.dto.RepriceJobDTO;
+
+/**
+ * Berechnet die Preisinformationen des ganzen Katalogs in einem Hintergrundjob neu, z.B. nach einer Änderung von
+ * Rabattregeln oder Steuersätzen.
+ */
+public interface RepriceJobService {
+
+  /**
+   * Startet einen Job über alle derzeit vorhandenen Produkte.
+   *
+   * @throws org.example.exception.RepriceJobStateException wenn bereits ein Job läuft.
+   */
+  RepriceJobDTO startJob();
+
+  /**
+   * @throws org.example.exception.ResourceNotFoundException wenn der Job nicht existiert.
+   */
+  RepriceJobDTO getJob(Long jobId);
+
+  /**
+   * @return Die letzten Jobs, neueste zuerst.
+   */
+  List<RepriceJobDTO> getJobs();
+
+  /**
+   * Bricht einen laufenden Job ab. Bereits begonnene Partitionen werden noch geschrieben; der Job kann später ab
+   * seinem Checkpoint fortgesetzt werden.
+   *
+   * @throws org.example.exception.ResourceNotFoundException wenn der Job nicht existiert.
+   * @throws org.example.exception.RepriceJobStateException wenn der Job nicht läuft.
+   */
+  RepriceJobDTO cancelJob(Long jobId);
+
+  /**
+   * Setzt einen abgebrochenen, fehlgeschlagenen oder unterbrochenen Job ab seinem Checkpoint fort.
+   *
+   * @throws org.example.exception.ResourceNotFoundException wenn der Job nicht existiert.
+   * @throws org.example.exception.RepriceJobStateException wenn der Job abgeschlossen ist oder bereits ein Job läuft.
+   */
+  RepriceJobDTO resumeJob(Long jobId);
+}
@@ -1,5 +1,8 @@
 package org.example.services.pricing;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import org.example.database.model.Product;
 
 /**
@@ -14,4 +17,18 @@ public interface TaxService {
    * @return Der Steuersatz als Dezimalzahl (z.B. 0.19 für 19%).
    */
   double getTaxRate(Product product);
+
+  /**
+   * Ermittelt die Steuersätze für mehrere Produkte auf einmal.
+   *
+   * @param products Die Produkte.
+   * @return Die Steuersätze als Dezimalzahl, nach Produkt-ID.
+   */
+  default Map<Long, Double> getTaxRates(Collection<Product> products) {
+    Map<Long, Double> taxRates = new HashMap<>(Math.max(16, products.size() * 2));
+    for (Product product : products) {
+      taxRates.put(product.getId(), getTaxRate(product));
+    }
+    return taxRates;
+  }
 }
@@ -0,0 +1,16 @@
+package org.example.services.pricing;
+
+import org.example.dto.PriceDetailsDTO;
+
+/**
+ * Preisinformationen zusammen mit dem Stand, aus dem sie berechnet wurden.
+ *
+ * @param priceDetails Die Preisinformationen.
+ * @param version      Der Stand; er wurde vor der Berechnung ermittelt und ist damit nie neuer als die Preise.
+ */
+public record VersionedPriceDetails(
+    PriceDetailsDTO priceDetails,
+    PriceVersion version
+) {
+
+}
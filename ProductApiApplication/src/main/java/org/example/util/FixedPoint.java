@@ -0,0 +1,63 @@
+package org.example.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Umrechnung von {@code double}-Beträgen in ganzzahlige Cent-Werte ohne Objekt-Allokation.
+ * <p>
+ * Gerundet wird exakt wie {@code BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP)}, also kaufmännisch auf
+ * Basis der kürzesten Dezimaldarstellung des Werts (so rundet auch {@code String.format("%.2f", value)}). Nur wenn der
+ * Wert so nah an einer Rundungsgrenze liegt, dass die Gleitkomma-Rechnung nicht eindeutig ist, wird auf
+ * {@link BigDecimal} zurückgegriffen.
+ */
+public final class FixedPoint {
+
+  /**
+   * Oberhalb dieses Betrags ist {@code value * 100} nicht mehr exakt als {@code long} darstellbar.
+   */
+  private static final double MAX_FAST_ABS = 1e13;
+
+  private FixedPoint() {
+  }
+
+  /**
+   * @return Der auf zwei Nachkommastellen gerundete Betrag in Cent.
+   * @throws NumberFormatException wenn {@code value} NaN oder unendlich ist (wie {@link BigDecimal#valueOf(double)}).
+   * @throws ArithmeticException   wenn der Betrag nicht in einen {@code long} passt.
+   */
+  public static long toCentsHalfUp(double value) {
+    if (!(Math.abs(value) < MAX_FAST_ABS)) {
+      return toCentsExact(value);
+    }
+    double scaled = Math.abs(value) * 100.0;
+    double floor = Math.floor(scaled);
+    double fraction = scaled - floor;
+    // Die kürzeste Dezimaldarstellung und das Produkt weichen jeweils um weniger als ein ulp vom exakten Wert ab.
+    if (Math.abs(fraction - 0.5) <= 8 * Math.ulp(scaled)) {
+      return toCentsExact(value);
+    }
+    long cents = (long) floor + (fraction > 0.5 ? 1 : 0);
+    return value < 0 ? -cents : cents;
+  }
+
+  /**
+   * Hängt einen Cent-Betrag im Format {@code 1234.50} an, ohne Zwischenobjekte zu erzeugen.
+   */
+  public static void appendCents(StringBuilder target, long cents) {
+    if (cents < 0) {
+      target.append('-');
+      cents = -cents;
+    }
+    long fraction = cents % 100;
+    target.append(cents / 100).append('.');
+    if (fraction < 10) {
+      target.append('0');
+    }
+    target.append(fraction);
+  }
+
+  private static long toCentsExact(double value) {
+    return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+  }
+}
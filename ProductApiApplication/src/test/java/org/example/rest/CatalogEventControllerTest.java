@@ -0,0 +1,153 @@
+package org.example.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.example.database.model.Product;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
+import org.example.services.impl.events.CatalogEventRelay;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Bewusst ohne @Transactional: Ereignisse entstehen erst mit dem Commit.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class CatalogEventControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  @Autowired
+  private CatalogEventRelay relay;
+
+  private long start;
+
+  @BeforeEach
+  void setUp() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+    relay.relay();
+    start = relay.head();
+    productRepository.save(new Product(null, "Monitor", 300.0, null));
+    productRepository.save(new Product(null, "Mouse", 20.0, null));
+    relay.relay();
+  }
+
+  @AfterEach
+  void tearDown() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+  }
+
+  @Test
+  void testGetEvents() throws Exception {
+    mockMvc.perform(get("/api/v1/catalog-events").param("after", cursor(start)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].id").value(start + 1))
+        .andExpect(jsonPath("$[0].cursor").value(cursor(start + 1)))
+        .andExpect(jsonPath("$[0].type").value("PRODUCT_CREATED"))
+        .andExpect(jsonPath("$[0].data.name").value("Monitor"))
+        .andExpect(jsonPath("$[1].data.price").value(20.0));
+    mockMvc.perform(get("/api/v1/catalog-events").param("after", cursor(start + 1)).param("limit", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].data.name").value("Mouse"));
+    mockMvc.perform(get("/api/v1/catalog-events").param("limit", "0"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void testStreamResumesAfterLastEventId() throws Exception {
+    MvcResult result = mockMvc.perform(get("/api/v1/catalog-events/stream")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .header("Last-Event-ID", cursor(start + 1)))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    String body = awaitContent(result.getResponse(), "\"name\":\"Mouse\"");
+    assertThat(body).contains("id:" + cursor(start + 2)).contains("event:catalog-events").doesNotContain("Monitor");
+
+    // Neue Änderungen kommen über dieselbe Verbindung.
+    productRepository.save(new Product(null, "Cable", 5.0, null));
+    body = awaitContent(result.getResponse(), "\"name\":\"Cable\"");
+    assertThat(body).contains("id:" + cursor(start + 3));
+  }
+
+  @Test
+  void testStreamRequestsResyncForUnknownPosition() throws Exception {
+    MvcResult result = mockMvc.perform(get("/api/v1/catalog-events/stream")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .param("lastEventId", cursor(start + 1000)))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    assertThat(awaitContent(result.getResponse(), "data:" + cursor(start + 2)))
+        .contains("id:" + cursor(start + 2), "event:resync");
+    mockMvc.perform(get("/api/v1/catalog-events/stream").header("Last-Event-ID", "-1"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void testPositionFromEarlierStreamRequestsResync() throws Exception {
+    // Dieselbe Position nach dem Zurücksetzen der Datenbank: ohne Epoche nicht von einer gültigen zu unterscheiden.
+    String earlierStream = "0-" + (start + 1);
+    MvcResult result = mockMvc.perform(get("/api/v1/catalog-events/stream")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .header("Last-Event-ID", earlierStream))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    assertThat(awaitContent(result.getResponse(), "event:resync")).contains("data:" + cursor(start + 2))
+        .doesNotContain("Mouse");
+
+    result = mockMvc.perform(get("/api/v1/catalog-events/stream")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .header("Last-Event-ID", Long.toString(start + 1)))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    assertThat(awaitContent(result.getResponse(), "event:resync")).doesNotContain("Mouse");
+
+    mockMvc.perform(get("/api/v1/catalog-events").param("after", earlierStream))
+        .andExpect(status().isGone());
+    mockMvc.perform(get("/api/v1/catalog-events").param("after", "0"))
+        .andExpect(status().isOk());
+  }
+
+  private String cursor(long position) {
+    return relay.epoch() + "-" + position;
+  }
+
+  /**
+   * Wartet, bis die Antwort {@code expected} enthält; Nachrichten werden asynchron und zeilenweise geschrieben.
+   */
+  private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+    long deadline = System.currentTimeMillis() + 10_000;
+    String body = response.getContentAsString();
+    while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+      body = response.getContentAsString();
+    }
+    assertThat(body).contains(expected);
+    return body;
+  }
+}
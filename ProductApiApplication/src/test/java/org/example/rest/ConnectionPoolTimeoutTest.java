@@ -0,0 +1,54 @@
+package org.example.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Eigener, kleiner Pool mit kurzem Timeout, damit sich ein ausgelasteter Pool schnell nachstellen lässt.
+ */
+@SpringBootTest(properties = {"spring.datasource.hikari.maximum-pool-size=2",
+    "spring.datasource.hikari.connection-timeout=250"})
+@AutoConfigureMockMvc
+class ConnectionPoolTimeoutTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Test
+  @DisplayName("Requests that get no connection in time are answered with 503 and Retry-After")
+  void testPoolTimeoutReturnsServiceUnavailable() throws Exception {
+    List<Connection> held = new ArrayList<>();
+    try {
+      for (int i = 0; i < 2; i++) {
+        held.add(dataSource.getConnection());
+      }
+
+      mockMvc.perform(get("/api/v1/categories"))
+          .andExpect(status().isServiceUnavailable())
+          .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    } finally {
+      for (Connection connection : held) {
+        connection.close();
+      }
+    }
+
+    mockMvc.perform(get("/api/v1/categories"))
+        .andExpect(status().isOk());
+  }
+}
@@ -0,0 +1,159 @@
+package org.example.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Bewusst ohne @Transactional: die Exporte laufen asynchron in eigenen Transaktionen.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ExportControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  private Category electronics;
+  private Category books;
+  private Product laptop;
+  private Product book;
+
+  @BeforeEach
+  void setUp() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+
+    electronics = categoryRepository.save(new Category(null, "Elektronik"));
+    books = categoryRepository.save(new Category(null, "Bücher"));
+    laptop = new Product(null, "Laptop", 1200.00, electronics);
+    book = new Product(null, "Java Grundlagen", 49.99, books);
+    productRepository.saveAll(Arrays.asList(laptop, book));
+  }
+
+  /**
+   * Die übrigen Controller-Tests laufen transaktional und erwarten eine leere Datenbank.
+   */
+  @AfterEach
+  void tearDown() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+  }
+
+  @Test
+  void testExportCategory() throws Exception {
+    MvcResult result = performAsync(get("/api/v1/exports/categories/{id}", electronics.getId()));
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+
+    assertThat(result.getResponse().getContentAsString(StandardCharsets.UTF_8))
+        .isEqualTo("ID,Name,Preis,KategorieName\n" + laptop.getId() + ",Laptop,1200.00,Elektronik\n");
+  }
+
+  @Test
+  void testExportCategoryGzip() throws Exception {
+    MvcResult result = performAsync(get("/api/v1/exports/categories/{id}", books.getId())
+        .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"));
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+
+    byte[] body = result.getResponse().getContentAsByteArray();
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+      assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+          .isEqualTo("ID,Name,Preis,KategorieName\n" + book.getId() + ",Java Grundlagen,49.99,Bücher\n");
+    }
+  }
+
+  @Test
+  void testExportUnknownCategory() throws Exception {
+    mockMvc.perform(get("/api/v1/exports/categories/{id}", 9999L))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void testExportCatalogAsZip() throws Exception {
+    MvcResult result = performAsync(get("/api/v1/exports/catalog")
+        .param("categoryIds", books.getId().toString(), electronics.getId().toString()));
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/zip"));
+
+    Map<String, String> entries = unzip(result.getResponse().getContentAsByteArray());
+    assertThat(entries.keySet()).containsExactly(
+        books.getId() + "-Bücher.csv",
+        electronics.getId() + "-Elektronik.csv");
+    assertThat(entries.get(electronics.getId() + "-Elektronik.csv"))
+        .isEqualTo("ID,Name,Preis,KategorieName\n" + laptop.getId() + ",Laptop,1200.00,Elektronik\n");
+  }
+
+  @Test
+  void testExportCatalogWithUnknownCategory() throws Exception {
+    mockMvc.perform(get("/api/v1/exports/catalog").param("categoryIds", "9999"))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void testAcceptsGzip() {
+    assertThat(ExportController.acceptsGzip("gzip, deflate")).isTrue();
+    assertThat(ExportController.acceptsGzip("deflate, gzip;q=0.5")).isTrue();
+    assertThat(ExportController.acceptsGzip("gzip;q=0")).isFalse();
+    assertThat(ExportController.acceptsGzip("identity")).isFalse();
+    assertThat(ExportController.acceptsGzip(null)).isFalse();
+  }
+
+  private MvcResult performAsync(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+    return mockMvc.perform(requestBuilder)
+        .andExpect(request().asyncStarted())
+        .andReturn();
+  }
+
+  private static Map<String, String> unzip(byte[] archive) throws IOException {
+    Map<String, String> entries = new LinkedHashMap<>();
+    try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(archive))) {
+      ZipEntry entry;
+      while ((entry = in.getNextEntry()) != null) {
+        entries.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+      }
+    }
+    return entries;
+  }
+}
@@ -0,0 +1,93 @@
+package org.example.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class PriceControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  private Product laptop;
+  private Product book;
+
+  @BeforeEach
+  void setUp() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+    Category electronics = categoryRepository.save(new Category(null, "Electronics"));
+    Category novels = categoryRepository.save(new Category(null, "Novels"));
+    laptop = productRepository.save(new Product(null, "Laptop", 1000.00, electronics));
+    book = productRepository.save(new Product(null, "Roman", 20.00, novels));
+    productRepository.flush();
+  }
+
+  @Test
+  void testGetPriceWithConditionalRequest() throws Exception {
+    String etag = mockMvc.perform(get("/api/v1/products/{id}/price", laptop.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.productId").value(laptop.getId()))
+        .andExpect(jsonPath("$.finalPrice").value(1071.00))
+        .andExpect(header().string("Cache-Control", containsString("must-revalidate")))
+        .andReturn().getResponse().getHeader("ETag");
+    assertThat(etag).isNotBlank();
+
+    mockMvc.perform(get("/api/v1/products/{id}/price", laptop.getId()).header("If-None-Match", etag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", etag));
+
+    laptop.setPrice(2000.00);
+    productRepository.saveAndFlush(laptop);
+
+    mockMvc.perform(get("/api/v1/products/{id}/price", laptop.getId()).header("If-None-Match", etag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.finalPrice").value(2142.00))
+        .andExpect(header().string("ETag", not(etag)));
+  }
+
+  @Test
+  void testGetPriceOfUnknownProduct() throws Exception {
+    mockMvc.perform(get("/api/v1/products/{id}/price", -1L))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void testBatchPrices() throws Exception {
+    mockMvc.perform(post("/api/v1/prices")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[" + book.getId() + ", -1, " + laptop.getId() + "]"))
+        .andExpect(status().isOk())
+        .andExpect(header().exists("ETag"))
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].productId").value(book.getId()))
+        .andExpect(jsonPath("$[1].finalPrice").value(1071.00));
+  }
+}
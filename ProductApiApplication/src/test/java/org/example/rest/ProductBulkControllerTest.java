@@ -0,0 +1,72 @@
+package org.example.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class ProductBulkControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  private Long categoryId;
+
+  @BeforeEach
+  void setUp() {
+    Category category = categoryRepository.save(new Category(null, "TestCategory"));
+    categoryId = category.getId();
+    productRepository.save(new Product(null, "Product1", 50.0, category));
+    productRepository.save(new Product(null, "Product2", 75.0, category));
+  }
+
+  @Test
+  void testRepriceByCategory() throws Exception {
+    mockMvc.perform(post("/api/v1/products/bulk/reprice")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"categoryId\": " + categoryId + ", \"type\": \"PERCENTAGE\", \"value\": -10}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.affectedCount").value(2));
+  }
+
+  @Test
+  void testRepriceRequiresExactlyOneSelection() throws Exception {
+    mockMvc.perform(post("/api/v1/products/bulk/reprice")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"categoryId\": " + categoryId + ", \"productIds\": [1], \"type\": \"ABSOLUTE\", \"value\": 1}"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(post("/api/v1/products/bulk/delete")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{}"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void testDeleteUnknownCategory() throws Exception {
+    mockMvc.perform(post("/api/v1/products/bulk/delete")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"categoryId\": " + (categoryId + 1000) + "}"))
+        .andExpect(status().isNotFound());
+  }
+}
@@ -4,12 +4,16 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
 import org.example.database.model.Category;
+import org.example.database.model.Product;
 import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
 import org.example.dto.ProductDTO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,6 +35,9 @@ public class ProductControllerTest {
   @Autowired
   private CategoryRepository categoryRepository;
 
+  @Autowired
+  private ProductRepository productRepository;
+
   @Autowired
   private ObjectMapper objectMapper;
 
@@ -90,6 +97,90 @@ public class ProductControllerTest {
         .andExpect(jsonPath("$.length()").value(2));
   }
 
+  @Test
+  void testGetProductsPaginatesWithCursor() throws Exception {
+    Category category = categoryRepository.findById(categoryId).orElseThrow();
+    List<Product> products = productRepository.saveAll(List.of(
+        new Product(null, "A", 10.0, category),
+        new Product(null, "B", 20.0, category),
+        new Product(null, "C", 30.0, category)));
+    Long secondId = products.get(1).getId();
+
+    mockMvc.perform(get("/api/v1/products?limit=2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].name").value("A"))
+        .andExpect(jsonPath("$[1].name").value("B"))
+        .andExpect(header().string("Link",
+            "<http://localhost/api/v1/products?limit=2&after=" + secondId + ">; rel=\"next\""));
+
+    mockMvc.perform(get("/api/v1/products?limit=2&after=" + secondId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].name").value("C"))
+        .andExpect(header().doesNotExist("Link"));
+  }
+
+  @Test
+  void testGetProductsFiltersByCategoryPriceAndNamePrefix() throws Exception {
+    Category category = categoryRepository.findById(categoryId).orElseThrow();
+    Category other = categoryRepository.save(new Category(null, "OtherCategory"));
+    productRepository.saveAll(List.of(
+        new Product(null, "Laptop", 1200.0, category),
+        new Product(null, "Lampe", 40.0, category),
+        new Product(null, "Maus", 25.0, category),
+        new Product(null, "Laptoptasche", 60.0, other)));
+
+    mockMvc.perform(get("/api/v1/products")
+            .param("categoryId", categoryId.toString())
+            .param("namePrefix", "La")
+            .param("maxPrice", "100"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].name").value("Lampe"));
+
+    mockMvc.perform(get("/api/v1/products").param("minPrice", "50").param("namePrefix", "Lap"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2));
+
+    // Platzhalter im Präfix werden wörtlich genommen
+    mockMvc.perform(get("/api/v1/products").param("namePrefix", "%"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(0));
+  }
+
+  @Test
+  void testGetProductsRejectsInvalidLimit() throws Exception {
+    mockMvc.perform(get("/api/v1/products").param("limit", "0"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/api/v1/products").param("limit", "1001"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void testImportProductsFromCsv() throws Exception {
+    String csv = "Name,Preis,KategorieID\n"
+        + "Importiert,9.99," + categoryId + "\n"
+        + "Ohne Preis,," + categoryId + "\n";
+
+    mockMvc.perform(post("/api/v1/products/import")
+            .contentType("text/csv")
+            .content(csv))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.importedCount").value(1))
+        .andExpect(jsonPath("$.failedCount").value(1))
+        .andExpect(jsonPath("$.errors[0].row").value(2))
+        .andExpect(jsonPath("$.errors[0].message").value("Preis ist erforderlich"));
+  }
+
+  @Test
+  void testImportProductsRejectsMissingCsvHeader() throws Exception {
+    mockMvc.perform(post("/api/v1/products/import")
+            .contentType("text/csv")
+            .content(""))
+        .andExpect(status().isBadRequest());
+  }
+
   @Test
   void testGetProductById() throws Exception {
     // Produkt anlegen
@@ -0,0 +1,115 @@
+package org.example.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Bewusst ohne @Transactional: der ETag ändert sich erst mit dem Commit.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class StatisticsControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  private Category electronics;
+
+  @BeforeEach
+  void setUp() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+    electronics = categoryRepository.save(new Category(null, "Electronics"));
+    productRepository.save(new Product(null, "Laptop", 1200.00, electronics));
+    productRepository.save(new Product(null, "Keyboard", 75.50, electronics));
+  }
+
+  @AfterEach
+  void tearDown() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+  }
+
+  @Test
+  void testStatisticsEndpoints() throws Exception {
+    mockMvc.perform(get("/api/v1/statistics/products-per-category"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.Electronics").value(2));
+    mockMvc.perform(get("/api/v1/statistics/average-price"))
+        .andExpect(status().isOk())
+        .andExpect(content().string("637.75"));
+    mockMvc.perform(get("/api/v1/statistics/categories/{id}/average-price", electronics.getId()))
+        .andExpect(status().isOk())
+        .andExpect(content().string("637.75"));
+    mockMvc.perform(get("/api/v1/statistics/most-expensive-product"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.name").value("Laptop"));
+    mockMvc.perform(get("/api/v1/statistics/categories/{id}/cheapest-product", electronics.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.name").value("Keyboard"));
+    mockMvc.perform(get("/api/v1/statistics/categories/{id}/cheapest-product", -1L))
+        .andExpect(status().isNotFound());
+    mockMvc.perform(get("/api/v1/statistics/most-expensive-products").param("limit", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].name").value("Laptop"));
+    mockMvc.perform(get("/api/v1/statistics/categories/{id}/cheapest-products", electronics.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].name").value("Keyboard"))
+        .andExpect(jsonPath("$[1].name").value("Laptop"));
+    mockMvc.perform(get("/api/v1/statistics/cheapest-products").param("limit", "0"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/api/v1/statistics/categories/{id}/price-distribution", electronics.getId())
+            .param("buckets", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.pricedCount").value(2))
+        .andExpect(jsonPath("$.medianPrice").value(75.50))
+        .andExpect(jsonPath("$.histogram.length()").value(2));
+    mockMvc.perform(get("/api/v1/statistics/price-distribution").param("categoryId", "-1"))
+        .andExpect(status().isNotFound());
+    mockMvc.perform(get("/api/v1/statistics/price-distribution").param("buckets", "0"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void testConditionalGetUntilCatalogChanges() throws Exception {
+    String etag = mockMvc.perform(get("/api/v1/statistics/average-price"))
+        .andExpect(status().isOk())
+        .andExpect(header().exists("ETag"))
+        .andReturn().getResponse().getHeader("ETag");
+
+    mockMvc.perform(get("/api/v1/statistics/average-price").header("If-None-Match", etag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+
+    productRepository.save(new Product(null, "Mouse", 24.50, electronics));
+
+    String changedEtag = mockMvc.perform(get("/api/v1/statistics/average-price").header("If-None-Match", etag))
+        .andExpect(status().isOk())
+        .andExpect(content().string("433.3333333333333"))
+        .andReturn().getResponse().getHeader("ETag");
+    assertThat(changedEtag).isNotEqualTo(etag);
+  }
+}
@@ -0,0 +1,50 @@
+package org.example.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import org.example.services.impl.BackgroundExecutors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+class BackgroundExecutorsTest {
+
+  @Test
+  @DisplayName("Database parallelism is capped at half of the connection pool")
+  void testDatabaseParallelism() {
+    BackgroundExecutors executors = new BackgroundExecutors(false, 10);
+
+    assertThat(executors.databaseParallelism("test", 4)).isEqualTo(4);
+    assertThat(executors.databaseParallelism("test", 16)).isEqualTo(5);
+    assertThat(new BackgroundExecutors(false, 1).databaseParallelism("test", 4)).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Executors use virtual threads only in virtual-thread mode")
+  void testThreadType() throws Exception {
+    BackgroundExecutors platform = new BackgroundExecutors(false, 10);
+    BackgroundExecutors virtual = new BackgroundExecutors(true, 10);
+
+    assertThat(platform.bounded("p-", 2).submit(() -> Thread.currentThread().isVirtual()).get()).isFalse();
+    assertThat(virtual.bounded("v-", 2).submit(() -> Thread.currentThread().isVirtual()).get()).isTrue();
+    assertThat(virtual.serial("s-").submit(() -> Thread.currentThread().isVirtual()).get()).isTrue();
+  }
+
+  @Test
+  @DisplayName("The serial executor keeps submission order on virtual threads")
+  void testSerialOrder() throws Exception {
+    AsyncTaskExecutor serial = new BackgroundExecutors(true, 10).serial("s-");
+    List<Integer> order = new CopyOnWriteArrayList<>();
+    Future<?> last = null;
+    for (int i = 0; i < 100; i++) {
+      int value = i;
+      last = serial.submit(() -> order.add(value));
+    }
+    last.get();
+
+    assertThat(order).hasSize(100).isSorted();
+  }
+}
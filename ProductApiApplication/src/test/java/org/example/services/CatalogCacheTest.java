@@ -0,0 +1,188 @@
+package org.example.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.example.database.event.CatalogChangeTracker;
+import org.example.database.event.CatalogChanges;
+import org.example.database.event.CategoryChange;
+import org.example.database.event.ChangeType;
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
+import org.example.dto.CacheStatsDTO;
+import org.example.dto.ProductDTO;
+import org.example.exception.ResourceNotFoundException;
+import org.example.rest.mapper.CategoryMapper;
+import org.example.rest.mapper.ProductMapper;
+import org.example.services.impl.cache.CatalogCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bewusst ohne @Transactional: der Cache wird erst nach einem Commit invalidiert.
+ */
+@SpringBootTest
+class CatalogCacheTest {
+
+  @Autowired
+  private ProductService productService;
+
+  @Autowired
+  private CategoryService categoryService;
+
+  @Autowired
+  private CatalogCacheService catalogCacheService;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private ProductMapper productMapper;
+
+  @Autowired
+  private CategoryMapper categoryMapper;
+
+  @Autowired
+  private CatalogChangeTracker changeTracker;
+
+  private Category electronics;
+  private Product laptop;
+
+  @BeforeEach
+  void setUp() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+    catalogCacheService.invalidateAll();
+
+    electronics = categoryRepository.save(new Category(null, "Electronics"));
+    laptop = productRepository.save(new Product(null, "Laptop", 1200.00, electronics));
+  }
+
+  @AfterEach
+  void tearDown() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Repeated reads are served from the cache")
+  void testRepeatedReadsHitTheCache() {
+    CacheStatsDTO before = productStats();
+
+    productService.getProductById(laptop.getId());
+    ProductDTO cached = productService.getProductById(laptop.getId());
+
+    CacheStatsDTO after = productStats();
+    assertThat(cached.getCategoryName()).isEqualTo("Electronics");
+    assertThat(after.missCount() - before.missCount()).isEqualTo(1);
+    assertThat(after.hitCount() - before.hitCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Callers cannot modify the cached entry")
+  void testReturnsCopies() {
+    productService.getProductById(laptop.getId()).setName("Changed");
+
+    assertThat(productService.getProductById(laptop.getId()).getName()).isEqualTo("Laptop");
+  }
+
+  @Test
+  @DisplayName("Committed updates, category renames and deletes evict the cached entries")
+  void testCommittedChangesEvict() {
+    productService.getProductById(laptop.getId());
+    categoryService.getCategoryById(electronics.getId());
+
+    laptop.setPrice(999.00);
+    productRepository.save(laptop);
+    assertThat(productService.getProductById(laptop.getId()).getPrice()).isEqualTo(999.00);
+
+    electronics.setName("Computers");
+    categoryRepository.save(electronics);
+    assertThat(productService.getProductById(laptop.getId()).getCategoryName()).isEqualTo("Computers");
+    assertThat(categoryService.getCategoryById(electronics.getId())).get()
+        .extracting(category -> category.getName()).isEqualTo("Computers");
+
+    productService.deleteProduct(laptop.getId());
+    assertThatThrownBy(() -> productService.getProductById(laptop.getId()))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  @Test
+  @DisplayName("Uncommitted changes are visible to their own transaction but never cached")
+  void testUncommittedChangesBypassTheCache() {
+    productService.getProductById(laptop.getId());
+
+    transactionTemplate.executeWithoutResult(status -> {
+      Product managed = productRepository.findById(laptop.getId()).orElseThrow();
+      managed.setPrice(1.00);
+      assertThat(productService.getProductById(laptop.getId()).getPrice()).isEqualTo(1.00);
+      status.setRollbackOnly();
+    });
+
+    assertThat(productService.getProductById(laptop.getId()).getPrice()).isEqualTo(1200.00);
+  }
+
+  @Test
+  @DisplayName("A load that started before a category rename does not leave the old name in the cache")
+  void testCategoryRenameDuringLoad() throws Exception {
+    CountDownLatch loaded = new CountDownLatch(1);
+    CountDownLatch renamed = new CountDownLatch(1);
+    AtomicBoolean first = new AtomicBoolean(true);
+    // Hält das erste Nachladen nach dem Lesen an, bis die Umbenennung committet und gemeldet ist.
+    ProductRepository slowRepository = (ProductRepository) Proxy.newProxyInstance(
+        ProductRepository.class.getClassLoader(), new Class<?>[] {ProductRepository.class},
+        (proxy, method, args) -> {
+          Object result = method.invoke(productRepository, args);
+          if (method.getName().equals("findWithCategoryById") && first.getAndSet(false)) {
+            loaded.countDown();
+            renamed.await(10, TimeUnit.SECONDS);
+          }
+          return result;
+        });
+    CatalogCache cache = new CatalogCache(slowRepository, categoryRepository, productMapper, categoryMapper,
+        changeTracker, 100, Duration.ofMinutes(10), 100, Duration.ofMinutes(10));
+
+    CompletableFuture<Optional<ProductDTO>> inFlight = CompletableFuture.supplyAsync(
+        () -> cache.getProduct(laptop.getId()));
+    assertThat(loaded.await(10, TimeUnit.SECONDS)).isTrue();
+    electronics.setName("Computers");
+    categoryRepository.save(electronics);
+    cache.onCatalogChanges(new CatalogChanges(List.of(),
+        List.of(new CategoryChange(ChangeType.UPDATED, electronics.getId(), "Computers")), List.of()));
+    renamed.countDown();
+
+    // Auch der Aufrufer des veralteten Nachladens bekommt schon den neuen Namen.
+    assertThat(inFlight.get(10, TimeUnit.SECONDS)).get()
+        .extracting(ProductDTO::getCategoryName).isEqualTo("Computers");
+    assertThat(cache.getProduct(laptop.getId())).get()
+        .extracting(ProductDTO::getCategoryName).isEqualTo("Computers");
+  }
+
+  private CacheStatsDTO productStats() {
+    return catalogCacheService.getStatistics().stream()
+        .filter(stats -> stats.name().equals("products"))
+        .findFirst()
+        .orElseThrow();
+  }
+}
@@ -0,0 +1,100 @@
+package org.example.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.example.database.projection.ProductPriceRow;
+import org.example.services.impl.statistics.CatalogColumns;
+import org.example.services.impl.statistics.CatalogColumns.ColumnAggregates;
+import org.example.services.impl.statistics.CatalogColumns.PriceColumnStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CatalogColumnsTest {
+
+  @Test
+  @DisplayName("Aggregates count, sum and extremes per category with the lowest ID winning ties")
+  void testAggregate() {
+    CatalogColumns columns = new CatalogColumns.Builder(2)
+        .add(new ProductPriceRow(1L, 10.0, 7L))
+        .add(new ProductPriceRow(2L, null, 7L))
+        .add(new ProductPriceRow(3L, 30.0, 8L))
+        .add(new ProductPriceRow(4L, 10.0, 7L))
+        .add(new ProductPriceRow(5L, 30.0, null))
+        .build();
+
+    ColumnAggregates aggregates = columns.aggregate();
+
+    assertThat(aggregates.total()).isEqualTo(new PriceColumnStats(5, 4, 80.0, 1L, 10.0, 3L, 30.0));
+    assertThat(aggregates.perCategory().get(7L)).isEqualTo(new PriceColumnStats(3, 2, 20.0, 1L, 10.0, 1L, 10.0));
+    assertThat(aggregates.perCategory().get(8L)).isEqualTo(new PriceColumnStats(1, 1, 30.0, 3L, 30.0, 3L, 30.0));
+    assertThat(columns.aggregate()).isSameAs(aggregates);
+    assertThat(columns.aggregate(List.of(7L))).isEqualTo(aggregates.perCategory().get(7L));
+    // Ohne Kategorie und unbekannte Kategorien.
+    assertThat(columns.aggregate(Arrays.asList(8L, null, 99L)))
+        .isEqualTo(new PriceColumnStats(2, 2, 60.0, 3L, 30.0, 3L, 30.0));
+    assertThat(columns.productIdsInCategory(7L)).containsExactly(1L, 2L, 4L);
+  }
+
+  @Test
+  @DisplayName("Patches across chunk boundaries match a full rebuild and leave the old snapshot untouched")
+  void testPatchedMatchesRebuild() {
+    Random random = new Random(42);
+    TreeMap<Long, ProductPriceRow> expected = new TreeMap<>();
+    CatalogColumns columns = CatalogColumns.empty(8);
+    for (int round = 0; round < 50; round++) {
+      List<ProductPriceRow> upserts = new ArrayList<>();
+      List<Long> removals = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        long productId = 1 + random.nextInt(200);
+        if (random.nextInt(4) == 0) {
+          removals.add(productId);
+          expected.remove(productId);
+          upserts.removeIf(row -> row.productId() == productId);
+        } else {
+          Double price = random.nextInt(10) == 0 ? null : (double) random.nextInt(1000);
+          ProductPriceRow row = new ProductPriceRow(productId, price, (long) random.nextInt(5));
+          removals.remove(productId);
+          upserts.removeIf(existing -> existing.productId() == productId);
+          upserts.add(row);
+          expected.put(productId, row);
+        }
+      }
+      CatalogColumns previous = columns;
+      ColumnAggregates before = previous.aggregate();
+      columns = columns.patched(upserts, removals);
+
+      assertThat(previous.aggregate()).isEqualTo(before);
+      assertSameAggregates(columns.aggregate(), rebuild(expected).aggregate());
+      assertThat(columns.rowCount()).isEqualTo(expected.size());
+    }
+  }
+
+  private static CatalogColumns rebuild(TreeMap<Long, ProductPriceRow> rows) {
+    CatalogColumns.Builder builder = new CatalogColumns.Builder(8);
+    rows.values().forEach(builder::add);
+    return builder.build();
+  }
+
+  private static void assertSameAggregates(ColumnAggregates actual, ColumnAggregates expected) {
+    assertSameStats(actual.total(), expected.total());
+    assertThat(actual.perCategory().keySet()).isEqualTo(expected.perCategory().keySet());
+    for (Map.Entry<Long, PriceColumnStats> entry : expected.perCategory().entrySet()) {
+      assertSameStats(actual.perCategory().get(entry.getKey()), entry.getValue());
+    }
+  }
+
+  private static void assertSameStats(PriceColumnStats actual, PriceColumnStats expected) {
+    assertThat(actual.productCount()).isEqualTo(expected.productCount());
+    assertThat(actual.pricedCount()).isEqualTo(expected.pricedCount());
+    assertThat(actual.priceSum()).isCloseTo(expected.priceSum(), within(1e-6));
+    assertThat(actual.cheapestId()).isEqualTo(expected.cheapestId());
+    assertThat(actual.mostExpensiveId()).isEqualTo(expected.mostExpensiveId());
+  }
+}
@@ -0,0 +1,143 @@
+package org.example.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.example.database.repository.CatalogEventRepository;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
+import org.example.dto.BulkRepriceDTO;
+import org.example.dto.CatalogEventDTO;
+import org.example.dto.CategoryDTO;
+import org.example.dto.ProductDTO;
+import org.example.model.CatalogEventType;
+import org.example.model.PriceAdjustmentType;
+import org.example.services.impl.events.CatalogEventRelay;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bewusst ohne @Transactional: die Outbox-Zeilen entstehen erst beim Commit.
+ */
+@SpringBootTest
+class CatalogEventsTest {
+
+  @Autowired
+  private ProductService productService;
+
+  @Autowired
+  private CategoryService categoryService;
+
+  @Autowired
+  private ProductBulkService productBulkService;
+
+  @Autowired
+  private CatalogEventService catalogEventService;
+
+  @Autowired
+  private CatalogEventRelay relay;
+
+  @Autowired
+  private CatalogEventRepository eventRepository;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private long start;
+
+  @BeforeEach
+  void setUp() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+    relay.relay();
+    start = relay.head();
+  }
+
+  @AfterEach
+  void tearDown() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Every committed change is relayed once, in commit order, with its state")
+  void testChangesAreRelayedInOrder() {
+    CategoryDTO category = new CategoryDTO();
+    category.setName("Outbox");
+    Long categoryId = categoryService.createCategory(category).getId();
+    ProductDTO product = productService.createProduct(new ProductDTO(null, "Lamp", 25.0, categoryId, null));
+    category.setName("Outbox Renamed");
+    categoryService.updateCategory(categoryId, category);
+    productBulkService.repriceProducts(new BulkRepriceDTO(categoryId, null, PriceAdjustmentType.PERCENTAGE, 10.0));
+    productService.deleteProduct(product.getId());
+
+    relay.relay();
+    List<CatalogEventDTO> events = catalogEventService.getEvents(cursor(start), 100);
+
+    assertThat(events).extracting(CatalogEventDTO::type).containsExactly(
+        CatalogEventType.CATEGORY_CREATED,
+        CatalogEventType.PRODUCT_CREATED,
+        CatalogEventType.CATEGORY_UPDATED,
+        CatalogEventType.PRODUCTS_UPDATED,
+        CatalogEventType.PRODUCT_DELETED);
+    assertThat(events).extracting(CatalogEventDTO::id)
+        .containsExactly(start + 1, start + 2, start + 3, start + 4, start + 5);
+    assertThat(events.get(1).entityId()).isEqualTo(product.getId());
+    assertThat(events.get(1).data()).isEqualTo(
+        "{\"name\":\"Lamp\",\"price\":25.0,\"categoryId\":" + categoryId + "}");
+    assertThat(events.get(2).data()).isEqualTo("{\"name\":\"Outbox Renamed\"}");
+    assertThat(events.get(3).data()).isEqualTo("{\"categoryId\":" + categoryId + "}");
+    assertThat(events.get(4).data()).contains("\"price\":27.5");
+
+    // Fortsetzen mitten im Strom und nach dem Ende.
+    assertThat(catalogEventService.getEvents(cursor(start + 3), 1)).extracting(CatalogEventDTO::id)
+        .containsExactly(start + 4);
+    assertThat(catalogEventService.getEvents(cursor(start + 5), 100)).isEmpty();
+    assertThat(relay.relay()).isZero();
+  }
+
+  @Test
+  @DisplayName("A rolled back transaction leaves no outbox row")
+  void testRollbackWritesNoEvents() {
+    long rowsBefore = eventRepository.count();
+
+    transactionTemplate.executeWithoutResult(status -> {
+      Category category = categoryRepository.save(new Category(null, "Rolled Back"));
+      productRepository.save(new Product(null, "Ghost", 1.0, category));
+      productRepository.flush();
+      status.setRollbackOnly();
+    });
+
+    assertThat(eventRepository.count()).isEqualTo(rowsBefore);
+    assertThat(relay.relay()).isZero();
+  }
+
+  @Test
+  @DisplayName("Positions ahead of the stream cannot be resumed")
+  void testResumeChecks() {
+    productRepository.save(new Product(null, "Desk", 120.0, null));
+    relay.relay();
+    long head = relay.head();
+
+    assertThat(relay.canResumeAfter(head)).isTrue();
+    assertThat(relay.canResumeAfter(head - 1)).isTrue();
+    assertThat(relay.canResumeAfter(head + 1)).isFalse();
+  }
+
+  private String cursor(long position) {
+    return relay.epoch() + "-" + position;
+  }
+}
@@ -0,0 +1,106 @@
+package org.example.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.example.database.model.Category;
+import org.example.dto.CategoryDTO;
+import org.example.services.impl.BackgroundExecutors;
+import org.example.services.impl.CatalogExportServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CatalogExportServiceImplTest {
+
+  @Test
+  @DisplayName("Aborting a catalog export leaves no temporary files behind, even for exports still running")
+  void testAbortDeletesTemporaryFiles() throws Exception {
+    CountDownLatch running = new CountDownLatch(3);
+    CountDownLatch finished = new CountDownLatch(3);
+    ProductExportService slowExports = new ProductExportService() {
+      @Override
+      public String exportProductsByCategoryToCsv(Category category) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public long exportProductsByCategoryToCsv(Long categoryId, Writer writer) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public long exportProductsByCategoryToCsv(Long categoryId, OutputStream outputStream) throws IOException {
+        outputStream.write(("id,name\n" + categoryId + ",x\n").getBytes(StandardCharsets.UTF_8));
+        if (categoryId == 1L) {
+          return 1;
+        }
+        running.countDown();
+        try {
+          // Läuft, bis der Abbruch unterbricht, und schreibt danach noch weiter.
+          Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+        } catch (InterruptedException e) {
+          outputStream.write("late\n".getBytes(StandardCharsets.UTF_8));
+        } finally {
+          finished.countDown();
+        }
+        return 1;
+      }
+    };
+    CatalogExportServiceImpl exportService =
+        new CatalogExportServiceImpl(slowExports, new BackgroundExecutors(false, 10), 4);
+    Set<Path> before = temporaryExportFiles();
+    OutputStream brokenConnection = new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        // Bricht ab, sobald die übrigen Kategorien gerade exportiert werden.
+        try {
+          running.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        throw new IOException("Verbindung abgebrochen");
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        write(0);
+      }
+    };
+    List<CategoryDTO> categories = Stream.of(1L, 2L, 3L, 4L).map(id -> {
+      CategoryDTO category = new CategoryDTO();
+      category.setId(id);
+      category.setName("Category " + id);
+      return category;
+    }).toList();
+
+    assertThatThrownBy(() -> exportService.exportCategoriesToZip(categories, brokenConnection))
+        .isInstanceOf(IOException.class);
+    assertThat(running.getCount()).isZero();
+
+    assertThat(finished.await(10, TimeUnit.SECONDS)).isTrue();
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (!before.containsAll(temporaryExportFiles()) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+    }
+    assertThat(temporaryExportFiles()).isSubsetOf(before);
+  }
+
+  private static Set<Path> temporaryExportFiles() throws IOException {
+    try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+      return files.filter(file -> file.getFileName().toString().startsWith("catalog-export-"))
+          .collect(Collectors.toSet());
+    }
+  }
+}
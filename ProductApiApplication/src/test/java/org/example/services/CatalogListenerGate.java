@@ -0,0 +1,69 @@
+package org.example.services;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.example.database.event.CatalogChangeListener;
+import org.example.database.event.CatalogChanges;
+import org.example.services.impl.statistics.CatalogColumnStore;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+/**
+ * Hält Commits mit Einzeländerungen direkt nach dem {@link CatalogColumnStore} an, solange das Tor geschlossen ist.
+ * Damit lässt sich gezielt nachstellen, dass ein anderer Commit die abgeleiteten Sichten zuerst erreicht, obwohl die
+ * Spalten die angehaltene Änderung bereits enthalten.
+ */
+public class CatalogListenerGate implements CatalogChangeListener, Ordered {
+
+  private final Semaphore held = new Semaphore(0);
+  private volatile CountDownLatch release;
+
+  public void close() {
+    release = new CountDownLatch(1);
+  }
+
+  public void open() {
+    CountDownLatch latch = release;
+    release = null;
+    if (latch != null) {
+      latch.countDown();
+    }
+  }
+
+  /**
+   * Wartet, bis ein Commit am geschlossenen Tor angehalten wurde.
+   */
+  public boolean awaitHeld() throws InterruptedException {
+    return held.tryAcquire(10, TimeUnit.SECONDS);
+  }
+
+  @Override
+  public int getOrder() {
+    return Ordered.HIGHEST_PRECEDENCE + 1;
+  }
+
+  @Override
+  public void onCatalogChanges(CatalogChanges changes) {
+    CountDownLatch latch = release;
+    if (latch == null || changes.productChanges().isEmpty()) {
+      return;
+    }
+    held.release();
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @TestConfiguration
+  public static class Configuration {
+
+    @Bean
+    public CatalogListenerGate catalogListenerGate() {
+      return new CatalogListenerGate();
+    }
+  }
+}
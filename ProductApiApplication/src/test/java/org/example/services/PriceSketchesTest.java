@@ -0,0 +1,153 @@
+package org.example.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
+import org.example.dto.BulkRepriceDTO;
+import org.example.model.PriceAdjustmentType;
+import org.example.services.impl.statistics.PriceDistribution;
+import org.example.services.impl.statistics.PriceSketches;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Bewusst ohne @Transactional: die Skizzen werden erst nach einem Commit fortgeschrieben.
+ */
+@SpringBootTest
+@Import(CatalogListenerGate.Configuration.class)
+class PriceSketchesTest {
+
+  private static final int PRODUCTS_PER_CATEGORY = 3_000;
+
+  @Autowired
+  private PriceSketches priceSketches;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  @Autowired
+  private ProductBulkService bulkService;
+
+  @Autowired
+  private CatalogListenerGate gate;
+
+  private Category cheap;
+  private Category expensive;
+  private List<Product> cheapProducts;
+
+  @BeforeEach
+  void setUp() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+    cheap = categoryRepository.save(new Category(null, "Cheap"));
+    expensive = categoryRepository.save(new Category(null, "Expensive"));
+
+    // Preise 1..3000 bzw. 3001..6000 in zufälliger Reihenfolge.
+    Random random = new Random(7);
+    List<Product> products = new ArrayList<>();
+    for (int i = 1; i <= 2 * PRODUCTS_PER_CATEGORY; i++) {
+      products.add(new Product(null, "Product " + i, (double) i, i <= PRODUCTS_PER_CATEGORY ? cheap : expensive));
+    }
+    Collections.shuffle(products, random);
+    productRepository.saveAll(products);
+    cheapProducts = products.stream().filter(product -> product.getCategory() == cheap).toList();
+    priceSketches.rebuild();
+  }
+
+  @AfterEach
+  void tearDown() {
+    gate.open();
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Quantiles per category and merged across categories stay within the reported rank error")
+  void testQuantilesWithinRankError() {
+    PriceDistribution cheapPrices = priceSketches.distribution(List.of(cheap.getId()));
+    PriceDistribution allPrices = priceSketches.distribution(List.of());
+
+    assertThat(cheapPrices.count()).isEqualTo(PRODUCTS_PER_CATEGORY);
+    assertThat(cheapPrices.rankError()).isPositive();
+    assertQuantile(cheapPrices, 0.5, 1_500);
+    assertQuantile(cheapPrices, 0.9, 2_700);
+    assertQuantile(cheapPrices, 0.99, 2_970);
+
+    assertThat(allPrices.count()).isEqualTo(2 * PRODUCTS_PER_CATEGORY);
+    assertThat(priceSketches.distribution(List.of(cheap.getId(), expensive.getId())).count())
+        .isEqualTo(2 * PRODUCTS_PER_CATEGORY);
+    assertQuantile(allPrices, 0.5, 3_000);
+    assertQuantile(allPrices, 0.9, 5_400);
+    assertThat(allPrices.rank(3_000.0)).isCloseTo(3_000L,
+        within((long) Math.ceil(allPrices.rankError() * allPrices.count())));
+  }
+
+  @Test
+  @DisplayName("Sketches follow committed updates and deletes")
+  void testSketchesFollowChanges() {
+    // Die untere Hälfte der günstigen Kategorie löschen, die obere Hälfte um 10000 verteuern.
+    List<Product> lowerHalf = cheapProducts.stream().filter(product -> product.getPrice() <= 1_500).toList();
+    productRepository.deleteAll(lowerHalf);
+    List<Product> upperHalf = cheapProducts.stream().filter(product -> product.getPrice() > 1_500).toList();
+    upperHalf.forEach(product -> product.setPrice(product.getPrice() + 10_000));
+    productRepository.saveAll(upperHalf);
+
+    PriceDistribution cheapPrices = priceSketches.distribution(List.of(cheap.getId()));
+
+    // Übrig sind 11501..13000.
+    assertThat(cheapPrices.count()).isEqualTo(1_500);
+    assertThat(cheapPrices.rankError()).isLessThan(0.05);
+    assertQuantile(cheapPrices, 0.5, 12_250);
+    assertThat(cheapPrices.min()).isEqualTo(11_501);
+    assertThat(cheapPrices.max()).isEqualTo(13_000);
+    assertThat(priceSketches.distribution(List.of(expensive.getId())).count()).isEqualTo(PRODUCTS_PER_CATEGORY);
+  }
+
+  @Test
+  @DisplayName("A category rebuild does not count a single update twice that the columns already contain")
+  void testRebuildSkipsChangesAlreadyInColumns() throws Exception {
+    Product moved = productRepository.save(new Product(null, "Moved", 10_000.0, expensive));
+    gate.close();
+    CompletableFuture<Void> update = CompletableFuture.runAsync(() -> {
+      moved.setCategory(cheap);
+      productRepository.save(moved);
+    });
+    assertThat(gate.awaitHeld()).isTrue();
+
+    // Die Spalten enthalten den Wechsel bereits, die Skizzen noch nicht; der Bulk-Commit baut "Cheap" daraus neu auf.
+    bulkService.repriceProducts(new BulkRepriceDTO(cheap.getId(), null, PriceAdjustmentType.PERCENTAGE, 10.0));
+    gate.open();
+    update.get(10, TimeUnit.SECONDS);
+
+    assertThat(priceSketches.distribution(List.of(cheap.getId())).count()).isEqualTo(PRODUCTS_PER_CATEGORY + 1);
+    assertThat(priceSketches.distribution(List.of(expensive.getId())).count()).isEqualTo(PRODUCTS_PER_CATEGORY);
+    assertThat(priceSketches.distribution(List.of()).count()).isEqualTo(2 * PRODUCTS_PER_CATEGORY + 1);
+  }
+
+  /**
+   * Preise sind hier 1, 2, 3, ... bzw. verschoben; der Rang eines Preises ergibt sich also direkt aus seinem Abstand
+   * zum kleinsten.
+   */
+  private static void assertQuantile(PriceDistribution distribution, double fraction, double exact) {
+    double tolerance = Math.ceil(distribution.rankError() * distribution.count());
+    assertThat(distribution.quantile(fraction)).isBetween(exact - tolerance, exact + tolerance);
+  }
+}
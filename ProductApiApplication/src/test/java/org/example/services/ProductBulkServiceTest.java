@@ -0,0 +1,133 @@
+package org.example.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.List;
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
+import org.example.dto.BulkDeleteDTO;
+import org.example.dto.BulkRepriceDTO;
+import org.example.dto.ProductDTO;
+import org.example.exception.ResourceNotFoundException;
+import org.example.model.PriceAdjustmentType;
+import org.example.services.impl.statistics.ProductStatisticsCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Bewusst ohne @Transactional: Caches und Statistiken ziehen erst nach dem Commit nach.
+ */
+@SpringBootTest
+class ProductBulkServiceTest {
+
+  @Autowired
+  private ProductBulkService productBulkService;
+
+  @Autowired
+  private ProductService productService;
+
+  @Autowired
+  private ProductStatisticsService productStatisticsService;
+
+  @Autowired
+  private ProductStatisticsCache statisticsCache;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  private Category electronics;
+  private Category books;
+  private Product laptop;
+  private Product mouse;
+  private Product novel;
+
+  @BeforeEach
+  void setUp() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+
+    electronics = categoryRepository.save(new Category(null, "Electronics"));
+    books = categoryRepository.save(new Category(null, "Books"));
+    laptop = productRepository.save(new Product(null, "Laptop", 1200.00, electronics));
+    mouse = productRepository.save(new Product(null, "Mouse", 25.55, electronics));
+    novel = productRepository.save(new Product(null, "Novel", 15.00, books));
+  }
+
+  @AfterEach
+  void tearDown() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Percentage reprice by category updates only that category and refreshes caches and statistics")
+  void testRepriceByCategory() {
+    // Werte vorab in Cache und Statistik laden
+    productService.getProductById(mouse.getId());
+    assertThat(productStatisticsService.getAverageProductPricePerCategory(electronics.getId()))
+        .isCloseTo((1200.00 + 25.55) / 2, within(0.001));
+
+    long affected = productBulkService.repriceProducts(
+        new BulkRepriceDTO(electronics.getId(), null, PriceAdjustmentType.PERCENTAGE, 10.0)).affectedCount();
+
+    assertThat(affected).isEqualTo(2);
+    assertThat(productService.getProductById(laptop.getId()).getPrice()).isEqualTo(1320.00);
+    assertThat(productService.getProductById(mouse.getId()).getPrice()).isEqualTo(28.11);
+    assertThat(productService.getProductById(novel.getId()).getPrice()).isEqualTo(15.00);
+    assertThat(productStatisticsService.getAverageProductPricePerCategory(electronics.getId()))
+        .isCloseTo((1320.00 + 28.11) / 2, within(0.001));
+    assertThat(statisticsCache.checkConsistency().consistent()).isTrue();
+  }
+
+  @Test
+  @DisplayName("Absolute reprice by ids never goes below zero")
+  void testRepriceByIdsClampsAtZero() {
+    productService.getProductById(novel.getId());
+
+    long affected = productBulkService.repriceProducts(new BulkRepriceDTO(null,
+        List.of(mouse.getId(), novel.getId(), novel.getId(), -1L), PriceAdjustmentType.ABSOLUTE, -20.0)).affectedCount();
+
+    assertThat(affected).isEqualTo(2);
+    assertThat(productService.getProductById(mouse.getId()).getPrice()).isEqualTo(5.55);
+    assertThat(productService.getProductById(novel.getId()).getPrice()).isEqualTo(0.0);
+    assertThat(productService.getProductById(laptop.getId()).getPrice()).isEqualTo(1200.00);
+  }
+
+  @Test
+  @DisplayName("Delete by category and by ids remove the products from caches and statistics")
+  void testDelete() {
+    productService.getProductById(novel.getId());
+    productStatisticsService.countProductsPerCategory();
+
+    assertThat(productBulkService.deleteProducts(new BulkDeleteDTO(books.getId(), null)).affectedCount())
+        .isEqualTo(1);
+    assertThatThrownBy(() -> productService.getProductById(novel.getId()))
+        .isInstanceOf(ResourceNotFoundException.class);
+
+    assertThat(productBulkService.deleteProducts(new BulkDeleteDTO(null, List.of(mouse.getId()))).affectedCount())
+        .isEqualTo(1);
+    assertThat(productService.getAllProducts()).extracting(ProductDTO::getName).containsExactly("Laptop");
+    assertThat(productStatisticsService.countProductsPerCategory()).containsOnlyKeys("Electronics")
+        .containsEntry("Electronics", 1L);
+    assertThat(statisticsCache.checkConsistency().consistent()).isTrue();
+  }
+
+  @Test
+  @DisplayName("Unknown categories are rejected")
+  void testUnknownCategory() {
+    assertThatThrownBy(() -> productBulkService.deleteProducts(new BulkDeleteDTO(books.getId() + 1000, null)))
+        .isInstanceOf(ResourceNotFoundException.class);
+    assertThat(productRepository.count()).isEqualTo(3);
+  }
+}
@@ -3,6 +3,10 @@ package org.example.services;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import org.example.database.model.Category;
 import org.example.database.model.Product;
@@ -98,4 +102,50 @@ public class ProductExportServiceImplTest {
     assertEquals(expectedResult, actualResult);
   }
 
+  @Test
+  void exportProductsToCsv_streaming() throws IOException {
+    String expectedCsv = "ID,Name,Preis,KategorieName\n"
+        + product1.getId() + ",Laptop Pro,1200.00,Elektronik\n"
+        + product2.getId() + ",Wireless Maus,25.50,Elektronik\n";
+    StringWriter writer = new StringWriter();
+
+    long rows = productExportService.exportProductsByCategoryToCsv(electronicsCategory.getId(), writer);
+
+    assertEquals(2, rows);
+    assertEquals(expectedCsv, writer.toString());
+  }
+
+  @Test
+  void exportProductsToCsv_streamingQuotesAndRounds() throws IOException {
+    Category special = categoryRepository.save(new Category(null, "Spezial, \"Neu\""));
+    Product product = productRepository.save(new Product(null, "Kabel\n2m", 0.295, special));
+    StringWriter writer = new StringWriter();
+
+    productExportService.exportProductsByCategoryToCsv(special.getId(), writer);
+
+    assertEquals("ID,Name,Preis,KategorieName\n"
+        + product.getId() + ",\"Kabel\n2m\",0.30,\"Spezial, \"\"Neu\"\"\"\n", writer.toString());
+  }
+
+  @Test
+  void exportProductsToCsv_streamingToOutputStream() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    long rows = productExportService.exportProductsByCategoryToCsv(booksCategory.getId(), out);
+
+    assertEquals(1, rows);
+    assertEquals("ID,Name,Preis,KategorieName\n" + product3.getId() + ",Java Grundlagen,49.99,Bücher\n",
+        out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void exportProductsToCsv_streamingNullCategory() throws IOException {
+    StringWriter writer = new StringWriter();
+
+    long rows = productExportService.exportProductsByCategoryToCsv((Long) null, writer);
+
+    assertEquals(0, rows);
+    assertEquals("ID,Name,Preis,KategorieName\n", writer.toString());
+  }
+
 }
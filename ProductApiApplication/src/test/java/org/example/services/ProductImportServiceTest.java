@@ -0,0 +1,188 @@
+package org.example.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
+import org.example.dto.ProductImportErrorDTO;
+import org.example.dto.ProductImportResultDTO;
+import org.example.exception.InvalidImportException;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bewusst ohne @Transactional: der Import committet blockweise in eigenen Transaktionen.
+ */
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+    "pricing.price-details.enabled=false"})
+@AutoConfigureMockMvc
+class ProductImportServiceTest {
+
+  @Autowired
+  private ProductImportService productImportService;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  private Category electronics;
+
+  @BeforeEach
+  void setUp() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+    electronics = categoryRepository.save(new Category(null, "Electronics"));
+  }
+
+  @AfterEach
+  void tearDown() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("CSV import batches the inserts and reports invalid rows without aborting")
+  void testCsvImport() throws IOException {
+    StringBuilder csv = new StringBuilder("Name,Preis,KategorieID\n");
+    for (int i = 1; i <= 2500; i++) {
+      csv.append("Produkt ").append(i).append(',').append(i).append(".5,").append(electronics.getId()).append('\n');
+    }
+    csv.append(",10.0,").append(electronics.getId()).append('\n');
+    csv.append("Falscher Preis,zehn,").append(electronics.getId()).append('\n');
+    csv.append("Unbekannte Kategorie,10.0,").append(electronics.getId() + 1000).append('\n');
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    ProductImportResultDTO result = productImportService.importCsv(stream(csv.toString()));
+
+    assertThat(result.importedCount()).isEqualTo(2500);
+    assertThat(result.failedCount()).isEqualTo(3);
+    assertThat(result.errors()).extracting(ProductImportErrorDTO::row).containsExactly(2501L, 2502L, 2503L);
+    assertThat(result.errors().get(0).message()).isEqualTo("Produktname ist erforderlich");
+    assertThat(result.errors().get(2).message()).contains("Kategorie nicht gefunden");
+    assertThat(productRepository.count()).isEqualTo(2500);
+    // Ohne Batching wären es mindestens 2500 Insert-Statements.
+    assertThat(statistics.getPrepareStatementCount()).isLessThan(100);
+  }
+
+  @Test
+  @DisplayName("An import through the API leaves no entities in the request's persistence context")
+  void testImportClearsPersistenceContext() throws Exception {
+    // Mehr als ein Block.
+    StringBuilder csv = new StringBuilder("Name,Preis,KategorieID\n");
+    for (int i = 1; i <= 2500; i++) {
+      csv.append("Produkt ").append(i).append(",1.0,").append(electronics.getId()).append('\n');
+    }
+    // Wie bei Open-Session-in-View: ein EntityManager für den ganzen Request, an den Thread gebunden.
+    EntityManager entityManager = entityManagerFactory.createEntityManager();
+    TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+    try {
+      mockMvc.perform(post("/api/v1/products/import").contentType("text/csv").content(csv.toString()))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.importedCount").value(2500));
+
+      assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    } finally {
+      TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+      entityManager.close();
+    }
+    assertThat(productRepository.count()).isEqualTo(2500);
+  }
+
+  @Test
+  @DisplayName("CSV import honours quoting, column order and CRLF line endings")
+  void testCsvQuoting() throws IOException {
+    String csv = "KategorieID,ID,Preis,Name\r\n"
+        + electronics.getId() + ",99,12.5,\"Kabel, \"\"lang\"\"\r\nmit Umbruch\"\r\n"
+        + "\r\n"
+        + electronics.getId() + ",,3,Adapter\r\n";
+
+    ProductImportResultDTO result = productImportService.importCsv(stream(csv));
+
+    assertThat(result.importedCount()).isEqualTo(2);
+    assertThat(productRepository.findAll()).extracting(Product::getName)
+        .containsExactlyInAnyOrder("Kabel, \"lang\"\r\nmit Umbruch", "Adapter");
+  }
+
+  @Test
+  @DisplayName("A database error only skips the affected row")
+  void testDatabaseErrorSkipsRow() throws IOException {
+    String csv = "Name,Preis,KategorieID\n"
+        + "Gut,1.0," + electronics.getId() + "\n"
+        + "x".repeat(300) + ",2.0," + electronics.getId() + "\n"
+        + "Auch gut,3.0," + electronics.getId() + "\n";
+
+    ProductImportResultDTO result = productImportService.importCsv(stream(csv));
+
+    assertThat(result.importedCount()).isEqualTo(2);
+    assertThat(result.errors()).extracting(ProductImportErrorDTO::row).containsExactly(2L);
+    assertThat(productRepository.count()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("JSON import skips records with wrong types or missing fields")
+  void testJsonImport() throws IOException {
+    String json = "["
+        + "{\"name\": \"Laptop\", \"price\": 1200.0, \"categoryId\": " + electronics.getId() + "},"
+        + "{\"name\": \"Maus\", \"price\": \"billig\", \"categoryId\": " + electronics.getId() + "},"
+        + "42,"
+        + "{\"name\": \"Tastatur\", \"categoryId\": " + electronics.getId() + "}"
+        + "]";
+
+    ProductImportResultDTO result = productImportService.importJson(stream(json));
+
+    assertThat(result.importedCount()).isEqualTo(1);
+    assertThat(result.errors()).extracting(ProductImportErrorDTO::row).containsExactly(2L, 3L, 4L);
+    assertThat(result.errors().get(2).message()).isEqualTo("Preis ist erforderlich");
+    assertThat(productRepository.findAll()).extracting(Product::getName).containsExactly("Laptop");
+  }
+
+  @Test
+  @DisplayName("Unreadable input is rejected as a whole")
+  void testInvalidInput() {
+    assertThatThrownBy(() -> productImportService.importCsv(stream("Name;Preis;KategorieID\n")))
+        .isInstanceOf(InvalidImportException.class)
+        .hasMessageContaining("KategorieID");
+    assertThatThrownBy(() -> productImportService.importJson(stream("{\"name\": \"Laptop\"}")))
+        .isInstanceOf(InvalidImportException.class);
+    assertThatThrownBy(() -> productImportService.importJson(stream("[{\"name\": ")))
+        .isInstanceOf(InvalidImportException.class)
+        .hasMessageContaining("Bereits importiert: 0");
+    assertThat(productRepository.count()).isZero();
+  }
+
+  private static InputStream stream(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,121 @@
+package org.example.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
+import org.example.dto.ProductDTO;
+import org.example.dto.ProductFilter;
+import org.example.dto.ProductPageDTO;
+import org.example.rest.mapper.ProductMapper;
+import org.example.services.impl.ProductExportServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Zählt die SQL-Statements der Listenabfragen. Bewusst ohne @Transactional, damit die Kategorien nicht schon aus dem
+ * Persistenzkontext des Tests kommen.
+ */
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+    "pricing.price-details.enabled=false", "catalog.events.relay.enabled=false"})
+class ProductQueryCountTest {
+
+  @Autowired
+  private ProductService productService;
+
+  @Autowired
+  private ProductExportServiceImpl productExportService;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  @Autowired
+  private ProductMapper productMapper;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private Statistics statistics;
+  private Category electronics;
+
+  @BeforeEach
+  void setUp() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+
+    electronics = categoryRepository.save(new Category(null, "Electronics"));
+    Category books = categoryRepository.save(new Category(null, "Books"));
+    Category garden = categoryRepository.save(new Category(null, "Garden"));
+    productRepository.saveAll(List.of(
+        new Product(null, "Laptop", 1200.00, electronics),
+        new Product(null, "Mouse", 25.50, electronics),
+        new Product(null, "Novel", 15.00, books),
+        new Product(null, "Shovel", 30.00, garden)));
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("getAllProducts runs exactly one query")
+  void testGetAllProductsRunsOneQuery() {
+    List<ProductDTO> products = productService.getAllProducts();
+
+    assertThat(products).extracting(ProductDTO::getCategoryName)
+        .containsExactly("Electronics", "Electronics", "Books", "Garden");
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("A filtered page runs exactly one query")
+  void testGetProductsRunsOneQuery() {
+    ProductPageDTO page = productService.getProducts(ProductFilter.NONE, null, 3);
+
+    assertThat(page.products()).extracting(ProductDTO::getCategoryName)
+        .containsExactly("Electronics", "Electronics", "Books");
+    assertThat(page.nextCursor()).isNotNull();
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Mapping the entities of findAll does not load categories lazily")
+  void testFindAllFetchesCategories() {
+    List<ProductDTO> products = transactionTemplate.execute(status -> productMapper.toDtoList(productRepository.findAll()));
+
+    assertThat(products).hasSize(4).allSatisfy(product -> assertThat(product.getCategoryName()).isNotNull());
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Products of a category can be mapped outside of the session")
+  void testFetchProductsForCategoryFetchesCategory() {
+    List<Product> products = productExportService.fetchProductsForCategory(electronics.getId());
+
+    assertThat(productMapper.toDtoList(products)).extracting(ProductDTO::getCategoryName)
+        .containsOnly("Electronics");
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+}
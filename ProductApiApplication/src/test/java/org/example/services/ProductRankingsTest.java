@@ -0,0 +1,155 @@
+package org.example.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.stream.StreamSupport;
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
+import org.example.dto.ProductDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Bewusst ohne @Transactional: die Ranglisten werden erst nach einem Commit fortgeschrieben.
+ */
+@SpringBootTest
+class ProductRankingsTest {
+
+  private static final Comparator<Product> CHEAPEST_FIRST = Comparator.comparing(Product::getPrice)
+      .thenComparing(Product::getId);
+  private static final Comparator<Product> MOST_EXPENSIVE_FIRST = Comparator.comparing(Product::getPrice)
+      .reversed()
+      .thenComparing(Product::getId);
+
+  @Autowired
+  private ProductStatisticsService statisticsService;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  private final List<Category> categories = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+    categories.clear();
+    categories.add(categoryRepository.save(new Category(null, "Tools")));
+    categories.add(categoryRepository.save(new Category(null, "Garden")));
+    categories.add(null);
+  }
+
+  @AfterEach
+  void tearDown() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Deleting listed products shortens the ranking and refills it from the database when needed")
+  void testRefillAfterDeletes() {
+    List<Product> products = new ArrayList<>();
+    for (int i = 1; i <= 150; i++) {
+      products.add(new Product(null, "Tool " + i, (double) i, categories.get(0)));
+    }
+    productRepository.saveAll(products);
+    Long toolsId = categories.get(0).getId();
+    assertThat(statisticsService.findCheapestProducts(toolsId, 5)).extracting(ProductDTO::getPrice)
+        .containsExactly(1.0, 2.0, 3.0, 4.0, 5.0);
+
+    productRepository.deleteAll(products.subList(0, 10));
+
+    assertThat(statisticsService.findCheapestProducts(toolsId, 5)).extracting(ProductDTO::getPrice)
+        .containsExactly(11.0, 12.0, 13.0, 14.0, 15.0);
+    List<ProductDTO> refilled = statisticsService.findCheapestProducts(toolsId, 100);
+    assertThat(refilled).hasSize(100);
+    assertThat(refilled.get(99).getPrice()).isEqualTo(110.0);
+    assertThat(refilled.get(0).getCategoryName()).isEqualTo("Tools");
+  }
+
+  @Test
+  @DisplayName("Per-category and merged rankings match a full sort after random committed changes")
+  void testRankingsMatchFullSort() {
+    Random random = new Random(11);
+    List<Product> products = new ArrayList<>();
+    for (int i = 0; i < 300; i++) {
+      products.add(new Product(null, "Product " + i, (double) random.nextInt(500), randomCategory(random)));
+    }
+    productRepository.saveAll(products);
+    assertMatchesFullSort();
+
+    for (int round = 0; round < 60; round++) {
+      List<Product> existing = findAll();
+      Product product = existing.get(random.nextInt(existing.size()));
+      switch (random.nextInt(4)) {
+        case 0 -> productRepository.save(new Product(null, "New " + round, (double) random.nextInt(500),
+            randomCategory(random)));
+        case 1 -> productRepository.delete(product);
+        case 2 -> {
+          product.setPrice((double) random.nextInt(500));
+          productRepository.save(product);
+        }
+        default -> {
+          product.setCategory(randomCategory(random));
+          productRepository.save(product);
+        }
+      }
+      if (round % 10 == 9) {
+        assertMatchesFullSort();
+      }
+    }
+  }
+
+  private void assertMatchesFullSort() {
+    List<Product> priced = findAll();
+    for (int limit : new int[]{1, 20, 100}) {
+      assertThat(ids(statisticsService.findCheapestProducts(null, limit)))
+          .containsExactlyElementsOf(expected(priced, null, CHEAPEST_FIRST, limit, false));
+      assertThat(ids(statisticsService.findMostExpensiveProducts(null, limit)))
+          .containsExactlyElementsOf(expected(priced, null, MOST_EXPENSIVE_FIRST, limit, false));
+      for (Category category : categories.subList(0, 2)) {
+        assertThat(ids(statisticsService.findCheapestProducts(category.getId(), limit)))
+            .containsExactlyElementsOf(expected(priced, category, CHEAPEST_FIRST, limit, true));
+        assertThat(ids(statisticsService.findMostExpensiveProducts(category.getId(), limit)))
+            .containsExactlyElementsOf(expected(priced, category, MOST_EXPENSIVE_FIRST, limit, true));
+      }
+    }
+  }
+
+  private static List<Long> expected(List<Product> priced, Category category, Comparator<Product> order, int limit,
+      boolean perCategory) {
+    return priced.stream()
+        .filter(product -> !perCategory || product.getCategory() != null
+            && Objects.equals(product.getCategory().getId(), category.getId()))
+        .sorted(order)
+        .limit(limit)
+        .map(Product::getId)
+        .toList();
+  }
+
+  private List<Product> findAll() {
+    return StreamSupport.stream(productRepository.findAll().spliterator(), false).toList();
+  }
+
+  private static List<Long> ids(List<ProductDTO> products) {
+    return products.stream().map(ProductDTO::getId).toList();
+  }
+
+  private Category randomCategory(Random random) {
+    return categories.get(random.nextInt(categories.size()));
+  }
+}
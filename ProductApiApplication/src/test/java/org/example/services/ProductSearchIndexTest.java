@@ -0,0 +1,127 @@
+package org.example.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
+import org.example.dto.ProductDTO;
+import org.example.services.impl.search.ProductSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Bewusst ohne @Transactional: der Index wird erst nach einem Commit fortgeschrieben.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductSearchIndexTest {
+
+  @Autowired
+  private ProductService productService;
+
+  @Autowired
+  private ProductSearchIndex searchIndex;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  private Category category;
+
+  @BeforeEach
+  void setUp() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+    category = categoryRepository.save(new Category(null, "Haushalt"));
+  }
+
+  @AfterEach
+  void tearDown() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Case, umlaut spelling and incomplete last terms do not matter")
+  void testFoldingAndPrefix() {
+    save("Kühlschrank XL");
+    save("Kuehlbox");
+    save("Laptop-Ständer");
+
+    assertThat(names("kühl")).containsExactlyInAnyOrder("Kühlschrank XL", "Kuehlbox");
+    assertThat(names("KUEHLSCHRANK")).containsExactly("Kühlschrank XL");
+    assertThat(names("staender")).containsExactly("Laptop-Ständer");
+    assertThat(names("toaster")).isEmpty();
+    assertThat(names(" - ")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Products matching more and shorter are ranked first")
+  void testRanking() {
+    save("Laptop");
+    save("Gaming Laptop Tasche Pro");
+    save("Laptop Tasche");
+    save("Einkaufstasche");
+
+    assertThat(names("laptop tasche")).containsExactly("Laptop Tasche", "Gaming Laptop Tasche Pro", "Laptop");
+    assertThat(productService.searchProducts("laptop tasche", 1)).extracting(ProductDTO::getName)
+        .containsExactly("Laptop Tasche");
+  }
+
+  @Test
+  @DisplayName("Index follows committed updates and deletes, also across a rebuild")
+  void testIndexFollowsChanges() {
+    Product kettle = save("Wasserkocher");
+    save("Teekanne");
+
+    kettle.setName("Edelstahl Wasserkocher");
+    productRepository.save(kettle);
+    assertThat(names("edelstahl")).containsExactly("Edelstahl Wasserkocher");
+
+    searchIndex.rebuild();
+    assertThat(names("wasserkocher")).containsExactly("Edelstahl Wasserkocher");
+
+    productRepository.deleteById(kettle.getId());
+    assertThat(names("wasserkocher")).isEmpty();
+    assertThat(names("teekanne")).containsExactly("Teekanne");
+  }
+
+  @Test
+  void testSearchEndpoint() throws Exception {
+    save("Stehlampe");
+    save("Schreibtischlampe");
+
+    mockMvc.perform(get("/api/v1/products/search").param("q", "stehlampe"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].name").value("Stehlampe"))
+        .andExpect(jsonPath("$[0].categoryName").value("Haushalt"));
+    mockMvc.perform(get("/api/v1/products/search").param("q", "lampe").param("limit", "0"))
+        .andExpect(status().isBadRequest());
+  }
+
+  private Product save(String name) {
+    return productRepository.save(new Product(null, name, 10.00, category));
+  }
+
+  private List<String> names(String query) {
+    return productService.searchProducts(query, 10).stream().map(ProductDTO::getName).toList();
+  }
+}
@@ -0,0 +1,158 @@
+package org.example.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
+import org.example.dto.BulkDeleteDTO;
+import org.example.dto.BulkRepriceDTO;
+import org.example.dto.ProductDTO;
+import org.example.model.PriceAdjustmentType;
+import org.example.services.impl.statistics.CatalogColumnStore;
+import org.example.services.impl.statistics.ProductStatisticsCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Bewusst ohne @Transactional: der Cache wird erst nach einem Commit fortgeschrieben.
+ */
+@SpringBootTest
+@Import(CatalogListenerGate.Configuration.class)
+class ProductStatisticsCacheTest {
+
+  @Autowired
+  private ProductStatisticsCache statisticsCache;
+
+  @Autowired
+  private ProductService productService;
+
+  @Autowired
+  private ProductStatisticsService statisticsService;
+
+  @Autowired
+  private ProductBulkService bulkService;
+
+  @Autowired
+  private CatalogColumnStore columnStore;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  @Autowired
+  private CatalogListenerGate gate;
+
+  private Category electronics;
+  private Product laptop;
+  private Product mouse;
+
+  @BeforeEach
+  void setUp() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+
+    electronics = categoryRepository.save(new Category(null, "Electronics"));
+    laptop = new Product(null, "Laptop", 1200.00, electronics);
+    mouse = new Product(null, "Mouse", 25.50, electronics);
+    productRepository.saveAll(Arrays.asList(laptop, mouse));
+  }
+
+  @AfterEach
+  void tearDown() {
+    gate.open();
+  }
+
+  @Test
+  @DisplayName("Cache follows committed creates and stays consistent with the database")
+  void testCacheFollowsCreates() {
+    ProductDTO keyboard = new ProductDTO();
+    keyboard.setName("Keyboard");
+    keyboard.setPrice(10.00);
+    keyboard.setCategoryId(electronics.getId());
+    ProductDTO created = productService.createProduct(keyboard);
+
+    assertThat(statisticsCache.averagePrice(electronics.getId())).isCloseTo((1200.00 + 25.50 + 10.00) / 3, within(0.01));
+    assertThat(statisticsCache.countProductsPerCategory()).containsEntry("Electronics", 3L);
+    assertThat(statisticsCache.cheapestProduct(electronics.getId())).map(ProductDTO::getId).contains(created.getId());
+    assertThat(statisticsCache.checkConsistency().consistent()).isTrue();
+  }
+
+  @Test
+  @DisplayName("Deleting the cheapest product reloads the next cheapest one")
+  void testCacheFollowsDeletes() {
+    productService.deleteProduct(mouse.getId());
+
+    Optional<ProductDTO> cheapest = statisticsCache.cheapestProduct(electronics.getId());
+    assertThat(cheapest).map(ProductDTO::getId).contains(laptop.getId());
+    assertThat(cheapest).map(ProductDTO::getCategoryName).contains("Electronics");
+    assertThat(statisticsCache.averagePrice()).isCloseTo(1200.00, within(0.01));
+    assertThat(statisticsCache.checkConsistency().consistent()).isTrue();
+  }
+
+  @Test
+  @DisplayName("Deleting a category removes it from the cache")
+  void testCacheFollowsCategoryDeletes() {
+    Category empty = categoryRepository.save(new Category(null, "Empty"));
+    assertThat(statisticsCache.containsCategory(empty.getId())).isTrue();
+
+    categoryRepository.deleteById(empty.getId());
+
+    assertThat(statisticsCache.containsCategory(empty.getId())).isFalse();
+    assertThat(statisticsCache.checkConsistency().consistent()).isTrue();
+  }
+
+  @Test
+  @DisplayName("Bulk changes are recomputed from the catalog columns")
+  void testCacheFollowsBulkChanges() {
+    bulkService.repriceProducts(new BulkRepriceDTO(electronics.getId(), null, PriceAdjustmentType.PERCENTAGE, -50.0));
+
+    assertThat(statisticsService.getAverageProductPrice()).isCloseTo((600.00 + 12.75) / 2, within(0.01));
+    assertThat(statisticsService.findMostExpensiveProduct()).map(ProductDTO::getPrice).contains(600.00);
+
+    bulkService.deleteProducts(new BulkDeleteDTO(null, List.of(laptop.getId())));
+
+    assertThat(columnStore.snapshot().rowCount()).isEqualTo(1);
+    assertThat(statisticsService.findMostExpensiveProduct()).map(ProductDTO::getId).contains(mouse.getId());
+    assertThat(statisticsService.getAverageProductPricePerCategory(electronics.getId())).isCloseTo(12.75,
+        within(0.01));
+    assertThat(statisticsCache.checkConsistency().consistent()).isTrue();
+  }
+
+  @Test
+  @DisplayName("A rebuild does not count a single update twice that the columns already contain")
+  void testRebuildSkipsChangesAlreadyInColumns() throws Exception {
+    Category books = categoryRepository.save(new Category(null, "Books"));
+    Product novel = productRepository.save(new Product(null, "Novel", 15.00, books));
+    statisticsCache.ensureReady();
+    gate.close();
+    CompletableFuture<Void> move = CompletableFuture.runAsync(() -> {
+      novel.setCategory(electronics);
+      productRepository.save(novel);
+    });
+    assertThat(gate.awaitHeld()).isTrue();
+
+    // Der Bulk-Commit erzwingt einen Neuaufbau aus Spalten, die den Wechsel bereits enthalten.
+    bulkService.repriceProducts(new BulkRepriceDTO(electronics.getId(), null, PriceAdjustmentType.ABSOLUTE, 0.0));
+    assertThat(statisticsCache.ensureReady()).isTrue();
+    gate.open();
+    move.get(10, TimeUnit.SECONDS);
+
+    assertThat(statisticsCache.countProductsPerCategory()).containsEntry("Electronics", 3L).doesNotContainKey("Books");
+    assertThat(statisticsCache.checkConsistency().consistent()).isTrue();
+  }
+}
@@ -1,10 +1,12 @@
 package org.example.services;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.within;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -12,7 +14,10 @@ import org.example.database.model.Category;
 import org.example.database.model.Product;
 import org.example.database.repository.CategoryRepository;
 import org.example.database.repository.ProductRepository;
+import org.example.dto.PriceDistributionDTO;
+import org.example.dto.PriceHistogramBucketDTO;
 import org.example.dto.ProductDTO;
+import org.example.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -152,4 +157,71 @@ class ProductsStatisticsServiceImplTest {
 
     assertThat(resultOpt).isNotPresent();
   }
-}
\ No newline at end of file
+
+  @Test
+  @DisplayName("getAverageProductPricePerCategory should throw ResourceNotFoundException for non-existent category")
+  void testGetAverageProductPricePerCategory_CategoryNotFound() {
+    Long nonExistentId = 9999L;
+
+    assertThatThrownBy(() -> statisticsService.getAverageProductPricePerCategory(nonExistentId))
+        .isInstanceOf(ResourceNotFoundException.class)
+        .hasMessageContaining("Kategorie nicht gefunden mit der ID: " + nonExistentId);
+  }
+
+  @Test
+  @DisplayName("findCheapestProductInCategory should throw ResourceNotFoundException for non-existent category")
+  void testFindCheapestProductInCategory_CategoryNotFound() {
+    Long nonExistentId = 9999L;
+
+    assertThatThrownBy(() -> statisticsService.findCheapestProductInCategory(nonExistentId))
+        .isInstanceOf(ResourceNotFoundException.class)
+        .hasMessageContaining("Kategorie nicht gefunden mit der ID: " + nonExistentId);
+  }
+
+  @Test
+  @DisplayName("findCheapestProducts and findMostExpensiveProducts should return the top products in order")
+  void testFindTopProducts() {
+    assertThat(statisticsService.findCheapestProducts(null, 3)).extracting(ProductDTO::getName)
+        .containsExactly("Orphan Widget", "Mouse", "Java Basics");
+    assertThat(statisticsService.findMostExpensiveProducts(null, 2)).extracting(ProductDTO::getName)
+        .containsExactly("Laptop", "Spring Guide");
+    assertThat(statisticsService.findCheapestProducts(booksCategory.getId(), 10)).extracting(ProductDTO::getName)
+        .containsExactly("Java Basics", "Spring Guide");
+    assertThat(statisticsService.findMostExpensiveProducts(electronicsCategory.getId(), 1))
+        .extracting(ProductDTO::getName).containsExactly("Laptop");
+    assertThat(statisticsService.findCheapestProducts(emptyCategory.getId(), 10)).isEmpty();
+    assertThatThrownBy(() -> statisticsService.findMostExpensiveProducts(9999L, 10))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  @Test
+  @DisplayName("getPriceDistribution should return exact quantiles and histogram for small catalogs")
+  void testGetPriceDistribution_Exact() {
+    Optional<PriceDistributionDTO> catalog = statisticsService.getPriceDistribution(List.of(), 2);
+
+    assertThat(catalog).isPresent();
+    assertThat(catalog.get().pricedCount()).isEqualTo(5);
+    assertThat(catalog.get().minPrice()).isEqualTo(10.00);
+    assertThat(catalog.get().medianPrice()).isEqualTo(50.00);
+    assertThat(catalog.get().p90Price()).isEqualTo(1200.00);
+    assertThat(catalog.get().maxPrice()).isEqualTo(1200.00);
+    assertThat(catalog.get().rankError()).isZero();
+    assertThat(catalog.get().histogram()).extracting(PriceHistogramBucketDTO::count).containsExactly(4L, 1L);
+
+    Optional<PriceDistributionDTO> categories = statisticsService.getPriceDistribution(
+        List.of(electronicsCategory.getId(), booksCategory.getId()), 10);
+    assertThat(categories).map(PriceDistributionDTO::pricedCount).contains(4L);
+    assertThat(categories).map(PriceDistributionDTO::medianPrice).contains(50.00);
+    assertThat(statisticsService.getPriceDistribution(List.of(emptyCategory.getId()), 10)).isNotPresent();
+  }
+
+  @Test
+  @DisplayName("getPriceDistribution should throw ResourceNotFoundException for non-existent category")
+  void testGetPriceDistribution_CategoryNotFound() {
+    Long nonExistentId = 9999L;
+
+    assertThatThrownBy(() -> statisticsService.getPriceDistribution(List.of(booksCategory.getId(), nonExistentId), 10))
+        .isInstanceOf(ResourceNotFoundException.class)
+        .hasMessageContaining("Kategorie nicht gefunden mit der ID: " + nonExistentId);
+  }
+}
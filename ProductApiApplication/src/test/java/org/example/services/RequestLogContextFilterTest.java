@@ -0,0 +1,75 @@
+package org.example.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.example.services.impl.logging.RequestLogContextFilter;
+import org.example.services.impl.logging.SampledDebugTurboFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Ohne Spring-Kontext gilt logback-spring.xml nicht; der Turbo-Filter wird deshalb für jeden Test selbst registriert.
+ */
+class RequestLogContextFilterTest {
+
+  private final LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+  private final SampledDebugTurboFilter turboFilter = new SampledDebugTurboFilter();
+
+  @BeforeEach
+  void setUp() {
+    loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+    turboFilter.start();
+    loggerContext.addTurboFilter(turboFilter);
+  }
+
+  @AfterEach
+  void tearDown() {
+    loggerContext.getTurboFilterList().remove(turboFilter);
+  }
+
+  @Test
+  void testSampledRequestCarriesRequestIdAndDebugFlag() throws Exception {
+    RequestLogContextFilter filter = new RequestLogContextFilter(1.0);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products");
+    request.addHeader("X-Request-Id", "abc-123");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    AtomicBoolean called = new AtomicBoolean();
+
+    filter.doFilter(request, response, (req, res) -> {
+      called.set(true);
+      assertThat(MDC.get("requestId")).isEqualTo("abc-123");
+      assertThat(MDC.get("debugSampled")).isEqualTo("true");
+      assertThat(LoggerFactory.getLogger("org.example.services.ProductService").isDebugEnabled()).isTrue();
+      assertThat(LoggerFactory.getLogger("org.hibernate.SQL").isDebugEnabled()).isFalse();
+    });
+
+    assertThat(called).isTrue();
+    assertThat(response.getHeader("X-Request-Id")).isEqualTo("abc-123");
+    assertThat(MDC.get("requestId")).isNull();
+    assertThat(MDC.get("debugSampled")).isNull();
+  }
+
+  @Test
+  void testUnsampledRequestGetsGeneratedRequestId() throws Exception {
+    RequestLogContextFilter filter = new RequestLogContextFilter(0.0);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products");
+    request.addHeader("X-Request-Id", "line\nbreak");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(request, response, (req, res) -> {
+      assertThat(MDC.get("debugSampled")).isNull();
+      assertThat(LoggerFactory.getLogger("org.example.services.ProductService").isDebugEnabled()).isFalse();
+    });
+
+    assertThat(response.getHeader("X-Request-Id")).isNotBlank().doesNotContain("\n");
+  }
+}
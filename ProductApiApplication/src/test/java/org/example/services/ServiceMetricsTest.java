@@ -0,0 +1,137 @@
+package org.example.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
+import org.example.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ServiceMetricsTest {
+
+  @Autowired
+  private ProductService productService;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+
+    Category category = categoryRepository.save(new Category(null, "Electronics"));
+    productRepository.saveAll(List.of(
+        new Product(null, "Laptop", 1200.00, category),
+        new Product(null, "Keyboard", 75.50, category)));
+  }
+
+  @Test
+  void testSuccessfulCallIsTimedWithRowsAndStatements() {
+    long callsBefore = callCount("getAllProducts", "success");
+    double rowsBefore = rowTotal("getAllProducts");
+    long statementsBefore = summaryCount("catalog.service.sql.statements", "getAllProducts");
+
+    productService.getAllProducts();
+
+    assertThat(callCount("getAllProducts", "success")).isEqualTo(callsBefore + 1);
+    assertThat(rowTotal("getAllProducts") - rowsBefore).isEqualTo(2.0);
+    DistributionSummary statements = summary("catalog.service.sql.statements", "getAllProducts");
+    assertThat(statements.count()).isEqualTo(statementsBefore + 1);
+    assertThat(statements.max()).isGreaterThanOrEqualTo(1.0);
+  }
+
+  @Test
+  void testFailedCallIsCountedAsError() {
+    long errorsBefore = errors();
+
+    assertThatThrownBy(() -> productService.getProductById(-1L)).isInstanceOf(ResourceNotFoundException.class);
+
+    assertThat(errors()).isEqualTo(errorsBefore + 1);
+  }
+
+  @Test
+  void testStatementsArePerRequest() throws Exception {
+    mockMvc.perform(get("/api/v1/products")).andExpect(status().isOk());
+
+    DistributionSummary statements = meterRegistry.get("http.server.requests.sql.statements")
+        .tag("method", "GET")
+        .tag("uri", "/api/v1/products")
+        .summary();
+    assertThat(statements.count()).isGreaterThanOrEqualTo(1);
+    assertThat(statements.max()).isGreaterThanOrEqualTo(1.0);
+  }
+
+  @Test
+  void testCatalogCacheMetricsAreBound() {
+    assertThat(meterRegistry.find("cache.gets").tag("cache", "products").functionCounters()).isNotEmpty();
+  }
+
+  private long callCount(String method, String outcome) {
+    Timer timer = meterRegistry.find("catalog.service.calls")
+        .tag("service", "ProductService")
+        .tag("method", method)
+        .tag("outcome", outcome)
+        .timer();
+    return timer != null ? timer.count() : 0;
+  }
+
+  private long errors() {
+    Timer timer = meterRegistry.find("catalog.service.calls")
+        .tag("service", "ProductService")
+        .tag("method", "getProductById")
+        .tag("exception", "ResourceNotFoundException")
+        .timer();
+    return timer != null ? timer.count() : 0;
+  }
+
+  private double rowTotal(String method) {
+    DistributionSummary summary = meterRegistry.find("catalog.service.rows")
+        .tag("service", "ProductService")
+        .tag("method", method)
+        .summary();
+    return summary != null ? summary.totalAmount() : 0;
+  }
+
+  private long summaryCount(String name, String method) {
+    DistributionSummary summary = meterRegistry.find(name)
+        .tag("service", "ProductService")
+        .tag("method", method)
+        .summary();
+    return summary != null ? summary.count() : 0;
+  }
+
+  private DistributionSummary summary(String name, String method) {
+    return meterRegistry.get(name)
+        .tag("service", "ProductService")
+        .tag("method", method)
+        .summary();
+  }
+}
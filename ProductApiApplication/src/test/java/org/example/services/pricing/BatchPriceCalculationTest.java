@@ -0,0 +1,88 @@
+package org.example.services.pricing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
+import org.example.dto.PriceDetailsDTO;
+import org.example.model.DiscountType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class BatchPriceCalculationTest {
+
+  @Autowired
+  private PriceCalculationService priceCalculationService;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  private Product laptop;
+  private Product book;
+  private Product cheapBook;
+
+  @BeforeEach
+  void setUp() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+
+    Category electronics = categoryRepository.save(new Category(null, "Electronics"));
+    Category books = categoryRepository.save(new Category(null, "Books"));
+    laptop = new Product(null, "Laptop", 1000.00, electronics);
+    book = new Product(null, "Enzyklopädie", 120.00, books);
+    cheapBook = new Product(null, "Roman", 20.00, books);
+    productRepository.saveAll(Arrays.asList(laptop, book, cheapBook));
+  }
+
+  @Test
+  @DisplayName("Batch calculation returns the same details as the single calculation, in request order")
+  void testBatchMatchesSingleCalculation() {
+    List<Long> ids = List.of(cheapBook.getId(), laptop.getId(), book.getId());
+
+    Map<Long, PriceDetailsDTO> details = priceCalculationService.calculatePriceDetails(ids);
+
+    assertThat(details.keySet()).containsExactlyElementsOf(ids);
+    for (Long id : ids) {
+      assertThat(details.get(id)).isEqualTo(priceCalculationService.calculatePriceDetails(id));
+    }
+    assertThat(details.get(laptop.getId()).appliedDiscount().type()).isEqualTo(DiscountType.PERCENTAGE);
+    assertThat(details.get(laptop.getId()).finalPrice()).isEqualByComparingTo(new BigDecimal("1071.00"));
+    assertThat(details.get(book.getId()).appliedDiscount().type()).isEqualTo(DiscountType.FIXED_AMOUNT);
+    assertThat(details.get(cheapBook.getId()).appliedDiscount().type()).isEqualTo(DiscountType.NONE);
+  }
+
+  @Test
+  @DisplayName("Unknown, duplicate and null IDs are skipped")
+  void testBatchSkipsUnknownIds() {
+    Map<Long, PriceDetailsDTO> details = priceCalculationService.calculatePriceDetails(
+        Arrays.asList(laptop.getId(), 9999L, null, laptop.getId()));
+
+    assertThat(details).containsOnlyKeys(laptop.getId());
+    assertThat(priceCalculationService.calculatePriceDetails(List.of())).isEmpty();
+  }
+
+  @Test
+  @DisplayName("A product with a negative price fails the batch with IllegalArgumentException")
+  void testBatchRejectsNegativePrice() {
+    Product invalid = productRepository.save(new Product(null, "Gutschrift", -5.00, laptop.getCategory()));
+
+    assertThatThrownBy(() -> priceCalculationService.calculatePriceDetails(List.of(laptop.getId(), invalid.getId())))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,161 @@
+package org.example.services.pricing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
+import org.example.exception.InvalidDiscountRulesException;
+import org.example.model.DiscountInfo;
+import org.example.model.DiscountRule;
+import org.example.model.DiscountType;
+import org.example.services.impl.pricing.CompiledDiscountRules;
+import org.example.services.impl.pricing.DiscountRuleParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Bewusst ohne @Transactional: neue Kategorien erreichen die Regeln erst nach dem Commit.
+ */
+@SpringBootTest
+class DiscountRuleEngineTest {
+
+  private static final long TODAY = LocalDate.of(2025, 6, 15).toEpochDay();
+
+  @Autowired
+  private DiscountService discountService;
+
+  @Autowired
+  private DiscountRuleService discountRuleService;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  @AfterEach
+  void tearDown() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Default rules: 10% on Electronics, 5 EUR on Books above 100 EUR")
+  void testDefaultRules() {
+    Category electronics = categoryRepository.save(new Category(null, "electronics"));
+    Category books = categoryRepository.save(new Category(null, "Books"));
+    Category toys = categoryRepository.save(new Category(null, "Toys"));
+
+    assertThat(discountService.getDiscount(new Product(1L, "Laptop", 1000.0, electronics)))
+        .isEqualTo(new DiscountInfo(DiscountType.PERCENTAGE, 0.10));
+    assertThat(discountService.getDiscount(new Product(2L, "Lexikon", 100.01, books)))
+        .isEqualTo(new DiscountInfo(DiscountType.FIXED_AMOUNT, 5.00));
+    assertThat(discountService.getDiscount(new Product(3L, "Roman", 100.00, books)).type())
+        .isEqualTo(DiscountType.NONE);
+    assertThat(discountService.getDiscount(new Product(4L, "Ball", 10.0, toys)).type())
+        .isEqualTo(DiscountType.NONE);
+    assertThat(discountService.getDiscount(null).type()).isEqualTo(DiscountType.NONE);
+  }
+
+  @Test
+  @DisplayName("Renaming a category re-targets its rules and bumps the rules version")
+  void testCategoryRenameRecompiles() {
+    Category category = categoryRepository.save(new Category(null, "Spielzeug"));
+    Product product = new Product(1L, "Konsole", 300.0, category);
+    assertThat(discountService.getDiscount(product).type()).isEqualTo(DiscountType.NONE);
+    long version = discountRuleService.rulesVersion();
+
+    category.setName("Electronics");
+    categoryRepository.save(category);
+
+    assertThat(discountService.getDiscount(product).type()).isEqualTo(DiscountType.PERCENTAGE);
+    assertThat(discountRuleService.rulesVersion()).isGreaterThan(version);
+  }
+
+  @Test
+  @DisplayName("Reload activates a new rules version")
+  void testReload() {
+    long version = discountRuleService.rulesVersion();
+
+    assertThat(discountRuleService.reloadRules().version()).isEqualTo(version + 1);
+    assertThat(discountRuleService.reloadRules().ruleCount()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Overlapping bands pick the highest priority rule that is valid on the given day")
+  void testPriorityAndValidity() throws IOException {
+    CompiledDiscountRules rules = compile("""
+        kategorie,preis_ab,preis_bis,typ,wert,gueltig_ab,gueltig_bis,prioritaet
+        Garten,,,PERCENTAGE,0.05,,,0
+        Garten,50,200,FIXED_AMOUNT,10,,,1
+        garten,100,,PERCENTAGE,0.20,2025-06-01,2025-06-30,2
+        """, Map.of(7L, "Garten"));
+
+    assertThat(rules.lookup(7L, 50.0, TODAY)).isEqualTo(new DiscountInfo(DiscountType.PERCENTAGE, 0.05));
+    assertThat(rules.lookup(7L, 80.0, TODAY)).isEqualTo(new DiscountInfo(DiscountType.FIXED_AMOUNT, 10));
+    assertThat(rules.lookup(7L, 150.0, TODAY)).isEqualTo(new DiscountInfo(DiscountType.PERCENTAGE, 0.20));
+    assertThat(rules.lookup(7L, 150.0, TODAY + 30)).isEqualTo(new DiscountInfo(DiscountType.FIXED_AMOUNT, 10));
+    assertThat(rules.lookup(7L, 500.0, TODAY + 30)).isEqualTo(new DiscountInfo(DiscountType.PERCENTAGE, 0.05));
+    assertThat(rules.lookup(8L, 150.0, TODAY).type()).isEqualTo(DiscountType.NONE);
+    assertThat(rules.lookup(7L, null, TODAY).type()).isEqualTo(DiscountType.NONE);
+  }
+
+  @Test
+  @DisplayName("Only categories whose rules changed are reported as affected")
+  void testCategoriesChangedSince() throws IOException {
+    Map<Long, String> categories = Map.of(1L, "Electronics", 2L, "Books");
+    CompiledDiscountRules before = compile("Electronics,,,PERCENTAGE,0.10,,,0\nBooks,100,,FIXED_AMOUNT,5,,,0",
+        categories);
+    CompiledDiscountRules after = compile("Electronics,,,PERCENTAGE,0.10,,,0\nBooks,100,,FIXED_AMOUNT,7,,,0",
+        categories);
+
+    assertThat(after.categoriesChangedSince(before)).containsExactly(2L);
+  }
+
+  @Test
+  @DisplayName("Rule fingerprints depend only on the rules of the category, not on version or category ids")
+  void testFingerprints() throws IOException {
+    String table = "Electronics,,,PERCENTAGE,0.10,,,0\nBooks,100,,FIXED_AMOUNT,5,,,0";
+    CompiledDiscountRules rules = compile(table, Map.of(1L, "Electronics", 2L, "Books"));
+    CompiledDiscountRules restarted = CompiledDiscountRules.compile(42,
+        DiscountRuleParser.parse(new StringReader(table)), Map.of(7L, "electronics", 8L, "Toys"));
+    CompiledDiscountRules changed = compile("Electronics,,,PERCENTAGE,0.10,,,0\nBooks,100,,FIXED_AMOUNT,7,,,0",
+        Map.of(1L, "Electronics", 2L, "Books"));
+
+    assertThat(restarted.fingerprint(7L, null)).isEqualTo(rules.fingerprint(1L, null));
+    assertThat(changed.fingerprint(1L, null)).isEqualTo(rules.fingerprint(1L, null));
+    assertThat(changed.fingerprint(2L, null)).isNotEqualTo(rules.fingerprint(2L, null));
+    assertThat(rules.fingerprint(1L, null)).isNotEqualTo(rules.fingerprint(2L, null));
+    assertThat(restarted.fingerprint(8L, null)).isEqualTo(CompiledDiscountRules.NO_RULES);
+    assertThat(rules.fingerprint(null, null)).isEqualTo(CompiledDiscountRules.NO_RULES);
+    // Noch unbekannte Kategorien werden über den Namen aufgelöst.
+    assertThat(rules.fingerprint(9L, "BOOKS")).isEqualTo(rules.fingerprint(2L, null));
+  }
+
+  @Test
+  @DisplayName("Invalid rule lines are rejected with their line number")
+  void testInvalidRules() {
+    assertThatThrownBy(() -> compile("Books,,,PERCENTAGE,1.5,,,0", Map.of()))
+        .isInstanceOf(InvalidDiscountRulesException.class)
+        .hasMessageContaining("Zeile 1");
+    assertThatThrownBy(() -> compile("# Kommentar\nBooks,200,100,FIXED_AMOUNT,5,,,0", Map.of()))
+        .isInstanceOf(InvalidDiscountRulesException.class)
+        .hasMessageContaining("Zeile 2");
+  }
+
+  private static CompiledDiscountRules compile(String table, Map<Long, String> categories) throws IOException {
+    List<DiscountRule> rules = DiscountRuleParser.parse(new StringReader(table));
+    return CompiledDiscountRules.compile(1, rules, categories);
+  }
+}
@@ -0,0 +1,156 @@
+package org.example.services.pricing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import org.example.dto.PriceDetailsDTO;
+import org.example.model.DiscountInfo;
+import org.example.model.DiscountType;
+import org.example.services.impl.pricing.BigDecimalPriceCalculator;
+import org.example.services.impl.pricing.FixedPointPriceCalculator;
+import org.example.services.impl.pricing.PriceBreakdown;
+import org.example.util.FixedPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Differenztest: Die Festkomma-Berechnung muss für jede Eingabe, die sie annimmt, exakt dasselbe Ergebnis liefern wie
+ * die BigDecimal-Referenz. Die Anzahl der Zufallseingaben lässt sich über {@code -Dpricing.differential.iterations}
+ * erhöhen.
+ */
+class FixedPointPriceCalculatorTest {
+
+  private static final long SEED = 20240607L;
+  private static final int ITERATIONS = Integer.getInteger("pricing.differential.iterations", 2_000_000);
+
+  @Test
+  @DisplayName("Fixed-point results are identical to the BigDecimal reference for randomized inputs")
+  void testDifferentialAgainstReference() {
+    SplittableRandom random = new SplittableRandom(SEED);
+    PriceBreakdown breakdown = new PriceBreakdown();
+    long fastPath = 0;
+
+    for (int i = 0; i < ITERATIONS; i++) {
+      double price = randomPrice(random);
+      DiscountInfo discount = randomDiscount(random, price);
+      double taxRate = randomTaxRate(random);
+
+      if (!FixedPointPriceCalculator.tryCalculate(price, discount, taxRate, breakdown)) {
+        continue;
+      }
+      fastPath++;
+      PriceDetailsDTO expected = BigDecimalPriceCalculator.calculate((long) i, price, discount, taxRate);
+      PriceDetailsDTO actual = breakdown.toDto((long) i);
+      if (!expected.equals(actual)) {
+        fail("Abweichung bei price=%s, discount=%s, taxRate=%s:%n erwartet %s%n erhalten %s",
+            price, discount, taxRate, expected, actual);
+      }
+    }
+
+    // Beliebige double-Sätze landen bewusst in der Referenz, alle übrigen Eingaben müssen schnell berechnet werden.
+    assertThat(fastPath).isGreaterThan(ITERATIONS * 6L / 10);
+  }
+
+  @Test
+  @DisplayName("Cent conversion rounds half-up like BigDecimal.valueOf(double).setScale(2, HALF_UP)")
+  void testCentConversion() {
+    SplittableRandom random = new SplittableRandom(SEED);
+    for (int i = 0; i < ITERATIONS; i++) {
+      double value = switch (random.nextInt(4)) {
+        case 0 -> random.nextLong(-10_000_000, 10_000_000) / 1000.0;
+        case 1 -> random.nextLong(0, 100_000_000_000L) / 10_000.0;
+        case 2 -> (random.nextDouble() - 0.5) * 2e6;
+        default -> random.nextLong(0, Long.MAX_VALUE >> 9) / 100.0 + 0.005;
+      };
+      long expected = BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+      if (FixedPoint.toCentsHalfUp(value) != expected) {
+        fail("Abweichung bei %s: erwartet %d, erhalten %d", value, expected, FixedPoint.toCentsHalfUp(value));
+      }
+    }
+    assertThat(FixedPoint.toCentsHalfUp(1.005)).isEqualTo(101);
+    assertThat(FixedPoint.toCentsHalfUp(0.295)).isEqualTo(30);
+    assertThat(FixedPoint.toCentsHalfUp(-2.675)).isEqualTo(-268);
+  }
+
+  @Test
+  @DisplayName("Special cases are left to the reference implementation")
+  void testSpecialCasesFallBack() {
+    PriceBreakdown breakdown = new PriceBreakdown();
+    DiscountInfo none = new DiscountInfo(DiscountType.NONE, 0);
+
+    assertThat(FixedPointPriceCalculator.tryCalculate(-1.00, none, 0.19, breakdown)).isFalse();
+    assertThat(FixedPointPriceCalculator.tryCalculate(10.00, none, -0.19, breakdown)).isFalse();
+    assertThat(FixedPointPriceCalculator.tryCalculate(10.00, none, Double.NaN, breakdown)).isFalse();
+    assertThat(FixedPointPriceCalculator.tryCalculate(1e15, none, 0.19, breakdown)).isFalse();
+    assertThat(FixedPointPriceCalculator.tryCalculate(10.00, new DiscountInfo(DiscountType.PERCENTAGE, 1.5), 0.19,
+        breakdown)).isFalse();
+    assertThat(FixedPointPriceCalculator.tryCalculate(10.00, new DiscountInfo(DiscountType.PERCENTAGE, 0.1 / 3), 0.19,
+        breakdown)).isFalse();
+    assertThat(FixedPointPriceCalculator.tryCalculate(10.00, new DiscountInfo(DiscountType.FIXED_AMOUNT, 20.00), 0.19,
+        breakdown)).isFalse();
+    assertThat(FixedPointPriceCalculator.tryCalculate(10.00, new DiscountInfo(DiscountType.FIXED_AMOUNT, 0.004), 0.19,
+        breakdown)).isFalse();
+
+    PriceDetailsDTO clamped = BigDecimalPriceCalculator.calculate(1L, 10.00,
+        new DiscountInfo(DiscountType.FIXED_AMOUNT, 20.00), 0.19);
+    assertThat(clamped.priceAfterDiscount()).isEqualByComparingTo(BigDecimal.ZERO);
+    assertThat(clamped.discountAmount()).isEqualByComparingTo("10.00");
+    assertThatThrownBy(() -> BigDecimalPriceCalculator.calculate(1L, -1.00, none, 0.19))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("Typical prices are computed on the fixed-point path")
+  void testTypicalPrice() {
+    PriceBreakdown breakdown = new PriceBreakdown();
+
+    assertThat(FixedPointPriceCalculator.tryCalculate(1000.00, new DiscountInfo(DiscountType.PERCENTAGE, 0.10), 0.19,
+        breakdown)).isTrue();
+    assertThat(breakdown.discountCents()).isEqualTo(10_000);
+    assertThat(breakdown.taxCents()).isEqualTo(17_100);
+    assertThat(breakdown.finalPriceCents()).isEqualTo(107_100);
+  }
+
+  private static double randomPrice(SplittableRandom random) {
+    return switch (random.nextInt(10)) {
+      case 0, 1, 2, 3, 4 -> random.nextLong(0, 10_000_000) / 100.0;
+      case 5, 6 -> random.nextLong(0, 10_000_000) / 1000.0;
+      case 7 -> random.nextDouble() * 1_000_000;
+      case 8 -> random.nextLong(0, 1_000_000_000_000L) / 100.0;
+      default -> random.nextLong(0, 100) / 100.0;
+    };
+  }
+
+  /**
+   * Erzeugt nur fachlich gültige Rabatte; ungültige protokolliert die Referenz als Warnung und sind in
+   * {@link #testSpecialCasesFallBack()} abgedeckt.
+   */
+  private static DiscountInfo randomDiscount(SplittableRandom random, double price) {
+    return switch (random.nextInt(8)) {
+      case 0, 1 -> new DiscountInfo(DiscountType.NONE, 0);
+      case 2 -> new DiscountInfo(DiscountType.PERCENTAGE, random.nextInt(1, 101) / 100.0);
+      case 3 -> new DiscountInfo(DiscountType.PERCENTAGE, random.nextInt(1, 1001) / 1000.0);
+      case 4 -> new DiscountInfo(DiscountType.PERCENTAGE, random.nextInt(1, 10_001) / 10_000.0);
+      case 5 -> new DiscountInfo(DiscountType.PERCENTAGE, Math.max(Double.MIN_VALUE, random.nextDouble()));
+      default -> {
+        double fixed = Math.floor(random.nextDouble() * price * 1000) / 1000;
+        yield new DiscountInfo(DiscountType.FIXED_AMOUNT, fixed >= 0.005 ? fixed : 0.01);
+      }
+    };
+  }
+
+  private static double randomTaxRate(SplittableRandom random) {
+    return switch (random.nextInt(6)) {
+      case 0 -> 0.19;
+      case 1 -> 0.07;
+      case 2 -> 0;
+      case 3 -> random.nextInt(0, 101) / 100.0;
+      case 4 -> random.nextInt(0, 10_001) / 10_000.0;
+      default -> random.nextDouble() * 0.5;
+    };
+  }
+}
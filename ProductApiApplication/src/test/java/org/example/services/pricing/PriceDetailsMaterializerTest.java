@@ -0,0 +1,161 @@
+package org.example.services.pricing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import org.example.database.model.Category;
+import org.example.database.model.MaterializedPriceDetails;
+import org.example.database.model.Product;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.MaterializedPriceDetailsRepository;
+import org.example.database.repository.ProductRepository;
+import org.example.dto.PriceDetailsDTO;
+import org.example.model.DiscountType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Bewusst ohne @Transactional: die Tabelle price_details wird erst nach dem Commit im Hintergrund aktualisiert.
+ */
+@SpringBootTest
+class PriceDetailsMaterializerTest {
+
+  private static final long TIMEOUT_MILLIS = 10_000;
+
+  @Autowired
+  private PriceCalculationService priceCalculationService;
+
+  @Autowired
+  private DiscountRuleService discountRuleService;
+
+  @Autowired
+  private MaterializedPriceDetailsRepository priceDetailsRepository;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  private Category electronics;
+  private Category gadgets;
+
+  @BeforeEach
+  void setUp() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+    electronics = categoryRepository.save(new Category(null, "Electronics"));
+    gadgets = categoryRepository.save(new Category(null, "Gadgets"));
+  }
+
+  @AfterEach
+  void tearDown() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Rows follow created, repriced and deleted products and match the live calculation")
+  void testRowsFollowProductChanges() throws InterruptedException {
+    Product laptop = productRepository.save(new Product(null, "Laptop", 1000.00, electronics));
+
+    MaterializedPriceDetails row = awaitRow(laptop.getId(), r -> r.getProductPrice() == 1000.00);
+    assertThat(row.getFinalPrice()).isEqualByComparingTo(new BigDecimal("1071.00"));
+    assertThat(row.getDiscountType()).isEqualTo(DiscountType.PERCENTAGE);
+    assertThat(priceCalculationService.calculatePriceDetails(laptop.getId()).finalPrice())
+        .isEqualByComparingTo(new BigDecimal("1071.00"));
+
+    laptop.setPrice(2000.00);
+    productRepository.save(laptop);
+    row = awaitRow(laptop.getId(), r -> r.getProductPrice() == 2000.00);
+    assertThat(row.getFinalPrice()).isEqualByComparingTo(new BigDecimal("2142.00"));
+
+    productRepository.deleteById(laptop.getId());
+    awaitCondition(() -> priceDetailsRepository.findById(laptop.getId()).isEmpty());
+  }
+
+  @Test
+  @DisplayName("A category that starts matching a discount rule is recomputed")
+  void testRuleChangeRecomputesCategory() throws InterruptedException {
+    Product gadget = productRepository.save(new Product(null, "Stick", 100.00, gadgets));
+    assertThat(awaitRow(gadget.getId(), r -> true).getDiscountType()).isEqualTo(DiscountType.NONE);
+
+    // Der neue Name trifft die Regel für "Electronics".
+    gadgets.setName("electronics");
+    categoryRepository.save(gadgets);
+
+    MaterializedPriceDetails row = awaitRow(gadget.getId(), r -> r.getDiscountType() == DiscountType.PERCENTAGE);
+    assertThat(row.getFinalPrice()).isEqualByComparingTo(new BigDecimal("107.10"));
+    assertThat(priceCalculationService.calculatePriceDetails(gadget.getId()).finalPrice())
+        .isEqualByComparingTo(new BigDecimal("107.10"));
+  }
+
+  @Test
+  @DisplayName("Stale rows are ignored and the price is computed live")
+  void testStaleRowIsIgnored() throws InterruptedException {
+    Product laptop = productRepository.save(new Product(null, "Laptop", 1000.00, electronics));
+    MaterializedPriceDetails row = awaitRow(laptop.getId(), r -> true);
+
+    // Eine Zeile zu einem anderen Preis darf nicht ausgeliefert werden.
+    row.setProductPrice(500.00);
+    row.setFinalPrice(new BigDecimal("1.00"));
+    priceDetailsRepository.save(row);
+
+    PriceDetailsDTO details = priceCalculationService.calculatePriceDetails(laptop.getId());
+    assertThat(details.finalPrice()).isEqualByComparingTo(new BigDecimal("1071.00"));
+    assertThat(priceCalculationService.calculatePriceDetails(List.of(laptop.getId())).get(laptop.getId()))
+        .isEqualTo(details);
+
+    // Ebenso eine Zeile, die mit anderen Regeln berechnet wurde, etwa vor einem Neustart.
+    row.setProductPrice(1000.00);
+    row.setRulesFingerprint(row.getRulesFingerprint() + 1);
+    priceDetailsRepository.save(row);
+
+    assertThat(priceCalculationService.calculatePriceDetails(laptop.getId())).isEqualTo(details);
+  }
+
+  @Test
+  @DisplayName("Rows written with the same rules are used, whichever run wrote them")
+  void testRowFromEarlierRunIsUsed() throws InterruptedException {
+    Product laptop = productRepository.save(new Product(null, "Laptop", 1000.00, electronics));
+    MaterializedPriceDetails row = awaitRow(laptop.getId(), r -> true);
+
+    // Ein anderer Lauf hätte mit denselben Regeln dieselbe Prüfsumme geschrieben.
+    assertThat(row.getRulesFingerprint()).isEqualTo(discountRuleService.rulesFingerprint(electronics.getId(), null));
+    row.setFinalPrice(new BigDecimal("1071.01"));
+    priceDetailsRepository.save(row);
+
+    assertThat(priceCalculationService.calculatePriceDetails(laptop.getId()).finalPrice())
+        .isEqualByComparingTo(new BigDecimal("1071.01"));
+  }
+
+  private MaterializedPriceDetails awaitRow(Long productId, Predicate<MaterializedPriceDetails> condition)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (System.currentTimeMillis() < deadline) {
+      MaterializedPriceDetails row = priceDetailsRepository.findById(productId).orElse(null);
+      if (row != null && condition.test(row)) {
+        return row;
+      }
+      Thread.sleep(20);
+    }
+    throw new AssertionError("Keine passende Zeile in price_details für Produkt " + productId);
+  }
+
+  private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (!condition.getAsBoolean()) {
+      if (System.currentTimeMillis() >= deadline) {
+        throw new AssertionError("Bedingung nicht innerhalb von " + TIMEOUT_MILLIS + " ms erfüllt");
+      }
+      Thread.sleep(20);
+    }
+  }
+}
@@ -0,0 +1,163 @@
+package org.example.services.pricing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.example.database.model.Category;
+import org.example.database.model.MaterializedPriceDetails;
+import org.example.database.model.Product;
+import org.example.database.model.RepriceJob;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.MaterializedPriceDetailsRepository;
+import org.example.database.repository.ProductRepository;
+import org.example.database.repository.RepriceJobRepository;
+import org.example.dto.RepriceJobDTO;
+import org.example.exception.RepriceJobStateException;
+import org.example.model.RepriceJobStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Bewusst ohne @Transactional: der Job schreibt in eigenen Transaktionen. Die inkrementelle Aktualisierung ist
+ * abgeschaltet, damit nur der Job Zeilen in price_details schreibt.
+ */
+@SpringBootTest(properties = {"pricing.price-details.enabled=false", "pricing.reprice.partition-size=100",
+    "pricing.reprice.parallelism=2"})
+class RepriceJobServiceTest {
+
+  private static final long TIMEOUT_MILLIS = 30_000;
+
+  @Autowired
+  private RepriceJobService repriceJobService;
+
+  @Autowired
+  private PriceCalculationService priceCalculationService;
+
+  @Autowired
+  private RepriceJobRepository jobRepository;
+
+  @Autowired
+  private MaterializedPriceDetailsRepository priceDetailsRepository;
+
+  @Autowired
+  private ProductRepository productRepository;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  private List<Product> products;
+
+  @BeforeEach
+  void setUp() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+    priceDetailsRepository.deleteAll();
+    jobRepository.deleteAll();
+
+    Category electronics = categoryRepository.save(new Category(null, "Electronics"));
+    Category books = categoryRepository.save(new Category(null, "Books"));
+    List<Product> newProducts = new ArrayList<>();
+    for (int i = 1; i <= 1200; i++) {
+      newProducts.add(new Product(null, "Produkt " + i, 10.0 + i, i % 2 == 0 ? electronics : books));
+    }
+    products = productRepository.saveAll(newProducts);
+  }
+
+  @AfterEach
+  void tearDown() {
+    productRepository.deleteAll();
+    categoryRepository.deleteAll();
+    priceDetailsRepository.deleteAll();
+    jobRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("A job writes the price details of every product and matches the live calculation")
+  void testFullJob() throws InterruptedException {
+    RepriceJobDTO started = repriceJobService.startJob();
+    assertThat(started.totalCount()).isEqualTo(1200);
+
+    RepriceJobDTO finished = awaitStatus(started.id(), RepriceJobStatus.COMPLETED);
+
+    assertThat(finished.processedCount()).isEqualTo(1200);
+    assertThat(finished.percentComplete()).isEqualTo(100.0);
+    assertThat(finished.checkpointId()).isEqualTo(finished.lastId());
+    assertThat(priceDetailsRepository.count()).isEqualTo(1200);
+    Product sample = products.get(41);
+    MaterializedPriceDetails row = priceDetailsRepository.findById(sample.getId()).orElseThrow();
+    assertThat(row.getFinalPrice())
+        .isEqualByComparingTo(priceCalculationService.calculatePriceDetails(sample.getId()).finalPrice());
+    assertThatThrownBy(() -> repriceJobService.resumeJob(started.id()))
+        .isInstanceOf(RepriceJobStateException.class);
+  }
+
+  @Test
+  @DisplayName("An interrupted job resumes after its checkpoint")
+  void testResumeFromCheckpoint() throws InterruptedException {
+    long firstId = products.get(0).getId();
+    long lastId = products.get(products.size() - 1).getId();
+    long checkpointId = products.get(499).getId();
+
+    RepriceJob interrupted = new RepriceJob();
+    interrupted.setStatus(RepriceJobStatus.INTERRUPTED);
+    interrupted.setFirstId(firstId);
+    interrupted.setLastId(lastId);
+    interrupted.setCheckpointId(checkpointId);
+    interrupted.setTotalCount(1200);
+    interrupted.setProcessedCount(500);
+    interrupted.setStartedAt(Instant.now());
+    interrupted.setUpdatedAt(Instant.now());
+    interrupted = jobRepository.save(interrupted);
+
+    repriceJobService.resumeJob(interrupted.getId());
+    RepriceJobDTO finished = awaitStatus(interrupted.getId(), RepriceJobStatus.COMPLETED);
+
+    assertThat(finished.processedCount()).isEqualTo(1200);
+    assertThat(finished.checkpointId()).isEqualTo(lastId);
+    // Die Produkte bis zum Checkpoint gelten als erledigt und werden nicht erneut geschrieben.
+    assertThat(priceDetailsRepository.count()).isEqualTo(700);
+    assertThat(priceDetailsRepository.findById(checkpointId)).isEmpty();
+    assertThat(priceDetailsRepository.findById(products.get(500).getId())).isPresent();
+  }
+
+  @Test
+  @DisplayName("Only one job runs at a time and a cancelled job can be resumed")
+  void testCancelAndResume() throws InterruptedException {
+    RepriceJobDTO started = repriceJobService.startJob();
+    try {
+      assertThatThrownBy(repriceJobService::startJob).isInstanceOf(RepriceJobStateException.class);
+      repriceJobService.cancelJob(started.id());
+    } catch (RepriceJobStateException alreadyFinished) {
+      // Der Job war schneller fertig als der Abbruch.
+    }
+
+    RepriceJobDTO stopped = awaitStatus(started.id(), RepriceJobStatus.CANCELLED, RepriceJobStatus.COMPLETED);
+    if (stopped.status() == RepriceJobStatus.CANCELLED) {
+      assertThat(stopped.checkpointId()).isLessThan(stopped.lastId());
+      repriceJobService.resumeJob(started.id());
+    }
+
+    RepriceJobDTO finished = awaitStatus(started.id(), RepriceJobStatus.COMPLETED);
+    assertThat(finished.processedCount()).isEqualTo(1200);
+    assertThat(priceDetailsRepository.count()).isEqualTo(1200);
+  }
+
+  private RepriceJobDTO awaitStatus(Long jobId, RepriceJobStatus... expected) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (System.currentTimeMillis() < deadline) {
+      RepriceJobDTO job = repriceJobService.getJob(jobId);
+      if (List.of(expected).contains(job.status())) {
+        return job;
+      }
+      Thread.sleep(20);
+    }
+    throw new AssertionError("Job " + jobId + " hat keinen der erwarteten Status erreicht: " + List.of(expected));
+  }
+}
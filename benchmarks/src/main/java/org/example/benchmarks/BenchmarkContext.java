@@ -0,0 +1,100 @@
+package org.example.benchmarks;
+
+import java.util.Arrays;
+import org.example.ProductApiApplication;
+import org.example.database.model.Product;
+import org.example.services.impl.search.ProductSearchIndex;
+import org.example.services.impl.statistics.CatalogColumnStore;
+import org.example.services.impl.statistics.PriceSketches;
+import org.example.services.impl.statistics.ProductStatisticsCache;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Startet die Anwendung (standardmäßig ohne Webserver) auf einer eigenen H2-Datenbank und befüllt den Katalog per SQL.
+ * <p>
+ * Das Befüllen läuft bewusst an JPA vorbei ({@code INSERT ... SELECT FROM SYSTEM_RANGE}), damit auch zehn Millionen
+ * Produkte in vertretbarer Zeit angelegt sind. Abgeleitete Sichten werden danach explizit neu aufgebaut.
+ */
+final class BenchmarkContext implements AutoCloseable {
+
+  private final ConfigurableApplicationContext context;
+
+  private BenchmarkContext(ConfigurableApplicationContext context) {
+    this.context = context;
+  }
+
+  static BenchmarkContext start() {
+    return start(WebApplicationType.NONE);
+  }
+
+  /**
+   * Startet die Anwendung mit Tomcat auf einem freien Port (siehe {@link #port()}).
+   *
+   * @param properties Zusätzliche Properties, z.B. {@code spring.threads.virtual.enabled=true}.
+   */
+  static BenchmarkContext startWeb(String... properties) {
+    String[] withPort = Arrays.copyOf(properties, properties.length + 1);
+    withPort[properties.length] = "server.port=0";
+    return start(WebApplicationType.SERVLET, withPort);
+  }
+
+  private static BenchmarkContext start(WebApplicationType webApplicationType, String... properties) {
+    ConfigurableApplicationContext context = new SpringApplicationBuilder(ProductApiApplication.class)
+        .web(webApplicationType)
+        .properties(
+            "spring.main.banner-mode=off",
+            "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+            "spring.jpa.show-sql=false",
+            "logging.level.root=WARN")
+        .properties(properties)
+        .run();
+    return new BenchmarkContext(context);
+  }
+
+  <T> T bean(Class<T> type) {
+    return context.getBean(type);
+  }
+
+  /**
+   * Legt {@code categories} Kategorien und {@code products} Produkte mit reproduzierbaren Preisen an. Die Produkte
+   * werden gleichmäßig auf die Kategorien verteilt.
+   */
+  void seedCatalog(int categories, long products) {
+    JdbcTemplate jdbc = bean(JdbcTemplate.class);
+    jdbc.update("delete from product");
+    jdbc.update("delete from category");
+    jdbc.update("insert into category (name) select 'Kategorie ' || x from system_range(1, ?)", categories);
+    Long firstCategoryId = jdbc.queryForObject("select min(id) from category", Long.class);
+    jdbc.update("insert into product (id, name, price, category_id) "
+            + "select x, 'Produkt ' || x, mod(x * 7919, 100000) / 100.0, ? + mod(x, ?) from system_range(1, ?)",
+        firstCategoryId, categories, products);
+    // IDs werden per Pooled-Optimizer vergeben: der nächste Sequenzwert ist die Obergrenze des nächsten Blocks.
+    jdbc.execute("alter sequence product_seq restart with " + (products + 1 + Product.ID_ALLOCATION_SIZE));
+    bean(CatalogColumnStore.class).load();
+    bean(ProductStatisticsCache.class).rebuild();
+    bean(PriceSketches.class).rebuild();
+    bean(ProductSearchIndex.class).rebuild();
+  }
+
+  /**
+   * @return Der Port des Webservers; nur nach {@link #startWeb(String...)}.
+   */
+  int port() {
+    return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+  }
+
+  /**
+   * @return Die ID der ersten angelegten Kategorie.
+   */
+  long firstCategoryId() {
+    return bean(JdbcTemplate.class).queryForObject("select min(id) from category", Long.class);
+  }
+
+  @Override
+  public void close() {
+    context.close();
+  }
+}
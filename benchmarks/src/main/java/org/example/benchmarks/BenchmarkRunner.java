@@ -0,0 +1,42 @@
+package org.example.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Startet JMH mit den üblichen Kommandozeilenoptionen, schreibt die Ergebnisse aber standardmäßig als JSON nach
+ * {@code target/jmh-result.json}, damit sie maschinell mit früheren Läufen verglichen werden können. {@code -rf} und
+ * {@code -rff} überschreiben das.
+ */
+public final class BenchmarkRunner {
+
+  static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+  private BenchmarkRunner() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+        || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+      org.openjdk.jmh.Main.main(args);
+      return;
+    }
+
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+    if (!commandLine.getResultFormat().hasValue()) {
+      options.resultFormat(ResultFormatType.JSON);
+    }
+    if (!commandLine.getResult().hasValue()) {
+      Path result = Path.of(DEFAULT_RESULT_FILE);
+      Files.createDirectories(result.toAbsolutePath().getParent());
+      options.result(result.toString());
+    }
+    new Runner(options.build()).run();
+  }
+}
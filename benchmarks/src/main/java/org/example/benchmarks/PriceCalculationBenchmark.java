@@ -0,0 +1,113 @@
+package org.example.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.example.database.repository.CategoryRepository;
+import org.example.database.repository.ProductRepository;
+import org.example.dto.PriceDetailsDTO;
+import org.example.model.DiscountInfo;
+import org.example.model.DiscountType;
+import org.example.services.impl.pricing.BigDecimalPriceCalculator;
+import org.example.services.impl.pricing.FixedPointPriceCalculator;
+import org.example.services.impl.pricing.PriceBreakdown;
+import org.example.services.pricing.PriceCalculationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Preisberechnung: vollständiger Service-Aufruf (Einzel- und Batch-Variante inkl. Datenbank) sowie die reine
+ * Rechnung im Festkomma- und im BigDecimal-Pfad.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PriceCalculationBenchmark {
+
+  private static final int PRODUCTS = 1_000;
+
+  @Param({"50", "500"})
+  public int batchSize;
+
+  private BenchmarkContext context;
+  private PriceCalculationService priceCalculationService;
+  private List<Long> productIds;
+  private List<Long> batch;
+  private int next;
+
+  private final double[] prices = new double[1024];
+  private final DiscountInfo[] discounts = new DiscountInfo[1024];
+  private final PriceBreakdown breakdown = new PriceBreakdown();
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkContext.start();
+    ProductRepository productRepository = context.bean(ProductRepository.class);
+    CategoryRepository categoryRepository = context.bean(CategoryRepository.class);
+    Category electronics = categoryRepository.save(new Category(null, "Electronics"));
+    Category books = categoryRepository.save(new Category(null, "Books"));
+
+    SplittableRandom random = new SplittableRandom(42);
+    List<Product> products = new ArrayList<>(PRODUCTS);
+    for (int i = 0; i < PRODUCTS; i++) {
+      products.add(new Product(null, "Produkt " + i, random.nextInt(100, 200_000) / 100.0,
+          i % 2 == 0 ? electronics : books));
+    }
+    productIds = productRepository.saveAll(products).stream().map(Product::getId).toList();
+    batch = productIds.subList(0, batchSize);
+    priceCalculationService = context.bean(PriceCalculationService.class);
+
+    for (int i = 0; i < prices.length; i++) {
+      prices[i] = random.nextInt(100, 200_000) / 100.0;
+      discounts[i] = i % 3 == 0 ? new DiscountInfo(DiscountType.PERCENTAGE, 0.10)
+          : i % 3 == 1 ? new DiscountInfo(DiscountType.FIXED_AMOUNT, 5.00)
+          : new DiscountInfo(DiscountType.NONE, 0);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public PriceDetailsDTO calculateSingle() {
+    next = (next + 1) % PRODUCTS;
+    return priceCalculationService.calculatePriceDetails(productIds.get(next));
+  }
+
+  @Benchmark
+  public Object calculateBatch() {
+    return priceCalculationService.calculatePriceDetails(batch);
+  }
+
+  @Benchmark
+  public long fixedPointCalculator() {
+    int i = next++ & (prices.length - 1);
+    FixedPointPriceCalculator.tryCalculate(prices[i], discounts[i], 0.19, breakdown);
+    return breakdown.finalPriceCents();
+  }
+
+  @Benchmark
+  public PriceDetailsDTO bigDecimalCalculator() {
+    int i = next++ & (prices.length - 1);
+    return BigDecimalPriceCalculator.calculate(1L, prices[i], discounts[i], 0.19);
+  }
+}
@@ -0,0 +1,78 @@
+package org.example.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+import org.example.database.model.Category;
+import org.example.database.repository.CategoryRepository;
+import org.example.services.ProductExportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * CSV-Export einer Kategorie: der bisherige String-Export und der Streaming-Export in einen Writer bzw.
+ * OutputStream, der die Daten verwirft.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProductExportBenchmark {
+
+  @Param({"10000", "100000"})
+  public long productsInCategory;
+
+  private BenchmarkContext context;
+  private ProductExportService productExportService;
+  private TransactionTemplate transactionTemplate;
+  private Category category;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkContext.start();
+    context.seedCatalog(1, productsInCategory);
+    category = context.bean(CategoryRepository.class).findById(context.firstCategoryId()).orElseThrow();
+    productExportService = context.bean(ProductExportService.class);
+    transactionTemplate = new TransactionTemplate(context.bean(PlatformTransactionManager.class));
+    transactionTemplate.setReadOnly(true);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  /**
+   * Der String-Export braucht eine offene Session für die Kategorie-Proxies, daher die umschließende Transaktion.
+   */
+  @Benchmark
+  public String stringExport() {
+    return transactionTemplate.execute(status -> productExportService.exportProductsByCategoryToCsv(category));
+  }
+
+  @Benchmark
+  public long streamingExportToWriter() throws IOException {
+    return productExportService.exportProductsByCategoryToCsv(category.getId(), Writer.nullWriter());
+  }
+
+  @Benchmark
+  public long streamingExportToOutputStream() throws IOException {
+    return productExportService.exportProductsByCategoryToCsv(category.getId(), OutputStream.nullOutputStream());
+  }
+}
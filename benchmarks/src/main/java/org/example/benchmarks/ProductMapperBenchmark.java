@@ -0,0 +1,57 @@
+package org.example.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.example.database.model.Category;
+import org.example.database.model.Product;
+import org.example.dto.ProductDTO;
+import org.example.rest.mapper.ProductMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link ProductMapper#toDtoList(List)} auf bereits geladenen Entitäten, ohne Spring-Kontext und Datenbank.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+  @Param({"100", "10000", "1000000"})
+  public int size;
+
+  private ProductMapper productMapper;
+  private List<Product> products;
+
+  @Setup
+  public void setUp() {
+    productMapper = Mappers.getMapper(ProductMapper.class);
+    List<Category> categories = new ArrayList<>();
+    for (long i = 0; i < 20; i++) {
+      categories.add(new Category(i, "Kategorie " + i));
+    }
+    products = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      products.add(new Product((long) i, "Produkt " + i, (i % 100_000) / 100.0, categories.get(i % categories.size())));
+    }
+  }
+
+  @Benchmark
+  public List<ProductDTO> toDtoList() {
+    return productMapper.toDtoList(products);
+  }
+}
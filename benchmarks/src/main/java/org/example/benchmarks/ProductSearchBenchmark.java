@@ -0,0 +1,84 @@
+package org.example.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.example.dto.ProductDTO;
+import org.example.services.ProductService;
+import org.example.services.impl.search.ProductSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Volltextsuche über Produktnamen bei wachsender Kataloggröße. Die Namen werden aus je einem von acht Adjektiven und
+ * zwölf Substantiven zusammengesetzt, ein Substantiv kommt also in jedem zwölften Produkt vor. {@code index*} misst
+ * nur die Suche im Index, {@code service*} zusätzlich das Laden der Treffer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ProductSearchBenchmark {
+
+  private static final int CATEGORIES = 100;
+  private static final int LIMIT = 20;
+
+  @Param({"10000", "1000000", "10000000"})
+  public long products;
+
+  private BenchmarkContext context;
+  private ProductSearchIndex searchIndex;
+  private ProductService productService;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkContext.start();
+    context.seedCatalog(CATEGORIES, products);
+    context.bean(JdbcTemplate.class).update("update product set name = "
+        + "array['Kabellose', 'Tragbare', 'Große', 'Kleine', 'Digitale', 'Ergonomische', 'Leise', 'Smarte']"
+        + "[mod(id, 8) + 1] || ' ' || "
+        + "array['Laptop', 'Tastatur', 'Maus', 'Kühlbox', 'Lampe', 'Kamera', 'Kopfhörer', 'Ständer', 'Tasche', "
+        + "'Uhr', 'Waage', 'Lautsprecher'][mod(id / 8, 12) + 1] || ' ' || id");
+    searchIndex = context.bean(ProductSearchIndex.class);
+    searchIndex.rebuild();
+    productService = context.bean(ProductService.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<Long> indexSingleTerm() {
+    return searchIndex.search("kopfhoerer", LIMIT);
+  }
+
+  @Benchmark
+  public List<Long> indexMultiTerm() {
+    return searchIndex.search("ergonomische kabellose tastatur", LIMIT);
+  }
+
+  @Benchmark
+  public List<Long> indexPrefix() {
+    return searchIndex.search("smarte la", LIMIT);
+  }
+
+  @Benchmark
+  public List<ProductDTO> serviceMultiTerm() {
+    return productService.searchProducts("ergonomische kabellose tastatur", LIMIT);
+  }
+}
@@ -0,0 +1,132 @@
+package org.example.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.example.database.projection.PriceTotals;
+import org.example.database.repository.ProductRepository;
+import org.example.dto.PriceDistributionDTO;
+import org.example.dto.ProductDTO;
+import org.example.services.ProductStatisticsService;
+import org.example.services.impl.statistics.CatalogColumnStore;
+import org.example.services.impl.statistics.CatalogColumns;
+import org.example.services.impl.statistics.CatalogColumns.ColumnAggregates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Alle Methoden von {@link ProductStatisticsService} bei wachsender Kataloggröße. Die {@code aggregate*}-Benchmarks
+ * messen die Datenbankabfragen, auf die der Service ausweicht, solange seine Sicht nicht nutzbar ist;
+ * {@code aggregateColumns} die Auswertung der Katalogspalten, aus denen die Sicht neu aufgebaut wird. Die
+ * {@code priceDistribution*}-Benchmarks führen die Quantilskizzen aller bzw. einer Kategorie zusammen.
+ * <p>
+ * Mit zehn Millionen Produkten braucht die H2-Datenbank einige Gigabyte Heap, daher {@code -Xmx8g}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ProductStatisticsBenchmark {
+
+  private static final int CATEGORIES = 100;
+
+  @Param({"10000", "1000000", "10000000"})
+  public long products;
+
+  private BenchmarkContext context;
+  private ProductStatisticsService statisticsService;
+  private ProductRepository productRepository;
+  private CatalogColumnStore columnStore;
+  private long categoryId;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkContext.start();
+    context.seedCatalog(CATEGORIES, products);
+    categoryId = context.firstCategoryId();
+    statisticsService = context.bean(ProductStatisticsService.class);
+    productRepository = context.bean(ProductRepository.class);
+    columnStore = context.bean(CatalogColumnStore.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Map<String, Long> countProductsPerCategory() {
+    return statisticsService.countProductsPerCategory();
+  }
+
+  @Benchmark
+  public double averageProductPrice() {
+    return statisticsService.getAverageProductPrice();
+  }
+
+  @Benchmark
+  public double averageProductPricePerCategory() {
+    return statisticsService.getAverageProductPricePerCategory(categoryId);
+  }
+
+  @Benchmark
+  public Optional<ProductDTO> mostExpensiveProduct() {
+    return statisticsService.findMostExpensiveProduct();
+  }
+
+  @Benchmark
+  public Optional<ProductDTO> cheapestProductInCategory() {
+    return statisticsService.findCheapestProductInCategory(categoryId);
+  }
+
+  @Benchmark
+  public List<ProductDTO> mostExpensiveProducts() {
+    return statisticsService.findMostExpensiveProducts(null, 50);
+  }
+
+  @Benchmark
+  public List<ProductDTO> cheapestProductsInCategory() {
+    return statisticsService.findCheapestProducts(categoryId, 20);
+  }
+
+  @Benchmark
+  public Optional<PriceDistributionDTO> priceDistribution() {
+    return statisticsService.getPriceDistribution(List.of(), 10);
+  }
+
+  @Benchmark
+  public Optional<PriceDistributionDTO> priceDistributionPerCategory() {
+    return statisticsService.getPriceDistribution(List.of(categoryId), 10);
+  }
+
+  @Benchmark
+  public Object aggregatePricesPerCategory() {
+    return productRepository.aggregatePricesPerCategory();
+  }
+
+  @Benchmark
+  public PriceTotals aggregatePriceTotals() {
+    return productRepository.aggregatePriceTotals();
+  }
+
+  @Benchmark
+  public ColumnAggregates aggregateColumns() {
+    // Jeder Stand merkt sich sein Ergebnis; ein neuer Stand über denselben Spalten rechnet wieder.
+    CatalogColumns columns = columnStore.snapshot();
+    return columns.withVersion(columns.version() + 1).aggregate();
+  }
+}
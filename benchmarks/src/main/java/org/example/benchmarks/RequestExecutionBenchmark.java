@@ -0,0 +1,69 @@
+package org.example.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Durchsatz und Antwortzeiten (SampleTime liefert p99) der REST-Schicht mit Plattform-Threads und mit virtuellen
+ * Threads. Mehr Client-Threads als Tomcat standardmäßig Worker hat, jede Anfrage liest eine Seite aus der Datenbank.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(256)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RequestExecutionBenchmark {
+
+  private static final int PRODUCTS = 100_000;
+  private static final int PAGE_SIZE = 50;
+
+  @Param({"false", "true"})
+  public boolean virtualThreads;
+
+  private BenchmarkContext context;
+  private HttpClient client;
+  private String productsUrl;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkContext.startWeb("spring.threads.virtual.enabled=" + virtualThreads,
+        "pricing.price-details.enabled=false");
+    context.seedCatalog(20, PRODUCTS);
+    client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    productsUrl = "http://localhost:" + context.port() + "/api/v1/products?limit=" + PAGE_SIZE + "&after=";
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    client.close();
+    context.close();
+  }
+
+  @Benchmark
+  public int productPage() throws IOException, InterruptedException {
+    long after = ThreadLocalRandom.current().nextLong(PRODUCTS - PAGE_SIZE);
+    HttpRequest request = HttpRequest.newBuilder(URI.create(productsUrl + after)).build();
+    return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+}